@@ -0,0 +1,22 @@
+package com.winnersystems.smartparking.auth.application.dto.query;
+
+import java.util.List;
+
+/**
+ * Página de un listado por cursor (keyset).
+ *
+ * - nextCursor: valor a enviar como "after" para pedir la siguiente
+ *   página (null si no hay más o si la página se pidió por número)
+ * - totalElements: solo si se pidió el total (null si no)
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public record CursorPage<T>(
+      List<T> content,
+      int size,
+      boolean hasNext,
+      Long nextCursor,
+      Long totalElements
+) {
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.winnersystems.smartparking.auth.application.dto.query;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Versión del listado de operadores activos, calculada con una consulta
+ * de agregados (sin leer las filas).
+ *
+ * Cambia si se agrega, quita o modifica un operador: cambia el total, la
+ * suma de IDs (altas y bajas simultáneas) o la última actualización.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public record OperatorsVersion(
+      Long count,
+      Long idSum,
+      LocalDateTime lastUpdatedAt
+) {
+
+   /**
+    * Versión como texto, para usarla de ETag.
+    *
+    * @return total-sumaIds-últimaActualización(ms)
+    */
+   public String tag() {
+      long updatedAt = lastUpdatedAt != null ? lastUpdatedAt.toInstant(ZoneOffset.UTC).toEpochMilli() : 0;
+      return count + "-" + idSum + "-" + updatedAt;
+   }
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.winnersystems.smartparking.auth.application.dto.query;
+
+import java.util.Set;
+
+/**
+ * Claims de un access token ya verificado (firma y expiración).
+ *
+ * Lo que JwtPort.generateAccessToken escribió en el token: alcanza para
+ * autenticar una request sin leer el usuario de la BD.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public record TokenClaims(
+      Long userId,
+      String email,
+      String activeRole,
+      Set<String> roles,
+      Set<String> permissions
+) {
+}
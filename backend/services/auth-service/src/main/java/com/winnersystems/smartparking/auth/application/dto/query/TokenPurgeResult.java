@@ -0,0 +1,22 @@
+package com.winnersystems.smartparking.auth.application.dto.query;
+
+import com.winnersystems.smartparking.auth.domain.model.TokenType;
+
+/**
+ * Resultado de una ejecución de limpieza sobre un tipo de token.
+ *
+ * @param type tipo de token limpiado
+ * @param deleted filas borradas
+ * @param chunks lotes procesados (una transacción cada uno)
+ * @param completed false si se cortó por max-chunks: quedan filas para la próxima ejecución
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public record TokenPurgeResult(
+      TokenType type,
+      int deleted,
+      int chunks,
+      boolean completed
+) {
+}
\ No newline at end of file
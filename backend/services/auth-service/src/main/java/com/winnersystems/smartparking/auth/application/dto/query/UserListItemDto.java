@@ -0,0 +1,22 @@
+package com.winnersystems.smartparking.auth.application.dto.query;
+
+import java.util.List;
+
+/**
+ * Fila del listado de usuarios: datos planos y nombres de roles, leídos
+ * en una sola consulta (sin hidratar entidades ni permisos).
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public record UserListItemDto(
+      Long id,
+      String firstName,
+      String lastName,
+      String email,
+      String phoneNumber,
+      Boolean status,
+      Boolean emailVerified,
+      List<String> roles
+) {
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.winnersystems.smartparking.auth.application.dto.query;
+
+/**
+ * Proyección liviana de un usuario para consultas en lote entre
+ * microservicios (nombres y contacto, sin roles ni permisos).
+ *
+ * Mismos campos que OperatorDto: parking-service usa un único DTO para ambos.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public record UserSummaryDto(
+      Long id,
+      String firstName,
+      String lastName,
+      String email,
+      String phoneNumber,
+      Boolean status
+) {
+}
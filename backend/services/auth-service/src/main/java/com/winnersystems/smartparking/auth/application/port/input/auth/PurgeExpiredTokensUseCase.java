@@ -0,0 +1,44 @@
+package com.winnersystems.smartparking.auth.application.port.input.auth;
+
+import com.winnersystems.smartparking.auth.application.dto.query.TokenPurgeResult;
+import com.winnersystems.smartparking.auth.domain.model.TokenType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Caso de uso: Limpiar tokens que ya no sirven.
+ *
+ * <p>Borra refresh, verification y password reset tokens vencidos o ya
+ * consumidos (revocados, usados, verificados) antes del corte.</p>
+ *
+ * <h3>Reglas</h3>
+ * <ul>
+ *   <li>Lotes acotados, uno por transacción, recorridos por ID (keyset)</li>
+ *   <li>El corte deja un margen: un token recién vencido o revocado sigue
+ *       respondiendo con su error específico, y los conteos de rate limiting
+ *       (última hora) no cambian</li>
+ * </ul>
+ *
+ * <p>Usado por la tarea programada TokenPurgeScheduler.</p>
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public interface PurgeExpiredTokensUseCase {
+
+   /**
+    * Borra los tokens del tipo vencidos o consumidos antes del corte.
+    *
+    * @param type tipo de token
+    * @param cutoff corte: se borran los vencidos/consumidos antes de esta fecha
+    * @param chunkSize filas por lote
+    * @param maxChunks lotes máximos en esta ejecución
+    * @return filas borradas y si quedó algo pendiente
+    */
+   TokenPurgeResult purge(TokenType type, LocalDateTime cutoff, int chunkSize, int maxChunks);
+
+   /**
+    * Filas actuales de la tabla del tipo de token.
+    */
+   long countTokens(TokenType type);
+}
\ No newline at end of file
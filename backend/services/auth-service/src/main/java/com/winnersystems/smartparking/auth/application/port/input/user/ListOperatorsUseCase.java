@@ -23,4 +23,12 @@ public interface ListOperatorsUseCase {
     * @return lista de operadores disponibles para asignación
     */
    List<OperatorDto> listActiveOperators();
+
+   /**
+    * Versión actual del listado de operadores activos (una consulta de
+    * agregados). Cambia cuando cambia el resultado de listActiveOperators.
+    *
+    * @return versión opaca, usada como ETag de GET /users/operators
+    */
+   String activeOperatorsVersion();
 }
\ No newline at end of file
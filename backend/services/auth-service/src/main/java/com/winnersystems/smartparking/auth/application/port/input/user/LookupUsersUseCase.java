@@ -0,0 +1,33 @@
+package com.winnersystems.smartparking.auth.application.port.input.user;
+
+import com.winnersystems.smartparking.auth.application.dto.query.UserSummaryDto;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Caso de uso: Obtener varios usuarios por ID en una sola consulta.
+ *
+ * <p>Usado por parking-service para enriquecer páginas de transacciones y
+ * asignaciones con nombres de operadores: una llamada por página en vez
+ * de una por fila.</p>
+ *
+ * <p>Los IDs inexistentes o eliminados se omiten del resultado (no es error).</p>
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public interface LookupUsersUseCase {
+
+   /** Máximo de IDs por llamada */
+   int MAX_BATCH_SIZE = 500;
+
+   /**
+    * Obtiene los usuarios de los IDs indicados.
+    *
+    * @param userIds IDs a buscar (se ignoran nulos y repetidos)
+    * @return usuarios encontrados, sin orden garantizado
+    * @throws IllegalArgumentException si se piden más de MAX_BATCH_SIZE IDs distintos
+    */
+   List<UserSummaryDto> findByIds(Collection<Long> userIds);
+}
@@ -0,0 +1,39 @@
+package com.winnersystems.smartparking.auth.application.port.input.user;
+
+import com.winnersystems.smartparking.auth.application.dto.query.CursorPage;
+import com.winnersystems.smartparking.auth.application.dto.query.UserListItemDto;
+import com.winnersystems.smartparking.auth.application.dto.query.UserSearchCriteria;
+
+import java.util.Set;
+
+/**
+ * Caso de uso: Buscar usuarios para el listado de administración.
+ *
+ * <p>Una sola consulta por página, con los nombres de roles ya agregados.
+ * Ordenado por ID, la paginación es por cursor (keyset): el costo no crece
+ * con el número de página. Ordenado por otro campo, se pagina por número.
+ * El total es opcional y cuesta una consulta COUNT adicional.</p>
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public interface SearchUsersUseCase {
+
+   /** Máximo de usuarios por página */
+   int MAX_PAGE_SIZE = 100;
+
+   /** Campos por los que se puede ordenar */
+   Set<String> SORTABLE_FIELDS = Set.of(
+         "id", "firstName", "lastName", "email", "status", "createdAt");
+
+   /**
+    * Busca una página de usuarios.
+    *
+    * @param criteria filtros, tamaño, orden y número de página (este último solo si no se ordena por ID)
+    * @param after ID del último usuario de la página anterior (null para la primera; solo con orden por ID)
+    * @param includeTotal true para calcular el total de coincidencias
+    * @return página de usuarios
+    * @throws IllegalArgumentException si el campo de orden no es válido, o si se envía cursor sin ordenar por ID
+    */
+   CursorPage<UserListItemDto> search(UserSearchCriteria criteria, Long after, boolean includeTotal);
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.winnersystems.smartparking.auth.application.port.output;
+
+/**
+ * Puerto de salida para la caché de roles, permisos y estado por usuario
+ * que usan los endpoints que no confían solo en el token.
+ *
+ * Los servicios la invalidan cuando cambian roles, permisos o el estado
+ * de un usuario.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public interface AuthoritiesCachePort {
+
+   /**
+    * Descarta lo cacheado de un usuario (cambio de roles o de estado).
+    *
+    * @param userId ID del usuario
+    */
+   void evictUser(Long userId);
+
+   /**
+    * Descarta todo (cambio en un rol o permiso, afecta a muchos usuarios).
+    */
+   void evictAll();
+}
@@ -1,5 +1,8 @@
 package com.winnersystems.smartparking.auth.application.port.output;
 
+import com.winnersystems.smartparking.auth.application.dto.query.TokenClaims;
+
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -43,4 +46,12 @@ public interface JwtPort {
    String extractEmail(String token);
    boolean validateToken(String token);
    Long extractUserId(String token);
+
+   /**
+    * Verifica firma y expiración una sola vez y devuelve los claims.
+    *
+    * @param token access token
+    * @return claims del token, o vacío si no es válido
+    */
+   Optional<TokenClaims> verify(String token);
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.winnersystems.smartparking.auth.application.port.output;
+
+/**
+ * Puerto de salida para limitar los intentos de login y de recuperación
+ * de contraseña por email y por IP.
+ *
+ * Se consulta antes de cualquier acceso a la BD, al captcha o a BCrypt.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public interface LoginThrottlePort {
+
+   /**
+    * Registra un intento si el email y la IP tienen cupo.
+    *
+    * @param action operación que se intenta
+    * @param email email del intento (null si no aplica)
+    * @param ipAddress IP del cliente (null si no se conoce)
+    * @return false si alguno de los dos superó su límite (el intento no se registra)
+    */
+   boolean tryAcquire(Action action, String email, String ipAddress);
+
+   /**
+    * Libera los intentos del email (login correcto).
+    *
+    * @param action operación que terminó bien
+    * @param email email del usuario
+    */
+   void reset(Action action, String email);
+
+   /**
+    * Segundos de la ventana de la operación, para sugerir cuándo reintentar.
+    */
+   long windowSeconds(Action action);
+
+   /**
+    * Operaciones limitadas.
+    */
+   enum Action {
+      LOGIN,
+      FORGOT_PASSWORD
+   }
+}
\ No newline at end of file
@@ -2,9 +2,11 @@ package com.winnersystems.smartparking.auth.application.port.output;
 
 import com.winnersystems.smartparking.auth.domain.model.PasswordResetToken;
 import com.winnersystems.smartparking.auth.domain.model.RefreshToken;
+import com.winnersystems.smartparking.auth.domain.model.TokenType;
 import com.winnersystems.smartparking.auth.domain.model.VerificationToken;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -215,4 +217,31 @@ public interface TokenPersistencePort {
     * Busca tokens de verificación por usuario
     */
    Optional<VerificationToken> findVerificationTokenByUserId(Long userId);
+
+   // ========== LIMPIEZA ==========
+
+   /**
+    * Borra, en una transacción, el siguiente lote de tokens que ya no sirven.
+    *
+    * <p>Se borran los tokens con ID mayor a afterId que vencieron antes del
+    * corte, o que fueron consumidos antes del corte (refresh revocado,
+    * reset usado, verificación completada). Los lotes se recorren por ID.</p>
+    *
+    * <p>Usado en PurgeExpiredTokensUseCase.</p>
+    *
+    * @param type tipo de token
+    * @param cutoff fecha de corte
+    * @param afterId último ID del lote anterior (0 para empezar)
+    * @param limit filas máximas del lote
+    * @return IDs borrados, en orden ascendente
+    */
+   List<Long> deletePurgeableTokens(TokenType type, LocalDateTime cutoff, long afterId, int limit);
+
+   /**
+    * Cuenta las filas de la tabla del tipo de token.
+    *
+    * @param type tipo de token
+    * @return filas actuales
+    */
+   long countTokens(TokenType type);
 }
\ No newline at end of file
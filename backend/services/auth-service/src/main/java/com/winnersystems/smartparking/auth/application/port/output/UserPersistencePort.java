@@ -1,8 +1,13 @@
 package com.winnersystems.smartparking.auth.application.port.output;
 
+import com.winnersystems.smartparking.auth.application.dto.query.OperatorDto;
+import com.winnersystems.smartparking.auth.application.dto.query.OperatorsVersion;
+import com.winnersystems.smartparking.auth.application.dto.query.UserListItemDto;
 import com.winnersystems.smartparking.auth.application.dto.query.UserSearchCriteria;
+import com.winnersystems.smartparking.auth.application.dto.query.UserSummaryDto;
 import com.winnersystems.smartparking.auth.domain.model.User;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -92,18 +97,56 @@ public interface UserPersistencePort {
     */
    long countByCriteria(UserSearchCriteria criteria);
 
-   // ========== NUEVO MÉTODO AGREGADO ==========
+   /**
+    * Busca usuarios con una proyección plana (datos y nombres de roles)
+    * en una sola consulta.
+    *
+    * <p>Usado en SearchUsersUseCase. Con afterId, pagina por cursor sobre
+    * el ID en la dirección de criteria.sortDirection (criteria.page se
+    * ignora); sin él, pagina por número con criteria.page.</p>
+    *
+    * @param criteria filtros, orden (campo ya validado) y página
+    * @param afterId ID del último usuario de la página anterior (null si no se usa cursor)
+    * @param limit máximo de filas a devolver
+    * @return usuarios en el orden pedido
+    */
+   List<UserListItemDto> searchListItems(UserSearchCriteria criteria, Long afterId, int limit);
+
+   // ========== OPERADORES ==========
 
    /**
-    * Busca usuarios por rol y estado.
-    * Usado para obtener operadores activos.
+    * Busca usuarios por rol y estado con una proyección liviana (sin roles).
     *
     * <p>Usado en ListOperatorsUseCase para obtener lista de operadores
-    * disponibles para asignación a zonas de estacionamiento.</p>
+    * disponibles para asignación a zonas de estacionamiento. Una sola
+    * consulta; no hidrata entidades.</p>
     *
     * @param roleName nombre del rol (ej: "OPERADOR")
     * @param status estado del usuario (true = activo, false = inactivo)
-    * @return lista de usuarios que cumplen los criterios
+    * @return operadores ordenados por nombre y apellido
+    */
+   List<OperatorDto> findOperatorsByRoleAndStatus(String roleName, Boolean status);
+
+   /**
+    * Total, suma de IDs y última actualización de los usuarios que
+    * devolvería findOperatorsByRoleAndStatus, en una consulta de agregados.
+    *
+    * @param roleName nombre del rol (ej: "OPERADOR")
+    * @param status estado del usuario
+    * @return versión del listado
+    */
+   OperatorsVersion findOperatorsVersion(String roleName, Boolean status);
+
+   // ========== CONSULTA EN LOTE ==========
+
+   /**
+    * Busca varios usuarios por ID con una proyección liviana (sin roles).
+    *
+    * <p>Usado en LookupUsersUseCase (POST /users/batch). Una sola consulta
+    * IN; los usuarios eliminados no se incluyen.</p>
+    *
+    * @param ids IDs a buscar (sin nulos ni repetidos)
+    * @return usuarios encontrados
     */
-   List<User> findByRoleAndStatus(String roleName, Boolean status);
-}
\ No newline at end of file
+   List<UserSummaryDto> findSummariesByIds(Collection<Long> ids);
+}
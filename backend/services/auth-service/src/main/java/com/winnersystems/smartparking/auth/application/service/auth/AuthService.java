@@ -6,8 +6,10 @@ import com.winnersystems.smartparking.auth.application.dto.query.CaptchaValidati
 import com.winnersystems.smartparking.auth.application.dto.query.UserDto;
 import com.winnersystems.smartparking.auth.application.port.input.auth.*;
 import com.winnersystems.smartparking.auth.application.port.output.*;
+import com.winnersystems.smartparking.auth.application.service.permission.PermissionRegistry;
 import com.winnersystems.smartparking.auth.domain.exception.InvalidCaptchaException;
 import com.winnersystems.smartparking.auth.domain.exception.InvalidCredentialsException;
+import com.winnersystems.smartparking.auth.domain.exception.TooManyRequestsException;
 import com.winnersystems.smartparking.auth.domain.exception.TokenExpiredException;
 import com.winnersystems.smartparking.auth.domain.exception.TokenInvalidException;
 import com.winnersystems.smartparking.auth.domain.exception.UserNotFoundException;
@@ -18,6 +20,7 @@ import com.winnersystems.smartparking.auth.domain.model.User;
 import com.winnersystems.smartparking.auth.domain.model.VerificationToken;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -45,11 +48,18 @@ public class AuthService implements
    private final TokenPersistencePort tokenPersistencePort;
    private final CaptchaPort captchaPort;
    private final EmailPort emailPort;
+   private final AuthoritiesCachePort authoritiesCachePort;
+   private final PermissionRegistry permissionRegistry;
+   private final RefreshSessionCache refreshSessionCache;
+   private final LoginThrottlePort loginThrottlePort;
 
    // ========== LOGIN ==========
 
    @Override
    public AuthResponseDto execute(LoginCommand command) {
+      // 0. Limitar intentos por email e IP (antes de captcha, BD y BCrypt)
+      throttle(LoginThrottlePort.Action.LOGIN, command.email(), command.ipAddress());
+
       // 1. Validar captcha
       if (captchaPort.isEnabled()) {
          CaptchaValidationResult result = captchaPort.validate(
@@ -80,6 +90,8 @@ public class AuthService implements
          throw new IllegalStateException("Email no verificado");
       }
 
+      loginThrottlePort.reset(LoginThrottlePort.Action.LOGIN, command.email());
+
       // 5. VALIDAR QUE EL USUARIO TENGA EL ROL SELECCIONADO
       String activeRole = command.selectedRole();
       if (activeRole != null && !activeRole.isBlank()) {
@@ -88,10 +100,7 @@ public class AuthService implements
          }
       } else {
          // Si no seleccionó rol, usar el primero que tenga
-         activeRole = user.getRoles().stream()
-               .findFirst()
-               .map(Role::getName)
-               .orElse("OPERADOR");
+         activeRole = user.getDefaultRoleName();
       }
 
       // 6. Generar access token CON activeRole Y SUS PERMISOS
@@ -123,6 +132,7 @@ public class AuthService implements
       );
 
       tokenPersistencePort.saveRefreshToken(refreshToken);
+      refreshSessionCache.issued(refreshToken);
 
       // 8. Retornar respuesta
       return AuthResponseDto.of(
@@ -146,18 +156,24 @@ public class AuthService implements
 
       token.revoke();
       tokenPersistencePort.saveRefreshToken(token);
+      refreshSessionCache.revoked(refreshToken);
    }
 
    // ========== REFRESH TOKEN ==========
 
+   /**
+    * Sin transacción: token, usuario y permisos salen de RefreshSessionCache
+    * y PermissionRegistry; solo se va a la BD si no están en memoria.
+    */
    @Override
+   @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
    public AuthResponseDto executeRefresh(String refreshToken) {
       // 1. Buscar token
-      RefreshToken token = tokenPersistencePort.findRefreshTokenByToken(refreshToken)
+      RefreshSessionCache.CachedRefreshToken token = refreshSessionCache.findToken(refreshToken)
             .orElseThrow(() -> new TokenExpiredException("RefreshToken", "Token inválido"));
 
       // 2. Validar que no esté revocado
-      if (token.getRevoked()) {
+      if (token.revoked()) {
          throw new IllegalStateException("Token revocado");
       }
 
@@ -167,8 +183,8 @@ public class AuthService implements
       }
 
       // 4. Obtener usuario
-      User user = userPersistencePort.findById(token.getUserId())
-            .orElseThrow(() -> new UserNotFoundException(token.getUserId()));
+      User user = refreshSessionCache.findUser(token.userId())
+            .orElseThrow(() -> new UserNotFoundException(token.userId()));
 
       // 5. Verificar que esté activo
       if (!user.getStatus() || !user.isEmailVerified()) {
@@ -176,10 +192,7 @@ public class AuthService implements
       }
 
       // 6. Obtener el rol activo del token anterior (o usar el primero)
-      String activeRole = user.getRoles().stream()
-            .findFirst()
-            .map(Role::getName)
-            .orElse("OPERADOR");
+      String activeRole = user.getDefaultRoleName();
 
       // 7. Generar nuevo access token CON LOS PERMISOS DEL ROL ACTIVO
       String newAccessToken = jwtPort.generateAccessToken(
@@ -209,6 +222,8 @@ public class AuthService implements
 
    @Override
    public void execute(ForgotPasswordCommand command) {
+      throttle(LoginThrottlePort.Action.FORGOT_PASSWORD, command.email(), command.ipAddress());
+
       if (captchaPort.isEnabled()) {
          CaptchaValidationResult result = captchaPort.validate(
                command.captchaToken(),
@@ -294,6 +309,8 @@ public class AuthService implements
       tokenPersistencePort.savePasswordResetToken(token);
 
       tokenPersistencePort.revokeRefreshTokensByUserId(user.getId());
+      refreshSessionCache.revokedAllFor(user.getId());
+      refreshSessionCache.evictUser(user.getId());
 
       try {
          emailPort.sendPasswordChangedEmail(
@@ -331,6 +348,8 @@ public class AuthService implements
 
       user.verifyEmail();
       userPersistencePort.save(user);
+      authoritiesCachePort.evictUser(user.getId());
+      refreshSessionCache.evictUser(user.getId());
 
       verificationToken.markAsVerified();
       tokenPersistencePort.saveVerificationToken(verificationToken);
@@ -411,6 +430,8 @@ public class AuthService implements
       userPersistencePort.save(user);
 
       tokenPersistencePort.revokeRefreshTokensByUserId(user.getId());
+      refreshSessionCache.revokedAllFor(user.getId());
+      refreshSessionCache.evictUser(user.getId());
 
       try {
          emailPort.sendPasswordChangedEmail(
@@ -437,12 +458,23 @@ public class AuthService implements
       user.setUpdatedAt(LocalDateTime.now());
 
       User updatedUser = userPersistencePort.save(user);
+      refreshSessionCache.evictUser(updatedUser.getId());
 
       return mapToDto(updatedUser);
    }
 
    // ========== HELPERS ==========
 
+   /**
+    * Rechaza el intento si el email o la IP superaron su límite.
+    */
+   private void throttle(LoginThrottlePort.Action action, String email, String ipAddress) {
+      if (!loginThrottlePort.tryAcquire(action, email, ipAddress)) {
+         throw new TooManyRequestsException("Demasiados intentos. Intenta nuevamente más tarde.",
+               loginThrottlePort.windowSeconds(action));
+      }
+   }
+
    private UserDto mapToDto(User user) {
       return new UserDto(
             user.getId(),
@@ -466,13 +498,9 @@ public class AuthService implements
    }
 
    /**
-    * MÉTODO - Obtiene solo los permisos del rol activo
+    * MÉTODO - Obtiene solo los permisos del rol activo (desde PermissionRegistry)
     */
    private Set<String> getPermissionNames(User user, String activeRole) {
-      return user.getRoles().stream()
-            .filter(role -> role.getName().equals(activeRole))  // Filtrar por rol activo
-            .flatMap(role -> role.getPermissions().stream())
-            .map(permission -> permission.getName())
-            .collect(Collectors.toSet());
+      return permissionRegistry.activeRolePermissions(getRoleNames(user), activeRole);
    }
 }
\ No newline at end of file
@@ -0,0 +1,295 @@
+package com.winnersystems.smartparking.auth.application.service.auth;
+
+import com.winnersystems.smartparking.auth.application.port.output.TokenPersistencePort;
+import com.winnersystems.smartparking.auth.application.port.output.UserPersistencePort;
+import com.winnersystems.smartparking.auth.domain.model.RefreshToken;
+import com.winnersystems.smartparking.auth.domain.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caché en memoria del camino de renovación (AuthService.executeRefresh).
+ *
+ * Dos índices:
+ * - Refresh tokens: hash SHA-256 del token (no el token en claro) ->
+ *   userId, expiración y si está revocado. Se llena al emitir el token
+ *   (login) y al leerlo de la BD
+ * - Usuarios: userId -> usuario con sus roles, tal como lo lee la BD
+ *   (solo lectura: no se modifica ni se guarda)
+ *
+ * Con ambos en memoria, renovar un access token no va a la BD (los
+ * permisos salen de PermissionRegistry).
+ *
+ * Consistencia:
+ * - Logout marca el token como revocado en el índice
+ * - revokeRefreshTokensByUserId (reset y cambio de contraseña) descarta
+ *   todos los tokens del usuario: la siguiente lectura ve la BD
+ * - Los cambios de un usuario (perfil, estado, roles, contraseña) lo
+ *   descartan; los cambios de roles lo descartan todo
+ * - Se descarta al escribir y otra vez al terminar la transacción, para
+ *   que no quede lo leído antes del commit
+ * - Las revocaciones no se publican entre réplicas: un token no revocado
+ *   se sirve de memoria solo durante active-ttl, que acota cuánto sigue
+ *   aceptándose en esta réplica un logout o un reset hecho en otra
+ * - ttl acota lo demás (tokens ya revocados y usuarios)
+ *
+ * Propiedades (auth.security.refresh-cache):
+ * - ttl: ms de vigencia de un token revocado o de un usuario (default 60000)
+ * - active-ttl: ms de vigencia de un token no revocado (default 5000)
+ * - max-tokens: tokens en memoria; lleno, se lee de la BD sin guardar (default 10000)
+ * - max-users: usuarios en memoria; igual que max-tokens (default 5000)
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Component
+public class RefreshSessionCache {
+
+   private final TokenPersistencePort tokenPersistencePort;
+   private final UserPersistencePort userPersistencePort;
+   private final long ttlMillis;
+   private final long activeTtlMillis;
+   private final int maxTokens;
+   private final int maxUsers;
+
+   /** Hash del refresh token -> datos para validarlo */
+   private final Map<String, TokenEntry> tokens = new ConcurrentHashMap<>();
+
+   /** userId -> usuario leído de la BD */
+   private final Map<Long, UserEntry> users = new ConcurrentHashMap<>();
+
+   public RefreshSessionCache(TokenPersistencePort tokenPersistencePort,
+                              UserPersistencePort userPersistencePort,
+                              @Value("${auth.security.refresh-cache.ttl:60000}") long ttlMillis,
+                              @Value("${auth.security.refresh-cache.active-ttl:5000}") long activeTtlMillis,
+                              @Value("${auth.security.refresh-cache.max-tokens:10000}") int maxTokens,
+                              @Value("${auth.security.refresh-cache.max-users:5000}") int maxUsers) {
+      this.tokenPersistencePort = tokenPersistencePort;
+      this.userPersistencePort = userPersistencePort;
+      this.ttlMillis = ttlMillis;
+      this.activeTtlMillis = activeTtlMillis;
+      this.maxTokens = maxTokens;
+      this.maxUsers = maxUsers;
+   }
+
+   // ========== LECTURA ==========
+
+   /**
+    * Datos del refresh token, desde memoria o desde la BD.
+    *
+    * @return vacío si el token no existe
+    */
+   public Optional<CachedRefreshToken> findToken(String token) {
+      if (token == null || token.isBlank()) {
+         return Optional.empty();
+      }
+      String key = hash(token);
+      long now = System.currentTimeMillis();
+      TokenEntry entry = tokens.get(key);
+      if (entry != null && isFresh(entry, now)) {
+         return Optional.of(entry.token());
+      }
+
+      Optional<CachedRefreshToken> loaded = tokenPersistencePort.findRefreshTokenByToken(token)
+            .map(RefreshSessionCache::toCached);
+      if (loaded.isEmpty()) {
+         tokens.remove(key);
+         return loaded;
+      }
+      if (!hasPendingWrites()) {
+         putToken(key, loaded.get(), now);
+      }
+      return loaded;
+   }
+
+   /**
+    * Usuario con sus roles, desde memoria o desde la BD. Solo lectura.
+    *
+    * @return vacío si el usuario no existe
+    */
+   public Optional<User> findUser(Long userId) {
+      if (userId == null) {
+         return Optional.empty();
+      }
+      long now = System.currentTimeMillis();
+      UserEntry entry = users.get(userId);
+      if (entry != null && now - entry.loadedAt() < ttlMillis) {
+         return Optional.of(entry.user());
+      }
+
+      Optional<User> loaded = userPersistencePort.findById(userId);
+      if (loaded.isEmpty()) {
+         users.remove(userId);
+         return loaded;
+      }
+      if (users.size() >= maxUsers) {
+         users.values().removeIf(cached -> now - cached.loadedAt() >= ttlMillis);
+      }
+      if (users.size() < maxUsers && !hasPendingWrites()) {
+         users.put(userId, new UserEntry(loaded.get(), now));
+      }
+      return loaded;
+   }
+
+   // ========== ESCRITURA ==========
+
+   /**
+    * Registra un refresh token recién emitido (login), al confirmarse la transacción.
+    */
+   public void issued(RefreshToken token) {
+      if (token.getToken() == null) {
+         return;
+      }
+      String key = hash(token.getToken());
+      CachedRefreshToken cached = toCached(token);
+      if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+         putToken(key, cached, System.currentTimeMillis());
+         return;
+      }
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+         @Override
+         public void afterCommit() {
+            putToken(key, cached, System.currentTimeMillis());
+         }
+      });
+   }
+
+   /**
+    * Marca un refresh token como revocado (logout).
+    */
+   public void revoked(String token) {
+      if (token == null) {
+         return;
+      }
+      String key = hash(token);
+      tokens.computeIfPresent(key, (hash, entry) -> new TokenEntry(entry.token().asRevoked(), entry.loadedAt()));
+      // Si no estaba, que no quede lo que otro hilo lea antes del commit
+      afterCompletion(() -> tokens.computeIfPresent(key,
+            (hash, entry) -> new TokenEntry(entry.token().asRevoked(), entry.loadedAt())));
+   }
+
+   /**
+    * Descarta todos los refresh tokens del usuario (revocación masiva).
+    */
+   public void revokedAllFor(Long userId) {
+      if (userId == null) {
+         return;
+      }
+      Runnable eviction = () -> tokens.values().removeIf(entry -> userId.equals(entry.token().userId()));
+      eviction.run();
+      afterCompletion(eviction);
+   }
+
+   /**
+    * Descarta el usuario (cambió su perfil, estado, roles o contraseña).
+    */
+   public void evictUser(Long userId) {
+      if (userId == null) {
+         return;
+      }
+      users.remove(userId);
+      afterCompletion(() -> users.remove(userId));
+   }
+
+   /**
+    * Descarta todos los usuarios (cambio en un rol, afecta a muchos usuarios).
+    */
+   public void evictAllUsers() {
+      users.clear();
+      afterCompletion(users::clear);
+   }
+
+   // ========== HELPERS ==========
+
+   private void putToken(String key, CachedRefreshToken token, long now) {
+      if (tokens.size() >= maxTokens) {
+         tokens.values().removeIf(cached -> !isFresh(cached, now) || cached.token().isExpired());
+      }
+      if (tokens.size() < maxTokens) {
+         tokens.put(key, new TokenEntry(token, now));
+      }
+   }
+
+   /**
+    * Un token no revocado vence antes: otra réplica pudo revocarlo sin avisar.
+    */
+   private boolean isFresh(TokenEntry entry, long now) {
+      long maxAge = entry.token().revoked() ? ttlMillis : activeTtlMillis;
+      return now - entry.loadedAt() < maxAge;
+   }
+
+   /**
+    * Repite la invalidación al terminar la transacción. Mientras tanto, lo
+    * que se lea de la BD no se guarda en memoria.
+    */
+   private void afterCompletion(Runnable eviction) {
+      if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+         return;
+      }
+      if (!hasPendingWrites()) {
+         TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+               TransactionSynchronizationManager.unbindResourceIfPossible(RefreshSessionCache.this);
+            }
+         });
+      }
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+         @Override
+         public void afterCompletion(int status) {
+            eviction.run();
+         }
+      });
+   }
+
+   private boolean hasPendingWrites() {
+      return TransactionSynchronizationManager.hasResource(this);
+   }
+
+   private static CachedRefreshToken toCached(RefreshToken token) {
+      return new CachedRefreshToken(token.getUserId(), token.getExpiresAt(), token.getRevoked());
+   }
+
+   private static String hash(String token) {
+      try {
+         byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+         return HexFormat.of().formatHex(digest);
+      } catch (NoSuchAlgorithmException e) {
+         throw new IllegalStateException("SHA-256 no disponible", e);
+      }
+   }
+
+   // ========== TIPOS ==========
+
+   /**
+    * Lo necesario para validar un refresh token.
+    */
+   public record CachedRefreshToken(Long userId, LocalDateTime expiresAt, boolean revoked) {
+
+      public boolean isExpired() {
+         return expiresAt != null && LocalDateTime.now().isAfter(expiresAt);
+      }
+
+      private CachedRefreshToken asRevoked() {
+         return new CachedRefreshToken(userId, expiresAt, true);
+      }
+   }
+
+   private record TokenEntry(CachedRefreshToken token, long loadedAt) {
+   }
+
+   private record UserEntry(User user, long loadedAt) {
+   }
+}
\ No newline at end of file
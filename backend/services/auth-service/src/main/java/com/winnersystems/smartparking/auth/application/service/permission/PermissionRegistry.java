@@ -0,0 +1,226 @@
+package com.winnersystems.smartparking.auth.application.service.permission;
+
+import com.winnersystems.smartparking.auth.application.port.output.RolePersistencePort;
+import com.winnersystems.smartparking.auth.domain.model.Permission;
+import com.winnersystems.smartparking.auth.domain.model.Role;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Registro en memoria de los permisos de cada rol.
+ *
+ * Estructura:
+ * - Cada permiso enlazado a algún rol recibe un índice de bit (por ID, estable
+ *   entre cargas mientras no cambie el catálogo)
+ * - Cada rol guarda sus permisos como un bitset long[]
+ * - Los permisos de varios roles son el OR de sus bitsets; comprobar un
+ *   permiso es leer un bit
+ *
+ * Lo usan AuthService (claim permissions del token), UserService y
+ * UserDetailsServiceImpl (authorities), en lugar de recorrer los permisos
+ * de cada rol del usuario cargados desde la BD. Una sesión recibe solo los
+ * permisos de su rol activo (activeRolePermissions).
+ *
+ * Invalidación:
+ * - RoleService y PermissionService llaman a changed() al escribir; se
+ *   descarta en ese momento y otra vez al terminar la transacción
+ * - Mientras la transacción que escribió siga abierta, lo que ella lea no
+ *   se publica a los demás hilos
+ * - ttl acota lo que tarda en verse un cambio hecho en otra réplica
+ *
+ * Propiedades (auth.security.permission-registry):
+ * - ttl: ms de vigencia del registro (default 60000)
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Component
+public class PermissionRegistry {
+
+   private final RolePersistencePort rolePersistencePort;
+   private final long ttlMillis;
+
+   private final AtomicReference<Snapshot> current = new AtomicReference<>();
+
+   public PermissionRegistry(RolePersistencePort rolePersistencePort,
+                             @Value("${auth.security.permission-registry.ttl:60000}") long ttlMillis) {
+      this.rolePersistencePort = rolePersistencePort;
+      this.ttlMillis = ttlMillis;
+   }
+
+   // ========== LECTURA ==========
+
+   /**
+    * Nombres de los permisos de un rol (vacío si el rol no existe).
+    */
+   public Set<String> permissionNames(String roleName) {
+      Snapshot snapshot = state();
+      return snapshot.decode(snapshot.bits(roleName));
+   }
+
+   /**
+    * Permisos de una sesión: solo los del rol activo, y solo si el usuario
+    * todavía tiene ese rol (vacío si no).
+    *
+    * Misma regla para el claim permissions del token (AuthService) y para
+    * las authorities leídas de la BD (UserDetailsServiceImpl).
+    *
+    * @param userRoles  nombres de los roles actuales del usuario
+    * @param activeRole rol con el que inició sesión
+    */
+   public Set<String> activeRolePermissions(Collection<String> userRoles, String activeRole) {
+      return activeRole != null && userRoles.contains(activeRole)
+            ? permissionNames(activeRole)
+            : Set.of();
+   }
+
+   /**
+    * true si el rol tiene el permiso.
+    */
+   public boolean hasPermission(String roleName, String permissionName) {
+      if (permissionName == null) {
+         return false;
+      }
+      Snapshot snapshot = state();
+      Integer bit = snapshot.bitByName().get(permissionName);
+      if (bit == null) {
+         return false;
+      }
+      long[] bits = snapshot.bits(roleName);
+      return (bits[bit >>> 6] & (1L << bit)) != 0;
+   }
+
+   // ========== ESCRITURA ==========
+
+   /**
+    * Marca el registro como desactualizado. Llamar dentro de la transacción
+    * que cambia roles o permisos.
+    */
+   public void changed() {
+      invalidate();
+      if (!TransactionSynchronizationManager.isSynchronizationActive() || hasPendingWrites()) {
+         return;
+      }
+
+      TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+         @Override
+         public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(PermissionRegistry.this);
+            invalidate();
+         }
+      });
+   }
+
+   /**
+    * Descarta el registro; la siguiente lectura lo reconstruye completo.
+    */
+   public synchronized void invalidate() {
+      current.set(null);
+   }
+
+   // ========== HELPERS ==========
+
+   private Snapshot state() {
+      Snapshot snapshot = current.get();
+      return snapshot != null && !snapshot.isExpired(ttlMillis) ? snapshot : load();
+   }
+
+   private synchronized Snapshot load() {
+      // Otro hilo pudo construirlo mientras esperábamos el monitor
+      Snapshot snapshot = current.get();
+      if (snapshot != null && !snapshot.isExpired(ttlMillis)) {
+         return snapshot;
+      }
+
+      List<Role> roles = rolePersistencePort.findAll();
+      List<Permission> permissions = roles.stream()
+            .flatMap(role -> role.getPermissions().stream())
+            .filter(permission -> permission.getId() != null && permission.getName() != null)
+            .sorted(Comparator.comparing(Permission::getId))
+            .toList();
+
+      Map<String, Integer> bitByName = new HashMap<>();
+      for (Permission permission : permissions) {
+         bitByName.putIfAbsent(permission.getName(), bitByName.size());
+      }
+      String[] names = new String[bitByName.size()];
+      bitByName.forEach((name, bit) -> names[bit] = name);
+
+      int words = (names.length + 63) >>> 6;
+      Map<String, long[]> bitsByRole = new HashMap<>();
+      for (Role role : roles) {
+         long[] bits = new long[words];
+         for (Permission permission : role.getPermissions()) {
+            Integer bit = bitByName.get(permission.getName());
+            if (bit != null) {
+               bits[bit >>> 6] |= 1L << bit;
+            }
+         }
+         bitsByRole.put(role.getName(), bits);
+      }
+
+      Snapshot loaded = new Snapshot(names, Map.copyOf(bitByName), Map.copyOf(bitsByRole),
+            System.currentTimeMillis());
+      if (!hasPendingWrites()) {
+         current.set(loaded);
+      }
+      return loaded;
+   }
+
+   private boolean hasPendingWrites() {
+      return TransactionSynchronizationManager.hasResource(this);
+   }
+
+   // ========== TIPOS ==========
+
+   /**
+    * Registro publicado. No se modifica una vez publicado.
+    *
+    * @param names nombre del permiso por índice de bit
+    * @param bitByName índice de bit por nombre de permiso
+    * @param bitsByRole bitset de permisos por nombre de rol
+    * @param loadedAt instante (ms) de la carga
+    */
+   private record Snapshot(String[] names,
+                           Map<String, Integer> bitByName,
+                           Map<String, long[]> bitsByRole,
+                           long loadedAt) {
+
+      private int words() {
+         return (names.length + 63) >>> 6;
+      }
+
+      private long[] bits(String roleName) {
+         long[] bits = roleName != null ? bitsByRole.get(roleName) : null;
+         return bits != null ? bits : new long[words()];
+      }
+
+      private Set<String> decode(long[] bits) {
+         Set<String> decoded = new LinkedHashSet<>();
+         for (int word = 0; word < bits.length; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+               decoded.add(names[(word << 6) + Long.numberOfTrailingZeros(remaining)]);
+               remaining &= remaining - 1;
+            }
+         }
+         return decoded;
+      }
+
+      private boolean isExpired(long ttlMillis) {
+         return System.currentTimeMillis() - loadedAt >= ttlMillis;
+      }
+   }
+}
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.winnersystems.smartparking.auth.application.service.permission;
 
 import com.winnersystems.smartparking.auth.application.dto.query.PagedResponse;
 import com.winnersystems.smartparking.auth.application.dto.query.PermissionDto;
+import com.winnersystems.smartparking.auth.application.port.output.AuthoritiesCachePort;
 import com.winnersystems.smartparking.auth.application.port.output.PermissionPersistencePort;
 import com.winnersystems.smartparking.auth.domain.model.Permission;
 import lombok.RequiredArgsConstructor;
@@ -23,6 +24,8 @@ import java.util.stream.Collectors;
 public class PermissionService {
 
    private final PermissionPersistencePort permissionPersistencePort;
+   private final AuthoritiesCachePort authoritiesCachePort;
+   private final PermissionRegistry permissionRegistry;
 
    /**
     * Lista permisos con paginación y filtros
@@ -124,6 +127,8 @@ public class PermissionService {
       }
 
       Permission updatedPermission = permissionPersistencePort.save(permission);
+      permissionRegistry.changed();
+      authoritiesCachePort.evictAll();
       return mapToDto(updatedPermission);
    }
 
@@ -136,6 +141,8 @@ public class PermissionService {
 
       permission.markAsDeleted(null); // TODO: Obtener ID del usuario autenticado
       permissionPersistencePort.save(permission);
+      permissionRegistry.changed();
+      authoritiesCachePort.evictAll();
    }
 
    /**
@@ -3,8 +3,11 @@ package com.winnersystems.smartparking.auth.application.service.role;
 import com.winnersystems.smartparking.auth.application.dto.query.PagedResponse;
 import com.winnersystems.smartparking.auth.application.dto.query.PermissionDto;
 import com.winnersystems.smartparking.auth.application.dto.query.RoleDto;
+import com.winnersystems.smartparking.auth.application.port.output.AuthoritiesCachePort;
 import com.winnersystems.smartparking.auth.application.port.output.PermissionPersistencePort;
 import com.winnersystems.smartparking.auth.application.port.output.RolePersistencePort;
+import com.winnersystems.smartparking.auth.application.service.auth.RefreshSessionCache;
+import com.winnersystems.smartparking.auth.application.service.permission.PermissionRegistry;
 import com.winnersystems.smartparking.auth.domain.model.Permission;
 import com.winnersystems.smartparking.auth.domain.model.Role;
 import lombok.RequiredArgsConstructor;
@@ -29,6 +32,9 @@ public class RoleService {
 
    private final RolePersistencePort rolePersistencePort;
    private final PermissionPersistencePort permissionPersistencePort;
+   private final AuthoritiesCachePort authoritiesCachePort;
+   private final PermissionRegistry permissionRegistry;
+   private final RefreshSessionCache refreshSessionCache;
 
    /**
     * Lista roles con paginación y filtros
@@ -110,6 +116,7 @@ public class RoleService {
 
       // Guardar
       Role savedRole = rolePersistencePort.save(role);
+      permissionRegistry.changed();
       return mapToDto(savedRole);
    }
 
@@ -145,6 +152,9 @@ public class RoleService {
       }
 
       Role updatedRole = rolePersistencePort.save(role);
+      permissionRegistry.changed();
+      authoritiesCachePort.evictAll();
+      refreshSessionCache.evictAllUsers();
       return mapToDto(updatedRole);
    }
 
@@ -161,6 +171,9 @@ public class RoleService {
 
       role.markAsDeleted(null); // TODO: Obtener ID del usuario autenticado
       rolePersistencePort.save(role);
+      permissionRegistry.changed();
+      authoritiesCachePort.evictAll();
+      refreshSessionCache.evictAllUsers();
    }
 
    /**
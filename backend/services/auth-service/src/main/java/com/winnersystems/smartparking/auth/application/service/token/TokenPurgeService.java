@@ -0,0 +1,53 @@
+package com.winnersystems.smartparking.auth.application.service.token;
+
+import com.winnersystems.smartparking.auth.application.dto.query.TokenPurgeResult;
+import com.winnersystems.smartparking.auth.application.port.input.auth.PurgeExpiredTokensUseCase;
+import com.winnersystems.smartparking.auth.application.port.output.TokenPersistencePort;
+import com.winnersystems.smartparking.auth.domain.model.TokenType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Servicio de aplicación para la limpieza de tokens.
+ *
+ * Sin transacción propia: cada lote lo borra TokenPersistencePort en su
+ * propia transacción, para no retener bloqueos durante toda la ejecución.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenPurgeService implements PurgeExpiredTokensUseCase {
+
+   private final TokenPersistencePort tokenPersistencePort;
+
+   @Override
+   public TokenPurgeResult purge(TokenType type, LocalDateTime cutoff, int chunkSize, int maxChunks) {
+      if (chunkSize <= 0 || maxChunks <= 0) {
+         throw new IllegalArgumentException("chunkSize y maxChunks deben ser mayores a 0");
+      }
+
+      long afterId = 0;
+      int deleted = 0;
+      int chunks = 0;
+      while (chunks < maxChunks) {
+         List<Long> ids = tokenPersistencePort.deletePurgeableTokens(type, cutoff, afterId, chunkSize);
+         chunks++;
+         deleted += ids.size();
+         if (ids.size() < chunkSize) {
+            return new TokenPurgeResult(type, deleted, chunks, true);
+         }
+         afterId = ids.get(ids.size() - 1);
+      }
+      return new TokenPurgeResult(type, deleted, chunks, false);
+   }
+
+   @Override
+   public long countTokens(TokenType type) {
+      return tokenPersistencePort.countTokens(type);
+   }
+}
\ No newline at end of file
@@ -2,12 +2,16 @@ package com.winnersystems.smartparking.auth.application.service.user;
 
 import com.winnersystems.smartparking.auth.application.dto.command.CreateUserCommand;
 import com.winnersystems.smartparking.auth.application.dto.command.UpdateUserCommand;
+import com.winnersystems.smartparking.auth.application.dto.query.CursorPage;
 import com.winnersystems.smartparking.auth.application.dto.query.OperatorDto;
 import com.winnersystems.smartparking.auth.application.dto.query.PagedResponse;
 import com.winnersystems.smartparking.auth.application.dto.query.UserDto;
+import com.winnersystems.smartparking.auth.application.dto.query.UserListItemDto;
 import com.winnersystems.smartparking.auth.application.dto.query.UserSearchCriteria;
+import com.winnersystems.smartparking.auth.application.dto.query.UserSummaryDto;
 import com.winnersystems.smartparking.auth.application.port.input.user.*;
 import com.winnersystems.smartparking.auth.application.port.output.*;
+import com.winnersystems.smartparking.auth.application.service.auth.RefreshSessionCache;
 import com.winnersystems.smartparking.auth.domain.exception.EmailAlreadyExistsException;
 import com.winnersystems.smartparking.auth.domain.exception.UserNotFoundException;
 import com.winnersystems.smartparking.auth.domain.model.Role;
@@ -19,15 +23,17 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Servicio de aplicación para gestión de usuarios.
- * Implementa los 8 casos de uso de user/.
+ * Implementa los 9 casos de uso de user/.
  *
  * @author Edwin Yoner Winner Systems - Smart Parking Platform
  * @version 1.0
@@ -44,13 +50,20 @@ public class UserService implements
       DeleteUserUseCase,
       RestoreUserUseCase,
       ResendCredentialsUseCase,
-      ListOperatorsUseCase {  // ✅ AGREGADO
+      ListOperatorsUseCase,  // ✅ AGREGADO
+      LookupUsersUseCase,
+      SearchUsersUseCase {
+
+   /** Rol de los operadores asignables a zonas */
+   private static final String OPERATOR_ROLE = "OPERADOR";
 
    private final UserPersistencePort userPersistencePort;
    private final RolePersistencePort rolePersistencePort;
    private final PasswordEncoderPort passwordEncoderPort;
    private final EmailPort emailPort;
    private final TokenPersistencePort tokenPersistencePort;
+   private final AuthoritiesCachePort authoritiesCachePort;
+   private final RefreshSessionCache refreshSessionCache;
 
    // ========== CREATE USER ==========
 
@@ -106,8 +119,8 @@ public class UserService implements
 
          tokenPersistencePort.saveVerificationToken(verificationToken);
 
-         System.out.println("✅ Token guardado: " + tokenValue);
-         System.out.println("✅ Usuario creado (email NO enviado automáticamente)");
+         log.debug("Usuario {} creado con token de verificación (email NO enviado automáticamente)",
+               savedUser.getId());
 
          // ✅ Código comentado para envío de email
          /*
@@ -127,12 +140,8 @@ public class UserService implements
          );
          */
 
-         System.out.println("✅ Token guardado: " + tokenValue);
-         System.out.println("✅ Email enviado a: " + savedUser.getEmail());
-
       } catch (Exception e) {
-         System.err.println("❌ Error: " + e.getMessage());
-         e.printStackTrace();
+         log.error("No se pudo guardar el token de verificación del usuario {}", savedUser.getId(), e);
       }
 
       return mapToDto(savedUser);
@@ -178,6 +187,10 @@ public class UserService implements
 
       // 5. Guardar
       User updated = userPersistencePort.save(user);
+      if (command.roleIds() != null) {
+         authoritiesCachePort.evictUser(updated.getId());
+      }
+      refreshSessionCache.evictUser(updated.getId());
 
       return mapToDto(updated);
    }
@@ -229,6 +242,8 @@ public class UserService implements
 
       // 3. Guardar
       userPersistencePort.save(user);
+      authoritiesCachePort.evictUser(userId);
+      refreshSessionCache.evictUser(userId);
 
       // 4. Enviar email de notificación (opcional)
       try {
@@ -265,6 +280,8 @@ public class UserService implements
 
       // 5. Guardar
       User restored = userPersistencePort.save(user);
+      authoritiesCachePort.evictUser(userId);
+      refreshSessionCache.evictUser(userId);
 
       // 6. Enviar email de notificación (opcional)
       try {
@@ -312,7 +329,7 @@ public class UserService implements
             24
       );
 
-      System.out.println("✅ Credenciales reenviadas a: " + user.getEmail());
+      log.debug("Credenciales reenviadas al usuario {}", userId);
    }
 
    // ========== LIST OPERATORS (NUEVO) ==========
@@ -324,28 +341,79 @@ public class UserService implements
     * @return lista de operadores disponibles
     */
    @Override
+   @Transactional(readOnly = true)
    public List<OperatorDto> listActiveOperators() {
       log.debug("📋 Listando operadores activos");
 
-      // Buscar usuarios con rol OPERADOR y status activo
-      List<User> operators = userPersistencePort.findByRoleAndStatus("OPERADOR", true);
-
-      List<OperatorDto> operatorDtos = operators.stream()
-            .map(user -> new OperatorDto(
-                  user.getId(),
-                  user.getFirstName(),
-                  user.getLastName(),
-                  user.getEmail(),
-                  user.getPhoneNumber(),
-                  user.getStatus()
-            ))
-            .toList();
+      // Proyección directa: usuarios con rol OPERADOR y status activo
+      List<OperatorDto> operatorDtos = userPersistencePort.findOperatorsByRoleAndStatus(OPERATOR_ROLE, true);
 
       log.debug("✅ {} operadores activos encontrados", operatorDtos.size());
 
       return operatorDtos;
    }
 
+   @Override
+   @Transactional(readOnly = true)
+   public String activeOperatorsVersion() {
+      return userPersistencePort.findOperatorsVersion(OPERATOR_ROLE, true).tag();
+   }
+
+   // ========== LOOKUP USERS (EN LOTE) ==========
+
+   @Override
+   @Transactional(readOnly = true)
+   public List<UserSummaryDto> findByIds(Collection<Long> userIds) {
+      List<Long> distinctIds = userIds.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+
+      if (distinctIds.size() > MAX_BATCH_SIZE) {
+         throw new IllegalArgumentException(
+               "No se pueden consultar más de " + MAX_BATCH_SIZE + " usuarios por llamada");
+      }
+
+      return userPersistencePort.findSummariesByIds(distinctIds);
+   }
+
+   // ========== SEARCH USERS (LISTADO PLANO) ==========
+
+   @Override
+   @Transactional(readOnly = true)
+   public CursorPage<UserListItemDto> search(UserSearchCriteria criteria, Long after, boolean includeTotal) {
+      if (!SORTABLE_FIELDS.contains(criteria.sortBy())) {
+         throw new IllegalArgumentException(
+               "Campo de ordenamiento no válido: " + criteria.sortBy() + ". Válidos: " + SORTABLE_FIELDS);
+      }
+      boolean byCursor = "id".equals(criteria.sortBy());
+      if (after != null && !byCursor) {
+         throw new IllegalArgumentException("El cursor (after) solo aplica al ordenar por id");
+      }
+
+      int size = Math.min(criteria.size(), MAX_PAGE_SIZE);
+      UserSearchCriteria bounded = new UserSearchCriteria(
+            criteria.search(),
+            criteria.roleId(),
+            criteria.status(),
+            criteria.emailVerified(),
+            byCursor ? 0 : criteria.page(),
+            size,
+            criteria.sortBy(),
+            criteria.sortDirection()
+      );
+
+      // Una fila de más indica si hay otra página, sin contar
+      List<UserListItemDto> rows = userPersistencePort.searchListItems(bounded, after, size + 1);
+      boolean hasNext = rows.size() > size;
+      List<UserListItemDto> content = hasNext ? rows.subList(0, size) : rows;
+
+      Long nextCursor = byCursor && hasNext ? content.get(content.size() - 1).id() : null;
+      Long total = includeTotal ? userPersistencePort.countByCriteria(bounded) : null;
+
+      return new CursorPage<>(List.copyOf(content), size, hasNext, nextCursor, total);
+   }
+
    // ========== HELPER METHODS ==========
 
    private UserDto mapToDto(User user) {
@@ -369,11 +437,4 @@ public class UserService implements
             .map(Role::getName)
             .collect(Collectors.toSet());
    }
-
-   private Set<String> getPermissionNames(User user) {
-      return user.getRoles().stream()
-            .flatMap(role -> role.getPermissions().stream())
-            .map(permission -> permission.getName())
-            .collect(Collectors.toSet());
-   }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.winnersystems.smartparking.auth.domain.exception;
+
+/**
+ * Excepción lanzada cuando se rechaza una solicitud por exceso de carga.
+ * Esto es una REGLA DE SEGURIDAD del dominio contra fuerza bruta.
+ *
+ * Cuándo se lanza:
+ * - Demasiados intentos de login o de recuperación para un email o una IP
+ * - La cola de hashing de contraseñas está llena
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+   /** Segundos sugeridos antes de reintentar */
+   private final long retryAfterSeconds;
+
+   /**
+    * Constructor por defecto
+    */
+   public TooManyRequestsException() {
+      this("Demasiadas solicitudes. Intenta nuevamente más tarde.", 60);
+   }
+
+   /**
+    * Constructor con mensaje y espera sugerida
+    */
+   public TooManyRequestsException(String message, long retryAfterSeconds) {
+      super(message);
+      this.retryAfterSeconds = retryAfterSeconds;
+   }
+
+   public long getRetryAfterSeconds() {
+      return retryAfterSeconds;
+   }
+}
\ No newline at end of file
@@ -106,18 +106,6 @@ public class Role {
       this.updatedAt = LocalDateTime.now();
    }
 
-   /**
-    * Verifica si el rol tiene un permiso específico por nombre.
-    *
-    * @param permissionName nombre del permiso (ejemplo: "USERS_CREATE")
-    * @return true si el rol tiene ese permiso
-    */
-   public boolean hasPermission(String permissionName) {
-      return permissions.stream()
-            .anyMatch(p -> p.getName().equalsIgnoreCase(permissionName));
-   }
-
-
    /**
     * Obtiene todos los permisos activos del rol.
     * Filtra permisos inactivos o eliminados.
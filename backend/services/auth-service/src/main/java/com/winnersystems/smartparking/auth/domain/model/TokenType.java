@@ -0,0 +1,24 @@
+package com.winnersystems.smartparking.auth.domain.model;
+
+/**
+ * Tipos de token persistidos por auth-service, con la tabla de cada uno.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public enum TokenType {
+
+   REFRESH("refresh_tokens"),
+   VERIFICATION("verification_tokens"),
+   PASSWORD_RESET("password_reset_tokens");
+
+   private final String tableName;
+
+   TokenType(String tableName) {
+      this.tableName = tableName;
+   }
+
+   public String getTableName() {
+      return tableName;
+   }
+}
\ No newline at end of file
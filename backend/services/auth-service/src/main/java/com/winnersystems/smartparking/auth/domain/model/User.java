@@ -138,13 +138,16 @@ public class User {
    }
 
    /**
-    * Verifica si el usuario tiene un permiso específico a través de sus roles.
+    * Rol activo de una sesión iniciada sin elegir rol: el primero asignado,
+    * u OPERADOR si no tiene ninguno.
     *
-    * @param permissionName código del permiso (ejemplo: "users.create")
-    * @return true si tiene el permiso
+    * @return nombre del rol
     */
-   public boolean hasPermission(String permissionName) {
-      return roles.stream().anyMatch(role -> role.hasPermission(permissionName));
+   public String getDefaultRoleName() {
+      return roles.stream()
+            .findFirst()
+            .map(Role::getName)
+            .orElse("OPERADOR");
    }
 
    // ========================= MÉTODOS DE NEGOCIO - VERIFICACIÓN Y ACTIVACIÓN =========================
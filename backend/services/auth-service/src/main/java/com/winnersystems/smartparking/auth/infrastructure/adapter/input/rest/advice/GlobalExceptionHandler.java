@@ -3,6 +3,7 @@ package com.winnersystems.smartparking.auth.infrastructure.adapter.input.rest.ad
 import com.winnersystems.smartparking.auth.domain.exception.*;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -161,6 +162,29 @@ public class GlobalExceptionHandler {
       return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
    }
 
+   /**
+    * Demasiadas solicitudes → 429 TOO MANY REQUESTS
+    */
+   @ExceptionHandler(TooManyRequestsException.class)
+   public ResponseEntity<ErrorResponse> handleTooManyRequests(
+         TooManyRequestsException ex,
+         HttpServletRequest request) {
+
+      log.warn("Solicitud rechazada por límite: {} ({})", ex.getMessage(), request.getRequestURI());
+
+      ErrorResponse error = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.TOO_MANY_REQUESTS.value(),
+            "Demasiadas solicitudes",
+            ex.getMessage(),
+            request.getRequestURI()
+      );
+
+      return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(error);
+   }
+
    /**
     * Argumento inválido → 400 BAD REQUEST
     * Usado en validaciones de negocio (ej: "Rol no encontrado: XYZ")
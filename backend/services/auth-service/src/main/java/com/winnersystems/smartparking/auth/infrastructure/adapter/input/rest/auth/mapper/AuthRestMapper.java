@@ -93,20 +93,13 @@ public class AuthRestMapper {
 
    /**
     * Extrae la dirección IP real del cliente.
+    *
+    * No se leen X-Forwarded-For ni X-Real-IP: el cliente puede enviarlos.
+    * Detrás del gateway, el contenedor ya resuelve la IP desde las
+    * cabeceras de los proxies de confianza (server.forward-headers-strategy).
     */
    private String extractIpAddress(HttpServletRequest request) {
-      String ip = request.getHeader("X-Forwarded-For");
-
-      if (ip != null && !ip.isEmpty() && !"unknown".equalsIgnoreCase(ip)) {
-         return ip.split(",")[0].trim();
-      }
-
-      ip = request.getHeader("X-Real-IP");
-      if (ip != null && !ip.isEmpty() && !"unknown".equalsIgnoreCase(ip)) {
-         return ip;
-      }
-
-      ip = request.getRemoteAddr();
+      String ip = request.getRemoteAddr();
 
       if ("0:0:0:0:0:0:0:1".equals(ip)) {
          ip = "127.0.0.1";
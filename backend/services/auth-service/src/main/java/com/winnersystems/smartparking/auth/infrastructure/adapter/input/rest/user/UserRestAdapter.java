@@ -2,14 +2,18 @@ package com.winnersystems.smartparking.auth.infrastructure.adapter.input.rest.us
 
 import com.winnersystems.smartparking.auth.application.dto.command.CreateUserCommand;
 import com.winnersystems.smartparking.auth.application.dto.command.UpdateUserCommand;
+import com.winnersystems.smartparking.auth.application.dto.query.CursorPage;
 import com.winnersystems.smartparking.auth.application.dto.query.OperatorDto;
 import com.winnersystems.smartparking.auth.application.dto.query.PagedResponse;
 import com.winnersystems.smartparking.auth.application.dto.query.UserDto;
+import com.winnersystems.smartparking.auth.application.dto.query.UserListItemDto;
 import com.winnersystems.smartparking.auth.application.dto.query.UserSearchCriteria;
+import com.winnersystems.smartparking.auth.application.dto.query.UserSummaryDto;
 import com.winnersystems.smartparking.auth.application.port.input.user.*;
 import com.winnersystems.smartparking.auth.infrastructure.adapter.input.rest.auth.dto.response.MessageResponse;
 import com.winnersystems.smartparking.auth.infrastructure.adapter.input.rest.user.dto.request.CreateUserRequest;
 import com.winnersystems.smartparking.auth.infrastructure.adapter.input.rest.user.dto.request.UpdateUserRequest;
+import com.winnersystems.smartparking.auth.infrastructure.adapter.input.rest.user.dto.request.UserBatchRequest;
 import com.winnersystems.smartparking.auth.infrastructure.adapter.input.rest.user.dto.response.UserResponse;
 import com.winnersystems.smartparking.auth.infrastructure.adapter.input.rest.user.mapper.UserRestMapper;
 import com.winnersystems.smartparking.auth.infrastructure.config.security.CustomUserDetails;
@@ -17,6 +21,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -45,6 +50,8 @@ public class UserRestAdapter {
    private final RestoreUserUseCase restoreUserUseCase;
    private final ResendCredentialsUseCase resendCredentialsUseCase;
    private final ListOperatorsUseCase listOperatorsUseCase;  // ✅ AGREGADO
+   private final LookupUsersUseCase lookupUsersUseCase;
+   private final SearchUsersUseCase searchUsersUseCase;
    private final UserRestMapper mapper;
 
    // ========== CREATE USER ==========
@@ -112,6 +119,43 @@ public class UserRestAdapter {
       return ResponseEntity.ok(response);
    }
 
+   // ========== SEARCH USERS (LISTADO PLANO) ==========
+
+   /**
+    * GET /users/search - Listado de administración en una sola consulta
+    *
+    * Filas planas (datos y nombres de roles). Ordenado por id, la siguiente
+    * página se pide con after = nextCursor; ordenado por otro campo, con
+    * page. El total solo se calcula con includeTotal=true.
+    */
+   @GetMapping("/search")
+   @PreAuthorize("hasAuthority('users.read')")
+   public ResponseEntity<CursorPage<UserListItemDto>> searchUsers(
+         @RequestParam(required = false) String search,
+         @RequestParam(required = false) Long roleId,
+         @RequestParam(required = false) Boolean status,
+         @RequestParam(required = false) Boolean emailVerified,
+         @RequestParam(required = false) Long after,
+         @RequestParam(defaultValue = "0") int page,
+         @RequestParam(defaultValue = "20") int size,
+         @RequestParam(defaultValue = "id") String sortBy,
+         @RequestParam(defaultValue = "desc") String sortDirection,
+         @RequestParam(defaultValue = "false") boolean includeTotal
+   ) {
+      UserSearchCriteria criteria = new UserSearchCriteria(
+            search,
+            roleId,
+            status,
+            emailVerified,
+            page,
+            size,
+            sortBy,
+            sortDirection
+      );
+
+      return ResponseEntity.ok(searchUsersUseCase.search(criteria, after, includeTotal));
+   }
+
    // ========== LIST ACTIVE USERS ==========
 
    /**
@@ -153,18 +197,51 @@ public class UserRestAdapter {
     * Este endpoint es usado por parking-service para obtener operadores disponibles
     * para asignar a zonas de estacionamiento.
     *
-    * @return lista de operadores activos
+    * Responde con ETag (versión del listado). Si el cliente envía el mismo
+    * valor en If-None-Match, responde 304 sin cuerpo y sin leer las filas.
+    *
+    * @return lista de operadores activos, o 304 si no cambió
     */
    @GetMapping("/operators")
    @PreAuthorize("hasAnyRole('ADMIN', 'AUTORIDAD')")
-   public ResponseEntity<List<OperatorDto>> listOperators() {
+   public ResponseEntity<List<OperatorDto>> listOperators(
+         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+      // La versión antes que la lista: si cambian entre ambas lecturas, el
+      // ETag queda atrasado y la siguiente llamada vuelve a descargar
+      String etag = "\"" + listOperatorsUseCase.activeOperatorsVersion() + "\"";
+      if (matchesETag(ifNoneMatch, etag)) {
+         log.debug("GET /users/operators - sin cambios ({})", etag);
+         return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+      }
+
       log.debug("📋 GET /users/operators - Listando operadores activos");
 
       List<OperatorDto> operators = listOperatorsUseCase.listActiveOperators();
 
       log.debug("✅ {} operadores encontrados", operators.size());
 
-      return ResponseEntity.ok(operators);
+      return ResponseEntity.ok().eTag(etag).body(operators);
+   }
+
+   // ========== GET USERS BY IDS (EN LOTE) ==========
+
+   /**
+    * POST /users/batch - Obtener varios usuarios por ID en una sola consulta
+    *
+    * Usado por parking-service para enriquecer una página completa con
+    * nombres de operadores en una sola llamada. Los IDs inexistentes se omiten.
+    *
+    * @return usuarios encontrados (proyección sin roles)
+    */
+   @PostMapping("/batch")
+   @PreAuthorize("hasAuthority('users.read') or hasAnyRole('ADMIN', 'AUTORIDAD')")
+   public ResponseEntity<List<UserSummaryDto>> getUsersByIds(@Valid @RequestBody UserBatchRequest request) {
+      List<UserSummaryDto> users = lookupUsersUseCase.findByIds(request.ids());
+
+      log.debug("POST /users/batch - {} de {} usuarios encontrados", users.size(), request.ids().size());
+
+      return ResponseEntity.ok(users);
    }
 
    // ========== GET USER BY ID ==========
@@ -266,4 +343,24 @@ public class UserRestAdapter {
 
       throw new IllegalStateException("No se pudo obtener el ID del usuario autenticado");
    }
+
+   /**
+    * true si If-None-Match contiene el ETag (o "*"). Acepta varios valores
+    * separados por coma y la forma débil W/"...".
+    */
+   private static boolean matchesETag(String ifNoneMatch, String etag) {
+      if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+         return false;
+      }
+      for (String candidate : ifNoneMatch.split(",")) {
+         String value = candidate.trim();
+         if (value.startsWith("W/")) {
+            value = value.substring(2);
+         }
+         if (value.equals(etag) || value.equals("*")) {
+            return true;
+         }
+      }
+      return false;
+   }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.winnersystems.smartparking.auth.infrastructure.adapter.input.rest.user.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Request DTO para consultar varios usuarios por ID.
+ *
+ * <p>Usado en: POST /users/batch</p>
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public record UserBatchRequest(
+      @NotEmpty(message = "Debe indicar al menos un ID")
+      @Size(max = 500, message = "No se pueden consultar más de 500 usuarios por llamada")
+      List<Long> ids
+) {
+}
@@ -112,15 +112,8 @@ public class UserRestMapper {
    // ========== HELPERS ==========
 
    private String extractIpAddress(HttpServletRequest request) {
-      String ip = request.getHeader("X-Forwarded-For");
-      if (ip != null && !ip.isEmpty() && !"unknown".equalsIgnoreCase(ip)) {
-         return ip.split(",")[0].trim();
-      }
-      ip = request.getHeader("X-Real-IP");
-      if (ip != null && !ip.isEmpty() && !"unknown".equalsIgnoreCase(ip)) {
-         return ip;
-      }
-      ip = request.getRemoteAddr();
+      // Ya resuelta por el contenedor desde los proxies de confianza (ver AuthRestMapper)
+      String ip = request.getRemoteAddr();
       if ("0:0:0:0:0:0:0:1".equals(ip)) {
          ip = "127.0.0.1";
       }
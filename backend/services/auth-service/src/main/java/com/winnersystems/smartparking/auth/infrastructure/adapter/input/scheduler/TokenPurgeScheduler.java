@@ -0,0 +1,124 @@
+package com.winnersystems.smartparking.auth.infrastructure.adapter.input.scheduler;
+
+import com.winnersystems.smartparking.auth.application.dto.query.TokenPurgeResult;
+import com.winnersystems.smartparking.auth.application.port.input.auth.PurgeExpiredTokensUseCase;
+import com.winnersystems.smartparking.auth.domain.model.TokenType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tarea programada que borra los tokens vencidos o ya consumidos.
+ *
+ * Cada ejecución recorre refresh_tokens, verification_tokens y
+ * password_reset_tokens en lotes de chunk-size filas, uno por transacción,
+ * hasta terminar o hasta max-chunks-per-run por tabla (lo que falte sigue
+ * en la próxima ejecución).
+ *
+ * Se borran los tokens vencidos, revocados, usados o verificados hace más
+ * de retention ms.
+ *
+ * Propiedades (auth.tokens.purge):
+ * - enabled: activa la tarea (default true)
+ * - interval: ms entre ejecuciones (default 3600000)
+ * - retention: ms que se conserva un token después de vencer o consumirse (default 86400000)
+ * - chunk-size: filas por lote (default 1000)
+ * - max-chunks-per-run: lotes por tabla y ejecución (default 100)
+ *
+ * Métricas, por tabla (tag table):
+ * - auth.tokens.purged: filas borradas
+ * - auth.tokens.purge.duration: duración de cada ejecución
+ * - auth.tokens.rows: filas tras la última ejecución
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class TokenPurgeScheduler {
+
+   private final PurgeExpiredTokensUseCase purgeExpiredTokensUseCase;
+   private final boolean enabled;
+   private final long retentionMillis;
+   private final int chunkSize;
+   private final int maxChunksPerRun;
+
+   private final Map<TokenType, Counter> purged = new EnumMap<>(TokenType.class);
+   private final Map<TokenType, Timer> durations = new EnumMap<>(TokenType.class);
+   private final Map<TokenType, AtomicLong> rows = new EnumMap<>(TokenType.class);
+
+   public TokenPurgeScheduler(
+         PurgeExpiredTokensUseCase purgeExpiredTokensUseCase,
+         MeterRegistry meterRegistry,
+         @Value("${auth.tokens.purge.enabled:true}") boolean enabled,
+         @Value("${auth.tokens.purge.retention:86400000}") long retentionMillis,
+         @Value("${auth.tokens.purge.chunk-size:1000}") int chunkSize,
+         @Value("${auth.tokens.purge.max-chunks-per-run:100}") int maxChunksPerRun) {
+      this.purgeExpiredTokensUseCase = purgeExpiredTokensUseCase;
+      this.enabled = enabled;
+      this.retentionMillis = retentionMillis;
+      this.chunkSize = chunkSize;
+      this.maxChunksPerRun = maxChunksPerRun;
+
+      for (TokenType type : TokenType.values()) {
+         String table = type.getTableName();
+         purged.put(type, Counter.builder("auth.tokens.purged")
+               .description("Tokens borrados por TokenPurgeScheduler")
+               .tag("table", table)
+               .register(meterRegistry));
+         durations.put(type, Timer.builder("auth.tokens.purge.duration")
+               .description("Duración de la limpieza de tokens por tabla")
+               .tag("table", table)
+               .register(meterRegistry));
+         AtomicLong count = new AtomicLong(-1);
+         rows.put(type, count);
+         Gauge.builder("auth.tokens.rows", count, AtomicLong::get)
+               .description("Filas de la tabla de tokens tras la última limpieza (-1 si aún no corrió)")
+               .tag("table", table)
+               .register(meterRegistry);
+      }
+   }
+
+   @Scheduled(
+         initialDelayString = "${auth.tokens.purge.initial-delay:60000}",
+         fixedDelayString = "${auth.tokens.purge.interval:3600000}")
+   public void run() {
+      if (!enabled) {
+         return;
+      }
+
+      LocalDateTime cutoff = LocalDateTime.now().minus(retentionMillis, ChronoUnit.MILLIS);
+      for (TokenType type : TokenType.values()) {
+         purge(type, cutoff);
+      }
+   }
+
+   private void purge(TokenType type, LocalDateTime cutoff) {
+      Timer.Sample sample = Timer.start();
+      try {
+         TokenPurgeResult result = purgeExpiredTokensUseCase.purge(type, cutoff, chunkSize, maxChunksPerRun);
+         purged.get(type).increment(result.deleted());
+         if (result.deleted() > 0) {
+            log.info("Limpieza de {}: {} filas borradas en {} lotes{}", type.getTableName(),
+                  result.deleted(), result.chunks(), result.completed() ? "" : " (continúa en la próxima ejecución)");
+         }
+         rows.get(type).set(purgeExpiredTokensUseCase.countTokens(type));
+      } catch (RuntimeException e) {
+         // Los lotes confirmados quedan borrados; el resto se reintenta en la próxima ejecución
+         log.warn("Limpieza de {} interrumpida: {}", type.getTableName(), e.getMessage());
+      } finally {
+         sample.stop(durations.get(type));
+      }
+   }
+}
\ No newline at end of file
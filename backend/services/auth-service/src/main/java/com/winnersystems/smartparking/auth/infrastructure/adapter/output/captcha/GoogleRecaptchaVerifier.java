@@ -0,0 +1,98 @@
+package com.winnersystems.smartparking.auth.infrastructure.adapter.output.captcha;
+
+import com.winnersystems.smartparking.auth.application.dto.query.CaptchaValidationResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Verificación contra la API siteverify de Google, con el RestTemplate
+ * con pool y timeouts de AppConfig.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Component
+@ConditionalOnProperty(name = "recaptcha.verifier", havingValue = "google", matchIfMissing = true)
+class GoogleRecaptchaVerifier implements RecaptchaVerifier {
+
+   private final RestTemplate restTemplate;
+
+   @Value("${recaptcha.secret-key:}")
+   private String secretKey;
+
+   @Value("${recaptcha.verify-url:https://www.google.com/recaptcha/api/siteverify}")
+   private String verifyUrl;
+
+   GoogleRecaptchaVerifier(RestTemplate restTemplate) {
+      this.restTemplate = restTemplate;
+   }
+
+   @Override
+   public CaptchaValidationResult verify(String captchaToken, String remoteIp) {
+      // Parámetros de petición
+      MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+      params.add("secret", secretKey);
+      params.add("response", captchaToken);
+
+      if (remoteIp != null && !remoteIp.isEmpty()) {
+         params.add("remoteip", remoteIp);
+      }
+
+      // Llamada a la API de Google
+      ResponseEntity<Map> response = restTemplate.postForEntity(
+            verifyUrl,
+            params,
+            Map.class
+      );
+
+      if (response.getBody() == null) {
+         return new CaptchaValidationResult(
+               false,
+               0.0,
+               null,
+               null,
+               remoteIp,
+               new String[]{"invalid-response"}
+         );
+      }
+
+      Map<String, Object> body = response.getBody();
+
+      Boolean success = (Boolean) body.get("success");
+
+      double score = body.get("score") != null
+            ? ((Number) body.get("score")).doubleValue()
+            : 0.0;
+
+      String action = (String) body.get("action");
+      String hostname = (String) body.get("hostname");
+
+      // Convertir error-codes a String[]
+      List<?> errorList = (List<?>) body.get("error-codes");
+      String[] errorCodes = (errorList != null)
+            ? errorList.stream().map(Object::toString).toArray(String[]::new)
+            : new String[0];
+
+      return new CaptchaValidationResult(
+            Boolean.TRUE.equals(success),
+            score,
+            action,
+            null,         // challengeTs (Google v3 no envía timestamp)
+            hostname,
+            errorCodes
+      );
+   }
+
+   @Override
+   public boolean isConfigured() {
+      return secretKey != null && !secretKey.isEmpty();
+   }
+}
\ No newline at end of file
@@ -2,46 +2,97 @@ package com.winnersystems.smartparking.auth.infrastructure.adapter.output.captch
 
 import com.winnersystems.smartparking.auth.application.dto.query.CaptchaValidationResult;
 import com.winnersystems.smartparking.auth.application.port.output.CaptchaPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.RestClientException;
 
-import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Adaptador para validación de Google reCAPTCHA v3.
  * Implementa CaptchaPort.
  *
+ * - La verificación la hace un RecaptchaVerifier (Google o el stub local)
+ * - Solo los rechazos se guardan, poco tiempo, por hash del token + IP:
+ *   reenviar un token inválido no vuelve a llamar a Google
+ * - Un token válido nunca se guarda: cada envío se verifica y Google
+ *   rechaza el token repetido (timeout-or-duplicate), así que un token
+ *   capturado no se puede reutilizar aunque se falsifique la IP
+ * - Si el verificador no responde a tiempo, failure-policy decide:
+ *   closed rechaza el captcha, open lo deja pasar (el limitador de
+ *   intentos sigue aplicando)
+ *
+ * Propiedades (recaptcha):
+ * - verifier: google | stub (default google)
+ * - failure-policy: closed | open (default closed)
+ * - cache.ttl: ms de vigencia de un rechazo (default 120000, lo que vive un token)
+ * - cache.max-size: rechazos en memoria; lleno, no se guardan (default 10000)
+ *
+ * Métricas: auth.captcha.verifications{result=cached|verified|rejected|unavailable}
+ * y auth.captcha.verify (latencia del verificador).
+ *
  * @author Edwin Yoner Winner Systems - Smart Parking Platform
  * @version 1.0
  */
+@Slf4j
 @Component
 public class RecaptchaAdapter implements CaptchaPort {
 
-   private final RestTemplate restTemplate;
-
-   @Value("${recaptcha.secret-key:}")
-   private String secretKey;
-
-   @Value("${recaptcha.verify-url:https://www.google.com/recaptcha/api/siteverify}")
-   private String verifyUrl;
-
-   @Value("${recaptcha.enabled:false}")
-   private boolean enabled;
-
-   public RecaptchaAdapter(RestTemplate restTemplate) {
-      this.restTemplate = restTemplate;
+   private final RecaptchaVerifier verifier;
+   private final boolean enabled;
+   private final boolean failOpen;
+   private final long cacheTtlMillis;
+   private final int cacheMaxSize;
+
+   /** Hash del token + IP -> verificación rechazada */
+   private final Map<String, CachedResult> results = new ConcurrentHashMap<>();
+
+   private final Timer verifyTimer;
+   private final Counter cachedCounter;
+   private final Counter verifiedCounter;
+   private final Counter rejectedCounter;
+   private final Counter unavailableCounter;
+
+   public RecaptchaAdapter(RecaptchaVerifier verifier,
+                           MeterRegistry meterRegistry,
+                           @Value("${recaptcha.enabled:false}") boolean enabled,
+                           @Value("${recaptcha.failure-policy:closed}") String failurePolicy,
+                           @Value("${recaptcha.cache.ttl:120000}") long cacheTtlMillis,
+                           @Value("${recaptcha.cache.max-size:10000}") int cacheMaxSize) {
+      this.verifier = verifier;
+      this.enabled = enabled;
+      this.failOpen = switch (failurePolicy.trim().toLowerCase(Locale.ROOT)) {
+         case "open" -> true;
+         case "closed" -> false;
+         default -> throw new IllegalArgumentException(
+               "recaptcha.failure-policy inválido: " + failurePolicy + " (open | closed)");
+      };
+      this.cacheTtlMillis = cacheTtlMillis;
+      this.cacheMaxSize = cacheMaxSize;
+      this.verifyTimer = Timer.builder("auth.captcha.verify")
+            .description("Latencia del verificador de reCAPTCHA")
+            .register(meterRegistry);
+      this.cachedCounter = resultCounter(meterRegistry, "cached");
+      this.verifiedCounter = resultCounter(meterRegistry, "verified");
+      this.rejectedCounter = resultCounter(meterRegistry, "rejected");
+      this.unavailableCounter = resultCounter(meterRegistry, "unavailable");
    }
 
    @Override
    public CaptchaValidationResult validate(String captchaToken, String ipAddress) {
 
       // Si está deshabilitado (modo desarrollo) → devolver éxito por defecto
-      if (!enabled || secretKey == null || secretKey.isEmpty()) {
+      if (!isEnabled()) {
          return new CaptchaValidationResult(
                true,          // success
                1.0,           // score
@@ -64,77 +115,89 @@ public class RecaptchaAdapter implements CaptchaPort {
          );
       }
 
-      try {
-         // Parámetros de petición
-         MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
-         params.add("secret", secretKey);
-         params.add("response", captchaToken);
-
-         if (ipAddress != null && !ipAddress.isEmpty()) {
-            params.add("remoteip", ipAddress);
-         }
-
-         // Llamada a la API de Google
-         ResponseEntity<Map> response = restTemplate.postForEntity(
-               verifyUrl,
-               params,
-               Map.class
-         );
-
-         if (response.getBody() == null) {
-            return new CaptchaValidationResult(
-                  false,
-                  0.0,
-                  null,
-                  null,
-                  ipAddress,
-                  new String[]{"invalid-response"}
-            );
-         }
-
-         Map<String, Object> body = response.getBody();
+      String key = hash(captchaToken, ipAddress);
+      long now = System.currentTimeMillis();
+      CachedResult cached = results.get(key);
+      if (cached != null && now - cached.verifiedAt() < cacheTtlMillis) {
+         cachedCounter.increment();
+         return cached.result();
+      }
 
-         Boolean success = (Boolean) body.get("success");
+      CaptchaValidationResult result;
+      Timer.Sample sample = Timer.start();
+      try {
+         result = verifier.verify(captchaToken, ipAddress);
+      } catch (RestClientException e) {
+         return unavailable(ipAddress, e);
+      } catch (RuntimeException e) {
+         // Respuesta con formato inesperado: se rechaza, sin guardarla
+         log.warn("Respuesta inválida del verificador de reCAPTCHA: {}", e.getMessage());
+         rejectedCounter.increment();
+         return new CaptchaValidationResult(false, 0.0, null, null, ipAddress, new String[]{"invalid-response"});
+      } finally {
+         sample.stop(verifyTimer);
+      }
 
-         double score = body.get("score") != null
-               ? ((Number) body.get("score")).doubleValue()
-               : 0.0;
+      if (result.success()) {
+         verifiedCounter.increment();
+      } else {
+         rejectedCounter.increment();
+         remember(key, result, now);
+      }
+      return result;
+   }
 
-         String action = (String) body.get("action");
-         String hostname = (String) body.get("hostname");
+   @Override
+   public boolean isEnabled() {
+      return enabled && verifier.isConfigured();
+   }
 
-         // Convertir error-codes a String[]
-         List<?> errorList = (List<?>) body.get("error-codes");
-         String[] errorCodes = (errorList != null)
-               ? errorList.stream().map(Object::toString).toArray(String[]::new)
-               : new String[0];
+   // ========== HELPERS ==========
 
-         return new CaptchaValidationResult(
-               Boolean.TRUE.equals(success),
-               score,
-               action,
-               null,         // challengeTs (Google v3 no envía timestamp)
-               hostname,
-               errorCodes
-         );
+   /**
+    * Resultado cuando el verificador no responde, según failure-policy. No se guarda.
+    */
+   private CaptchaValidationResult unavailable(String ipAddress, RestClientException e) {
+      unavailableCounter.increment();
+      log.warn("Verificador de reCAPTCHA no disponible ({}), política {}: {}",
+            e.getClass().getSimpleName(), failOpen ? "open" : "closed", e.getMessage());
 
-      } catch (Exception e) {
+      if (failOpen) {
+         return new CaptchaValidationResult(true, 1.0, null, null, ipAddress, new String[]{"verifier-unavailable"});
+      }
+      return new CaptchaValidationResult(false, 0.0, null, null, ipAddress, new String[]{"connection-error"});
+   }
 
-         System.err.println("Error validando reCAPTCHA: " + e.getMessage());
+   private void remember(String key, CaptchaValidationResult result, long now) {
+      if (results.size() >= cacheMaxSize) {
+         results.values().removeIf(cached -> now - cached.verifiedAt() >= cacheTtlMillis);
+      }
+      if (results.size() < cacheMaxSize) {
+         results.put(key, new CachedResult(result, now));
+      }
+   }
 
-         return new CaptchaValidationResult(
-               false,
-               0.0,
-               null,
-               null,
-               ipAddress,
-               new String[]{"connection-error"}
-         );
+   private static String hash(String token, String ipAddress) {
+      try {
+         MessageDigest digest = MessageDigest.getInstance("SHA-256");
+         digest.update(token.getBytes(StandardCharsets.UTF_8));
+         digest.update((byte) '\n');
+         if (ipAddress != null) {
+            digest.update(ipAddress.getBytes(StandardCharsets.UTF_8));
+         }
+         return HexFormat.of().formatHex(digest.digest());
+      } catch (NoSuchAlgorithmException e) {
+         throw new IllegalStateException("SHA-256 no disponible", e);
       }
    }
 
-   @Override
-   public boolean isEnabled() {
-      return enabled && secretKey != null && !secretKey.isEmpty();
+   private static Counter resultCounter(MeterRegistry meterRegistry, String result) {
+      return Counter.builder("auth.captcha.verifications")
+            .description("Tokens de reCAPTCHA resueltos por el adaptador")
+            .tag("result", result)
+            .register(meterRegistry);
+   }
+
+   private record CachedResult(CaptchaValidationResult result, long verifiedAt) {
    }
 }
\ No newline at end of file
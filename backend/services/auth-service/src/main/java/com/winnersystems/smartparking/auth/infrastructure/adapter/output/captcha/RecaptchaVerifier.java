@@ -0,0 +1,29 @@
+package com.winnersystems.smartparking.auth.infrastructure.adapter.output.captcha;
+
+import com.winnersystems.smartparking.auth.application.dto.query.CaptchaValidationResult;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Verificador de tokens reCAPTCHA que usa RecaptchaAdapter.
+ *
+ * Implementaciones (recaptcha.verifier):
+ * - google: API siteverify de Google (default)
+ * - stub: respuestas locales fijas, para pruebas sin red
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+interface RecaptchaVerifier {
+
+   /**
+    * Verifica el token.
+    *
+    * @throws RestClientException si el verificador no responde a tiempo o no está disponible
+    */
+   CaptchaValidationResult verify(String captchaToken, String remoteIp);
+
+   /**
+    * true si tiene lo necesario para verificar (p. ej. la secret key).
+    */
+   boolean isConfigured();
+}
\ No newline at end of file
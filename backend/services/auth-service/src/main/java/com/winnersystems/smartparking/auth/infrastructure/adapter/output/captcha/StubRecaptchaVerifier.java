@@ -0,0 +1,50 @@
+package com.winnersystems.smartparking.auth.infrastructure.adapter.output.captcha;
+
+import com.winnersystems.smartparking.auth.application.dto.query.CaptchaValidationResult;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+
+/**
+ * Verificador local, sin red, para probar el flujo de captcha
+ * (recaptcha.verifier: stub). No usar en producción.
+ *
+ * Respuesta según el prefijo del token:
+ * - pass: válido, score 0.9
+ * - low: válido, score 0.1 (posible bot)
+ * - timeout: el verificador no responde a tiempo
+ * - down: el verificador no está disponible
+ * - cualquier otro: inválido (invalid-input-response)
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Component
+@ConditionalOnProperty(name = "recaptcha.verifier", havingValue = "stub")
+class StubRecaptchaVerifier implements RecaptchaVerifier {
+
+   @Override
+   public CaptchaValidationResult verify(String captchaToken, String remoteIp) {
+      if (captchaToken.startsWith("pass")) {
+         return CaptchaValidationResult.forV3(true, 0.9, null, null, "localhost");
+      }
+      if (captchaToken.startsWith("low")) {
+         return CaptchaValidationResult.forV3(true, 0.1, null, null, "localhost");
+      }
+      if (captchaToken.startsWith("timeout")) {
+         throw new ResourceAccessException("Read timed out (stub)", new SocketTimeoutException("stub"));
+      }
+      if (captchaToken.startsWith("down")) {
+         throw new ResourceAccessException("Connection refused (stub)", new ConnectException("stub"));
+      }
+      return CaptchaValidationResult.withErrors(new String[]{"invalid-input-response"});
+   }
+
+   @Override
+   public boolean isConfigured() {
+      return true;
+   }
+}
\ No newline at end of file
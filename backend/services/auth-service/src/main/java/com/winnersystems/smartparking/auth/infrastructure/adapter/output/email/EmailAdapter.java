@@ -1,18 +1,24 @@
 package com.winnersystems.smartparking.auth.infrastructure.adapter.output.email;
 
 import com.winnersystems.smartparking.auth.application.port.output.EmailPort;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
+import com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.email.entity.EmailOutboxEntity;
+import com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.email.repository.EmailOutboxRepository;
 import org.springframework.stereotype.Component;
 
 import java.util.Set;
 
 /**
  * Adaptador para envío de emails.
- * Implementa EmailPort usando JavaMailSender de Spring.
+ * Implementa EmailPort encolando cada email en la tabla email_outbox.
+ *
+ * <p>El email se guarda dentro de la transacción del caso de uso (sale solo
+ * si la transacción se confirma) y lo envía EmailOutboxWorker por SMTP:
+ * ni la request ni la conexión a la BD esperan al servidor de correo.</p>
+ *
+ * <p>El cuerpo se guarda cifrado (EmailBodyCipher): contraseñas temporales
+ * y enlaces de un solo uso no quedan legibles en la tabla.</p>
+ *
+ * <p>Las plantillas HTML se compilan una sola vez, al cargar la clase.</p>
  *
  * @author Edwin Yoner Winner Systems - Smart Parking Platform
  * @version 1.0
@@ -20,16 +26,12 @@ import java.util.Set;
 @Component
 public class EmailAdapter implements EmailPort {
 
-   private final JavaMailSender mailSender;
-
-   @Value("${mail.from:noreply@smartparking.com}")
-   private String fromEmail;
-
-   @Value("${mail.from-name:Smart Parking System}")
-   private String fromName;
+   private final EmailOutboxRepository emailOutboxRepository;
+   private final EmailBodyCipher bodyCipher;
 
-   public EmailAdapter(JavaMailSender mailSender) {
-      this.mailSender = mailSender;
+   public EmailAdapter(EmailOutboxRepository emailOutboxRepository, EmailBodyCipher bodyCipher) {
+      this.emailOutboxRepository = emailOutboxRepository;
+      this.bodyCipher = bodyCipher;
    }
 
    // ========== AUTENTICACIÓN Y VERIFICACIÓN ==========
@@ -38,7 +40,166 @@ public class EmailAdapter implements EmailPort {
    public void sendWelcomeEmail(String toEmail, String userName, String verificationLink, int validityHours) {
       String subject = "¡Bienvenido a Smart Parking!";
 
-      String body = """
+      String body = WELCOME_TEMPLATE.render(userName, verificationLink, verificationLink, validityHours);
+
+      sendHtmlEmail(toEmail, subject, body);
+   }
+
+   @Override
+   public void sendVerificationEmail(String toEmail, String userName, String verificationLink, int validityHours) {
+      String subject = "Verificar Email - Smart Parking";
+
+      String body = VERIFICATION_TEMPLATE.render(userName, verificationLink, verificationLink, validityHours);
+
+      sendHtmlEmail(toEmail, subject, body);
+   }
+
+   @Override
+   public void sendEmailVerifiedConfirmation(String toEmail, String userName) {
+      String subject = "Email Verificado - Smart Parking";
+
+      String body = EMAIL_VERIFIED_TEMPLATE.render(userName);
+
+      sendHtmlEmail(toEmail, subject, body);
+   }
+
+   // ========== RECUPERACIÓN DE CONTRASEÑA ==========
+
+   @Override
+   public void sendPasswordResetEmail(String toEmail, String userName, String resetLink, int validityHours) {
+      String subject = "Restablecer Contraseña - Smart Parking";
+
+      String body = PASSWORD_RESET_TEMPLATE.render(userName, resetLink, resetLink, validityHours);
+
+      sendHtmlEmail(toEmail, subject, body);
+   }
+
+   @Override
+   public void sendPasswordChangedEmail(String toEmail, String userName, String changedAt) {
+      String subject = "Contraseña Cambiada - Smart Parking";
+
+      String body = PASSWORD_CHANGED_TEMPLATE.render(userName, changedAt);
+
+      sendHtmlEmail(toEmail, subject, body);
+   }
+
+   // ========== GESTIÓN DE CUENTA ==========
+
+   @Override
+   public void sendAccountDeactivatedEmail(String toEmail, String userName, String reason) {
+      String subject = "Cuenta Desactivada - Smart Parking";
+
+      String body = ACCOUNT_DEACTIVATED_TEMPLATE.render(userName, reason != null ? reason : "Sin motivo especificado");
+
+      sendHtmlEmail(toEmail, subject, body);
+   }
+
+   @Override
+   public void sendAccountActivatedEmail(String toEmail, String userName) {
+      String subject = "Cuenta Activada - Smart Parking";
+
+      String body = ACCOUNT_ACTIVATED_TEMPLATE.render(userName);
+
+      sendHtmlEmail(toEmail, subject, body);
+   }
+
+   @Override
+   public void sendRoleAssignedEmail(String toEmail, String userName, String roleName, String assignedBy) {
+      String subject = "Nuevo Rol Asignado - Smart Parking";
+
+      String body = ROLE_ASSIGNED_TEMPLATE.render(userName, roleName, assignedBy);
+
+      sendHtmlEmail(toEmail, subject, body);
+   }
+
+   @Override
+   public void sendRoleRemovedEmail(String toEmail, String userName, String roleName, String removedBy) {
+      String subject = "Rol Removido - Smart Parking";
+
+      String body = ROLE_REMOVED_TEMPLATE.render(userName, roleName, removedBy);
+
+      sendHtmlEmail(toEmail, subject, body);
+   }
+
+   // ========== EMAIL GENÉRICO ==========
+
+   /**
+    * Encola el email con el cuerpo cifrado; EmailOutboxWorker lo envía cuando la transacción se confirma.
+    */
+   @Override
+   public void sendHtmlEmail(String toEmail, String subject, String htmlBody) {
+      if (toEmail == null || toEmail.isBlank()) {
+         throw new IllegalArgumentException("El email destino es obligatorio");
+      }
+      emailOutboxRepository.save(EmailOutboxEntity.builder()
+            .toEmail(toEmail)
+            .subject(subject)
+            .htmlBody(bodyCipher.encrypt(htmlBody))
+            .build());
+   }
+
+   @Override
+   public void sendVerificationEmail(String toEmail, String userName, String verificationLink) {
+      // Llamar a la versión completa con validez por defecto de 24 horas
+      sendVerificationEmail(toEmail, userName, verificationLink, 24);
+   }
+
+   @Override
+   public void sendWelcomeEmailWithCredentials(
+         String toEmail,
+         String userName,
+         String email,
+         String password,
+         Set<String> roles,
+         String verificationLink,
+         int validityHours) {
+
+      String subject = "¡Bienvenido a Smart Parking! - Credenciales de Acceso";
+
+      // ✅ Construir lista HTML de roles
+      StringBuilder rolesHtml = new StringBuilder();
+      for (String role : roles) {
+         String roleDisplayName = getRoleDisplayName(role);
+         String roleDescription = getRoleDescription(role);
+
+         rolesHtml.append(ROLE_BADGE_TEMPLATE.render(roleDisplayName, roleDescription));
+      }
+
+      String body = WELCOME_CREDENTIALS_TEMPLATE.render(
+            userName,           // Saludo
+            email,              // Usuario (Email)
+            password,           // Contraseña temporal
+            rolesHtml.toString(), // ✅ Roles HTML
+            verificationLink,   // Botón de verificación
+            verificationLink,   // Link manual
+            validityHours       // Horas de validez
+      );
+
+      sendHtmlEmail(toEmail, subject, body);
+   }
+
+   // ✅ Métodos auxiliares para nombres y descripciones
+   private String getRoleDisplayName(String role) {
+      return switch (role) {
+         case "ADMIN" -> "Administrador";
+         case "AUTORIDAD" -> "Autoridad Municipal";
+         case "OPERADOR" -> "Operador";
+         default -> role;
+      };
+   }
+
+   private String getRoleDescription(String role) {
+      return switch (role) {
+         case "ADMIN" -> "Acceso completo al sistema Smart Parking";
+         case "AUTORIDAD" -> "Gestión de zonas, tarifas, reportes y configuración municipal";
+         case "OPERADOR" -> "Operación diaria del sistema de estacionamiento";
+         default -> "Rol personalizado";
+      };
+   }
+
+   // ========== PLANTILLAS (compiladas una vez) ==========
+
+   private static final EmailTemplate WELCOME_TEMPLATE = EmailTemplate.compile("""
             <!DOCTYPE html>
             <html>
             <head>
@@ -75,16 +236,9 @@ public class EmailAdapter implements EmailPort {
                 </div>
             </body>
             </html>
-            """.formatted(userName, verificationLink, verificationLink, validityHours);
+            """);
 
-      sendHtmlEmail(toEmail, subject, body);
-   }
-
-   @Override
-   public void sendVerificationEmail(String toEmail, String userName, String verificationLink, int validityHours) {
-      String subject = "Verificar Email - Smart Parking";
-
-      String body = """
+   private static final EmailTemplate VERIFICATION_TEMPLATE = EmailTemplate.compile("""
             <!DOCTYPE html>
             <html>
             <head>
@@ -121,16 +275,9 @@ public class EmailAdapter implements EmailPort {
                 </div>
             </body>
             </html>
-            """.formatted(userName, verificationLink, verificationLink, validityHours);
-
-      sendHtmlEmail(toEmail, subject, body);
-   }
+            """);
 
-   @Override
-   public void sendEmailVerifiedConfirmation(String toEmail, String userName) {
-      String subject = "Email Verificado - Smart Parking";
-
-      String body = """
+   private static final EmailTemplate EMAIL_VERIFIED_TEMPLATE = EmailTemplate.compile("""
             <!DOCTYPE html>
             <html>
             <head>
@@ -153,18 +300,9 @@ public class EmailAdapter implements EmailPort {
                 </div>
             </body>
             </html>
-            """.formatted(userName);
-
-      sendHtmlEmail(toEmail, subject, body);
-   }
-
-   // ========== RECUPERACIÓN DE CONTRASEÑA ==========
+            """);
 
-   @Override
-   public void sendPasswordResetEmail(String toEmail, String userName, String resetLink, int validityHours) {
-      String subject = "Restablecer Contraseña - Smart Parking";
-
-      String body = """
+   private static final EmailTemplate PASSWORD_RESET_TEMPLATE = EmailTemplate.compile("""
             <!DOCTYPE html>
             <html>
             <head>
@@ -202,16 +340,9 @@ public class EmailAdapter implements EmailPort {
                 </div>
             </body>
             </html>
-            """.formatted(userName, resetLink, resetLink, validityHours);
-
-      sendHtmlEmail(toEmail, subject, body);
-   }
-
-   @Override
-   public void sendPasswordChangedEmail(String toEmail, String userName, String changedAt) {
-      String subject = "Contraseña Cambiada - Smart Parking";
+            """);
 
-      String body = """
+   private static final EmailTemplate PASSWORD_CHANGED_TEMPLATE = EmailTemplate.compile("""
             <!DOCTYPE html>
             <html>
             <head>
@@ -235,18 +366,9 @@ public class EmailAdapter implements EmailPort {
                 </div>
             </body>
             </html>
-            """.formatted(userName, changedAt);
+            """);
 
-      sendHtmlEmail(toEmail, subject, body);
-   }
-
-   // ========== GESTIÓN DE CUENTA ==========
-
-   @Override
-   public void sendAccountDeactivatedEmail(String toEmail, String userName, String reason) {
-      String subject = "Cuenta Desactivada - Smart Parking";
-
-      String body = """
+   private static final EmailTemplate ACCOUNT_DEACTIVATED_TEMPLATE = EmailTemplate.compile("""
             <!DOCTYPE html>
             <html>
             <head>
@@ -271,16 +393,9 @@ public class EmailAdapter implements EmailPort {
                 </div>
             </body>
             </html>
-            """.formatted(userName, reason != null ? reason : "Sin motivo especificado");
-
-      sendHtmlEmail(toEmail, subject, body);
-   }
-
-   @Override
-   public void sendAccountActivatedEmail(String toEmail, String userName) {
-      String subject = "Cuenta Activada - Smart Parking";
+            """);
 
-      String body = """
+   private static final EmailTemplate ACCOUNT_ACTIVATED_TEMPLATE = EmailTemplate.compile("""
             <!DOCTYPE html>
             <html>
             <head>
@@ -304,16 +419,9 @@ public class EmailAdapter implements EmailPort {
                 </div>
             </body>
             </html>
-            """.formatted(userName);
-
-      sendHtmlEmail(toEmail, subject, body);
-   }
-
-   @Override
-   public void sendRoleAssignedEmail(String toEmail, String userName, String roleName, String assignedBy) {
-      String subject = "Nuevo Rol Asignado - Smart Parking";
+            """);
 
-      String body = """
+   private static final EmailTemplate ROLE_ASSIGNED_TEMPLATE = EmailTemplate.compile("""
             <!DOCTYPE html>
             <html>
             <head>
@@ -338,16 +446,9 @@ public class EmailAdapter implements EmailPort {
                 </div>
             </body>
             </html>
-            """.formatted(userName, roleName, assignedBy);
+            """);
 
-      sendHtmlEmail(toEmail, subject, body);
-   }
-
-   @Override
-   public void sendRoleRemovedEmail(String toEmail, String userName, String roleName, String removedBy) {
-      String subject = "Rol Removido - Smart Parking";
-
-      String body = """
+   private static final EmailTemplate ROLE_REMOVED_TEMPLATE = EmailTemplate.compile("""
             <!DOCTYPE html>
             <html>
             <head>
@@ -372,66 +473,16 @@ public class EmailAdapter implements EmailPort {
                 </div>
             </body>
             </html>
-            """.formatted(userName, roleName, removedBy);
+            """);
 
-      sendHtmlEmail(toEmail, subject, body);
-   }
-
-   // ========== EMAIL GENÉRICO ==========
-
-   @Override
-   public void sendHtmlEmail(String toEmail, String subject, String htmlBody) {
-      try {
-         MimeMessage message = mailSender.createMimeMessage();
-         MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-         helper.setFrom(fromEmail, fromName);
-         helper.setTo(toEmail);
-         helper.setSubject(subject);
-         helper.setText(htmlBody, true); // true = HTML
-
-         mailSender.send(message);
-
-      } catch (MessagingException e) {
-         throw new RuntimeException("Error al enviar email: " + e.getMessage(), e);
-      } catch (Exception e) {
-         throw new RuntimeException("Error inesperado al enviar email", e);
-      }
-   }
-
-   @Override
-   public void sendVerificationEmail(String toEmail, String userName, String verificationLink) {
-      // Llamar a la versión completa con validez por defecto de 24 horas
-      sendVerificationEmail(toEmail, userName, verificationLink, 24);
-   }
-
-   @Override
-   public void sendWelcomeEmailWithCredentials(
-         String toEmail,
-         String userName,
-         String email,
-         String password,
-         Set<String> roles,
-         String verificationLink,
-         int validityHours) {
-
-      String subject = "¡Bienvenido a Smart Parking! - Credenciales de Acceso";
-
-      // ✅ Construir lista HTML de roles
-      StringBuilder rolesHtml = new StringBuilder();
-      for (String role : roles) {
-         String roleDisplayName = getRoleDisplayName(role);
-         String roleDescription = getRoleDescription(role);
-
-         rolesHtml.append("""
+   private static final EmailTemplate ROLE_BADGE_TEMPLATE = EmailTemplate.compile("""
             <div class="role-badge">
                 <div class="role-name">🔹 %s</div>
                 <div class="role-desc">%s</div>
             </div>
-            """.formatted(roleDisplayName, roleDescription));
-      }
+            """);
 
-      String body = """
+   private static final EmailTemplate WELCOME_CREDENTIALS_TEMPLATE = EmailTemplate.compile("""
          <!DOCTYPE html>
          <html>
          <head>
@@ -643,35 +694,5 @@ public class EmailAdapter implements EmailPort {
              </div>
          </body>
          </html>
-         """.formatted(
-            userName,           // Saludo
-            email,              // Usuario (Email)
-            password,           // Contraseña temporal
-            rolesHtml.toString(), // ✅ Roles HTML
-            verificationLink,   // Botón de verificación
-            verificationLink,   // Link manual
-            validityHours       // Horas de validez
-      );
-
-      sendHtmlEmail(toEmail, subject, body);
-   }
-
-   // ✅ Métodos auxiliares para nombres y descripciones
-   private String getRoleDisplayName(String role) {
-      return switch (role) {
-         case "ADMIN" -> "Administrador";
-         case "AUTORIDAD" -> "Autoridad Municipal";
-         case "OPERADOR" -> "Operador";
-         default -> role;
-      };
-   }
-
-   private String getRoleDescription(String role) {
-      return switch (role) {
-         case "ADMIN" -> "Acceso completo al sistema Smart Parking";
-         case "AUTORIDAD" -> "Gestión de zonas, tarifas, reportes y configuración municipal";
-         case "OPERADOR" -> "Operación diaria del sistema de estacionamiento";
-         default -> "Rol personalizado";
-      };
-   }
+         """);
 }
\ No newline at end of file
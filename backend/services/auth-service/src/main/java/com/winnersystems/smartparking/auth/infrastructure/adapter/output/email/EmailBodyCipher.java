@@ -0,0 +1,94 @@
+package com.winnersystems.smartparking.auth.infrastructure.adapter.output.email;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Cifra el cuerpo de los emails mientras esperan en email_outbox.
+ *
+ * Los emails llevan contraseñas temporales y enlaces de un solo uso
+ * (verificación, restablecimiento): en la tabla solo queda el texto
+ * cifrado con AES-256-GCM. EmailAdapter cifra al encolar y
+ * EmailOutboxWorker descifra justo antes de enviar.
+ *
+ * Formato: Base64(IV de 12 bytes + texto cifrado con su tag).
+ *
+ * Propiedades (email.outbox):
+ * - encryption-key: clave AES de 256 bits en Base64 (obligatoria)
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Component
+public class EmailBodyCipher {
+
+   private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+   private static final int IV_BYTES = 12;
+   private static final int TAG_BITS = 128;
+
+   private final SecretKeySpec key;
+   private final SecureRandom random = new SecureRandom();
+
+   public EmailBodyCipher(@Value("${email.outbox.encryption-key}") String base64Key) {
+      byte[] bytes;
+      try {
+         bytes = Base64.getDecoder().decode(base64Key);
+      } catch (IllegalArgumentException e) {
+         throw new IllegalStateException("email.outbox.encryption-key no es Base64 válido", e);
+      }
+      if (bytes.length != 32) {
+         throw new IllegalStateException("email.outbox.encryption-key debe tener 256 bits (32 bytes)");
+      }
+      this.key = new SecretKeySpec(bytes, "AES");
+   }
+
+   /**
+    * @return el cuerpo cifrado, o null si no hay cuerpo
+    */
+   public String encrypt(String plainText) {
+      if (plainText == null) {
+         return null;
+      }
+      try {
+         byte[] iv = new byte[IV_BYTES];
+         random.nextBytes(iv);
+         Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+         cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+         byte[] encrypted = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
+         return Base64.getEncoder().encodeToString(
+               ByteBuffer.allocate(iv.length + encrypted.length).put(iv).put(encrypted).array());
+      } catch (GeneralSecurityException e) {
+         throw new IllegalStateException("No se pudo cifrar el cuerpo del email", e);
+      }
+   }
+
+   /**
+    * @return el cuerpo original, o null si no hay cuerpo
+    * @throws IllegalStateException si el texto no se cifró con esta clave
+    */
+   public String decrypt(String encoded) {
+      if (encoded == null) {
+         return null;
+      }
+      try {
+         byte[] data = Base64.getDecoder().decode(encoded);
+         if (data.length <= IV_BYTES) {
+            throw new IllegalStateException("Cuerpo cifrado incompleto");
+         }
+         Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+         cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, data, 0, IV_BYTES));
+         return new String(cipher.doFinal(data, IV_BYTES, data.length - IV_BYTES), StandardCharsets.UTF_8);
+      } catch (GeneralSecurityException | IllegalArgumentException e) {
+         throw new IllegalStateException("No se pudo descifrar el cuerpo del email", e);
+      }
+   }
+}
\ No newline at end of file
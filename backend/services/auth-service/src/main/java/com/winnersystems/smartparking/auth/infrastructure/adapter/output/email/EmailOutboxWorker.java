@@ -0,0 +1,320 @@
+package com.winnersystems.smartparking.auth.infrastructure.adapter.output.email;
+
+import com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.email.entity.EmailOutboxEntity;
+import com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.email.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UnsupportedEncodingException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envía los emails encolados por EmailAdapter (tabla email_outbox).
+ *
+ * Funcionamiento:
+ * - Cada poll-interval toma lotes de hasta batch-size emails listos
+ *   (SELECT ... FOR UPDATE SKIP LOCKED) y los reserva moviendo
+ *   next_attempt_at a ahora + lease
+ * - Cada lote lo envía un hilo del pool (workers) por una sola conexión
+ *   SMTP: JavaMailSender.send(MimeMessage...) abre el transporte una vez
+ *   por lote
+ * - Enviado: se borra la fila. Falla: se reintenta con espera creciente
+ *   (backoff * 2^(intentos-1), hasta max-backoff); agotados max-attempts
+ *   queda FAILED sin cuerpo
+ * - Si un worker muere con un lote reservado, sus emails vuelven a salir
+ *   al vencer la reserva
+ * - El cuerpo está cifrado en la tabla (EmailBodyCipher) y se descifra
+ *   solo para armar el mensaje
+ * - Cada purge-interval se borran las filas FAILED creadas hace más de
+ *   failed-retention, con un solo DELETE
+ *
+ * Propiedades (email.outbox):
+ * - poll-interval: ms entre sondeos (default 1000)
+ * - batch-size: emails por conexión SMTP (default 50)
+ * - workers: lotes enviándose a la vez (default 2)
+ * - max-attempts: intentos antes de FAILED (default 6)
+ * - backoff / max-backoff: espera entre intentos en ms (default 30000 / 1800000)
+ * - lease: ms de reserva de un lote en envío (default 300000)
+ * - failed-retention: ms que se conserva una fila FAILED para revisión (default 604800000)
+ * - purge-interval: ms entre limpiezas de filas FAILED (default 3600000)
+ *
+ * Métricas: auth.email.outbox{result=sent|retried|failed|purged}.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class EmailOutboxWorker {
+
+   private final EmailOutboxRepository emailOutboxRepository;
+   private final EmailBodyCipher bodyCipher;
+   private final JavaMailSender mailSender;
+   private final TransactionTemplate transactionTemplate;
+
+   private final int batchSize;
+   private final int workers;
+   private final int maxAttempts;
+   private final long backoffMillis;
+   private final long maxBackoffMillis;
+   private final long leaseMillis;
+   private final long failedRetentionMillis;
+
+   @Value("${mail.from:noreply@smartparking.com}")
+   private String fromEmail;
+
+   @Value("${mail.from-name:Smart Parking System}")
+   private String fromName;
+
+   private final ExecutorService senders;
+   private final AtomicInteger inFlight = new AtomicInteger();
+
+   private final Counter sentCounter;
+   private final Counter retriedCounter;
+   private final Counter failedCounter;
+   private final Counter purgedCounter;
+
+   public EmailOutboxWorker(EmailOutboxRepository emailOutboxRepository,
+                            EmailBodyCipher bodyCipher,
+                            JavaMailSender mailSender,
+                            TransactionTemplate transactionTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${email.outbox.batch-size:50}") int batchSize,
+                            @Value("${email.outbox.workers:2}") int workers,
+                            @Value("${email.outbox.max-attempts:6}") int maxAttempts,
+                            @Value("${email.outbox.backoff:30000}") long backoffMillis,
+                            @Value("${email.outbox.max-backoff:1800000}") long maxBackoffMillis,
+                            @Value("${email.outbox.lease:300000}") long leaseMillis,
+                            @Value("${email.outbox.failed-retention:604800000}") long failedRetentionMillis) {
+      this.emailOutboxRepository = emailOutboxRepository;
+      this.bodyCipher = bodyCipher;
+      this.mailSender = mailSender;
+      this.transactionTemplate = transactionTemplate;
+      this.batchSize = batchSize;
+      this.workers = workers;
+      this.maxAttempts = maxAttempts;
+      this.backoffMillis = backoffMillis;
+      this.maxBackoffMillis = maxBackoffMillis;
+      this.leaseMillis = leaseMillis;
+      this.failedRetentionMillis = failedRetentionMillis;
+      this.senders = Executors.newFixedThreadPool(workers, runnable -> {
+         Thread thread = new Thread(runnable, "email-outbox");
+         thread.setDaemon(true);
+         return thread;
+      });
+      this.sentCounter = resultCounter(meterRegistry, "sent");
+      this.retriedCounter = resultCounter(meterRegistry, "retried");
+      this.failedCounter = resultCounter(meterRegistry, "failed");
+      this.purgedCounter = resultCounter(meterRegistry, "purged");
+   }
+
+   // ========== SONDEO ==========
+
+   /**
+    * Reparte los emails listos en lotes, mientras haya workers libres.
+    */
+   @Scheduled(fixedDelayString = "${email.outbox.poll-interval:1000}")
+   public void poll() {
+      while (inFlight.get() < workers) {
+         List<QueuedEmail> batch = claim();
+         if (batch.isEmpty()) {
+            return;
+         }
+         inFlight.incrementAndGet();
+         try {
+            senders.execute(() -> {
+               try {
+                  send(batch);
+               } finally {
+                  inFlight.decrementAndGet();
+               }
+            });
+         } catch (RejectedExecutionException e) {
+            // Apagando: el lote vuelve a salir al vencer la reserva
+            inFlight.decrementAndGet();
+            return;
+         }
+      }
+   }
+
+   // ========== RETENCIÓN ==========
+
+   /**
+    * Borra las filas FAILED creadas hace más de failed-retention.
+    */
+   @Scheduled(
+         initialDelayString = "${email.outbox.purge-initial-delay:60000}",
+         fixedDelayString = "${email.outbox.purge-interval:3600000}")
+   public void purgeFailed() {
+      LocalDateTime cutoff = LocalDateTime.now().minus(failedRetentionMillis, ChronoUnit.MILLIS);
+      try {
+         Integer deleted = transactionTemplate.execute(status -> emailOutboxRepository.deleteFailedCreatedBefore(cutoff));
+         if (deleted != null && deleted > 0) {
+            purgedCounter.increment(deleted);
+            log.info("Cola de emails: {} filas FAILED anteriores a {} borradas", deleted, cutoff);
+         }
+      } catch (RuntimeException e) {
+         log.warn("Limpieza de emails FAILED interrumpida: {}", e.getMessage());
+      }
+   }
+
+   @PreDestroy
+   void shutdown() {
+      senders.shutdown();
+   }
+
+   // ========== ENVÍO ==========
+
+   /**
+    * Reserva un lote: suma el intento y mueve next_attempt_at a ahora + lease.
+    */
+   private List<QueuedEmail> claim() {
+      List<QueuedEmail> batch = transactionTemplate.execute(status -> {
+         LocalDateTime now = LocalDateTime.now();
+         LocalDateTime leasedUntil = now.plus(leaseMillis, ChronoUnit.MILLIS);
+         List<QueuedEmail> claimed = new ArrayList<>();
+         for (EmailOutboxEntity email : emailOutboxRepository.findReadyForUpdate(now, PageRequest.of(0, batchSize))) {
+            email.setAttempts(email.getAttempts() + 1);
+            email.setNextAttemptAt(leasedUntil);
+            claimed.add(new QueuedEmail(email.getId(), email.getToEmail(), email.getSubject(), email.getHtmlBody()));
+         }
+         return claimed;
+      });
+      return batch != null ? batch : List.of();
+   }
+
+   /**
+    * Envía el lote por una sola conexión SMTP y registra el resultado de cada email.
+    */
+   private void send(List<QueuedEmail> batch) {
+      Map<Long, String> failures = new HashMap<>();
+      Map<MimeMessage, Long> idsByMessage = new IdentityHashMap<>();
+      for (QueuedEmail email : batch) {
+         try {
+            idsByMessage.put(toMimeMessage(email), email.id());
+         } catch (MessagingException | UnsupportedEncodingException | IllegalStateException e) {
+            failures.put(email.id(), e.getMessage());
+         }
+      }
+
+      if (!idsByMessage.isEmpty()) {
+         try {
+            mailSender.send(idsByMessage.keySet().toArray(MimeMessage[]::new));
+         } catch (MailSendException e) {
+            // Solo fallaron los mensajes que trae la excepción; sin detalle, todos
+            Map<Object, Exception> failed = e.getFailedMessages();
+            if (failed.isEmpty()) {
+               idsByMessage.values().forEach(id -> failures.put(id, e.getMessage()));
+            } else {
+               failed.forEach((message, error) -> {
+                  Long id = idsByMessage.get(message);
+                  if (id != null) {
+                     failures.put(id, error.getMessage());
+                  }
+               });
+            }
+         } catch (MailException e) {
+            idsByMessage.values().forEach(id -> failures.put(id, e.getMessage()));
+         }
+      }
+
+      List<Long> sent = batch.stream()
+            .map(QueuedEmail::id)
+            .filter(id -> !failures.containsKey(id))
+            .toList();
+      try {
+         complete(sent, failures);
+      } catch (RuntimeException e) {
+         // Sin registrar: los enviados pueden repetirse al vencer la reserva
+         log.error("No se pudo registrar el resultado de {} emails: {}", batch.size(), e.getMessage());
+      }
+   }
+
+   private void complete(List<Long> sent, Map<Long, String> failures) {
+      transactionTemplate.executeWithoutResult(status -> {
+         emailOutboxRepository.deleteAllByIdInBatch(sent);
+         sentCounter.increment(sent.size());
+
+         LocalDateTime now = LocalDateTime.now();
+         for (EmailOutboxEntity email : emailOutboxRepository.findAllById(failures.keySet())) {
+            email.setLastError(truncate(failures.get(email.getId())));
+            if (email.getAttempts() >= maxAttempts) {
+               email.setStatus(EmailOutboxEntity.FAILED);
+               email.setHtmlBody(null);
+               failedCounter.increment();
+               log.error("Email #{} a {} descartado tras {} intentos: {}",
+                     email.getId(), email.getToEmail(), email.getAttempts(), email.getLastError());
+            } else {
+               email.setNextAttemptAt(now.plus(backoff(email.getAttempts()), ChronoUnit.MILLIS));
+               retriedCounter.increment();
+               log.warn("Email #{} a {} falló (intento {}), se reintenta: {}",
+                     email.getId(), email.getToEmail(), email.getAttempts(), email.getLastError());
+            }
+         }
+      });
+   }
+
+   // ========== HELPERS ==========
+
+   private MimeMessage toMimeMessage(QueuedEmail email) throws MessagingException, UnsupportedEncodingException {
+      MimeMessage message = mailSender.createMimeMessage();
+      MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+      helper.setFrom(fromEmail, fromName);
+      helper.setTo(email.toEmail());
+      helper.setSubject(email.subject());
+      String htmlBody = bodyCipher.decrypt(email.htmlBody());
+      helper.setText(htmlBody != null ? htmlBody : "", true); // true = HTML
+      return message;
+   }
+
+   /**
+    * backoff * 2^(intentos-1), sin pasar de max-backoff.
+    */
+   private long backoff(int attempts) {
+      int doublings = Math.min(Math.max(attempts - 1, 0), 20);
+      return Math.min(backoffMillis << doublings, maxBackoffMillis);
+   }
+
+   private static String truncate(String error) {
+      if (error == null) {
+         return null;
+      }
+      return error.length() <= 500 ? error : error.substring(0, 500);
+   }
+
+   private static Counter resultCounter(MeterRegistry meterRegistry, String result) {
+      return Counter.builder("auth.email.outbox")
+            .description("Emails de la cola procesados por EmailOutboxWorker")
+            .tag("result", result)
+            .register(meterRegistry);
+   }
+
+   /**
+    * Copia de la fila reservada, para enviarla fuera de la transacción (htmlBody cifrado).
+    */
+   private record QueuedEmail(Long id, String toEmail, String subject, String htmlBody) {
+   }
+}
\ No newline at end of file
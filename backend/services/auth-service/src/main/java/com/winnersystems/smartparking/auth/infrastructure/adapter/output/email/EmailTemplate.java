@@ -0,0 +1,79 @@
+package com.winnersystems.smartparking.auth.infrastructure.adapter.output.email;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plantilla HTML compilada una sola vez (al cargar EmailAdapter).
+ *
+ * Acepta la misma sintaxis que usaban los String.formatted de EmailAdapter:
+ * - %s y %d se reemplazan por los valores, en orden
+ * - %% queda como %
+ *
+ * Al compilar se separa el texto en tramos fijos; render solo concatena
+ * tramos y valores, sin volver a interpretar el formato en cada envío.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+final class EmailTemplate {
+
+   /** Tramos fijos: uno más que el número de valores */
+   private final String[] segments;
+   private final int fixedLength;
+
+   private EmailTemplate(String[] segments) {
+      this.segments = segments;
+      int length = 0;
+      for (String segment : segments) {
+         length += segment.length();
+      }
+      this.fixedLength = length;
+   }
+
+   /**
+    * @throws IllegalArgumentException si la plantilla usa un formato distinto de %s, %d o %%
+    */
+   static EmailTemplate compile(String template) {
+      List<String> segments = new ArrayList<>();
+      StringBuilder current = new StringBuilder();
+      for (int i = 0; i < template.length(); i++) {
+         char c = template.charAt(i);
+         if (c != '%') {
+            current.append(c);
+            continue;
+         }
+         if (i + 1 >= template.length()) {
+            throw new IllegalArgumentException("Plantilla de email con % al final");
+         }
+         char conversion = template.charAt(++i);
+         switch (conversion) {
+            case '%' -> current.append('%');
+            case 's', 'd' -> {
+               segments.add(current.toString());
+               current.setLength(0);
+            }
+            default -> throw new IllegalArgumentException(
+                  "Formato no soportado en plantilla de email: %" + conversion);
+         }
+      }
+      segments.add(current.toString());
+      return new EmailTemplate(segments.toArray(String[]::new));
+   }
+
+   /**
+    * @throws IllegalArgumentException si el número de valores no coincide con la plantilla
+    */
+   String render(Object... values) {
+      if (values.length != segments.length - 1) {
+         throw new IllegalArgumentException("La plantilla espera " + (segments.length - 1)
+               + " valores y recibió " + values.length);
+      }
+      StringBuilder html = new StringBuilder(fixedLength + 64 * values.length);
+      html.append(segments[0]);
+      for (int i = 0; i < values.length; i++) {
+         html.append(values[i]).append(segments[i + 1]);
+      }
+      return html.toString();
+   }
+}
\ No newline at end of file
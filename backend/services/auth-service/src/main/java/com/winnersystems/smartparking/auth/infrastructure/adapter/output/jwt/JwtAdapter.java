@@ -1,7 +1,10 @@
 package com.winnersystems.smartparking.auth.infrastructure.adapter.output.jwt;
 
+import com.winnersystems.smartparking.auth.application.dto.query.TokenClaims;
 import com.winnersystems.smartparking.auth.application.port.output.JwtPort;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,6 +18,8 @@ import java.util.*;
 public class JwtAdapter implements JwtPort {
 
    private final SecretKey secretKey;
+   /** Inmutable y thread-safe: se construye una sola vez */
+   private final JwtParser parser;
    private final long accessTokenExpiration;
    private final long refreshTokenExpiration;
    private final long refreshTokenExpirationRememberMe;
@@ -30,6 +35,7 @@ public class JwtAdapter implements JwtPort {
          keyBytes = Base64.getUrlDecoder().decode(secret);
       }
       this.secretKey = Keys.hmacShaKeyFor(keyBytes);
+      this.parser = Jwts.parser().verifyWith(secretKey).build();
 
       this.accessTokenExpiration = accessTokenExpiration;
       this.refreshTokenExpiration = refreshTokenExpiration;
@@ -97,11 +103,39 @@ public class JwtAdapter implements JwtPort {
       }
    }
 
+   @Override
+   public Optional<TokenClaims> verify(String token) {
+      try {
+         Claims claims = extractClaims(token);
+         return Optional.of(new TokenClaims(
+               claims.get("userId", Long.class),
+               claims.getSubject(),
+               claims.get("activeRole", String.class),
+               stringSet(claims.get("roles")),
+               stringSet(claims.get("permissions"))
+         ));
+      } catch (JwtException | IllegalArgumentException e) {
+         return Optional.empty();
+      }
+   }
+
    private Claims extractClaims(String token) {
-      return Jwts.parser()
-            .verifyWith(secretKey)
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
+      return parser.parseSignedClaims(token).getPayload();
+   }
+
+   /**
+    * Los Set del token vuelven como lista JSON.
+    */
+   private static Set<String> stringSet(Object value) {
+      if (!(value instanceof Collection<?> values)) {
+         return Set.of();
+      }
+      Set<String> result = new HashSet<>();
+      for (Object item : values) {
+         if (item != null) {
+            result.add(item.toString());
+         }
+      }
+      return Collections.unmodifiableSet(result);
    }
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.email.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Email pendiente de envío (cola persistente).
+ *
+ * EmailAdapter lo guarda dentro de la transacción del caso de uso: si la
+ * transacción se revierte, el email no sale. EmailOutboxWorker lo envía
+ * después y lo borra al confirmarse el envío.
+ *
+ * - next_attempt_at: no se intenta antes de esa fecha (reintentos con
+ *   espera creciente, y reserva mientras un worker lo está enviando)
+ * - html_body: cifrado con EmailBodyCipher (puede contener credenciales
+ *   o enlaces de un solo uso)
+ * - status FAILED: se agotaron los intentos; el cuerpo se descarta y la
+ *   fila se borra tras email.outbox.failed-retention
+ *
+ * @author Edwin Yoner Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Entity
+@Table(name = "email_outbox", indexes = {
+      @Index(name = "idx_email_outbox_pending", columnList = "status, next_attempt_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmailOutboxEntity {
+
+   public static final String PENDING = "PENDING";
+   public static final String FAILED = "FAILED";
+
+   @Id
+   @GeneratedValue(strategy = GenerationType.IDENTITY)
+   private Long id;
+
+   @Column(name = "to_email", nullable = false, length = 255)
+   private String toEmail;
+
+   @Column(name = "subject", nullable = false, length = 255)
+   private String subject;
+
+   @Column(name = "html_body", columnDefinition = "TEXT")
+   private String htmlBody;
+
+   @Column(name = "status", nullable = false, length = 10)
+   @Builder.Default
+   private String status = PENDING;
+
+   @Column(name = "attempts", nullable = false)
+   @Builder.Default
+   private int attempts = 0;
+
+   @Column(name = "next_attempt_at", nullable = false)
+   private LocalDateTime nextAttemptAt;
+
+   @Column(name = "last_error", length = 500)
+   private String lastError;
+
+   @Column(name = "created_at", nullable = false, updatable = false)
+   private LocalDateTime createdAt;
+
+   @PrePersist
+   protected void onCreate() {
+      if (createdAt == null) createdAt = LocalDateTime.now();
+      if (nextAttemptAt == null) nextAttemptAt = createdAt;
+   }
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.email.repository;
+
+import com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.email.entity.EmailOutboxEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository de Spring Data JPA para EmailOutboxEntity.
+ *
+ * <p>Lo usan EmailAdapter (encola) y EmailOutboxWorker (reserva, borra los
+ * enviados, reprograma los fallidos y borra los FAILED antiguos).</p>
+ *
+ * @author Edwin Yoner Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxEntity, Long> {
+
+   /**
+    * Emails listos para enviar, los más antiguos primero.
+    * SELECT ... FOR UPDATE SKIP LOCKED: dos réplicas no toman las mismas filas.
+    */
+   @Lock(LockModeType.PESSIMISTIC_WRITE)
+   @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+   @Query("""
+         SELECT e FROM EmailOutboxEntity e
+         WHERE e.status = 'PENDING' AND e.nextAttemptAt <= :now
+         ORDER BY e.id
+         """)
+   List<EmailOutboxEntity> findReadyForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+
+   /**
+    * Borra en un solo DELETE los emails FAILED creados antes de cutoff.
+    *
+    * @return filas borradas
+    */
+   @Modifying
+   @Query("DELETE FROM EmailOutboxEntity e WHERE e.status = 'FAILED' AND e.createdAt < :cutoff")
+   int deleteFailedCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
\ No newline at end of file
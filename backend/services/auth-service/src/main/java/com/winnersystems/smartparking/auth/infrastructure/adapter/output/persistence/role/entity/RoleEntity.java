@@ -3,6 +3,7 @@ package com.winnersystems.smartparking.auth.infrastructure.adapter.output.persis
 import com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.permission.entity.PermissionEntity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -32,7 +33,9 @@ public class RoleEntity {
 
    // ========== RELACIONES ==========
 
-   @ManyToMany(fetch = FetchType.EAGER, cascade = {CascadeType.PERSIST, CascadeType.MERGE})  // ✅ CAMBIO AQUÍ
+   // LAZY: RoleRepository los trae con @EntityGraph; las authorities salen de PermissionRegistry
+   @ManyToMany(fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+   @BatchSize(size = 100)
    @JoinTable(
          name = "role_permissions",
          joinColumns = @JoinColumn(name = "role_id"),
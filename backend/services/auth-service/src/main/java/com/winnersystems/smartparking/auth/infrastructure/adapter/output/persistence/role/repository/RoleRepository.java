@@ -1,6 +1,7 @@
 package com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.role.repository;
 
 import com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.role.entity.RoleEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -18,12 +19,27 @@ import java.util.Optional;
  *   <li>save(Entity) - Guardar o actualizar</li>
  * </ul>
  *
+ * <p>RoleEntity.permissions es LAZY: las consultas que devuelven roles al
+ * dominio los traen con sus permisos en la misma consulta.</p>
+ *
  * @author Edwin Yoner Winner Systems - Smart Parking Platform
  * @version 1.0
  */
 @Repository
 public interface RoleRepository extends JpaRepository<RoleEntity, Long> {
 
+   @Override
+   @EntityGraph(attributePaths = {"permissions"})
+   List<RoleEntity> findAll();
+
+   @Override
+   @EntityGraph(attributePaths = {"permissions"})
+   Optional<RoleEntity> findById(Long id);
+
+   @Override
+   @EntityGraph(attributePaths = {"permissions"})
+   List<RoleEntity> findAllById(Iterable<Long> ids);
+
    /**
     * Busca un rol por su nombre único.
     * Ejemplos: "ADMIN", "AUTORIDAD", "OPERADOR"
@@ -31,10 +47,12 @@ public interface RoleRepository extends JpaRepository<RoleEntity, Long> {
     * @param name nombre del rol
     * @return Optional con la entidad si existe
     */
+   @EntityGraph(attributePaths = {"permissions"})
    Optional<RoleEntity> findByName(String name);
 
    /**
     * Busca roles activos y no eliminados
     */
+   @EntityGraph(attributePaths = {"permissions"})
    List<RoleEntity> findByStatusTrueAndDeletedAtIsNull();
 }
\ No newline at end of file
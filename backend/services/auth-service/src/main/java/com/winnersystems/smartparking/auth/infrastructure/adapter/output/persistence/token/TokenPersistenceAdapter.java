@@ -3,16 +3,20 @@ package com.winnersystems.smartparking.auth.infrastructure.adapter.output.persis
 import com.winnersystems.smartparking.auth.application.port.output.TokenPersistencePort;
 import com.winnersystems.smartparking.auth.domain.model.PasswordResetToken;
 import com.winnersystems.smartparking.auth.domain.model.RefreshToken;
+import com.winnersystems.smartparking.auth.domain.model.TokenType;
 import com.winnersystems.smartparking.auth.domain.model.VerificationToken;
 import com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.token.mapper.TokenPersistenceMapper;
 import com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.token.repository.PasswordResetTokenRepository;
 import com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.token.repository.RefreshTokenRepository;
 import com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.token.repository.VerificationTokenRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -109,4 +113,37 @@ public class TokenPersistenceAdapter implements TokenPersistencePort {
    public void revokePasswordResetTokensByUserId(Long userId) {
       passwordResetTokenRepository.revokeAllByUserId(userId);
    }
+
+   // ========== LIMPIEZA ==========
+
+   @Override
+   @Transactional
+   public List<Long> deletePurgeableTokens(TokenType type, LocalDateTime cutoff, long afterId, int limit) {
+      Pageable chunk = PageRequest.of(0, limit);
+      List<Long> ids = switch (type) {
+         case REFRESH -> refreshTokenRepository.findPurgeableIds(afterId, cutoff, chunk);
+         case VERIFICATION -> verificationTokenRepository.findPurgeableIds(afterId, cutoff, chunk);
+         case PASSWORD_RESET -> passwordResetTokenRepository.findPurgeableIds(afterId, cutoff, chunk);
+      };
+      if (ids.isEmpty()) {
+         return ids;
+      }
+
+      // DELETE ... WHERE id IN (...) directo, sin cargar las entidades
+      switch (type) {
+         case REFRESH -> refreshTokenRepository.deleteAllByIdInBatch(ids);
+         case VERIFICATION -> verificationTokenRepository.deleteAllByIdInBatch(ids);
+         case PASSWORD_RESET -> passwordResetTokenRepository.deleteAllByIdInBatch(ids);
+      }
+      return ids;
+   }
+
+   @Override
+   public long countTokens(TokenType type) {
+      return switch (type) {
+         case REFRESH -> refreshTokenRepository.count();
+         case VERIFICATION -> verificationTokenRepository.count();
+         case PASSWORD_RESET -> passwordResetTokenRepository.count();
+      };
+   }
 }
\ No newline at end of file
@@ -7,7 +7,9 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "password_reset_tokens", indexes = {
-      @Index(name = "idx_token", columnList = "token", unique = true)
+      @Index(name = "idx_token", columnList = "token", unique = true),
+      @Index(name = "idx_password_reset_tokens_user_created", columnList = "user_id, created_at"),
+      @Index(name = "idx_password_reset_tokens_expires", columnList = "expires_at")
 })
 @Getter
 @Setter
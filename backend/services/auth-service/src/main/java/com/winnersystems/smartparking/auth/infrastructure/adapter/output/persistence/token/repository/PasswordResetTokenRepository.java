@@ -1,6 +1,7 @@
 package com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.token.repository;
 
 import com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.token.entity.PasswordResetTokenEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -8,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -31,4 +33,18 @@ public interface PasswordResetTokenRepository extends JpaRepository<PasswordRese
    @Modifying
    @Query("UPDATE PasswordResetTokenEntity prt SET prt.used = true, prt.usedAt = CURRENT_TIMESTAMP WHERE prt.userId = :userId")
    void revokeAllByUserId(@Param("userId") Long userId);
+
+   /**
+    * IDs de password reset tokens vencidos o usados antes del corte, desde afterId
+    * (recorrido por ID para la limpieza por lotes).
+    */
+   @Query("""
+         SELECT t.id FROM PasswordResetTokenEntity t
+         WHERE t.id > :afterId
+         AND (t.expiresAt < :cutoff OR (t.used = true AND t.usedAt < :cutoff))
+         ORDER BY t.id
+         """)
+   List<Long> findPurgeableIds(@Param("afterId") long afterId,
+                               @Param("cutoff") LocalDateTime cutoff,
+                               Pageable pageable);
 }
\ No newline at end of file
@@ -1,12 +1,15 @@
 package com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.token.repository;
 
 import com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.token.entity.RefreshTokenEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -24,4 +27,18 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshTokenEntity
    @Modifying
    @Query("UPDATE RefreshTokenEntity rt SET rt.revoked = true, rt.revokedAt = CURRENT_TIMESTAMP WHERE rt.userId = :userId")
    void revokeAllByUserId(@Param("userId") Long userId);
+
+   /**
+    * IDs de refresh tokens vencidos o revocados antes del corte, desde afterId
+    * (recorrido por ID para la limpieza por lotes).
+    */
+   @Query("""
+         SELECT t.id FROM RefreshTokenEntity t
+         WHERE t.id > :afterId
+         AND (t.expiresAt < :cutoff OR (t.revoked = true AND t.revokedAt < :cutoff))
+         ORDER BY t.id
+         """)
+   List<Long> findPurgeableIds(@Param("afterId") long afterId,
+                               @Param("cutoff") LocalDateTime cutoff,
+                               Pageable pageable);
 }
\ No newline at end of file
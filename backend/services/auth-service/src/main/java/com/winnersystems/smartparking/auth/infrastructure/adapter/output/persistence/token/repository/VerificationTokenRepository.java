@@ -1,10 +1,14 @@
 package com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.token.repository;
 
 import com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.token.entity.VerificationTokenEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -47,4 +51,18 @@ public interface VerificationTokenRepository extends JpaRepository<VerificationT
     * Busca token de verificación por ID de usuario
     */
    Optional<VerificationTokenEntity> findByUserId(Long userId);
+
+   /**
+    * IDs de verification tokens vencidos o ya verificados antes del corte, desde afterId
+    * (recorrido por ID para la limpieza por lotes).
+    */
+   @Query("""
+         SELECT t.id FROM VerificationTokenEntity t
+         WHERE t.id > :afterId
+         AND (t.expiresAt < :cutoff OR t.verifiedAt < :cutoff)
+         ORDER BY t.id
+         """)
+   List<Long> findPurgeableIds(@Param("afterId") long afterId,
+                               @Param("cutoff") LocalDateTime cutoff,
+                               Pageable pageable);
 }
\ No newline at end of file
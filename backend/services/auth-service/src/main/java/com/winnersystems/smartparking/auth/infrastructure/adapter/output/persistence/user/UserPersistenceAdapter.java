@@ -1,6 +1,10 @@
 package com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.user;
 
+import com.winnersystems.smartparking.auth.application.dto.query.OperatorDto;
+import com.winnersystems.smartparking.auth.application.dto.query.OperatorsVersion;
+import com.winnersystems.smartparking.auth.application.dto.query.UserListItemDto;
 import com.winnersystems.smartparking.auth.application.dto.query.UserSearchCriteria;
+import com.winnersystems.smartparking.auth.application.dto.query.UserSummaryDto;
 import com.winnersystems.smartparking.auth.application.port.output.UserPersistencePort;
 import com.winnersystems.smartparking.auth.domain.model.User;
 import com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.role.entity.RoleEntity;
@@ -19,6 +23,7 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -103,22 +108,31 @@ public class UserPersistenceAdapter implements UserPersistencePort {
       return userRepository.count(spec);
    }
 
-   // ========== NUEVO MÉTODO AGREGADO ==========
+   @Override
+   public List<UserListItemDto> searchListItems(UserSearchCriteria criteria, Long afterId, int limit) {
+      return userRepository.searchListItems(criteria, afterId, limit);
+   }
+
+   // ========== OPERADORES ==========
 
-   /**
-    * Busca usuarios por rol y estado.
-    * Usado para obtener operadores activos.
-    *
-    * @param roleName nombre del rol
-    * @param status estado del usuario
-    * @return lista de usuarios que cumplen los criterios
-    */
    @Override
-   public List<User> findByRoleAndStatus(String roleName, Boolean status) {
-      List<UserEntity> entities = userRepository.findByRoleNameAndStatus(roleName, status);
-      return entities.stream()
-            .map(mapper::toDomain)
-            .collect(Collectors.toList());
+   public List<OperatorDto> findOperatorsByRoleAndStatus(String roleName, Boolean status) {
+      return userRepository.findOperatorsByRoleNameAndStatus(roleName, status);
+   }
+
+   @Override
+   public OperatorsVersion findOperatorsVersion(String roleName, Boolean status) {
+      return userRepository.findOperatorsVersion(roleName, status);
+   }
+
+   // ========== CONSULTA EN LOTE ==========
+
+   @Override
+   public List<UserSummaryDto> findSummariesByIds(Collection<Long> ids) {
+      if (ids.isEmpty()) {
+         return List.of();
+      }
+      return userRepository.findSummariesByIdIn(ids);
    }
 
    // ========== HELPER: BUILD SPECIFICATION ==========
@@ -3,6 +3,7 @@ package com.winnersystems.smartparking.auth.infrastructure.adapter.output.persis
 import com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.role.entity.RoleEntity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -54,7 +55,9 @@ public class UserEntity {
 
    // ========== RELACIONES ==========
 
-   @ManyToMany(fetch = FetchType.EAGER)
+   // LAZY: findById/findByEmail los traen con @EntityGraph; los listados, por lotes
+   @ManyToMany(fetch = FetchType.LAZY)
+   @BatchSize(size = 100)
    @JoinTable(
          name = "user_roles",
          joinColumns = @JoinColumn(name = "user_id"),
@@ -1,5 +1,8 @@
 package com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.user.repository;
 
+import com.winnersystems.smartparking.auth.application.dto.query.OperatorDto;
+import com.winnersystems.smartparking.auth.application.dto.query.OperatorsVersion;
+import com.winnersystems.smartparking.auth.application.dto.query.UserSummaryDto;
 import com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.user.entity.UserEntity;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,28 +30,34 @@ import java.util.Optional;
  *   <li>count(Specification) - Contar con criterios</li>
  * </ul>
  *
+ * <p>UserSearchRepository provee:</p>
+ * <ul>
+ *   <li>searchListItems(...) - Listado plano con roles agregados, por cursor o por página</li>
+ * </ul>
+ *
  * @author Edwin Yoner Winner Systems - Smart Parking Platform
  * @version 1.0
  */
 @Repository
-public interface UserRepository extends JpaRepository<UserEntity, Long>, JpaSpecificationExecutor<UserEntity> {
+public interface UserRepository extends JpaRepository<UserEntity, Long>, JpaSpecificationExecutor<UserEntity>,
+      UserSearchRepository {
 
    /**
-    * Busca usuario por email cargando roles y permisos.
+    * Busca usuario por email cargando sus roles (los permisos salen de PermissionRegistry).
     *
     * @param email email del usuario
     * @return Optional con usuario si existe
     */
-   @EntityGraph(attributePaths = {"roles", "roles.permissions"})
+   @EntityGraph(attributePaths = {"roles"})
    Optional<UserEntity> findByEmail(String email);
 
    /**
-    * Busca usuario por ID cargando roles y permisos.
+    * Busca usuario por ID cargando sus roles (los permisos salen de PermissionRegistry).
     *
     * @param id ID del usuario
     * @return Optional con usuario si existe
     */
-   @EntityGraph(attributePaths = {"roles", "roles.permissions"})
+   @EntityGraph(attributePaths = {"roles"})
    Optional<UserEntity> findById(Long id);
 
    /**
@@ -58,29 +68,66 @@ public interface UserRepository extends JpaRepository<UserEntity, Long>, JpaSpec
     */
    boolean existsByEmail(String email);
 
-   // ========== NUEVO MÉTODO AGREGADO ==========
+   // ========== OPERADORES ==========
 
    /**
-    * Busca usuarios por nombre de rol y estado.
-    * Filtra usuarios activos (deletedAt IS NULL).
+    * Proyección liviana de los usuarios con un rol y estado dados.
+    * No hidrata entidades ni carga roles.
     *
     * <p>Usado por ListOperatorsUseCase para obtener operadores disponibles.</p>
     *
     * @param roleName nombre del rol (ej: "OPERADOR")
     * @param status estado del usuario (true = activo, false = inactivo)
-    * @return lista de usuarios que cumplen los criterios
+    * @return usuarios no eliminados, ordenados por nombre y apellido
     */
    @Query("""
-         SELECT DISTINCT u FROM UserEntity u
+         SELECT new com.winnersystems.smartparking.auth.application.dto.query.OperatorDto(
+            u.id, u.firstName, u.lastName, u.email, u.phoneNumber, u.status)
+         FROM UserEntity u
          JOIN u.roles r
          WHERE r.name = :roleName
          AND u.status = :status
          AND u.deletedAt IS NULL
          ORDER BY u.firstName, u.lastName
          """)
-   @EntityGraph(attributePaths = {"roles"})
-   List<UserEntity> findByRoleNameAndStatus(
+   List<OperatorDto> findOperatorsByRoleNameAndStatus(
+         @Param("roleName") String roleName,
+         @Param("status") Boolean status
+   );
+
+   /**
+    * Versión de findOperatorsByRoleNameAndStatus: total, suma de IDs y
+    * última actualización, sin leer las filas.
+    */
+   @Query("""
+         SELECT new com.winnersystems.smartparking.auth.application.dto.query.OperatorsVersion(
+            COUNT(u.id), COALESCE(SUM(u.id), 0L), MAX(u.updatedAt))
+         FROM UserEntity u
+         JOIN u.roles r
+         WHERE r.name = :roleName
+         AND u.status = :status
+         AND u.deletedAt IS NULL
+         """)
+   OperatorsVersion findOperatorsVersion(
          @Param("roleName") String roleName,
          @Param("status") Boolean status
    );
-}
\ No newline at end of file
+
+   // ========== CONSULTA EN LOTE ==========
+
+   /**
+    * Proyección liviana de varios usuarios en una sola consulta.
+    * No hidrata entidades ni carga roles.
+    *
+    * @param ids IDs a buscar
+    * @return usuarios no eliminados con esos IDs
+    */
+   @Query("""
+         SELECT new com.winnersystems.smartparking.auth.application.dto.query.UserSummaryDto(
+            u.id, u.firstName, u.lastName, u.email, u.phoneNumber, u.status)
+         FROM UserEntity u
+         WHERE u.id IN :ids
+         AND u.deletedAt IS NULL
+         """)
+   List<UserSummaryDto> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,28 @@
+package com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.user.repository;
+
+import com.winnersystems.smartparking.auth.application.dto.query.UserListItemDto;
+import com.winnersystems.smartparking.auth.application.dto.query.UserSearchCriteria;
+
+import java.util.List;
+
+/**
+ * Consulta del listado de usuarios que no cabe en un método derivado ni
+ * en una Specification: proyección con los roles agregados (listagg) y
+ * filtros dinámicos. La implementa UserSearchRepositoryImpl y la expone
+ * UserRepository.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public interface UserSearchRepository {
+
+   /**
+    * Una página del listado en una sola consulta.
+    *
+    * @param criteria filtros, orden y página (criteria.page se ignora si hay afterId)
+    * @param afterId cursor: ID del último usuario de la página anterior, o null
+    * @param limit máximo de filas
+    * @return filas en el orden pedido
+    */
+   List<UserListItemDto> searchListItems(UserSearchCriteria criteria, Long afterId, int limit);
+}
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.user.repository;
+
+import com.winnersystems.smartparking.auth.application.dto.query.UserListItemDto;
+import com.winnersystems.smartparking.auth.application.dto.query.UserSearchCriteria;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Implementación de UserSearchRepository con JPQL (HQL) armado según los
+ * filtros presentes.
+ *
+ * - Un LEFT JOIN a roles agrupado por usuario: listagg devuelve los nombres
+ *   de roles en la misma fila, sin cargar entidades ni permisos
+ * - El filtro por rol es un EXISTS, para no recortar los roles agregados
+ * - Con cursor: u.id &lt; afterId (o &gt; en orden ascendente), que usa la PK;
+ *   sin cursor: OFFSET por número de página, desempatando por ID
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+class UserSearchRepositoryImpl implements UserSearchRepository {
+
+   /** Separador de los nombres de roles agregados (los nombres no llevan comas) */
+   private static final String ROLE_SEPARATOR = ",";
+
+   @PersistenceContext
+   private EntityManager entityManager;
+
+   @Override
+   public List<UserListItemDto> searchListItems(UserSearchCriteria criteria, Long afterId, int limit) {
+      boolean descending = "desc".equalsIgnoreCase(criteria.sortDirection());
+      String direction = descending ? "DESC" : "ASC";
+      Map<String, Object> params = new HashMap<>();
+
+      StringBuilder jpql = new StringBuilder("""
+            SELECT u.id, u.firstName, u.lastName, u.email, u.phoneNumber, u.status, u.emailVerified,
+                   listagg(r.name, ',') WITHIN GROUP (ORDER BY r.name)
+            FROM UserEntity u
+            LEFT JOIN u.roles r
+            WHERE u.deletedAt IS NULL
+            """);
+
+      // BÚSQUEDA GENERAL
+      if (criteria.search() != null && !criteria.search().isBlank()) {
+         jpql.append("""
+               AND (LOWER(u.firstName) LIKE :search
+                    OR LOWER(u.lastName) LIKE :search
+                    OR LOWER(u.email) LIKE :search
+                    OR LOWER(u.phoneNumber) LIKE :search)
+               """);
+         params.put("search", "%" + criteria.search().toLowerCase(Locale.ROOT) + "%");
+      }
+
+      // FILTRO POR ROL
+      if (criteria.roleId() != null) {
+         jpql.append("""
+               AND EXISTS (SELECT 1 FROM UserEntity fu JOIN fu.roles fr
+                           WHERE fu.id = u.id AND fr.id = :roleId)
+               """);
+         params.put("roleId", criteria.roleId());
+      }
+
+      // FILTRO POR ESTADO
+      if (criteria.status() != null) {
+         jpql.append("AND u.status = :status\n");
+         params.put("status", criteria.status());
+      }
+
+      // FILTRO POR EMAIL VERIFICADO
+      if (criteria.emailVerified() != null) {
+         jpql.append("AND u.emailVerified = :emailVerified\n");
+         params.put("emailVerified", criteria.emailVerified());
+      }
+
+      // CURSOR
+      if (afterId != null) {
+         jpql.append(descending ? "AND u.id < :afterId\n" : "AND u.id > :afterId\n");
+         params.put("afterId", afterId);
+      }
+
+      jpql.append("""
+            GROUP BY u.id, u.firstName, u.lastName, u.email, u.phoneNumber, u.status, u.emailVerified, u.createdAt
+            """);
+      String sortColumn = sortColumn(criteria.sortBy());
+      jpql.append("ORDER BY ").append(sortColumn).append(' ').append(direction);
+      if (!"u.id".equals(sortColumn)) {
+         jpql.append(", u.id ").append(direction);
+      }
+
+      TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class);
+      params.forEach(query::setParameter);
+      if (afterId == null) {
+         query.setFirstResult(criteria.page() * criteria.size());
+      }
+      query.setMaxResults(limit);
+
+      return query.getResultList().stream()
+            .map(UserSearchRepositoryImpl::toItem)
+            .toList();
+   }
+
+   // ========== HELPERS ==========
+
+   private static String sortColumn(String sortBy) {
+      return switch (sortBy) {
+         case "id" -> "u.id";
+         case "firstName" -> "u.firstName";
+         case "lastName" -> "u.lastName";
+         case "email" -> "u.email";
+         case "status" -> "u.status";
+         case "createdAt" -> "u.createdAt";
+         default -> throw new IllegalArgumentException("Campo de ordenamiento no válido: " + sortBy);
+      };
+   }
+
+   private static UserListItemDto toItem(Object[] row) {
+      String roles = (String) row[7];
+      return new UserListItemDto(
+            (Long) row[0],
+            (String) row[1],
+            (String) row[2],
+            (String) row[3],
+            (String) row[4],
+            (Boolean) row[5],
+            (Boolean) row[6],
+            roles == null || roles.isEmpty() ? List.of() : Arrays.asList(roles.split(ROLE_SEPARATOR))
+      );
+   }
+}
\ No newline at end of file
@@ -0,0 +1,252 @@
+package com.winnersystems.smartparking.auth.infrastructure.adapter.output.security;
+
+import com.winnersystems.smartparking.auth.application.port.output.LoginThrottlePort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limitador en memoria de intentos de login y de recuperación de
+ * contraseña, con ventana deslizante por email y por IP.
+ *
+ * Funcionamiento:
+ * - Cada email o IP guarda los instantes de sus últimos intentos
+ *   aceptados (como máximo el límite: un long[] circular)
+ * - Un intento entra si, en cada uno de los dos, el más antiguo de esos
+ *   instantes ya salió de la ventana; si no, se rechaza sin registrarse
+ * - Un login correcto libera los intentos de su email
+ * - Con max-keys claves en memoria, una clave nueva se rechaza (429)
+ *   hasta que la limpieza libere lugar: ninguna clave ya registrada se
+ *   descarta antes de salir de su ventana
+ * - Con el mapa lleno, la limpieza corre como mucho una vez por
+ *   full-purge-interval, no en cada intento
+ *
+ * El límite es por réplica; el de recuperación por usuario en la BD
+ * (AuthService) sigue valiendo entre réplicas.
+ *
+ * Propiedades (auth.security.login-throttle):
+ * - login.window / login.max-per-email / login.max-per-ip: ventana en ms
+ *   e intentos permitidos en ella (default 900000 / 10 / 100)
+ * - forgot-password.window / .max-per-email / .max-per-ip: igual para
+ *   la recuperación (default 3600000 / 3 / 20)
+ * - max-keys: claves en memoria por operación y tipo (default 50000)
+ * - purge-interval: ms entre limpiezas de claves sin intentos recientes (default 60000)
+ * - full-purge-interval: ms mínimos entre limpiezas con el mapa lleno (default 1000)
+ *
+ * Métricas: auth.login.throttled{action, key=email|ip|full} y el gauge
+ * auth.login.throttle.keys.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Component
+public class LoginThrottleAdapter implements LoginThrottlePort {
+
+   private final int maxKeys;
+   private final long fullPurgeInterval;
+   private final Map<Action, Limits> limits = new EnumMap<>(Action.class);
+
+   /** Ventanas por operación: email -> intentos, IP -> intentos */
+   private final Map<Action, Map<String, Window>> byEmail = new EnumMap<>(Action.class);
+   private final Map<Action, Map<String, Window>> byIp = new EnumMap<>(Action.class);
+
+   private final Map<Action, Counter> emailRejections = new EnumMap<>(Action.class);
+   private final Map<Action, Counter> ipRejections = new EnumMap<>(Action.class);
+   private final Map<Action, Counter> fullRejections = new EnumMap<>(Action.class);
+
+   /** Última limpieza (programada o por mapa lleno) */
+   private final AtomicLong lastPurge = new AtomicLong();
+
+   public LoginThrottleAdapter(MeterRegistry meterRegistry,
+                               @Value("${auth.security.login-throttle.login.window:900000}") long loginWindow,
+                               @Value("${auth.security.login-throttle.login.max-per-email:10}") int loginPerEmail,
+                               @Value("${auth.security.login-throttle.login.max-per-ip:100}") int loginPerIp,
+                               @Value("${auth.security.login-throttle.forgot-password.window:3600000}") long forgotWindow,
+                               @Value("${auth.security.login-throttle.forgot-password.max-per-email:3}") int forgotPerEmail,
+                               @Value("${auth.security.login-throttle.forgot-password.max-per-ip:20}") int forgotPerIp,
+                               @Value("${auth.security.login-throttle.max-keys:50000}") int maxKeys,
+                               @Value("${auth.security.login-throttle.full-purge-interval:1000}") long fullPurgeInterval) {
+      this.maxKeys = maxKeys;
+      this.fullPurgeInterval = fullPurgeInterval;
+      limits.put(Action.LOGIN, new Limits(loginWindow, loginPerEmail, loginPerIp));
+      limits.put(Action.FORGOT_PASSWORD, new Limits(forgotWindow, forgotPerEmail, forgotPerIp));
+      for (Action action : Action.values()) {
+         byEmail.put(action, new ConcurrentHashMap<>());
+         byIp.put(action, new ConcurrentHashMap<>());
+         emailRejections.put(action, rejectionCounter(meterRegistry, action, "email"));
+         ipRejections.put(action, rejectionCounter(meterRegistry, action, "ip"));
+         fullRejections.put(action, rejectionCounter(meterRegistry, action, "full"));
+      }
+      Gauge.builder("auth.login.throttle.keys", this, LoginThrottleAdapter::trackedKeys)
+            .description("Emails e IPs con intentos registrados en memoria")
+            .register(meterRegistry);
+   }
+
+   @Override
+   public boolean tryAcquire(Action action, String email, String ipAddress) {
+      Limits limit = limits.get(action);
+      long now = System.currentTimeMillis();
+      Window emailWindow = window(byEmail.get(action), normalize(email), limit.maxPerEmail(), now, limit.window());
+      Window ipWindow = window(byIp.get(action), ipAddress, limit.maxPerIp(), now, limit.window());
+      if (emailWindow == null || ipWindow == null) {
+         fullRejections.get(action).increment();
+         return false;
+      }
+
+      // Siempre email antes que IP: un mismo orden de bloqueo en todos los hilos
+      synchronized (emailWindow) {
+         synchronized (ipWindow) {
+            if (!emailWindow.hasRoom(now, limit.window())) {
+               emailRejections.get(action).increment();
+               return false;
+            }
+            if (!ipWindow.hasRoom(now, limit.window())) {
+               ipRejections.get(action).increment();
+               return false;
+            }
+            emailWindow.record(now);
+            ipWindow.record(now);
+            return true;
+         }
+      }
+   }
+
+   @Override
+   public void reset(Action action, String email) {
+      String key = normalize(email);
+      if (key != null) {
+         byEmail.get(action).remove(key);
+      }
+   }
+
+   @Override
+   public long windowSeconds(Action action) {
+      return Math.max(1, limits.get(action).window() / 1000);
+   }
+
+   /**
+    * Quita las claves cuyo último intento salió de la ventana.
+    */
+   @Scheduled(fixedDelayString = "${auth.security.login-throttle.purge-interval:60000}")
+   public void purgeIdle() {
+      long now = System.currentTimeMillis();
+      lastPurge.set(now);
+      for (Action action : Action.values()) {
+         long window = limits.get(action).window();
+         byEmail.get(action).values().removeIf(tracked -> tracked.isIdle(now, window));
+         byIp.get(action).values().removeIf(tracked -> tracked.isIdle(now, window));
+      }
+   }
+
+   // ========== HELPERS ==========
+
+   /**
+    * Ventana de la clave. Sin clave devuelve una ventana suelta que no
+    * limita (el otro de los dos límites sigue valiendo).
+    *
+    * @return null si la clave es nueva y el mapa sigue lleno tras la limpieza
+    */
+   private Window window(Map<String, Window> windows, String key, int maxAttempts, long now, long windowMillis) {
+      if (key == null || key.isBlank()) {
+         return Window.unlimited();
+      }
+      Window existing = windows.get(key);
+      if (existing != null) {
+         return existing;
+      }
+      if (windows.size() >= maxKeys) {
+         purgeIfDue(now);
+         if (windows.size() >= maxKeys) {
+            return null;
+         }
+      }
+      return windows.computeIfAbsent(key, ignored -> new Window(maxAttempts));
+   }
+
+   /**
+    * Limpieza a demanda con el mapa lleno, como mucho una vez por
+    * full-purge-interval entre todos los hilos.
+    */
+   private void purgeIfDue(long now) {
+      long last = lastPurge.get();
+      if (now - last >= fullPurgeInterval && lastPurge.compareAndSet(last, now)) {
+         purgeIdle();
+      }
+   }
+
+   private static String normalize(String email) {
+      return email != null ? email.trim().toLowerCase(Locale.ROOT) : null;
+   }
+
+   private int trackedKeys() {
+      int total = 0;
+      for (Action action : Action.values()) {
+         total += byEmail.get(action).size() + byIp.get(action).size();
+      }
+      return total;
+   }
+
+   private static Counter rejectionCounter(MeterRegistry meterRegistry, Action action, String key) {
+      return Counter.builder("auth.login.throttled")
+            .description("Intentos rechazados por exceder el límite por email o IP")
+            .tag("action", action.name().toLowerCase(Locale.ROOT))
+            .tag("key", key)
+            .register(meterRegistry);
+   }
+
+   // ========== TIPOS ==========
+
+   private record Limits(long window, int maxPerEmail, int maxPerIp) {
+   }
+
+   /**
+    * Instantes (ms) de los últimos intentos aceptados de una clave, en un
+    * buffer circular del tamaño del límite. Acceso bajo su monitor.
+    */
+   private static final class Window {
+
+      private final long[] attempts;
+      private int next;
+      private int size;
+      private volatile long lastAttempt;
+
+      private Window(int maxAttempts) {
+         this.attempts = maxAttempts > 0 ? new long[maxAttempts] : null;
+      }
+
+      private static Window unlimited() {
+         return new Window(0);
+      }
+
+      /** true si el intento más antiguo guardado ya salió de la ventana */
+      private boolean hasRoom(long now, long windowMillis) {
+         if (attempts == null || size < attempts.length) {
+            return true;
+         }
+         return now - attempts[next] >= windowMillis;
+      }
+
+      private void record(long now) {
+         lastAttempt = now;
+         if (attempts == null) {
+            return;
+         }
+         attempts[next] = now;
+         next = (next + 1) % attempts.length;
+         size = Math.min(size + 1, attempts.length);
+      }
+
+      private boolean isIdle(long now, long windowMillis) {
+         return now - lastAttempt >= windowMillis;
+      }
+   }
+}
\ No newline at end of file
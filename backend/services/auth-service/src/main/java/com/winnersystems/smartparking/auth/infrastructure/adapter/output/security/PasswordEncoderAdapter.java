@@ -1,29 +1,139 @@
 package com.winnersystems.smartparking.auth.infrastructure.adapter.output.security;
 
 import com.winnersystems.smartparking.auth.application.port.output.PasswordEncoderPort;
+import com.winnersystems.smartparking.auth.domain.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 /**
  * Adaptador para encriptación de contraseñas.
  * Implementa PasswordEncoderPort usando BCryptPasswordEncoder de Spring Security.
+ *
+ * BCrypt corre en un pool propio y acotado, no en los hilos de Tomcat:
+ * - threads hilos hashean a la vez; hasta queue-capacity esperan en cola
+ * - Con la cola llena, o si el hash no termina en timeout, se responde
+ *   TooManyRequestsException (429) en lugar de encolar más CPU
+ *
+ * Propiedades (auth.security.password-hashing):
+ * - threads: hashes en paralelo (default: núcleos disponibles)
+ * - queue-capacity: hashes en espera (default 64)
+ * - timeout: ms máximos de espera por un hash, cola incluida (default 5000)
+ *
+ * Métricas: auth.password.hash{op=encode|matches} (latencia, cola incluida),
+ * auth.password.hash.rejected{reason=queue-full|timeout} y el gauge
+ * auth.password.hash.queue.
  */
 @Component
 public class PasswordEncoderAdapter implements PasswordEncoderPort {
 
    private final PasswordEncoder passwordEncoder;
+   private final ThreadPoolExecutor hashers;
+   private final long timeoutMillis;
+
+   private final Timer encodeTimer;
+   private final Timer matchesTimer;
+   private final Counter queueFullCounter;
+   private final Counter timeoutCounter;
 
-   public PasswordEncoderAdapter(PasswordEncoder passwordEncoder) {
+   public PasswordEncoderAdapter(PasswordEncoder passwordEncoder,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${auth.security.password-hashing.threads:0}") int threads,
+                                 @Value("${auth.security.password-hashing.queue-capacity:64}") int queueCapacity,
+                                 @Value("${auth.security.password-hashing.timeout:5000}") long timeoutMillis) {
       this.passwordEncoder = passwordEncoder;
+      this.timeoutMillis = timeoutMillis;
+      int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+      this.hashers = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+            runnable -> {
+               Thread thread = new Thread(runnable, "password-hashing");
+               thread.setDaemon(true);
+               return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+      this.encodeTimer = hashTimer(meterRegistry, "encode");
+      this.matchesTimer = hashTimer(meterRegistry, "matches");
+      this.queueFullCounter = rejectionCounter(meterRegistry, "queue-full");
+      this.timeoutCounter = rejectionCounter(meterRegistry, "timeout");
+      Gauge.builder("auth.password.hash.queue", hashers, executor -> executor.getQueue().size())
+            .description("Hashes de contraseña esperando un hilo")
+            .register(meterRegistry);
    }
 
    @Override
    public String encode(String rawPassword) {
-      return passwordEncoder.encode(rawPassword);
+      return hash(encodeTimer, () -> passwordEncoder.encode(rawPassword));
    }
 
    @Override
    public boolean matches(String rawPassword, String encodedPassword) {
-      return passwordEncoder.matches(rawPassword, encodedPassword);
+      return hash(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+   }
+
+   @PreDestroy
+   void shutdown() {
+      hashers.shutdown();
+   }
+
+   /**
+    * Ejecuta el hash en el pool y espera el resultado hasta timeout.
+    */
+   private <T> T hash(Timer timer, Callable<T> work) {
+      long start = System.nanoTime();
+      Future<T> result;
+      try {
+         result = hashers.submit(work);
+      } catch (RejectedExecutionException e) {
+         queueFullCounter.increment();
+         throw new TooManyRequestsException("Servicio ocupado. Intenta nuevamente en unos segundos.", 5);
+      }
+
+      try {
+         return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+      } catch (TimeoutException e) {
+         result.cancel(true);
+         timeoutCounter.increment();
+         throw new TooManyRequestsException("Servicio ocupado. Intenta nuevamente en unos segundos.", 5);
+      } catch (InterruptedException e) {
+         result.cancel(true);
+         Thread.currentThread().interrupt();
+         throw new IllegalStateException("Hash de contraseña interrumpido", e);
+      } catch (ExecutionException e) {
+         if (e.getCause() instanceof RuntimeException runtime) {
+            throw runtime;
+         }
+         throw new IllegalStateException("Error al procesar la contraseña", e.getCause());
+      } finally {
+         timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      }
+   }
+
+   private static Timer hashTimer(MeterRegistry meterRegistry, String op) {
+      return Timer.builder("auth.password.hash")
+            .description("Latencia de BCrypt, incluida la espera en cola")
+            .tag("op", op)
+            .register(meterRegistry);
+   }
+
+   private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+      return Counter.builder("auth.password.hash.rejected")
+            .description("Hashes de contraseña rechazados por saturación del pool")
+            .tag("reason", reason)
+            .register(meterRegistry);
    }
 }
@@ -1,7 +1,17 @@
 package com.winnersystems.smartparking.auth.infrastructure.config;
 
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 /**
@@ -14,9 +24,44 @@ public class AppConfig {
    /**
     * Bean de RestTemplate para hacer peticiones HTTP
     * Usado por RecaptchaAdapter
+    *
+    * Pool de conexiones (Apache HttpClient 5) con timeouts estrictos: una
+    * verificación lenta no retiene el hilo de la request más de lo
+    * configurado.
+    *
+    * Propiedades (recaptcha.http):
+    * - max-connections: conexiones abiertas al verificador (default 20)
+    * - connect-timeout: ms para abrir la conexión (default 1000)
+    * - read-timeout: ms máximos esperando la respuesta (default 2000)
+    * - connection-request-timeout: ms esperando una conexión libre del pool (default 200)
+    * - time-to-live: s de vida de una conexión del pool (default 300)
     */
    @Bean
-   public RestTemplate restTemplate() {
-      return new RestTemplate();
+   public RestTemplate restTemplate(@Value("${recaptcha.http.max-connections:20}") int maxConnections,
+                                    @Value("${recaptcha.http.connect-timeout:1000}") long connectTimeout,
+                                    @Value("${recaptcha.http.read-timeout:2000}") long readTimeout,
+                                    @Value("${recaptcha.http.connection-request-timeout:200}") long connectionRequestTimeout,
+                                    @Value("${recaptcha.http.time-to-live:300}") long timeToLive) {
+      PoolingHttpClientConnectionManager pool = PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(maxConnections)
+            .setMaxConnPerRoute(maxConnections)
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                  .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout))
+                  .setSocketTimeout(Timeout.ofMilliseconds(readTimeout))
+                  .setTimeToLive(TimeValue.ofSeconds(timeToLive))
+                  .build())
+            .build();
+
+      CloseableHttpClient httpClient = HttpClients.custom()
+            .setConnectionManager(pool)
+            .setDefaultRequestConfig(RequestConfig.custom()
+                  .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeout))
+                  .setResponseTimeout(Timeout.ofMilliseconds(readTimeout))
+                  .build())
+            .evictIdleConnections(TimeValue.ofSeconds(30))
+            .disableAutomaticRetries()
+            .build();
+
+      return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
    }
 }
\ No newline at end of file
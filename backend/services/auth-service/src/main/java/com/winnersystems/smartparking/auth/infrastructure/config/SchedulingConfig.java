@@ -0,0 +1,20 @@
+package com.winnersystems.smartparking.auth.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas (@Scheduled) del Auth Service.
+ *
+ * Tareas:
+ * - Envío de la cola de emails (EmailOutboxWorker)
+ * - Limpieza de tokens vencidos o consumidos (TokenPurgeScheduler)
+ * - Limpieza de claves del limitador de intentos (LoginThrottleAdapter)
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,47 +1,61 @@
 package com.winnersystems.smartparking.auth.infrastructure.config.security;
 
+import com.winnersystems.smartparking.auth.application.dto.query.TokenClaims;
 import com.winnersystems.smartparking.auth.application.port.output.JwtPort;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Filtro JWT que intercepta TODAS las peticiones HTTP.
  *
  * Flujo:
  * 1. Extrae el token JWT del header "Authorization"
- * 2. Valida el token
- * 3. Extrae el email del usuario
- * 4. Carga los detalles del usuario
- * 5. Crea autenticación en SecurityContext
- * 6. Continúa con la petición
+ * 2. Verifica firma y expiración una sola vez y lee los claims
+ * 3. Arma la autenticación desde los claims (roles con prefijo ROLE_ y
+ *    permisos del rol activo), sin ir a la BD
+ * 4. En las escrituras sobre usuarios, roles y permisos usa en cambio los
+ *    roles, permisos del rol activo y estado actuales (UserAuthoritiesCache):
+ *    un token emitido antes de quitarle un rol a alguien no debe seguir
+ *    sirviendo ahí
+ * 5. Continúa con la petición
  *
- * Si el token es inválido → Error 401 Unauthorized
+ * Si el token es inválido, o no se puede leer el estado actual, la
+ * petición sigue sin autenticar → 401 Unauthorized
  */
 @Component
-@Slf4j  // ← AGREGADO
+@Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+   /** Endpoints cuyas escrituras requieren roles y estado actuales */
+   private static final List<String> FRESH_STATE_PATHS = List.of("/users", "/roles", "/permissions");
+
+   /** Escrituras por método que en realidad son consultas */
+   private static final Set<String> READ_ONLY_POSTS = Set.of("/users/batch");
+
    private final JwtPort jwtService;
-   private final UserDetailsService userDetailsService;
+   private final UserAuthoritiesCache authoritiesCache;
 
    public JwtAuthenticationFilter(
          JwtPort jwtService,
-         UserDetailsService userDetailsService) {
+         UserAuthoritiesCache authoritiesCache) {
       this.jwtService = jwtService;
-      this.userDetailsService = userDetailsService;
+      this.authoritiesCache = authoritiesCache;
    }
 
    @Override
@@ -50,76 +64,97 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
          HttpServletResponse response,
          FilterChain filterChain) throws ServletException, IOException {
 
-      System.out.println("========== JWT FILTER DEBUG ==========");
-      System.out.println("🌐 Request URI: " + request.getRequestURI());
-      System.out.println("🔧 Method: " + request.getMethod());
-
       // 1. Extraer header Authorization
       final String authHeader = request.getHeader("Authorization");
-      System.out.println("🔐 Auth Header: " + authHeader);
 
       // Si no hay header o no empieza con "Bearer ", continuar sin autenticar
-      if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-         System.out.println("❌ No Bearer token found");
-         System.out.println("======================================");
+      if (authHeader == null || !authHeader.startsWith("Bearer ")
+            || SecurityContextHolder.getContext().getAuthentication() != null) {
          filterChain.doFilter(request, response);
          return;
       }
 
-      try {
-         // 2. Extraer token (quitar "Bearer ")
-         final String jwt = authHeader.substring(7);
-         System.out.println("🎫 JWT Token: " + jwt.substring(0, Math.min(20, jwt.length())) + "...");
-
-         // 3. Extraer email del token
-         final String userEmail = jwtService.extractEmail(jwt);
-         System.out.println("📧 Email from token: " + userEmail);
-
-         // 4. Si hay email y NO hay autenticación previa
-         if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-
-            System.out.println("👤 Loading UserDetails for: " + userEmail);
-
-            // 5. Cargar detalles del usuario
-            UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
-            System.out.println("✅ UserDetails loaded: " + userDetails.getClass().getName());
-            System.out.println("   - Username: " + userDetails.getUsername());
-            System.out.println("   - Authorities: " + userDetails.getAuthorities());
-
-            // 6. Validar token
-            if (jwtService.validateToken(jwt)) {
-               System.out.println("✅ Token is valid");
-
-               // 7. Crear autenticación
-               UsernamePasswordAuthenticationToken authToken =
-                     new UsernamePasswordAuthenticationToken(
-                           userDetails,
-                           null,
-                           userDetails.getAuthorities()
-                     );
-
-               authToken.setDetails(
-                     new WebAuthenticationDetailsSource().buildDetails(request)
+      // 2. Verificar token (una sola vez) y leer claims
+      Optional<TokenClaims> verified = jwtService.verify(authHeader.substring(7));
+      if (verified.isEmpty()) {
+         log.debug("Token JWT inválido o expirado en {} {}", request.getMethod(), request.getRequestURI());
+         filterChain.doFilter(request, response);
+         return;
+      }
+      TokenClaims claims = verified.get();
+
+      // 3-4. Principal desde los claims, o desde el estado actual si el endpoint lo requiere
+      Optional<CustomUserDetails> userDetails = needsFreshState(request)
+            ? freshState(claims, request)
+            : Optional.of(fromClaims(claims));
+
+      if (userDetails.isPresent()) {
+         UsernamePasswordAuthenticationToken authToken =
+               new UsernamePasswordAuthenticationToken(
+                     userDetails.get(),
+                     null,
+                     userDetails.get().getAuthorities()
                );
+         authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+         SecurityContextHolder.getContext().setAuthentication(authToken);
+      } else {
+         log.debug("Usuario {} inexistente o inactivo en {} {}",
+               claims.userId(), request.getMethod(), request.getRequestURI());
+      }
+
+      // 5. Continuar con el siguiente filtro
+      filterChain.doFilter(request, response);
+   }
+
+   /**
+    * Estado actual del usuario para el rol activo del token. Si la BD falla
+    * la petición sigue sin autenticar (401), en lugar de un 500.
+    */
+   private Optional<CustomUserDetails> freshState(TokenClaims claims, HttpServletRequest request) {
+      try {
+         return authoritiesCache.find(claims.userId(), claims.activeRole()).filter(CustomUserDetails::isEnabled);
+      } catch (RuntimeException e) {
+         log.warn("No se pudo cargar el estado del usuario {} en {} {}: {}",
+               claims.userId(), request.getMethod(), request.getRequestURI(), e.getMessage());
+         return Optional.empty();
+      }
+   }
 
-               // 8. Establecer autenticación en el contexto de Spring Security
-               SecurityContextHolder.getContext().setAuthentication(authToken);
-               System.out.println("✅ Authentication set in SecurityContext");
-            } else {
-               System.out.println("❌ Token is NOT valid");
-            }
-         } else {
-            System.out.println("⚠️ Email is null or authentication already exists");
-         }
-
-      } catch (Exception e) {
-         System.err.println("❌ Error processing JWT: " + e.getMessage());
-         e.printStackTrace();
+   /**
+    * Mismas authorities que UserDetailsServiceImpl para el rol activo,
+    * tomadas del token: todos los roles y los permisos del rol activo.
+    */
+   private static CustomUserDetails fromClaims(TokenClaims claims) {
+      Set<GrantedAuthority> authorities = new HashSet<>();
+      for (String role : claims.roles()) {
+         authorities.add(new SimpleGrantedAuthority("ROLE_" + role));
+      }
+      for (String permission : claims.permissions()) {
+         authorities.add(new SimpleGrantedAuthority(permission));
       }
 
-      System.out.println("======================================");
+      return new CustomUserDetails(
+            claims.userId(),
+            claims.email(),
+            null,
+            true,
+            true,
+            true,
+            true,
+            authorities
+      );
+   }
 
-      // 9. Continuar con el siguiente filtro
-      filterChain.doFilter(request, response);
+   private static boolean needsFreshState(HttpServletRequest request) {
+      String method = request.getMethod();
+      if ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) {
+         return false;
+      }
+      String path = request.getServletPath();
+      if (READ_ONLY_POSTS.contains(path)) {
+         return false;
+      }
+      return FRESH_STATE_PATHS.stream()
+            .anyMatch(prefix -> path.equals(prefix) || path.startsWith(prefix + "/"));
    }
 }
\ No newline at end of file
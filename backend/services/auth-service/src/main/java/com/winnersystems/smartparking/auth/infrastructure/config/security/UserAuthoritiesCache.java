@@ -0,0 +1,143 @@
+package com.winnersystems.smartparking.auth.infrastructure.config.security;
+
+import com.winnersystems.smartparking.auth.application.port.output.AuthoritiesCachePort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caché por usuario y rol activo de roles, permisos y estado leídos de la BD.
+ *
+ * La usa JwtAuthenticationFilter solo en los endpoints que no pueden
+ * confiar en el token (que puede tener hasta 30 minutos): las escrituras
+ * sobre usuarios, roles y permisos. El resto de requests se autentica con
+ * los claims del token, sin BD. Los permisos son los del rol activo del
+ * token, con la misma regla que al emitirlo.
+ *
+ * Invalidación:
+ * - UserService descarta al usuario cuando cambian sus roles o su estado
+ * - RoleService y PermissionService descartan todo
+ * - Se descarta al escribir y otra vez al terminar la transacción, para
+ *   que no quede lo leído antes del commit
+ * - ttl acota lo que tarda en verse un cambio hecho en otra réplica
+ *
+ * Propiedades (auth.security.authorities-cache):
+ * - ttl: ms de vigencia de una entrada (default 60000)
+ * - max-size: entradas (usuario y rol activo) en memoria; llena, se lee de la BD sin guardar (default 1000)
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Component
+public class UserAuthoritiesCache implements AuthoritiesCachePort {
+
+   private final UserDetailsServiceImpl userDetailsService;
+   private final long ttlMillis;
+   private final int maxSize;
+
+   private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+   public UserAuthoritiesCache(UserDetailsServiceImpl userDetailsService,
+                               @Value("${auth.security.authorities-cache.ttl:60000}") long ttlMillis,
+                               @Value("${auth.security.authorities-cache.max-size:1000}") int maxSize) {
+      this.userDetailsService = userDetailsService;
+      this.ttlMillis = ttlMillis;
+      this.maxSize = maxSize;
+   }
+
+   // ========== LECTURA ==========
+
+   /**
+    * Roles, permisos del rol activo y estado actuales del usuario (sin contraseña).
+    *
+    * @param activeRole rol activo del token
+    * @return vacío si el usuario ya no existe
+    */
+   public Optional<CustomUserDetails> find(Long userId, String activeRole) {
+      if (userId == null) {
+         return Optional.empty();
+      }
+      Key key = new Key(userId, activeRole);
+      long now = System.currentTimeMillis();
+      Entry entry = entries.get(key);
+      if (entry != null && now - entry.loadedAt() < ttlMillis) {
+         return Optional.of(entry.details());
+      }
+
+      CustomUserDetails details;
+      try {
+         details = withoutPassword(userDetailsService.loadUserById(userId, activeRole));
+      } catch (UsernameNotFoundException e) {
+         removeUser(userId);
+         return Optional.empty();
+      }
+
+      if (entries.size() >= maxSize) {
+         entries.values().removeIf(cached -> now - cached.loadedAt() >= ttlMillis);
+      }
+      if (entries.size() < maxSize) {
+         entries.put(key, new Entry(details, now));
+      }
+      return Optional.of(details);
+   }
+
+   // ========== AuthoritiesCachePort ==========
+
+   @Override
+   public void evictUser(Long userId) {
+      if (userId == null) {
+         return;
+      }
+      removeUser(userId);
+      afterCompletion(() -> removeUser(userId));
+   }
+
+   @Override
+   public void evictAll() {
+      entries.clear();
+      afterCompletion(entries::clear);
+   }
+
+   // ========== HELPERS ==========
+
+   private void removeUser(Long userId) {
+      entries.keySet().removeIf(key -> key.userId().equals(userId));
+   }
+
+   private static void afterCompletion(Runnable eviction) {
+      if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+         return;
+      }
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+         @Override
+         public void afterCompletion(int status) {
+            eviction.run();
+         }
+      });
+   }
+
+   private static CustomUserDetails withoutPassword(CustomUserDetails details) {
+      return new CustomUserDetails(
+            details.getUserId(),
+            details.getEmail(),
+            null,
+            details.isAccountNonExpired(),
+            details.isAccountNonLocked(),
+            details.isCredentialsNonExpired(),
+            details.isEnabled(),
+            details.getAuthorities()
+      );
+   }
+
+   private record Key(Long userId, String activeRole) {
+   }
+
+   private record Entry(CustomUserDetails details, long loadedAt) {
+   }
+}
\ No newline at end of file
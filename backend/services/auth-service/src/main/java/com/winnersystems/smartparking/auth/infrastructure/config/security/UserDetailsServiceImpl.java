@@ -1,7 +1,7 @@
 package com.winnersystems.smartparking.auth.infrastructure.config.security;
 
 import com.winnersystems.smartparking.auth.application.port.output.UserPersistencePort;
-import com.winnersystems.smartparking.auth.domain.model.Permission;
+import com.winnersystems.smartparking.auth.application.service.permission.PermissionRegistry;
 import com.winnersystems.smartparking.auth.domain.model.Role;
 import com.winnersystems.smartparking.auth.domain.model.User;
 import org.springframework.security.core.GrantedAuthority;
@@ -15,6 +15,7 @@ import org.springframework.transaction.annotation.Transactional;  // AGREGAR
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Implementación de UserDetailsService de Spring Security.
@@ -31,9 +32,12 @@ import java.util.Set;
 public class UserDetailsServiceImpl implements UserDetailsService {
 
    private final UserPersistencePort userPersistencePort;
+   private final PermissionRegistry permissionRegistry;
 
-   public UserDetailsServiceImpl(UserPersistencePort userPersistencePort) {
+   public UserDetailsServiceImpl(UserPersistencePort userPersistencePort,
+                                 PermissionRegistry permissionRegistry) {
       this.userPersistencePort = userPersistencePort;
+      this.permissionRegistry = permissionRegistry;
    }
 
    @Override
@@ -44,7 +48,25 @@ public class UserDetailsServiceImpl implements UserDetailsService {
             .orElseThrow(() -> new UsernameNotFoundException(
                   "Usuario no encontrado con email: " + email));
 
-      // 2. Convertir a CustomUserDetails (incluye userId)
+      // 2. Convertir a CustomUserDetails (incluye userId), con el rol por defecto del login
+      return toUserDetails(user, user.getDefaultRoleName());
+   }
+
+   /**
+    * Igual que loadUserByUsername, por ID y para el rol activo del token
+    * (lo usa UserAuthoritiesCache).
+    *
+    * @throws UsernameNotFoundException si el usuario no existe
+    */
+   @Transactional(readOnly = true)
+   public CustomUserDetails loadUserById(Long userId, String activeRole) {
+      User user = userPersistencePort.findById(userId)
+            .orElseThrow(() -> new UsernameNotFoundException(
+                  "Usuario no encontrado con ID: " + userId));
+      return toUserDetails(user, activeRole);
+   }
+
+   private CustomUserDetails toUserDetails(User user, String activeRole) {
       return new CustomUserDetails(
             user.getId(),                    // userId
             user.getEmail(),                 // username
@@ -53,7 +75,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
             user.isFullyActive(),            // accountNonLocked
             true,                            // credentialsNonExpired
             user.isFullyActive(),            // enabled
-            getAuthorities(user)             // authorities (roles + permisos)
+            getAuthorities(user, activeRole) // authorities (roles + permisos del rol activo)
       );
    }
 
@@ -63,20 +85,26 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     * <p>Formato:</p>
     * <ul>
     *   <li>Roles: "ROLE_ADMIN", "ROLE_AUTORIDAD", "ROLE_OPERADOR"</li>
-    *   <li>Permisos: "users.create", "parking.update", etc.</li>
+    *   <li>Permisos: "users.create", "parking.update", etc. (desde PermissionRegistry)</li>
     * </ul>
+    *
+    * <p>Igual que el access token: todos los roles, pero solo los permisos
+    * del rol activo (PermissionRegistry.activeRolePermissions).</p>
     */
-   private Collection<? extends GrantedAuthority> getAuthorities(User user) {
+   private Collection<? extends GrantedAuthority> getAuthorities(User user, String activeRole) {
       Set<GrantedAuthority> authorities = new HashSet<>();
+      Set<String> roleNames = user.getRoles().stream()
+            .map(Role::getName)
+            .collect(Collectors.toSet());
 
       // 1. Agregar ROLES (con prefijo ROLE_)
-      for (Role role : user.getRoles()) {
-         authorities.add(new SimpleGrantedAuthority("ROLE_" + role.getName()));
+      for (String roleName : roleNames) {
+         authorities.add(new SimpleGrantedAuthority("ROLE_" + roleName));
+      }
 
-         // 2. Agregar PERMISOS de cada rol
-         for (Permission permission : role.getPermissions()) {
-            authorities.add(new SimpleGrantedAuthority(permission.getName()));
-         }
+      // 2. Agregar PERMISOS del rol activo
+      for (String permissionName : permissionRegistry.activeRolePermissions(roleNames, activeRole)) {
+         authorities.add(new SimpleGrantedAuthority(permissionName));
       }
 
       return authorities;
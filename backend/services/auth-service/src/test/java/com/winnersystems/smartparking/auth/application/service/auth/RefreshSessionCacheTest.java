@@ -0,0 +1,181 @@
+package com.winnersystems.smartparking.auth.application.service.auth;
+
+import com.winnersystems.smartparking.auth.application.port.output.TokenPersistencePort;
+import com.winnersystems.smartparking.auth.application.port.output.UserPersistencePort;
+import com.winnersystems.smartparking.auth.domain.model.RefreshToken;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * RefreshSessionCache frente a una tabla de refresh tokens en memoria.
+ *
+ * Cubre la emisión (solo al confirmarse), el logout, la revocación masiva,
+ * una lectura de otro hilo que se cruza con el commit de un logout y el
+ * vencimiento corto de los tokens no revocados, que acota cuánto se
+ * acepta un logout hecho en otra réplica.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+class RefreshSessionCacheTest {
+
+   private static final long TTL = 60_000;
+   private static final long ACTIVE_TTL = 60_000;
+
+   /** Filas confirmadas de refresh_tokens (token -> fila) */
+   private final Map<String, RefreshToken> table = new ConcurrentHashMap<>();
+
+   private TokenPersistencePort tokenPersistencePort;
+
+   @BeforeEach
+   void setUp() {
+      tokenPersistencePort = mock(TokenPersistencePort.class);
+      when(tokenPersistencePort.findRefreshTokenByToken(anyString()))
+            .thenAnswer(invocation -> Optional.ofNullable(table.get(invocation.<String>getArgument(0))));
+   }
+
+   @AfterEach
+   void tearDown() {
+      if (TransactionSynchronizationManager.isSynchronizationActive()) {
+         TransactionSynchronizationManager.clearSynchronization();
+      }
+   }
+
+   // ========== EMISIÓN ==========
+
+   @Test
+   void issuedTokenIsServedOnlyAfterCommit() {
+      RefreshSessionCache cache = cache(ACTIVE_TTL);
+      RefreshToken token = new RefreshToken("login", 1L, 720);
+
+      TransactionSynchronizationManager.initSynchronization();
+      cache.issued(token);
+      // Antes del commit la fila no es visible: no se sirve de memoria
+      assertTrue(cache.findToken("login").isEmpty());
+      table.put("login", token);
+      commit();
+
+      clearInvocations(tokenPersistencePort);
+      assertFalse(cache.findToken("login").orElseThrow().revoked());
+      verify(tokenPersistencePort, never()).findRefreshTokenByToken(anyString());
+   }
+
+   // ========== REVOCACIÓN ==========
+
+   @Test
+   void logoutMarksTheCachedTokenAsRevoked() {
+      RefreshSessionCache cache = cache(ACTIVE_TTL);
+      cache.issued(row("logout", 1L));
+
+      TransactionSynchronizationManager.initSynchronization();
+      cache.revoked("logout");
+      commit();
+
+      assertTrue(cache.findToken("logout").orElseThrow().revoked());
+      verify(tokenPersistencePort, never()).findRefreshTokenByToken(anyString());
+   }
+
+   @Test
+   void revokedAllForDropsOnlyThatUsersTokens() {
+      RefreshSessionCache cache = cache(ACTIVE_TTL);
+      cache.issued(row("ana-web", 1L));
+      cache.issued(row("ana-movil", 1L));
+      cache.issued(row("luis-web", 2L));
+
+      TransactionSynchronizationManager.initSynchronization();
+      revokeInTable("ana-web");
+      revokeInTable("ana-movil");
+      cache.revokedAllFor(1L);
+      commit();
+
+      assertTrue(cache.findToken("ana-web").orElseThrow().revoked());
+      assertTrue(cache.findToken("ana-movil").orElseThrow().revoked());
+      assertFalse(cache.findToken("luis-web").orElseThrow().revoked());
+      verify(tokenPersistencePort, times(2)).findRefreshTokenByToken(anyString());
+   }
+
+   @Test
+   void readRacingTheLogoutCommitDoesNotKeepTheTokenActive() {
+      RefreshSessionCache cache = cache(ACTIVE_TTL);
+      table.put("carrera", row("carrera", 1L));
+
+      TransactionSynchronizationManager.initSynchronization();
+      cache.revoked("carrera");
+
+      // Otro hilo lee antes del commit: ve la fila sin revocar y la guarda
+      boolean revokedBeforeCommit = CompletableFuture
+            .supplyAsync(() -> cache.findToken("carrera").orElseThrow().revoked())
+            .join();
+      assertFalse(revokedBeforeCommit);
+
+      revokeInTable("carrera");
+      commit();
+
+      clearInvocations(tokenPersistencePort);
+      assertTrue(cache.findToken("carrera").orElseThrow().revoked());
+      verify(tokenPersistencePort, never()).findRefreshTokenByToken(anyString());
+   }
+
+   @Test
+   void logoutOnAnotherReplicaIsSeenOnceTheActiveWindowPasses() throws InterruptedException {
+      RefreshSessionCache cache = cache(50);
+      cache.issued(row("replica", 1L));
+      assertFalse(cache.findToken("replica").orElseThrow().revoked());
+
+      // Logout en otra réplica: solo cambia la BD
+      revokeInTable("replica");
+      Thread.sleep(80);
+
+      assertTrue(cache.findToken("replica").orElseThrow().revoked());
+      // Ya revocado, se sirve de memoria durante ttl
+      assertTrue(cache.findToken("replica").orElseThrow().revoked());
+      verify(tokenPersistencePort, times(1)).findRefreshTokenByToken(anyString());
+   }
+
+   // ========== HELPERS ==========
+
+   private RefreshSessionCache cache(long activeTtl) {
+      return new RefreshSessionCache(tokenPersistencePort, mock(UserPersistencePort.class),
+            TTL, activeTtl, 100, 100);
+   }
+
+   /**
+    * Fila emitida y ya confirmada en la tabla.
+    */
+   private RefreshToken row(String token, Long userId) {
+      RefreshToken refreshToken = new RefreshToken(token, userId, 720);
+      table.put(token, refreshToken);
+      return refreshToken;
+   }
+
+   private void revokeInTable(String token) {
+      RefreshToken revoked = new RefreshToken(token, table.get(token).getUserId(), 720);
+      revoked.revoke();
+      table.put(token, revoked);
+   }
+
+   private static void commit() {
+      TransactionSynchronizationUtils.triggerAfterCommit();
+      TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+      TransactionSynchronizationManager.clearSynchronization();
+   }
+}
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.winnersystems.smartparking.auth.infrastructure.adapter.input.rest.user;
+
+import com.winnersystems.smartparking.auth.application.dto.query.OperatorDto;
+import com.winnersystems.smartparking.auth.application.port.input.user.*;
+import com.winnersystems.smartparking.auth.infrastructure.adapter.input.rest.user.mapper.UserRestMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /users/operators con ETag: la mitad de auth-service del refresco
+ * condicional de OperatorDirectory (parking-service).
+ *
+ * Cubre el 200 con ETag, el 304 sin cuerpo ni consulta de la lista cuando
+ * If-None-Match coincide (también entre varios valores o con "*") y la
+ * descarga completa cuando la versión cambió.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+class UserRestAdapterOperatorsTest {
+
+   private static final String ETAG = "\"7\"";
+
+   private ListOperatorsUseCase listOperatorsUseCase;
+   private MockMvc mockMvc;
+
+   @BeforeEach
+   void setUp() {
+      listOperatorsUseCase = mock(ListOperatorsUseCase.class);
+      when(listOperatorsUseCase.activeOperatorsVersion()).thenReturn("7");
+      when(listOperatorsUseCase.listActiveOperators()).thenReturn(List.of(
+            new OperatorDto(1L, "Ana", "Ríos", "ana@test.pe", "999", true)));
+
+      UserRestAdapter adapter = new UserRestAdapter(
+            mock(CreateUserUseCase.class),
+            mock(UpdateUserUseCase.class),
+            mock(GetUserUseCase.class),
+            mock(ListUsersUseCase.class),
+            mock(DeleteUserUseCase.class),
+            mock(RestoreUserUseCase.class),
+            mock(ResendCredentialsUseCase.class),
+            listOperatorsUseCase,
+            mock(LookupUsersUseCase.class),
+            mock(SearchUsersUseCase.class),
+            mock(UserRestMapper.class));
+      mockMvc = MockMvcBuilders.standaloneSetup(adapter).build();
+   }
+
+   @Test
+   void withoutIfNoneMatchReturnsTheListWithItsETag() throws Exception {
+      mockMvc.perform(get("/users/operators"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+            .andExpect(jsonPath("$[0].id").value(1))
+            .andExpect(jsonPath("$[0].firstName").value("Ana"));
+   }
+
+   @Test
+   void matchingIfNoneMatchAnswersNotModifiedWithoutListing() throws Exception {
+      mockMvc.perform(get("/users/operators").header(HttpHeaders.IF_NONE_MATCH, ETAG))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+            .andExpect(content().string(""));
+
+      verify(listOperatorsUseCase, never()).listActiveOperators();
+   }
+
+   @Test
+   void anyMatchingValueOrWildcardCountsAsMatch() throws Exception {
+      mockMvc.perform(get("/users/operators").header(HttpHeaders.IF_NONE_MATCH, "\"3\", " + ETAG))
+            .andExpect(status().isNotModified());
+      mockMvc.perform(get("/users/operators").header(HttpHeaders.IF_NONE_MATCH, "*"))
+            .andExpect(status().isNotModified());
+
+      verify(listOperatorsUseCase, never()).listActiveOperators();
+   }
+
+   @Test
+   void staleIfNoneMatchDownloadsTheNewVersion() throws Exception {
+      mockMvc.perform(get("/users/operators").header(HttpHeaders.IF_NONE_MATCH, "\"6\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+            .andExpect(jsonPath("$[0].id").value(1));
+   }
+}
\ No newline at end of file
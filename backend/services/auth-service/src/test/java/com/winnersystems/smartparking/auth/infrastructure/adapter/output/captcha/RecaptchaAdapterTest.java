@@ -0,0 +1,136 @@
+package com.winnersystems.smartparking.auth.infrastructure.adapter.output.captcha;
+
+import com.winnersystems.smartparking.auth.application.dto.query.CaptchaValidationResult;
+import com.winnersystems.smartparking.auth.application.port.output.CaptchaPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * RecaptchaAdapter con el verificador local (recaptcha.verifier: stub),
+ * sin red.
+ *
+ * Cubre los tokens pass / low / timeout / down con las dos políticas de
+ * fallo y la caché: un rechazo repetido no vuelve al verificador, un token
+ * válido sí. Las llamadas al verificador se cuentan con el timer
+ * auth.captcha.verify.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+class RecaptchaAdapterTest {
+
+   private static final String IP = "203.0.113.10";
+
+   private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+         .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+         .withUserConfiguration(GoogleRecaptchaVerifier.class, StubRecaptchaVerifier.class, RecaptchaAdapter.class)
+         .withPropertyValues("recaptcha.enabled=true", "recaptcha.verifier=stub");
+
+   @Test
+   void stubPropertyReplacesTheGoogleVerifier() {
+      contextRunner.run(context -> {
+         assertEquals(1, context.getBeansOfType(RecaptchaVerifier.class).size());
+         assertTrue(context.getBean(RecaptchaVerifier.class) instanceof StubRecaptchaVerifier);
+         assertTrue(context.getBean(CaptchaPort.class).isEnabled());
+      });
+   }
+
+   @ParameterizedTest
+   @ValueSource(strings = {"closed", "open"})
+   void passIsVerifiedOnEverySubmission(String policy) {
+      run(policy, (captcha, meters) -> {
+         CaptchaValidationResult first = captcha.validate("pass-token", IP);
+         CaptchaValidationResult second = captcha.validate("pass-token", IP);
+
+         assertTrue(first.success());
+         assertEquals(0.9, first.score());
+         assertTrue(second.success());
+         assertEquals(2, verifierCalls(meters), "Un token válido no se guarda: se verifica cada vez");
+         assertEquals(0, counter(meters, "cached"));
+      });
+   }
+
+   @ParameterizedTest
+   @ValueSource(strings = {"closed", "open"})
+   void lowScoreIsReturnedForTheCallerToJudge(String policy) {
+      run(policy, (captcha, meters) -> {
+         CaptchaValidationResult result = captcha.validate("low-token", IP);
+
+         assertTrue(result.success());
+         assertEquals(0.1, result.score());
+         assertEquals(1, counter(meters, "verified"));
+      });
+   }
+
+   @ParameterizedTest
+   @ValueSource(strings = {"timeout-token", "down-token"})
+   void unavailableVerifierIsRejectedWhenPolicyIsClosed(String token) {
+      run("closed", (captcha, meters) -> {
+         CaptchaValidationResult result = captcha.validate(token, IP);
+
+         assertFalse(result.success());
+         assertArrayEquals(new String[]{"connection-error"}, result.errorCodes());
+         assertEquals(1, counter(meters, "unavailable"));
+
+         captcha.validate(token, IP);
+         assertEquals(2, verifierCalls(meters), "Un fallo del verificador no se guarda");
+      });
+   }
+
+   @ParameterizedTest
+   @ValueSource(strings = {"timeout-token", "down-token"})
+   void unavailableVerifierIsLetThroughWhenPolicyIsOpen(String token) {
+      run("open", (captcha, meters) -> {
+         CaptchaValidationResult result = captcha.validate(token, IP);
+
+         assertTrue(result.success());
+         assertArrayEquals(new String[]{"verifier-unavailable"}, result.errorCodes());
+         assertEquals(1, counter(meters, "unavailable"));
+
+         captcha.validate(token, IP);
+         assertEquals(2, verifierCalls(meters), "Un fallo del verificador no se guarda");
+      });
+   }
+
+   @Test
+   void repeatedRejectionIsServedFromCacheWithoutCallingTheVerifier() {
+      run("closed", (captcha, meters) -> {
+         CaptchaValidationResult first = captcha.validate("forged-token", IP);
+         CaptchaValidationResult second = captcha.validate("forged-token", IP);
+
+         assertFalse(first.success());
+         assertFalse(second.success());
+         assertEquals(1, verifierCalls(meters), "El rechazo repetido no vuelve al verificador");
+         assertEquals(1, counter(meters, "cached"));
+
+         captcha.validate("forged-token", "198.51.100.7");
+         assertEquals(2, verifierCalls(meters), "La caché es por token + IP");
+      });
+   }
+
+   // ========== HELPERS ==========
+
+   private void run(String policy, BiConsumer<CaptchaPort, MeterRegistry> assertions) {
+      contextRunner.withPropertyValues("recaptcha.failure-policy=" + policy)
+            .run(context -> assertions.accept(context.getBean(CaptchaPort.class), context.getBean(MeterRegistry.class)));
+   }
+
+   private static long verifierCalls(MeterRegistry meters) {
+      return meters.get("auth.captcha.verify").timer().count();
+   }
+
+   private static double counter(MeterRegistry meters, String result) {
+      return meters.get("auth.captcha.verifications").tag("result", result).counter().count();
+   }
+}
\ No newline at end of file
@@ -0,0 +1,337 @@
+package com.winnersystems.smartparking.auth.infrastructure.adapter.output.email;
+
+import com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.email.entity.EmailOutboxEntity;
+import com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.email.repository.EmailOutboxRepository;
+import com.winnersystems.smartparking.auth.support.FakeSmtpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Multipart;
+import jakarta.mail.Part;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Envío de la cola de emails contra un servidor SMTP simulado (FakeSmtpServer).
+ *
+ * La tabla email_outbox es un mapa en memoria detrás de un mock de
+ * EmailOutboxRepository, con la misma semántica que las consultas reales
+ * (listos = PENDING y next_attempt_at vencido, en orden de ID). Cubre el
+ * envío por una sola conexión, los reintentos con espera creciente, el
+ * descarte tras agotar los intentos, el servidor caído, el cuerpo cifrado
+ * en la cola y la retención de las filas FAILED.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+class EmailOutboxWorkerTest {
+
+   private static final long BACKOFF = 30_000;
+   private static final long MAX_BACKOFF = 1_800_000;
+   private static final long LEASE = 300_000;
+   private static final long FAILED_RETENTION = 86_400_000;
+
+   private final EmailBodyCipher cipher = new EmailBodyCipher("9UCZ/8D7yBvJsF1fD4HPr8v4B3z6SYZ9Xm1B+Mo0uD4=");
+
+   private final Map<Long, EmailOutboxEntity> rows = new ConcurrentHashMap<>();
+   private final AtomicLong ids = new AtomicLong();
+
+   private FakeSmtpServer smtp;
+   private EmailOutboxRepository repository;
+
+   @BeforeEach
+   void setUp() {
+      smtp = FakeSmtpServer.start();
+      repository = inMemoryRepository();
+   }
+
+   @AfterEach
+   void tearDown() {
+      smtp.close();
+   }
+
+   @Test
+   void deliversTheBatchOverOneConnectionAndDeletesTheRows() {
+      queue("ana@smartparking.com", "Bienvenida");
+      queue("luis@smartparking.com", "Restablecer contrasena");
+      queue("eva@smartparking.com", "Codigo de verificacion");
+
+      worker(6).poll();
+      await(rows::isEmpty, "Los emails enviados deben borrarse de la cola");
+
+      List<FakeSmtpServer.ReceivedMessage> received = smtp.messages();
+      assertEquals(3, received.size());
+      assertEquals(1, smtp.connections(), "El lote debe salir por una sola conexión SMTP");
+      assertTrue(received.stream().anyMatch(message ->
+            message.recipients().equals(List.of("luis@smartparking.com"))
+                  && message.hasSubject("Restablecer contrasena")));
+   }
+
+   @Test
+   void rejectedRecipientIsRetriedWithBackoffWhileTheRestAreDeleted() {
+      smtp.reject("rebota@smartparking.com");
+      queue("ana@smartparking.com", "Bienvenida");
+      EmailOutboxEntity bounced = queue("rebota@smartparking.com", "Bienvenida");
+
+      LocalDateTime before = LocalDateTime.now();
+      worker(6).poll();
+      await(() -> bounced.getLastError() != null, "El fallo debe registrarse en la fila");
+
+      await(() -> rows.size() == 1, "El email entregado debe borrarse de la cola");
+      assertEquals(1, smtp.messages().size());
+      assertEquals(EmailOutboxEntity.PENDING, bounced.getStatus());
+      assertEquals(1, bounced.getAttempts());
+      assertNotNull(bounced.getHtmlBody(), "Un email que se reintenta conserva su cuerpo");
+      assertTrue(!bounced.getNextAttemptAt().isBefore(before.plusNanos(BACKOFF * 1_000_000))
+                  && bounced.getNextAttemptAt().isBefore(before.plusNanos(LEASE * 1_000_000)),
+            "El reintento espera el backoff, no la reserva: " + bounced.getNextAttemptAt());
+   }
+
+   @Test
+   void retryWaitDoublesWithEachAttempt() {
+      smtp.reject("rebota@smartparking.com");
+      EmailOutboxEntity bounced = queue("rebota@smartparking.com", "Bienvenida");
+      bounced.setAttempts(2);
+
+      LocalDateTime before = LocalDateTime.now();
+      worker(6).poll();
+      await(() -> bounced.getLastError() != null, "El fallo debe registrarse en la fila");
+
+      assertEquals(3, bounced.getAttempts());
+      assertTrue(!bounced.getNextAttemptAt().isBefore(before.plusNanos(BACKOFF * 4 * 1_000_000)),
+            "Tercer intento: backoff * 2^2, fue " + bounced.getNextAttemptAt());
+   }
+
+   @Test
+   void exhaustedAttemptsLeaveTheRowFailedWithoutBody() {
+      smtp.reject("rebota@smartparking.com");
+      EmailOutboxEntity bounced = queue("rebota@smartparking.com", "Restablecer contrasena");
+
+      worker(1).poll();
+      await(() -> EmailOutboxEntity.FAILED.equals(bounced.getStatus()), "Sin intentos la fila debe quedar FAILED");
+
+      assertNull(bounced.getHtmlBody(), "El cuerpo de un email descartado no se conserva");
+      assertTrue(rows.containsKey(bounced.getId()), "La fila FAILED queda para revisión");
+
+      int connections = smtp.connections();
+      worker(1).poll();
+      assertEquals(connections, smtp.connections(), "Una fila FAILED no vuelve a enviarse");
+   }
+
+   @Test
+   void serverDownReschedulesTheWholeBatch() {
+      EmailOutboxEntity first = queue("ana@smartparking.com", "Bienvenida");
+      EmailOutboxEntity second = queue("luis@smartparking.com", "Bienvenida");
+      smtp.close();
+
+      LocalDateTime before = LocalDateTime.now();
+      worker(6).poll();
+      await(() -> first.getLastError() != null && second.getLastError() != null,
+            "Todos los emails del lote deben registrar el fallo");
+
+      for (EmailOutboxEntity email : List.of(first, second)) {
+         assertEquals(EmailOutboxEntity.PENDING, email.getStatus());
+         assertEquals(1, email.getAttempts());
+         assertTrue(email.getNextAttemptAt().isAfter(before), "Sin reintento inmediato");
+      }
+   }
+
+   @Test
+   void credentialsAreEncryptedInTheQueueAndSentInClear() throws Exception {
+      new EmailAdapter(repository, cipher).sendWelcomeEmailWithCredentials(
+            "ana@smartparking.com", "Ana", "ana@smartparking.com", "Temporal123x",
+            Set.of("OPERADOR"), "https://app.smartparking.com/verify?token=tok987", 24);
+
+      EmailOutboxEntity queued = rows.values().iterator().next();
+      assertFalse(queued.getHtmlBody().contains("Temporal123x"), "La contraseña no debe quedar legible en la tabla");
+      assertFalse(queued.getHtmlBody().contains("tok987"), "El enlace no debe quedar legible en la tabla");
+
+      worker(6).poll();
+      await(rows::isEmpty, "El email enviado debe borrarse de la cola");
+
+      String sent = htmlOf(smtp.messages().get(0));
+      assertTrue(sent.contains("Temporal123x"), "El destinatario recibe la contraseña");
+      assertTrue(sent.contains("tok987"), "El destinatario recibe el enlace");
+   }
+
+   @Test
+   void bodyEncryptedWithAnotherKeyIsNotSent() {
+      EmailOutboxEntity foreign = queue("ana@smartparking.com", "Bienvenida");
+      foreign.setHtmlBody(new EmailBodyCipher("AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA=").encrypt("<p>otra clave</p>"));
+
+      worker(6).poll();
+      await(() -> foreign.getLastError() != null, "El fallo debe registrarse en la fila");
+
+      assertEquals(0, smtp.connections(), "Sin mensajes válidos no se abre conexión SMTP");
+      assertEquals(EmailOutboxEntity.PENDING, foreign.getStatus());
+   }
+
+   @Test
+   void purgeDeletesOnlyFailedRowsPastRetention() {
+      EmailOutboxEntity oldFailed = queue("ana@smartparking.com", "Bienvenida");
+      oldFailed.setStatus(EmailOutboxEntity.FAILED);
+      oldFailed.setCreatedAt(LocalDateTime.now().minusDays(2));
+      EmailOutboxEntity recentFailed = queue("luis@smartparking.com", "Bienvenida");
+      recentFailed.setStatus(EmailOutboxEntity.FAILED);
+      EmailOutboxEntity oldPending = queue("eva@smartparking.com", "Bienvenida");
+      oldPending.setCreatedAt(LocalDateTime.now().minusDays(2));
+
+      worker(6).purgeFailed();
+
+      assertFalse(rows.containsKey(oldFailed.getId()), "La fila FAILED vencida debe borrarse");
+      assertTrue(rows.containsKey(recentFailed.getId()), "La fila FAILED reciente queda para revisión");
+      assertTrue(rows.containsKey(oldPending.getId()), "Una fila pendiente no se borra");
+   }
+
+   // ========== HELPERS ==========
+
+   private EmailOutboxWorker worker(int maxAttempts) {
+      JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+      mailSender.setHost("localhost");
+      mailSender.setPort(smtp.port());
+      mailSender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+      mailSender.getJavaMailProperties().put("mail.smtp.timeout", "2000");
+
+      EmailOutboxWorker worker = new EmailOutboxWorker(repository, cipher, mailSender,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), new SimpleMeterRegistry(),
+            50, 1, maxAttempts, BACKOFF, MAX_BACKOFF, LEASE, FAILED_RETENTION);
+      ReflectionTestUtils.setField(worker, "fromEmail", "noreply@smartparking.com");
+      ReflectionTestUtils.setField(worker, "fromName", "Smart Parking System");
+      return worker;
+   }
+
+   private EmailOutboxEntity queue(String to, String subject) {
+      EmailOutboxEntity email = EmailOutboxEntity.builder()
+            .id(ids.incrementAndGet())
+            .toEmail(to)
+            .subject(subject)
+            .htmlBody(cipher.encrypt("<p>" + subject + "</p>"))
+            .createdAt(LocalDateTime.now())
+            .nextAttemptAt(LocalDateTime.now().minusSeconds(1))
+            .build();
+      rows.put(email.getId(), email);
+      return email;
+   }
+
+   /**
+    * Mock del repositorio sobre el mapa rows.
+    */
+   @SuppressWarnings("unchecked")
+   private EmailOutboxRepository inMemoryRepository() {
+      EmailOutboxRepository mock = mock(EmailOutboxRepository.class);
+      when(mock.findReadyForUpdate(any(LocalDateTime.class), any(Pageable.class))).thenAnswer(invocation -> {
+         LocalDateTime now = invocation.getArgument(0);
+         Pageable page = invocation.getArgument(1);
+         return rows.values().stream()
+               .filter(email -> EmailOutboxEntity.PENDING.equals(email.getStatus()))
+               .filter(email -> !email.getNextAttemptAt().isAfter(now))
+               .sorted(Comparator.comparing(EmailOutboxEntity::getId))
+               .limit(page.getPageSize())
+               .toList();
+      });
+      when(mock.findAllById(any())).thenAnswer(invocation -> {
+         Iterable<Long> wanted = invocation.getArgument(0);
+         List<EmailOutboxEntity> found = new ArrayList<>();
+         wanted.forEach(id -> {
+            EmailOutboxEntity email = rows.get(id);
+            if (email != null) {
+               found.add(email);
+            }
+         });
+         return found;
+      });
+      doAnswer(invocation -> {
+         ((Collection<Long>) invocation.getArgument(0)).forEach(rows::remove);
+         return null;
+      }).when(mock).deleteAllByIdInBatch(any());
+      when(mock.save(any(EmailOutboxEntity.class))).thenAnswer(invocation -> {
+         EmailOutboxEntity email = invocation.getArgument(0);
+         email.setId(ids.incrementAndGet());
+         email.setCreatedAt(LocalDateTime.now());
+         email.setNextAttemptAt(email.getCreatedAt().minusSeconds(1));
+         rows.put(email.getId(), email);
+         return email;
+      });
+      when(mock.deleteFailedCreatedBefore(any(LocalDateTime.class))).thenAnswer(invocation -> {
+         LocalDateTime cutoff = invocation.getArgument(0);
+         List<Long> expired = rows.values().stream()
+               .filter(email -> EmailOutboxEntity.FAILED.equals(email.getStatus()))
+               .filter(email -> email.getCreatedAt().isBefore(cutoff))
+               .map(EmailOutboxEntity::getId)
+               .toList();
+         expired.forEach(rows::remove);
+         return expired.size();
+      });
+      return mock;
+   }
+
+   /**
+    * Parte HTML del mensaje recibido, ya decodificada.
+    */
+   private static String htmlOf(FakeSmtpServer.ReceivedMessage received) throws Exception {
+      MimeMessage message = new MimeMessage(Session.getInstance(new Properties()),
+            new ByteArrayInputStream(received.data().getBytes(StandardCharsets.UTF_8)));
+      return htmlOf(message);
+   }
+
+   private static String htmlOf(Part part) throws Exception {
+      if (part.isMimeType("text/html")) {
+         return (String) part.getContent();
+      }
+      if (part.getContent() instanceof Multipart multipart) {
+         for (int i = 0; i < multipart.getCount(); i++) {
+            String html = htmlOf(multipart.getBodyPart(i));
+            if (html != null) {
+               return html;
+            }
+         }
+      }
+      return null;
+   }
+
+   private static void await(BooleanSupplier condition, String message) {
+      long deadline = System.currentTimeMillis() + 10_000;
+      while (!condition.getAsBoolean()) {
+         if (System.currentTimeMillis() > deadline) {
+            fail(message);
+         }
+         try {
+            Thread.sleep(20);
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(message);
+         }
+      }
+   }
+}
\ No newline at end of file
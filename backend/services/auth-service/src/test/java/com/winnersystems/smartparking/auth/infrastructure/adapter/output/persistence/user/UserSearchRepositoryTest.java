@@ -0,0 +1,178 @@
+package com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.user;
+
+import com.winnersystems.smartparking.auth.application.dto.query.CursorPage;
+import com.winnersystems.smartparking.auth.application.dto.query.UserListItemDto;
+import com.winnersystems.smartparking.auth.application.dto.query.UserSearchCriteria;
+import com.winnersystems.smartparking.auth.application.port.output.AuthoritiesCachePort;
+import com.winnersystems.smartparking.auth.application.port.output.EmailPort;
+import com.winnersystems.smartparking.auth.application.port.output.PasswordEncoderPort;
+import com.winnersystems.smartparking.auth.application.port.output.RolePersistencePort;
+import com.winnersystems.smartparking.auth.application.port.output.TokenPersistencePort;
+import com.winnersystems.smartparking.auth.application.service.auth.RefreshSessionCache;
+import com.winnersystems.smartparking.auth.application.service.user.UserService;
+import com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.role.entity.RoleEntity;
+import com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.user.entity.UserEntity;
+import com.winnersystems.smartparking.auth.infrastructure.adapter.output.persistence.user.mapper.UserPersistenceMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Listado plano de usuarios (UserSearchRepositoryImpl) a través de
+ * UserService.search, contra H2 en modo PostgreSQL con el dialecto de
+ * PostgreSQL: Hibernate traduce listagg ... WITHIN GROUP igual que en
+ * producción (string_agg con ORDER BY).
+ *
+ * Cubre el paginado por cursor (after) en ambos sentidos, hasNext y
+ * nextCursor, el filtro por rol con EXISTS sin recortar los roles
+ * agregados y que los nombres de roles vuelvan completos.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@DataJpaTest(properties = {
+      // Sustituye a application.yaml, cuyo import de Config Server no es opcional
+      "spring.config.location=classpath:/application-jpatest.yaml",
+      "spring.cloud.config.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("jpatest")
+@Import({UserPersistenceAdapter.class, UserPersistenceMapper.class})
+class UserSearchRepositoryTest {
+
+   @Autowired
+   private TestEntityManager entityManager;
+
+   @Autowired
+   private UserPersistenceAdapter userPersistenceAdapter;
+
+   private UserService userService;
+
+   private RoleEntity admin;
+   private RoleEntity operator;
+   private RoleEntity customerCare;
+
+   private UserEntity ana;
+   private UserEntity luis;
+   private UserEntity marta;
+   private UserEntity jorge;
+
+   @BeforeEach
+   void seed() {
+      userService = new UserService(userPersistenceAdapter, mock(RolePersistencePort.class),
+            mock(PasswordEncoderPort.class), mock(EmailPort.class), mock(TokenPersistencePort.class),
+            mock(AuthoritiesCachePort.class), mock(RefreshSessionCache.class));
+
+      admin = role("ADMIN");
+      operator = role("OPERADOR");
+      customerCare = role("Atención al Cliente");
+
+      ana = user("ana", Set.of(admin, operator));
+      luis = user("luis", Set.of(operator));
+      marta = user("marta", Set.of());
+      jorge = user("jorge", Set.of(operator, customerCare));
+
+      UserEntity deleted = user("baja", Set.of(operator));
+      deleted.setDeletedAt(LocalDateTime.now());
+
+      entityManager.flush();
+      entityManager.clear();
+   }
+
+   // ========== CURSOR ==========
+
+   @Test
+   void cursorPagesWalkAllUsersNewestFirst() {
+      CursorPage<UserListItemDto> first = userService.search(criteria(null, 2, "desc"), null, false);
+      assertEquals(List.of(jorge.getId(), marta.getId()), ids(first));
+      assertTrue(first.hasNext());
+      assertEquals(marta.getId(), first.nextCursor());
+
+      CursorPage<UserListItemDto> second = userService.search(criteria(null, 2, "desc"), first.nextCursor(), false);
+      assertEquals(List.of(luis.getId(), ana.getId()), ids(second));
+      assertFalse(second.hasNext());
+      assertNull(second.nextCursor());
+   }
+
+   @Test
+   void ascendingCursorStartsAfterTheGivenId() {
+      CursorPage<UserListItemDto> page = userService.search(criteria(null, 2, "asc"), ana.getId(), false);
+
+      assertEquals(List.of(luis.getId(), marta.getId()), ids(page));
+      assertTrue(page.hasNext());
+      assertEquals(marta.getId(), page.nextCursor());
+   }
+
+   // ========== FILTRO POR ROL ==========
+
+   @Test
+   void roleFilterKeepsEveryRoleOfTheMatchingUsers() {
+      CursorPage<UserListItemDto> first = userService.search(criteria(operator.getId(), 2, "desc"), null, false);
+      assertEquals(List.of(jorge.getId(), luis.getId()), ids(first));
+      assertEquals(List.of("Atención al Cliente", "OPERADOR"), first.content().get(0).roles());
+      assertTrue(first.hasNext());
+
+      CursorPage<UserListItemDto> second = userService.search(criteria(operator.getId(), 2, "desc"),
+            first.nextCursor(), false);
+      assertEquals(List.of(ana.getId()), ids(second));
+      assertEquals(List.of("ADMIN", "OPERADOR"), second.content().get(0).roles());
+      assertFalse(second.hasNext());
+   }
+
+   @Test
+   void usersWithoutRolesComeBackWithAnEmptyList() {
+      CursorPage<UserListItemDto> page = userService.search(criteria(null, 10, "asc"), null, true);
+
+      UserListItemDto withoutRoles = page.content().stream()
+            .filter(item -> item.id().equals(marta.getId()))
+            .findFirst()
+            .orElseThrow();
+      assertEquals(List.of(), withoutRoles.roles());
+      assertEquals(List.of(ana.getId(), luis.getId(), marta.getId(), jorge.getId()), ids(page));
+      assertEquals(4L, page.totalElements());
+   }
+
+   // ========== HELPERS ==========
+
+   private static UserSearchCriteria criteria(Long roleId, int size, String direction) {
+      return UserSearchCriteria.of(null, roleId, null, null, 0, size, "id", direction);
+   }
+
+   private static List<Long> ids(CursorPage<UserListItemDto> page) {
+      return page.content().stream().map(UserListItemDto::id).toList();
+   }
+
+   private RoleEntity role(String name) {
+      RoleEntity role = new RoleEntity();
+      role.setName(name);
+      role.setStatus(true);
+      return entityManager.persist(role);
+   }
+
+   private UserEntity user(String name, Set<RoleEntity> roles) {
+      UserEntity user = new UserEntity();
+      user.setFirstName(name);
+      user.setLastName("Test");
+      user.setEmail(name + "@test.pe");
+      user.setPassword("{noop}x");
+      user.setStatus(true);
+      user.setEmailVerified(true);
+      user.getRoles().addAll(roles);
+      return entityManager.persist(user);
+   }
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.winnersystems.smartparking.auth.infrastructure.adapter.output.security;
+
+import com.winnersystems.smartparking.auth.application.port.output.LoginThrottlePort.Action;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LoginThrottleAdapter con pocos cupos y pocas claves.
+ *
+ * Cubre el límite por email y por IP y el mapa lleno: una clave nueva se
+ * rechaza en lugar de desplazar a otra, y la limpieza solo libera claves
+ * cuya ventana ya pasó.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+class LoginThrottleAdapterTest {
+
+   private static final String IP = "203.0.113.10";
+
+   private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+
+   @Test
+   void rejectsOnceTheEmailLimitIsReached() {
+      LoginThrottleAdapter throttle = throttle(60_000, 100, 0);
+
+      assertTrue(throttle.tryAcquire(Action.LOGIN, "ana@test.pe", IP));
+      assertTrue(throttle.tryAcquire(Action.LOGIN, " ANA@test.pe ", IP));
+      assertFalse(throttle.tryAcquire(Action.LOGIN, "ana@test.pe", IP));
+      assertEquals(1, rejections("email"));
+
+      throttle.reset(Action.LOGIN, "ana@test.pe");
+      assertTrue(throttle.tryAcquire(Action.LOGIN, "ana@test.pe", IP));
+   }
+
+   @Test
+   void fullMapRejectsNewKeysWithoutEvictingTrackedOnes() {
+      LoginThrottleAdapter throttle = throttle(60_000, 100, 0);
+
+      // Clave víctima al límite: ya no tiene cupo en su ventana
+      assertTrue(throttle.tryAcquire(Action.LOGIN, "victima@test.pe", IP));
+      assertTrue(throttle.tryAcquire(Action.LOGIN, "victima@test.pe", IP));
+      assertTrue(throttle.tryAcquire(Action.LOGIN, "otro@test.pe", IP));
+
+      // Emails rotativos con el mapa lleno (MAX_KEYS = 2): se rechazan todos
+      for (int i = 0; i < 50; i++) {
+         assertFalse(throttle.tryAcquire(Action.LOGIN, "rotativo" + i + "@test.pe", IP));
+      }
+      assertEquals(50, rejections("full"));
+
+      // La víctima sigue limitada: ningún intento nuevo desplazó su ventana
+      assertFalse(throttle.tryAcquire(Action.LOGIN, "victima@test.pe", IP));
+      assertEquals(1, rejections("email"));
+   }
+
+   @Test
+   void purgeFreesOnlyKeysOutsideTheirWindow() throws InterruptedException {
+      LoginThrottleAdapter throttle = throttle(50, 100, 0);
+
+      assertTrue(throttle.tryAcquire(Action.LOGIN, "ana@test.pe", IP));
+      assertTrue(throttle.tryAcquire(Action.LOGIN, "luis@test.pe", IP));
+      assertFalse(throttle.tryAcquire(Action.LOGIN, "nuevo@test.pe", IP));
+
+      Thread.sleep(80);
+
+      // Con el mapa lleno la limpieza corre a demanda y libera las claves inactivas
+      assertTrue(throttle.tryAcquire(Action.LOGIN, "nuevo@test.pe", IP));
+   }
+
+   @Test
+   void fullMapPurgeIsRateLimited() throws InterruptedException {
+      LoginThrottleAdapter throttle = throttle(50, 100, 60_000);
+
+      assertTrue(throttle.tryAcquire(Action.LOGIN, "ana@test.pe", IP));
+      assertTrue(throttle.tryAcquire(Action.LOGIN, "luis@test.pe", IP));
+      assertFalse(throttle.tryAcquire(Action.LOGIN, "nuevo@test.pe", IP));
+
+      Thread.sleep(80);
+
+      // La limpieza a demanda ya corrió en este intervalo: sigue lleno hasta la programada
+      assertFalse(throttle.tryAcquire(Action.LOGIN, "nuevo@test.pe", IP));
+      throttle.purgeIdle();
+      assertTrue(throttle.tryAcquire(Action.LOGIN, "nuevo@test.pe", IP));
+   }
+
+   @Test
+   void ipLimitAppliesAcrossEmails() {
+      LoginThrottleAdapter throttle = throttle(60_000, 2, 0);
+
+      assertTrue(throttle.tryAcquire(Action.LOGIN, "ana@test.pe", IP));
+      assertTrue(throttle.tryAcquire(Action.LOGIN, null, IP));
+      assertFalse(throttle.tryAcquire(Action.LOGIN, null, IP));
+      assertEquals(1, rejections("ip"));
+   }
+
+   // ========== HELPERS ==========
+
+   /** Dos intentos por email, dos claves por mapa */
+   private LoginThrottleAdapter throttle(long window, int maxPerIp, long fullPurgeInterval) {
+      return new LoginThrottleAdapter(meters, window, 2, maxPerIp, window, 2, maxPerIp, 2, fullPurgeInterval);
+   }
+
+   private double rejections(String key) {
+      return meters.get("auth.login.throttled").tag("action", "login").tag("key", key).counter().count();
+   }
+}
\ No newline at end of file
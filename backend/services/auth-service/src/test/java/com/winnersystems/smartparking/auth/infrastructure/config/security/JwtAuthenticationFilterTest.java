@@ -0,0 +1,207 @@
+package com.winnersystems.smartparking.auth.infrastructure.config.security;
+
+import com.winnersystems.smartparking.auth.application.dto.query.TokenClaims;
+import com.winnersystems.smartparking.auth.application.port.output.JwtPort;
+import com.winnersystems.smartparking.auth.application.port.output.RolePersistencePort;
+import com.winnersystems.smartparking.auth.application.port.output.UserPersistencePort;
+import com.winnersystems.smartparking.auth.application.service.permission.PermissionRegistry;
+import com.winnersystems.smartparking.auth.domain.model.Permission;
+import com.winnersystems.smartparking.auth.domain.model.Role;
+import com.winnersystems.smartparking.auth.domain.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * JwtAuthenticationFilter con PermissionRegistry, UserDetailsServiceImpl y
+ * UserAuthoritiesCache reales sobre puertos simulados.
+ *
+ * Cubre que el token y la BD den las mismas authorities para el rol
+ * activo, qué endpoints van a la BD (needsFreshState), y que un token
+ * inválido, un usuario inactivo o una BD caída dejen la petición sin
+ * autenticar.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+class JwtAuthenticationFilterTest {
+
+   private static final Long USER_ID = 7L;
+   private static final String TOKEN = "token-valido";
+
+   private final JwtPort jwtPort = mock(JwtPort.class);
+   private final UserPersistencePort userPersistencePort = mock(UserPersistencePort.class);
+   private final RolePersistencePort rolePersistencePort = mock(RolePersistencePort.class);
+
+   private final PermissionRegistry permissionRegistry = new PermissionRegistry(rolePersistencePort, 60_000);
+   private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtPort,
+         new UserAuthoritiesCache(new UserDetailsServiceImpl(userPersistencePort, permissionRegistry), 60_000, 100));
+
+   private final Role admin = role(1L, "ADMIN", permission(1L, "users.create"), permission(2L, "users.delete"));
+   private final Role operador = role(2L, "OPERADOR", permission(3L, "parking.read"));
+
+   @BeforeEach
+   void setUp() {
+      SecurityContextHolder.clearContext();
+      when(rolePersistencePort.findAll()).thenReturn(List.of(admin, operador));
+   }
+
+   @AfterEach
+   void tearDown() {
+      SecurityContextHolder.clearContext();
+   }
+
+   // ========== AUTHORITIES ==========
+
+   @Test
+   void claimsAndDatabaseGiveTheSameAuthoritiesForTheActiveRole() throws Exception {
+      User user = activeUser(admin, operador);
+      issueToken(user, "OPERADOR");
+      when(userPersistencePort.findById(USER_ID)).thenReturn(Optional.of(user));
+
+      Set<String> fromClaims = authorities(filter("GET", "/users"));
+      SecurityContextHolder.clearContext();
+      Set<String> fromDatabase = authorities(filter("POST", "/users"));
+
+      assertEquals(Set.of("ROLE_ADMIN", "ROLE_OPERADOR", "parking.read"), fromClaims);
+      assertEquals(fromClaims, fromDatabase);
+   }
+
+   @Test
+   void freshStateDropsPermissionsOfARemovedActiveRole() throws Exception {
+      issueToken(activeUser(admin, operador), "OPERADOR");
+      when(userPersistencePort.findById(USER_ID)).thenReturn(Optional.of(activeUser(admin)));
+
+      assertEquals(Set.of("ROLE_ADMIN"), authorities(filter("DELETE", "/users/9")));
+   }
+
+   // ========== ENDPOINTS ==========
+
+   @ParameterizedTest
+   @CsvSource({
+         "POST,   /users,             true",
+         "PUT,    /users/9,           true",
+         "PATCH,  /roles/3,           true",
+         "DELETE, /permissions/1,     true",
+         "POST,   /users/batch,       false",
+         "GET,    /users/9,           false",
+         "HEAD,   /roles,             false",
+         "POST,   /usersx,            false",
+         "POST,   /change-password,   false"
+   })
+   void onlyWritesOnUsersRolesAndPermissionsReadTheDatabase(String method, String path, boolean fresh)
+         throws Exception {
+      User user = activeUser(admin);
+      issueToken(user, "ADMIN");
+      when(userPersistencePort.findById(USER_ID)).thenReturn(Optional.of(user));
+
+      assertNotNull(filter(method, path), method + " " + path + " debería quedar autenticado");
+      verify(userPersistencePort, times(fresh ? 1 : 0)).findById(USER_ID);
+   }
+
+   // ========== SIN AUTENTICAR ==========
+
+   @Test
+   void invalidTokenLeavesTheRequestUnauthenticated() throws Exception {
+      when(jwtPort.verify(any())).thenReturn(Optional.empty());
+
+      assertNull(filter("GET", "/users"));
+      verify(userPersistencePort, never()).findById(any());
+   }
+
+   @Test
+   void disabledUserIsNotAuthenticatedOnFreshState() throws Exception {
+      issueToken(activeUser(admin), "ADMIN");
+      User disabled = activeUser(admin);
+      disabled.deactivate();
+      when(userPersistencePort.findById(USER_ID)).thenReturn(Optional.of(disabled));
+
+      assertNull(filter("POST", "/users"));
+   }
+
+   @Test
+   void databaseFailureLeavesTheRequestUnauthenticated() throws Exception {
+      issueToken(activeUser(admin), "ADMIN");
+      when(userPersistencePort.findById(USER_ID)).thenThrow(new IllegalStateException("BD no disponible"));
+
+      assertNull(filter("POST", "/roles"));
+   }
+
+   // ========== HELPERS ==========
+
+   /**
+    * Ejecuta el filtro y devuelve la autenticación resultante (null si no hay).
+    * La cadena siempre continúa.
+    */
+   private Authentication filter(String method, String path) throws Exception {
+      MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+      request.setServletPath(path);
+      request.addHeader("Authorization", "Bearer " + TOKEN);
+      MockFilterChain chain = new MockFilterChain();
+
+      filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+      assertNotNull(chain.getRequest(), "El filtro debe continuar la cadena");
+      return SecurityContextHolder.getContext().getAuthentication();
+   }
+
+   /** Claims como los escribe AuthService: todos los roles, permisos del rol activo */
+   private void issueToken(User user, String activeRole) {
+      Set<String> roles = user.getRoles().stream().map(Role::getName).collect(Collectors.toSet());
+      TokenClaims claims = new TokenClaims(USER_ID, user.getEmail(), activeRole,
+            roles, permissionRegistry.activeRolePermissions(roles, activeRole));
+      when(jwtPort.verify(TOKEN)).thenReturn(Optional.of(claims));
+   }
+
+   private static Set<String> authorities(Authentication authentication) {
+      assertNotNull(authentication);
+      return authentication.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .collect(Collectors.toSet());
+   }
+
+   private static User activeUser(Role... roles) {
+      User user = new User("Ana", "Quispe", "ana@test.pe", "hash");
+      user.setId(USER_ID);
+      user.verifyEmail();
+      user.setRoles(Arrays.stream(roles).collect(Collectors.toSet()));
+      return user;
+   }
+
+   private static Role role(Long id, String name, Permission... permissions) {
+      Role role = new Role(name, name);
+      role.setId(id);
+      role.setPermissions(Arrays.stream(permissions).collect(Collectors.toSet()));
+      return role;
+   }
+
+   private static Permission permission(Long id, String name) {
+      Permission permission = new Permission(name, name);
+      permission.setId(id);
+      return permission;
+   }
+}
\ No newline at end of file
@@ -0,0 +1,178 @@
+package com.winnersystems.smartparking.auth.support;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor SMTP mínimo en memoria para los tests del envío de emails.
+ *
+ * Acepta EHLO/HELO, MAIL, RCPT, DATA, RSET, NOOP y QUIT sobre un puerto
+ * libre de localhost y guarda cada mensaje recibido. Los destinatarios
+ * registrados con {@link #reject} se rechazan en RCPT (550), como un buzón
+ * inexistente; {@link #close} simula el servidor caído.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public final class FakeSmtpServer implements AutoCloseable {
+
+   private final ServerSocket serverSocket;
+   private final Thread acceptor;
+   private final List<ReceivedMessage> messages = new CopyOnWriteArrayList<>();
+   private final Set<String> rejected = ConcurrentHashMap.newKeySet();
+   private final AtomicInteger connections = new AtomicInteger();
+
+   private FakeSmtpServer() throws IOException {
+      serverSocket = new ServerSocket(0);
+      acceptor = new Thread(this::acceptLoop, "fake-smtp");
+      acceptor.setDaemon(true);
+      acceptor.start();
+   }
+
+   public static FakeSmtpServer start() {
+      try {
+         return new FakeSmtpServer();
+      } catch (IOException e) {
+         throw new UncheckedIOException(e);
+      }
+   }
+
+   // ========== CONFIGURACIÓN ==========
+
+   public int port() {
+      return serverSocket.getLocalPort();
+   }
+
+   /**
+    * Rechaza en RCPT TO los mensajes a esta dirección.
+    */
+   public void reject(String address) {
+      rejected.add(address.toLowerCase(Locale.ROOT));
+   }
+
+   // ========== RESULTADOS ==========
+
+   public List<ReceivedMessage> messages() {
+      return List.copyOf(messages);
+   }
+
+   /** Conexiones SMTP abiertas desde el inicio */
+   public int connections() {
+      return connections.get();
+   }
+
+   @Override
+   public void close() {
+      try {
+         serverSocket.close();
+      } catch (IOException ignored) {
+         // Ya cerrado
+      }
+   }
+
+   // ========== SESIÓN SMTP ==========
+
+   private void acceptLoop() {
+      while (!serverSocket.isClosed()) {
+         try {
+            Socket socket = serverSocket.accept();
+            connections.incrementAndGet();
+            Thread session = new Thread(() -> handle(socket), "fake-smtp-session");
+            session.setDaemon(true);
+            session.start();
+         } catch (IOException e) {
+            return;
+         }
+      }
+   }
+
+   private void handle(Socket socket) {
+      try (socket;
+           BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+           OutputStream out = socket.getOutputStream()) {
+         reply(out, "220 localhost ESMTP fake");
+         List<String> recipients = new ArrayList<>();
+         String line;
+         while ((line = in.readLine()) != null) {
+            String command = line.toUpperCase(Locale.ROOT);
+            if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+               reply(out, "250 localhost");
+            } else if (command.startsWith("MAIL FROM")) {
+               recipients.clear();
+               reply(out, "250 OK");
+            } else if (command.startsWith("RCPT TO")) {
+               String address = address(line);
+               if (rejected.contains(address)) {
+                  reply(out, "550 5.1.1 Buzón inexistente: " + address);
+               } else {
+                  recipients.add(address);
+                  reply(out, "250 OK");
+               }
+            } else if (command.equals("DATA")) {
+               reply(out, "354 Fin con <CRLF>.<CRLF>");
+               messages.add(new ReceivedMessage(List.copyOf(recipients), readData(in)));
+               recipients.clear();
+               reply(out, "250 OK");
+            } else if (command.equals("RSET")) {
+               recipients.clear();
+               reply(out, "250 OK");
+            } else if (command.equals("NOOP")) {
+               reply(out, "250 OK");
+            } else if (command.equals("QUIT")) {
+               reply(out, "221 Bye");
+               return;
+            } else {
+               reply(out, "502 Comando no implementado");
+            }
+         }
+      } catch (IOException ignored) {
+         // El cliente cerró la conexión
+      }
+   }
+
+   private static String readData(BufferedReader in) throws IOException {
+      StringBuilder data = new StringBuilder();
+      String line;
+      while ((line = in.readLine()) != null && !line.equals(".")) {
+         data.append(line.startsWith("..") ? line.substring(1) : line).append('\n');
+      }
+      return data.toString();
+   }
+
+   private static String address(String line) {
+      int start = line.indexOf('<');
+      int end = line.indexOf('>', start + 1);
+      String address = start >= 0 && end > start ? line.substring(start + 1, end) : line.substring(line.indexOf(':') + 1);
+      return address.trim().toLowerCase(Locale.ROOT);
+   }
+
+   private static void reply(OutputStream out, String response) throws IOException {
+      out.write((response + "\r\n").getBytes(StandardCharsets.UTF_8));
+      out.flush();
+   }
+
+   // ========== TIPOS ==========
+
+   /**
+    * Mensaje recibido: destinatarios aceptados y contenido tal como llegó (cabeceras y cuerpo).
+    */
+   public record ReceivedMessage(List<String> recipients, String data) {
+
+      public boolean hasSubject(String subject) {
+         return data.lines().anyMatch(line -> line.equals("Subject: " + subject));
+      }
+   }
+}
\ No newline at end of file
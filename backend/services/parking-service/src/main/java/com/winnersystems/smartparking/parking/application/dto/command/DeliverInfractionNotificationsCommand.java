@@ -0,0 +1,35 @@
+package com.winnersystems.smartparking.parking.application.dto.command;
+
+/**
+ * Command para enviar un lote de notificaciones de multas encoladas.
+ *
+ * @param batchSize notificaciones por lote
+ * @param maxAttempts intentos antes de dejar la notificación FAILED
+ * @param backoffMillis espera tras el primer fallo; se duplica en cada intento
+ * @param maxBackoffMillis espera máxima entre intentos
+ * @param leaseMillis reserva de un lote en envío (si la réplica muere, vuelve a salir al vencer)
+ *
+ * @author Edwin Yoner - Winner Systems
+ */
+public record DeliverInfractionNotificationsCommand(
+      int batchSize,
+      int maxAttempts,
+      long backoffMillis,
+      long maxBackoffMillis,
+      long leaseMillis
+) {
+   /** Límite de la lista IN de Oracle: un lote se reserva con una sola consulta */
+   public static final int MAX_BATCH_SIZE = 1000;
+
+   public DeliverInfractionNotificationsCommand {
+      if (batchSize <= 0 || batchSize > MAX_BATCH_SIZE) {
+         throw new IllegalArgumentException("batchSize debe estar entre 1 y " + MAX_BATCH_SIZE);
+      }
+      if (maxAttempts <= 0) {
+         throw new IllegalArgumentException("maxAttempts debe ser mayor que 0");
+      }
+      if (backoffMillis < 0 || maxBackoffMillis < backoffMillis || leaseMillis <= 0) {
+         throw new IllegalArgumentException("Tiempos de reintento o reserva inválidos");
+      }
+   }
+}
\ No newline at end of file
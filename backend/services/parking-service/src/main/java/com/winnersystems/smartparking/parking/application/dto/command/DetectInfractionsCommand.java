@@ -0,0 +1,28 @@
+package com.winnersystems.smartparking.parking.application.dto.command;
+
+/**
+ * Command con los umbrales de la detección automática de infracciones.
+ *
+ * @param maxStayMinutes permanencia máxima antes de OVERSTAY (default del sistema: 480)
+ * @param unpaidExitHours horas sin pagar tras la salida antes de UNPAID_EXIT
+ * @param minPlateConfidence confianza mínima de la lectura de placa (0.0 - 1.0)
+ *
+ * @author Edwin Yoner - Winner Systems
+ */
+public record DetectInfractionsCommand(
+      int maxStayMinutes,
+      int unpaidExitHours,
+      double minPlateConfidence
+) {
+   public DetectInfractionsCommand {
+      if (maxStayMinutes <= 0) {
+         throw new IllegalArgumentException("maxStayMinutes debe ser mayor a 0");
+      }
+      if (unpaidExitHours <= 0) {
+         throw new IllegalArgumentException("unpaidExitHours debe ser mayor a 0");
+      }
+      if (minPlateConfidence < 0.0 || minPlateConfidence > 1.0) {
+         throw new IllegalArgumentException("minPlateConfidence debe estar entre 0.0 y 1.0");
+      }
+   }
+}
@@ -0,0 +1,39 @@
+package com.winnersystems.smartparking.parking.application.dto.command;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Command para importar un rol de turnos completo (p.ej. una semana) en
+ * una sola operación.
+ *
+ * A diferencia de AssignOperatorsCommand, cada fila indica su propia zona
+ * y turno: un mismo rol cubre muchas zonas y turnos.
+ *
+ * @param entries filas del rol
+ * @param createdBy ID del usuario que importa el rol
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public record ImportRosterCommand(
+      List<RosterEntry> entries,
+      Long createdBy
+) {
+   /**
+    * Fila del rol: un operador en una zona y turno durante un período.
+    *
+    * @param operatorId ID del operador
+    * @param zoneId ID de la zona
+    * @param shiftId ID del turno
+    * @param startDate primer día de la asignación
+    * @param endDate primer día sin asignación (si es null, es indefinida)
+    */
+   public record RosterEntry(
+         Long operatorId,
+         Long zoneId,
+         Long shiftId,
+         LocalDate startDate,
+         LocalDate endDate
+   ) {}
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.winnersystems.smartparking.parking.application.dto.command;
+
+/**
+ * Command para procesar un lote del barrido de multas vencidas.
+ *
+ * @param chunkSize filas por lote (una transacción por lote)
+ * @param notificationMethod canal de la notificación encolada (EMAIL, SMS, WHATSAPP, MAIL);
+ *                           null si no hay canal de envío y no se encola nada
+ *
+ * @author Edwin Yoner - Winner Systems
+ */
+public record SweepOverdueFinesCommand(
+      int chunkSize,
+      String notificationMethod
+) {
+   /** Límite de la lista IN de Oracle: un lote se resuelve con una sentencia por acción */
+   public static final int MAX_CHUNK_SIZE = 1000;
+
+   public SweepOverdueFinesCommand {
+      if (chunkSize <= 0 || chunkSize > MAX_CHUNK_SIZE) {
+         throw new IllegalArgumentException("chunkSize debe estar entre 1 y " + MAX_CHUNK_SIZE);
+      }
+      if (notificationMethod != null && notificationMethod.isBlank()) {
+         throw new IllegalArgumentException("notificationMethod no puede estar vacío");
+      }
+   }
+}
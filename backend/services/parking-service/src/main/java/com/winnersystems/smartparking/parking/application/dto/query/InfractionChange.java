@@ -0,0 +1,38 @@
+package com.winnersystems.smartparking.parking.application.dto.query;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Estado actual de una infracción modificada (proyección para que
+ * OffenderIndex aplique las escrituras de otras réplicas sin reconstruirse).
+ *
+ * @param id ID de la infracción
+ * @param vehicleId Vehículo
+ * @param customerId Cliente (nullable)
+ * @param status Estado (PENDING, IN_REVIEW, RESOLVED, ESCALATED)
+ * @param fineAmount Monto de la multa (nullable)
+ * @param finePaid ¿Se pagó la multa?
+ * @param deletedAt Fecha de eliminación (null = vigente)
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public record InfractionChange(
+      Long id,
+      Long vehicleId,
+      Long customerId,
+      String status,
+      BigDecimal fineAmount,
+      Boolean finePaid,
+      LocalDateTime deletedAt
+) {
+
+   public InfractionExposure exposure() {
+      return new InfractionExposure(id, vehicleId, customerId, status, fineAmount, finePaid);
+   }
+
+   public boolean isDeleted() {
+      return deletedAt != null;
+   }
+}
@@ -0,0 +1,24 @@
+package com.winnersystems.smartparking.parking.application.dto.query;
+
+import java.util.Map;
+
+/**
+ * Resultado de una pasada de detección automática sobre un parking.
+ *
+ * @param parkingId parking evaluado
+ * @param transactionsEvaluated transacciones activas y completadas sin pagar evaluadas
+ * @param detected infracciones que dispararon las reglas
+ * @param created infracciones nuevas (detectadas menos las que ya estaban abiertas)
+ * @param createdByType infracciones nuevas por tipo
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public record InfractionDetectionResult(
+      Long parkingId,
+      int transactionsEvaluated,
+      int detected,
+      int created,
+      Map<String, Integer> createdByType
+) {
+}
@@ -0,0 +1,64 @@
+package com.winnersystems.smartparking.parking.application.dto.query;
+
+import com.winnersystems.smartparking.parking.domain.model.Infraction;
+
+import java.math.BigDecimal;
+
+/**
+ * Lo que una infracción aporta a los antecedentes de su vehículo y su
+ * cliente: si está abierta y cuánto debe.
+ *
+ * OffenderIndex guarda una por cada infracción abierta o con multa sin
+ * pagar; al cambiar la infracción resta la anterior y suma la nueva.
+ *
+ * @param id ID de la infracción
+ * @param vehicleId Vehículo
+ * @param customerId Cliente (nullable)
+ * @param status Estado (PENDING, IN_REVIEW, RESOLVED, ESCALATED)
+ * @param fineAmount Monto de la multa (nullable)
+ * @param finePaid ¿Se pagó la multa?
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public record InfractionExposure(
+      Long id,
+      Long vehicleId,
+      Long customerId,
+      String status,
+      BigDecimal fineAmount,
+      Boolean finePaid
+) {
+
+   public static InfractionExposure of(Infraction infraction) {
+      return new InfractionExposure(
+            infraction.getId(),
+            infraction.getVehicleId(),
+            infraction.getCustomerId(),
+            infraction.getStatus(),
+            infraction.getFineAmount(),
+            infraction.getFinePaid()
+      );
+   }
+
+   public boolean isOpen() {
+      return Infraction.STATUS_PENDING.equals(status)
+            || Infraction.STATUS_IN_REVIEW.equals(status)
+            || Infraction.STATUS_ESCALATED.equals(status);
+   }
+
+   /**
+    * Monto de la multa si está asignada y sin pagar; cero en otro caso.
+    */
+   public BigDecimal unpaidAmount() {
+      boolean unpaid = fineAmount != null && fineAmount.signum() > 0 && !Boolean.TRUE.equals(finePaid);
+      return unpaid ? fineAmount : BigDecimal.ZERO;
+   }
+
+   /**
+    * true si no aporta nada (cerrada y sin deuda): no hace falta guardarla.
+    */
+   public boolean isSettled() {
+      return !isOpen() && unpaidAmount().signum() == 0;
+   }
+}
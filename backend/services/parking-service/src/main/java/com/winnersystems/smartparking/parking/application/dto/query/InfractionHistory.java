@@ -0,0 +1,21 @@
+package com.winnersystems.smartparking.parking.application.dto.query;
+
+import java.time.LocalDateTime;
+
+/**
+ * Historial agregado de infracciones de un vehículo o de un cliente
+ * (proyección GROUP BY para cargar OffenderIndex).
+ *
+ * @param ownerId ID del vehículo o del cliente
+ * @param total Infracciones registradas (no eliminadas)
+ * @param lastInfractionAt Detección más reciente
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public record InfractionHistory(
+      Long ownerId,
+      Long total,
+      LocalDateTime lastInfractionAt
+) {
+}
@@ -0,0 +1,34 @@
+package com.winnersystems.smartparking.parking.application.dto.query;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Notificación de multa vencida pendiente de envío al cliente.
+ *
+ * Los datos de la multa se copian al encolarla: lo que se envía es lo que
+ * había al escalarla.
+ *
+ * @param infractionId infracción notificada (una notificación por infracción)
+ * @param infractionCode código de la infracción (clave de idempotencia del envío)
+ * @param customerId cliente a notificar
+ * @param method canal (EMAIL, SMS, WHATSAPP, MAIL)
+ * @param fineAmount monto de la multa
+ * @param currency moneda de la multa
+ * @param fineDueDate fecha límite de pago vencida
+ * @param attempts intentos de envío, contando el actual
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public record InfractionNotification(
+      Long infractionId,
+      String infractionCode,
+      Long customerId,
+      String method,
+      BigDecimal fineAmount,
+      String currency,
+      LocalDateTime fineDueDate,
+      int attempts
+) {
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.winnersystems.smartparking.parking.application.dto.query;
+
+/**
+ * Resultado de un lote de envío de notificaciones de multas.
+ *
+ * @param claimed notificaciones tomadas de la cola
+ * @param delivered enviadas y marcadas en la infracción
+ * @param retried fallidas que se reintentan más tarde
+ * @param failed fallidas que agotaron sus intentos
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public record InfractionNotificationDeliveryResult(
+      int claimed,
+      int delivered,
+      int retried,
+      int failed
+) {
+}
\ No newline at end of file
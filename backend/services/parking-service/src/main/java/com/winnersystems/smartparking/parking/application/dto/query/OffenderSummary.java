@@ -0,0 +1,67 @@
+package com.winnersystems.smartparking.parking.application.dto.query;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Antecedentes de infracciones de un vehículo o de un cliente.
+ *
+ * Lo mantiene OffenderIndex de forma incremental; leerlo no consulta la BD.
+ *
+ * @param totalInfractions Infracciones registradas (no eliminadas)
+ * @param openInfractions Infracciones abiertas (PENDING, IN_REVIEW, ESCALATED)
+ * @param unpaidFineTotal Suma de multas asignadas y no pagadas
+ * @param lastInfractionAt Fecha de detección de la última infracción (null = sin antecedentes)
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public record OffenderSummary(
+      int totalInfractions,
+      int openInfractions,
+      BigDecimal unpaidFineTotal,
+      LocalDateTime lastInfractionAt
+) {
+
+   /** Sin antecedentes */
+   public static final OffenderSummary EMPTY = new OffenderSummary(0, 0, BigDecimal.ZERO, null);
+
+   /**
+    * Suma un cambio a los contadores.
+    *
+    * @param total variación de infracciones registradas
+    * @param open variación de infracciones abiertas
+    * @param unpaid variación del monto sin pagar
+    * @param detectedAt fecha de detección a considerar para la última infracción (puede ser null)
+    */
+   public OffenderSummary plus(int total, int open, BigDecimal unpaid, LocalDateTime detectedAt) {
+      LocalDateTime last = lastInfractionAt;
+      if (detectedAt != null && (last == null || detectedAt.isAfter(last))) {
+         last = detectedAt;
+      }
+      return new OffenderSummary(
+            totalInfractions + total,
+            openInfractions + open,
+            unpaidFineTotal.add(unpaid),
+            last
+      );
+   }
+
+   /**
+    * true si no hay antecedentes (sin infracciones registradas, abiertas ni deuda).
+    */
+   public boolean isEmpty() {
+      return totalInfractions == 0 && openInfractions == 0 && unpaidFineTotal.signum() == 0;
+   }
+
+   public boolean hasUnpaidFines() {
+      return unpaidFineTotal.signum() > 0;
+   }
+
+   /**
+    * Reincidente: más de una infracción registrada o alguna abierta con multa sin pagar.
+    */
+   public boolean isRepeatOffender() {
+      return totalInfractions > 1 || (openInfractions > 0 && hasUnpaidFines());
+   }
+}
@@ -0,0 +1,26 @@
+package com.winnersystems.smartparking.parking.application.dto.query;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resultado de un lote del barrido de multas vencidas.
+ *
+ * @param cutoff corte de fecha de la ejecución en curso
+ * @param selected infracciones del lote
+ * @param escalated infracciones escaladas en el lote
+ * @param notificationsQueued notificaciones encoladas en el lote (se envían después)
+ * @param lastProcessedId último ID procesado (desde aquí sigue el próximo lote)
+ * @param runCompleted true si la ejecución terminó (no quedan filas)
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public record OverdueFineSweepResult(
+      LocalDateTime cutoff,
+      int selected,
+      int escalated,
+      int notificationsQueued,
+      Long lastProcessedId,
+      boolean runCompleted
+) {
+}
@@ -0,0 +1,29 @@
+package com.winnersystems.smartparking.parking.application.dto.query;
+
+import com.winnersystems.smartparking.parking.domain.model.Parking;
+
+/**
+ * Nodo de la topología: datos estructurales de un parking.
+ *
+ * Solo incluye campos que casi no cambian durante un turno. Los contadores
+ * de ocupación no forman parte del nodo.
+ *
+ * @param id ID del parking
+ * @param name Nombre
+ * @param code Código único
+ * @param status Estado (ACTIVE, INACTIVE, MAINTENANCE, OUT_OF_SERVICE)
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public record ParkingNode(
+      Long id,
+      String name,
+      String code,
+      String status
+) {
+
+   public static ParkingNode of(Parking parking) {
+      return new ParkingNode(parking.getId(), parking.getName(), parking.getCode(), parking.getStatus());
+   }
+}
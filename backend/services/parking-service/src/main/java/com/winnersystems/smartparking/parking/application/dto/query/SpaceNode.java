@@ -0,0 +1,29 @@
+package com.winnersystems.smartparking.parking.application.dto.query;
+
+import com.winnersystems.smartparking.parking.domain.model.Space;
+
+/**
+ * Nodo de la topología: datos estructurales de un espacio.
+ *
+ * No incluye el estado del espacio: cambia en cada entrada y salida.
+ * Para saber si un espacio está libre hay que consultar la BD.
+ *
+ * @param id ID del espacio
+ * @param zoneId ID de la zona a la que pertenece
+ * @param code Código único
+ * @param type Tipo (PARALLEL, DIAGONAL, PERPENDICULAR)
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public record SpaceNode(
+      Long id,
+      Long zoneId,
+      String code,
+      String type
+) {
+
+   public static SpaceNode of(Space space) {
+      return new SpaceNode(space.getId(), space.getZoneId(), space.getCode(), space.getType());
+   }
+}
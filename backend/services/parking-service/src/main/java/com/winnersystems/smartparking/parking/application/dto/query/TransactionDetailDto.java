@@ -66,6 +66,10 @@ public record TransactionDetailDto(
       String notes,
       String cancellationReason,
 
+      // ========================= ANTECEDENTES =========================
+      OffenderSummary vehicleOffenses,   // Infracciones del vehículo
+      OffenderSummary customerOffenses,  // Infracciones del cliente
+
       // ========================= AUDITORÍA =========================
       LocalDateTime createdAt,
       LocalDateTime updatedAt
@@ -0,0 +1,30 @@
+package com.winnersystems.smartparking.parking.application.dto.query;
+
+import com.winnersystems.smartparking.parking.domain.model.Zone;
+
+/**
+ * Nodo de la topología: datos estructurales de una zona.
+ *
+ * Los contadores de espacios disponibles no forman parte del nodo.
+ *
+ * @param id ID de la zona
+ * @param parkingId ID del parking al que pertenece
+ * @param name Nombre
+ * @param code Código único
+ * @param status Estado (ACTIVE, INACTIVE, MAINTENANCE, OUT_OF_SERVICE)
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public record ZoneNode(
+      Long id,
+      Long parkingId,
+      String name,
+      String code,
+      String status
+) {
+
+   public static ZoneNode of(Zone zone) {
+      return new ZoneNode(zone.getId(), zone.getParkingId(), zone.getName(), zone.getCode(), zone.getStatus());
+   }
+}
@@ -0,0 +1,32 @@
+package com.winnersystems.smartparking.parking.application.port.input.infraction;
+
+import com.winnersystems.smartparking.parking.application.dto.command.DeliverInfractionNotificationsCommand;
+import com.winnersystems.smartparking.parking.application.dto.query.InfractionNotificationDeliveryResult;
+
+/**
+ * Puerto de entrada para el envío de las notificaciones de multas vencidas
+ * que encola el barrido (SweepOverdueFinesUseCase).
+ *
+ * Reglas de negocio:
+ * - La infracción queda notificada (notificationSent) solo cuando el
+ *   canal confirmó el envío
+ * - Un envío fallido se reintenta con espera creciente; agotados los
+ *   intentos queda FAILED en la cola y la infracción sin notificar
+ * - Dos réplicas no envían la misma notificación a la vez
+ *
+ * Usado por:
+ * - Tarea programada (InfractionNotificationScheduler)
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public interface DeliverInfractionNotificationsUseCase {
+
+   /**
+    * Reserva y envía el siguiente lote de notificaciones listas.
+    *
+    * @param command tamaño de lote y política de reintentos
+    * @return resultado del lote (claimed = 0 si la cola está vacía)
+    */
+   InfractionNotificationDeliveryResult deliverNextBatch(DeliverInfractionNotificationsCommand command);
+}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.winnersystems.smartparking.parking.application.port.input.infraction;
+
+import com.winnersystems.smartparking.parking.application.dto.command.DetectInfractionsCommand;
+import com.winnersystems.smartparking.parking.application.dto.query.InfractionDetectionResult;
+
+import java.util.List;
+
+/**
+ * Puerto de entrada para la detección automática de infracciones.
+ *
+ * Responsabilidades:
+ * - Evaluar reglas sobre el estado de un parking en una sola pasada
+ * - Registrar las infracciones detectadas (detectionMethod = SYSTEM)
+ * - No duplicar infracciones abiertas del mismo tipo para la misma transacción
+ *
+ * Reglas:
+ * - OVERSTAY: transacción activa con más de maxStayMinutes
+ * - WRONG_SPACE: vehículo en un espacio MAINTENANCE u OUT_OF_SERVICE
+ * - UNPAID_EXIT: transacción completada sin pagar después de unpaidExitHours
+ * - OTHER: lectura de placa con confianza menor a minPlateConfidence
+ *
+ * Usado por:
+ * - Tarea programada (InfractionDetectionScheduler)
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public interface DetectInfractionsUseCase {
+
+   /**
+    * IDs de los parkings activos a evaluar, en orden.
+    *
+    * @return IDs de parkings
+    */
+   List<Long> listParkingsToScan();
+
+   /**
+    * Evalúa todas las reglas sobre un parking y registra lo detectado.
+    *
+    * @param parkingId parking a evaluar
+    * @param command umbrales de las reglas
+    * @return resumen de la pasada
+    */
+   InfractionDetectionResult detectInParking(Long parkingId, DetectInfractionsCommand command);
+}
@@ -0,0 +1,36 @@
+package com.winnersystems.smartparking.parking.application.port.input.infraction;
+
+import com.winnersystems.smartparking.parking.application.dto.command.SweepOverdueFinesCommand;
+import com.winnersystems.smartparking.parking.application.dto.query.OverdueFineSweepResult;
+
+/**
+ * Puerto de entrada para el barrido de multas vencidas.
+ *
+ * Responsabilidades:
+ * - Encontrar multas sin pagar con fineDueDate vencida, en lotes por ID
+ * - Escalar las que siguen PENDING o IN_REVIEW
+ * - Encolar la notificación al cliente (la envía DeliverInfractionNotificationsUseCase)
+ * - Guardar el avance para continuar después de un reinicio
+ *
+ * Reglas de negocio:
+ * - Cada lote es una transacción: selección, UPDATE e INSERT masivos y avance
+ * - El corte de fecha se fija al iniciar la ejecución y se conserva hasta terminarla
+ * - Una multa pagada mientras corre el lote no se escala
+ * - Solo se notifica a infracciones con cliente, una vez por infracción
+ *
+ * Usado por:
+ * - Tarea programada (OverdueFineSweepScheduler)
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public interface SweepOverdueFinesUseCase {
+
+   /**
+    * Procesa el siguiente lote de la ejecución en curso, o inicia una nueva.
+    *
+    * @param command tamaño de lote y método de notificación
+    * @return resultado del lote
+    */
+   OverdueFineSweepResult sweepNextChunk(SweepOverdueFinesCommand command);
+}
@@ -0,0 +1,33 @@
+package com.winnersystems.smartparking.parking.application.port.input.operatorassignment;
+
+import com.winnersystems.smartparking.parking.application.dto.command.ImportRosterCommand;
+import com.winnersystems.smartparking.parking.application.dto.query.OperatorAssignmentDto;
+
+import java.util.List;
+
+/**
+ * Caso de uso para importar un rol de turnos en lote.
+ *
+ * Valida todas las filas antes de escribir (todo o nada) y guarda las
+ * asignaciones con inserts agrupados, en lugar de una llamada a
+ * AssignOperatorsUseCase por zona y turno.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public interface ImportRosterUseCase {
+
+   /** Máximo de filas por importación */
+   int MAX_ENTRIES = 2000;
+
+   /**
+    * Importa las filas del rol.
+    *
+    * @param command filas del rol
+    * @return asignaciones creadas, en el orden de las filas
+    * @throws IllegalArgumentException si una zona o turno no existe, las fechas son inválidas,
+    *                                  o un operador queda en el mismo turno dos veces en fechas
+    *                                  que se cruzan (dentro del rol o con asignaciones existentes)
+    */
+   List<OperatorAssignmentDto> importRoster(ImportRosterCommand command);
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.winnersystems.smartparking.parking.application.port.input.operatorassignment;
+
+import com.winnersystems.smartparking.parking.application.dto.query.OperatorAssignmentDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Caso de uso para consultar qué operadores están en servicio en una zona
+ * en un instante dado (asignación vigente ese día y turno en curso a esa hora).
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public interface ListOnDutyOperatorsUseCase {
+
+   /**
+    * Lista las asignaciones de la zona cuyo turno está en curso.
+    *
+    * @param zoneId ID de la zona
+    * @param at fecha y hora a consultar (null = ahora)
+    * @return asignaciones en servicio
+    * @throws IllegalArgumentException si la zona no existe
+    */
+   List<OperatorAssignmentDto> listOnDuty(Long zoneId, LocalDateTime at);
+}
\ No newline at end of file
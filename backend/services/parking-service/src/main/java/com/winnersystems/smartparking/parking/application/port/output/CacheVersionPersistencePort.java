@@ -0,0 +1,34 @@
+package com.winnersystems.smartparking.parking.application.port.output;
+
+import java.util.Map;
+
+/**
+ * Puerto de salida para las versiones de las regiones de caché.
+ *
+ * Cada región (un catálogo, la topología...) tiene un contador en la BD.
+ * Quien escribe lo incrementa en la misma transacción que la escritura;
+ * cada instancia lo consulta periódicamente y descarta solo las regiones
+ * cuya versión cambió.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public interface CacheVersionPersistencePort {
+
+   /**
+    * Crea el contador de la región si todavía no existe.
+    * Debe llamarse fuera de una transacción de negocio.
+    */
+   void ensureRegion(String region);
+
+   /**
+    * Incrementa la versión de la región dentro de la transacción actual.
+    * Nunca crea el contador: si todavía no existe, no hace nada.
+    */
+   void increment(String region);
+
+   /**
+    * Versión actual de todas las regiones, en una sola consulta.
+    */
+   Map<String, Long> findAllVersions();
+}
@@ -0,0 +1,24 @@
+package com.winnersystems.smartparking.parking.application.port.output;
+
+import com.winnersystems.smartparking.parking.application.dto.query.InfractionNotification;
+
+/**
+ * Puerto de salida hacia el canal que entrega las notificaciones a los
+ * clientes.
+ *
+ * Aún sin adaptador: se implementa junto con el servicio que envíe los
+ * avisos, y recién entonces se activa parking.infractions.notifications.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public interface CustomerNotificationPort {
+
+   /**
+    * Envía la notificación de una multa vencida.
+    * Puede repetirse tras un fallo: infractionCode identifica el envío.
+    *
+    * @throws RuntimeException si el canal no confirmó el envío
+    */
+   void sendOverdueFine(InfractionNotification notification);
+}
\ No newline at end of file
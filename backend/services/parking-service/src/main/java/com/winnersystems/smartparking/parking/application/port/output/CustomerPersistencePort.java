@@ -4,6 +4,7 @@ import com.winnersystems.smartparking.parking.application.dto.query.PageRequest;
 import com.winnersystems.smartparking.parking.application.dto.query.PageResult;
 import com.winnersystems.smartparking.parking.domain.model.Customer;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,6 +32,17 @@ public interface CustomerPersistencePort {
 
    Optional<Customer> findByPhone(String phone);
 
+   // ========================= FIND POR LOTE =========================
+
+   /**
+    * Busca varios clientes por ID en una sola consulta (IN), troceada en
+    * grupos de 1000 por el límite de Oracle. Los IDs inexistentes se omiten.
+    *
+    * @param ids IDs a buscar (se ignoran nulos y repetidos)
+    * @return clientes encontrados, sin orden garantizado
+    */
+   List<Customer> findAllByIds(Collection<Long> ids);
+
    // ========================= EXISTS =========================
 
    boolean existsByDocument(Long documentTypeId, String documentNumber);
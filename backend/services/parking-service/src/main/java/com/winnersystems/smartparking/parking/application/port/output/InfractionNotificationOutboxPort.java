@@ -0,0 +1,56 @@
+package com.winnersystems.smartparking.parking.application.port.output;
+
+import com.winnersystems.smartparking.parking.application.dto.query.InfractionNotification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Puerto de salida para la cola de notificaciones de multas (outbox).
+ *
+ * El barrido encola en su propia transacción; el envío sale después, fuera
+ * de ella. La infracción solo se marca notificada al confirmarse el envío.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public interface InfractionNotificationOutboxPort {
+
+   /**
+    * Encola en un solo INSERT ... SELECT las infracciones del lote que
+    * tienen cliente, siguen sin notificar y no están ya en la cola.
+    *
+    * @param infractionIds infracciones del lote
+    * @param method canal de notificación (EMAIL, SMS, WHATSAPP, MAIL)
+    * @return notificaciones encoladas
+    */
+   int enqueue(Collection<Long> infractionIds, String method);
+
+   /**
+    * Reserva hasta limit notificaciones listas (SELECT ... FOR UPDATE SKIP
+    * LOCKED): suma un intento y las oculta hasta leasedUntil. Confirma en
+    * su propia transacción.
+    *
+    * @return notificaciones reservadas, las más antiguas primero
+    */
+   List<InfractionNotification> claim(int limit, LocalDateTime leasedUntil);
+
+   /**
+    * Marca las infracciones como notificadas y las quita de la cola, en
+    * una sola transacción.
+    *
+    * @return infracciones marcadas
+    */
+   int markDelivered(Collection<InfractionNotification> delivered);
+
+   /**
+    * Devuelve la notificación a la cola para reintentarla desde nextAttemptAt.
+    */
+   void reschedule(Long infractionId, String error, LocalDateTime nextAttemptAt);
+
+   /**
+    * Deja la notificación FAILED: no se vuelve a intentar ni a encolar.
+    */
+   void markFailed(Long infractionId, String error);
+}
\ No newline at end of file
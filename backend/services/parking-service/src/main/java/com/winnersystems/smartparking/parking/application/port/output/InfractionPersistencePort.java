@@ -1,12 +1,18 @@
 package com.winnersystems.smartparking.parking.application.port.output;
 
+import com.winnersystems.smartparking.parking.application.dto.query.InfractionChange;
+import com.winnersystems.smartparking.parking.application.dto.query.InfractionExposure;
+import com.winnersystems.smartparking.parking.application.dto.query.InfractionHistory;
 import com.winnersystems.smartparking.parking.application.dto.query.PageRequest;
 import com.winnersystems.smartparking.parking.application.dto.query.PageResult;
 import com.winnersystems.smartparking.parking.domain.model.Infraction;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Puerto de salida para persistencia de Infraction.
@@ -20,8 +26,30 @@ public interface InfractionPersistencePort {
 
    Infraction save(Infraction infraction);
 
+   /**
+    * Inserta varias infracciones en una sola operación (lotes JDBC de
+    * hibernate.jdbc.batch_size sentencias).
+    */
+   List<Infraction> saveAll(List<Infraction> infractions);
+
    void delete(Long id);
 
+   /**
+    * Reserva el número para el código de una infracción nueva (INF-YYYY-NNNNNN).
+    *
+    * Sale de INFRACTION_SEQ, la misma secuencia de los IDs: es único entre
+    * instancias y nunca choca con códigos generados antes a partir del ID.
+    * Un número reservado por una transacción que luego falla queda como hueco.
+    */
+   long nextCodeNumber();
+
+   /**
+    * Reserva count números de código de una vez (p.ej. los de una pasada de
+    * detección), con la misma garantía que nextCodeNumber. Los números se
+    * toman de bloques de la secuencia: una consulta por bloque, no por número.
+    */
+   List<Long> nextCodeNumbers(int count);
+
    // ========================= FIND ÚNICO =========================
 
    Optional<Infraction> findById(Long id);
@@ -121,4 +149,72 @@ public interface InfractionPersistencePort {
    long countPendingFines();
 
    long countOverdueFines();
-}
\ No newline at end of file
+
+   // ========================= DETECCIÓN AUTOMÁTICA =========================
+
+   /**
+    * Tipos de infracción que la detección automática no debe volver a
+    * registrar, por transacción, en una consulta:
+    * - Cualquier infracción del sistema (SYSTEM), en cualquier estado:
+    *   una descartada o resuelta no se vuelve a crear
+    * - Las abiertas (PENDING, IN_REVIEW, ESCALATED) registradas a mano
+    * Las transacciones sin ninguna no aparecen en el mapa.
+    */
+   Map<Long, Set<String>> findDetectedTypesByTransactionIds(Collection<Long> transactionIds);
+
+   // ========================= BARRIDO DE MULTAS VENCIDAS =========================
+
+   /**
+    * IDs de infracciones con multa vencida que todavía requieren acción:
+    * sin escalar (PENDING / IN_REVIEW) o con cliente sin notificar.
+    * Orden por ID ascendente (keyset): el siguiente lote empieza después de afterId.
+    *
+    * @param afterId último ID procesado (0 para empezar)
+    * @param cutoff multas con fineDueDate anterior a este instante
+    * @param limit tamaño máximo del lote
+    * @return IDs del lote, ordenados
+    */
+   List<Long> findOverdueFineIdsAfter(Long afterId, LocalDateTime cutoff, int limit);
+
+   /**
+    * Escala en un solo UPDATE las infracciones del lote que sigan pendientes
+    * y con la multa sin pagar (un pago concurrente las deja fuera).
+    *
+    * @return filas escaladas
+    */
+   int escalateOverdueFines(Collection<Long> ids, LocalDateTime cutoff, String resolution);
+
+   // ========================= ÍNDICE DE REINCIDENCIA =========================
+
+   /**
+    * Total de infracciones y última detección por vehículo (una consulta GROUP BY).
+    */
+   List<InfractionHistory> findHistoryByVehicle();
+
+   /**
+    * Total de infracciones y última detección por cliente (una consulta GROUP BY).
+    */
+   List<InfractionHistory> findHistoryByCustomer();
+
+   /**
+    * Aporte de cada infracción abierta o con multa sin pagar, en una
+    * consulta de proyección. Las cerradas y saldadas no aparecen.
+    */
+   List<InfractionExposure> findOpenOrUnpaidExposures();
+
+   /**
+    * Infracciones creadas, modificadas o eliminadas desde la fecha dada
+    * (por UPDATED_AT), incluidas las eliminadas.
+    */
+   List<InfractionChange> findChangedSince(LocalDateTime since);
+
+   /**
+    * Como findHistoryByVehicle, solo para los vehículos dados.
+    */
+   List<InfractionHistory> findHistoryByVehicles(Collection<Long> vehicleIds);
+
+   /**
+    * Como findHistoryByCustomer, solo para los clientes dados.
+    */
+   List<InfractionHistory> findHistoryByCustomers(Collection<Long> customerIds);
+}
@@ -2,6 +2,8 @@ package com.winnersystems.smartparking.parking.application.port.output;
 
 import com.winnersystems.smartparking.parking.domain.model.OperatorAssignment;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -69,6 +71,16 @@ public interface OperatorAssignmentPersistencePort {
     */
    List<OperatorAssignment> findByShiftId(Long shiftId);
 
+   /**
+    * Asignaciones de todas las zonas que siguen vigentes después de una
+    * fecha (activas, futuras o que terminan después de from).
+    * Usado para construir el índice de operadores en servicio.
+    *
+    * @param from fecha desde la que interesan las asignaciones
+    * @return asignaciones con endDate nulo o posterior a from
+    */
+   List<OperatorAssignment> findAllNotEndedBy(LocalDate from);
+
    /**
     * Verifica si existe una asignación activa para un operador en una zona específica.
     *
@@ -79,6 +91,26 @@ public interface OperatorAssignmentPersistencePort {
     */
    boolean existsActiveAssignment(Long operatorId, Long zoneId, Long shiftId);
 
+   /**
+    * Versión en lote de existsActiveAssignment: una consulta para todos los operadores.
+    *
+    * @param operatorIds IDs de los operadores
+    * @param zoneId ID de la zona
+    * @param shiftId ID del turno
+    * @return IDs (sin repetir) de los operadores que ya tienen asignación activa
+    */
+   List<Long> findOperatorIdsWithActiveAssignment(Collection<Long> operatorIds, Long zoneId, Long shiftId);
+
+   /**
+    * Asignaciones de los operadores que siguen vigentes después de una fecha
+    * (activas, futuras o que terminan después de from), en cualquier zona y turno.
+    *
+    * @param operatorIds IDs de los operadores
+    * @param from fecha desde la que interesan las asignaciones
+    * @return asignaciones con endDate nulo o posterior a from
+    */
+   List<OperatorAssignment> findNotEndedBy(Collection<Long> operatorIds, LocalDate from);
+
    /**
     * Elimina una asignación por ID (hard delete).
     * Usar solo en caso de corrección de errores de captura.
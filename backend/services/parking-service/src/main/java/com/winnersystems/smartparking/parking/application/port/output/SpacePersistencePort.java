@@ -4,6 +4,7 @@ import com.winnersystems.smartparking.parking.application.dto.query.PageRequest;
 import com.winnersystems.smartparking.parking.application.dto.query.PageResult;
 import com.winnersystems.smartparking.parking.domain.model.Space;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,6 +36,11 @@ public interface SpacePersistencePort {
 
    long countByZoneId(Long zoneId);
 
+   /**
+    * De los espacios indicados, los IDs que están en alguno de los estados, en una consulta.
+    */
+   List<Long> findIdsWithStatus(Collection<Long> spaceIds, Collection<String> statuses);
+
    boolean existsByCode(String code);
 
    boolean existsByCodeAndIdNot(String code, Long id);
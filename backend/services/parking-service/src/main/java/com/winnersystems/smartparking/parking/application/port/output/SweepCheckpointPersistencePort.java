@@ -0,0 +1,27 @@
+package com.winnersystems.smartparking.parking.application.port.output;
+
+import com.winnersystems.smartparking.parking.domain.model.SweepCheckpoint;
+
+/**
+ * Puerto de salida para el avance de los barridos por lotes.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public interface SweepCheckpointPersistencePort {
+
+   /**
+    * Lee el avance del barrido bloqueando su fila hasta el fin de la
+    * transacción actual (SELECT ... FOR UPDATE). Si el barrido nunca
+    * corrió, crea la fila primero.
+    *
+    * Dos réplicas que ejecutan el mismo barrido procesan sus lotes de a
+    * uno: la segunda espera y continúa desde donde terminó la primera.
+    *
+    * @param jobName nombre del barrido
+    * @return avance actual
+    */
+   SweepCheckpoint lock(String jobName);
+
+   SweepCheckpoint save(SweepCheckpoint checkpoint);
+}
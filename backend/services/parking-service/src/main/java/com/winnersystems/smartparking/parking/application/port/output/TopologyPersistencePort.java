@@ -0,0 +1,36 @@
+package com.winnersystems.smartparking.parking.application.port.output;
+
+import com.winnersystems.smartparking.parking.application.dto.query.ParkingNode;
+import com.winnersystems.smartparking.parking.application.dto.query.SpaceNode;
+import com.winnersystems.smartparking.parking.application.dto.query.ZoneNode;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Puerto de salida para cargar la topología (parkings, zonas y espacios).
+ *
+ * Devuelve proyecciones con los datos estructurales, sin hidratar
+ * entidades completas. Solo incluye registros no eliminados.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public interface TopologyPersistencePort {
+
+   // ========================= CARGA COMPLETA =========================
+
+   List<ParkingNode> loadParkings();
+
+   List<ZoneNode> loadZones();
+
+   List<SpaceNode> loadSpaces();
+
+   // ========================= CARGA POR ID =========================
+
+   Optional<ParkingNode> findParking(Long id);
+
+   Optional<ZoneNode> findZone(Long id);
+
+   Optional<SpaceNode> findSpace(Long id);
+}
@@ -5,6 +5,7 @@ import com.winnersystems.smartparking.parking.application.dto.query.PageResult;
 import com.winnersystems.smartparking.parking.domain.model.Transaction;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -48,6 +49,20 @@ public interface TransactionPersistencePort {
 
    PageResult<Transaction> findOverdue(int maxMinutes, PageRequest pageRequest);
 
+   // ========================= DETECCIÓN (sin paginación) =========================
+
+   /**
+    * Todas las transacciones activas de un parking, en una consulta.
+    */
+   List<Transaction> findActiveByParkingId(Long parkingId);
+
+   /**
+    * Transacciones completadas de un parking que siguen sin pagar y
+    * salieron en [exitFrom, exitBefore).
+    */
+   List<Transaction> findCompletedUnpaidByParkingId(Long parkingId, LocalDateTime exitFrom,
+                                                    LocalDateTime exitBefore);
+
    // ========================= LIST HISTÓRICO (paginado) =========================
 
    PageResult<Transaction> findAll(PageRequest pageRequest);
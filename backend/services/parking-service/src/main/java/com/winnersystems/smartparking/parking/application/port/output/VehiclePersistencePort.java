@@ -4,6 +4,7 @@ import com.winnersystems.smartparking.parking.application.dto.query.PageRequest;
 import com.winnersystems.smartparking.parking.application.dto.query.PageResult;
 import com.winnersystems.smartparking.parking.domain.model.Vehicle;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +28,17 @@ public interface VehiclePersistencePort {
 
    Optional<Vehicle> findByPlateNumber(String plateNumber);
 
+   // ========================= FIND POR LOTE =========================
+
+   /**
+    * Busca varios vehículos por ID en una sola consulta (IN), troceada en
+    * grupos de 1000 por el límite de Oracle. Los IDs inexistentes se omiten.
+    *
+    * @param ids IDs a buscar (se ignoran nulos y repetidos)
+    * @return vehículos encontrados, sin orden garantizado
+    */
+   List<Vehicle> findAllByIds(Collection<Long> ids);
+
    // ========================= EXISTS =========================
 
    boolean existsByPlateNumber(String plateNumber);
@@ -0,0 +1,29 @@
+package com.winnersystems.smartparking.parking.application.service.detection;
+
+import com.winnersystems.smartparking.parking.domain.model.Transaction;
+
+/**
+ * Infracción que disparó una regla, todavía sin registrar.
+ *
+ * @param transaction transacción que la originó
+ * @param infractionType tipo (Infraction.TYPE_*)
+ * @param severity severidad (Infraction.SEVERITY_*)
+ * @param description descripción para el registro
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public record DetectedInfraction(
+      Transaction transaction,
+      String infractionType,
+      String severity,
+      String description
+) {
+
+   /**
+    * Clave de deduplicación: una infracción abierta por transacción y tipo.
+    */
+   public String key() {
+      return transaction.getId() + ":" + infractionType;
+   }
+}
@@ -0,0 +1,23 @@
+package com.winnersystems.smartparking.parking.application.service.detection;
+
+import java.util.List;
+
+/**
+ * Regla de detección automática de infracciones.
+ *
+ * Una regla es una función pura sobre la foto del parking: no consulta la
+ * BD ni registra nada. El motor (InfractionDetectionService) deduplica y
+ * persiste lo que devuelven todas las reglas en un solo lote.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public interface DetectionRule {
+
+   /**
+    * Tipo de infracción que produce la regla (Infraction.TYPE_*).
+    */
+   String infractionType();
+
+   List<DetectedInfraction> evaluate(DetectionSnapshot snapshot);
+}
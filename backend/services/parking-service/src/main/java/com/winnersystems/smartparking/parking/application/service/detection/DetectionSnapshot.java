@@ -0,0 +1,34 @@
+package com.winnersystems.smartparking.parking.application.service.detection;
+
+import com.winnersystems.smartparking.parking.domain.model.Transaction;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Estado de un parking cargado una sola vez para evaluar todas las reglas.
+ *
+ * Las reglas solo leen esta foto: ninguna consulta la BD por fila.
+ *
+ * @param parkingId parking evaluado
+ * @param evaluatedAt instante de referencia de todas las reglas
+ * @param activeTransactions transacciones ACTIVE del parking
+ * @param unpaidCompletedTransactions transacciones COMPLETED sin pagar fuera del plazo de gracia
+ * @param unavailableSpaceIds espacios en MAINTENANCE u OUT_OF_SERVICE con un vehículo dentro
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public record DetectionSnapshot(
+      Long parkingId,
+      LocalDateTime evaluatedAt,
+      List<Transaction> activeTransactions,
+      List<Transaction> unpaidCompletedTransactions,
+      Set<Long> unavailableSpaceIds
+) {
+
+   public int transactionCount() {
+      return activeTransactions.size() + unpaidCompletedTransactions.size();
+   }
+}
@@ -0,0 +1,216 @@
+package com.winnersystems.smartparking.parking.application.service.detection;
+
+import com.winnersystems.smartparking.parking.application.dto.command.DetectInfractionsCommand;
+import com.winnersystems.smartparking.parking.application.dto.query.InfractionDetectionResult;
+import com.winnersystems.smartparking.parking.application.dto.query.ParkingNode;
+import com.winnersystems.smartparking.parking.application.port.input.infraction.DetectInfractionsUseCase;
+import com.winnersystems.smartparking.parking.application.port.output.InfractionPersistencePort;
+import com.winnersystems.smartparking.parking.application.port.output.SpacePersistencePort;
+import com.winnersystems.smartparking.parking.application.port.output.SweepCheckpointPersistencePort;
+import com.winnersystems.smartparking.parking.application.port.output.TransactionPersistencePort;
+import com.winnersystems.smartparking.parking.application.service.offender.OffenderIndex;
+import com.winnersystems.smartparking.parking.application.service.topology.TopologyCache;
+import com.winnersystems.smartparking.parking.domain.model.Infraction;
+import com.winnersystems.smartparking.parking.domain.model.Parking;
+import com.winnersystems.smartparking.parking.domain.model.Space;
+import com.winnersystems.smartparking.parking.domain.model.SweepCheckpoint;
+import com.winnersystems.smartparking.parking.domain.model.Transaction;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Motor de detección automática de infracciones.
+ *
+ * Una pasada por parking:
+ * 1. Bloquea el avance del parking en SWEEP_CHECKPOINTS: otra réplica que
+ *    detecte el mismo parking espera y luego ve lo registrado aquí
+ * 2. Carga la foto del parking: transacciones activas, completadas sin
+ *    pagar y espacios no disponibles ocupados (tres consultas)
+ * 3. Evalúa todas las reglas en memoria
+ * 4. Descarta lo que la detección ya registró alguna vez para la misma
+ *    transacción y tipo (en cualquier estado) o que tiene una infracción
+ *    abierta registrada a mano (una consulta)
+ * 5. Registra lo nuevo con un solo saveAll (inserts en lote JDBC), con
+ *    los números de código reservados de una vez para toda la pasada
+ *
+ * Las salidas sin pagar se leen por ventana: desde el corte de la pasada
+ * anterior (cutoff del avance) hasta el plazo de gracia. Cada salida se
+ * evalúa una vez; la primera pasada de un parking mira como máximo
+ * FIRST_PASS_LOOKBACK_DAYS días atrás. La pasada es una ejecución del
+ * avance: startRun al empezar (con el corte nuevo) y completeRun al terminar.
+ *
+ * El costo no depende del número de transacciones ni de infracciones: los
+ * códigos y los IDs salen de bloques de secuencia (una consulta por bloque).
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Service
+@Transactional
+public class InfractionDetectionService implements DetectInfractionsUseCase {
+
+   /** Estados de espacio en los que no debería haber un vehículo */
+   private static final Set<String> UNAVAILABLE_SPACE_STATUSES =
+         Set.of(Space.STATUS_MAINTENANCE, Space.STATUS_OUT_OF_SERVICE);
+
+   /** Prefijo del avance por parking en SWEEP_CHECKPOINTS */
+   static final String JOB_NAME_PREFIX = "INFRACTION_DETECTION:";
+
+   /** Salidas sin pagar que mira la primera pasada de un parking */
+   static final int FIRST_PASS_LOOKBACK_DAYS = 30;
+
+   // ========================= PUERTOS DE SALIDA =========================
+
+   private final TransactionPersistencePort transactionPersistencePort;
+   private final SpacePersistencePort spacePersistencePort;
+   private final InfractionPersistencePort infractionPersistencePort;
+   private final SweepCheckpointPersistencePort sweepCheckpointPersistencePort;
+
+   // ========================= TOPOLOGÍA =========================
+
+   private final TopologyCache topologyCache;
+
+   // ========================= REINCIDENCIA =========================
+
+   private final OffenderIndex offenderIndex;
+
+   // ========================= CONSTRUCTOR =========================
+
+   public InfractionDetectionService(
+         TransactionPersistencePort transactionPersistencePort,
+         SpacePersistencePort spacePersistencePort,
+         InfractionPersistencePort infractionPersistencePort,
+         SweepCheckpointPersistencePort sweepCheckpointPersistencePort,
+         TopologyCache topologyCache,
+         OffenderIndex offenderIndex) {
+      this.transactionPersistencePort = transactionPersistencePort;
+      this.spacePersistencePort = spacePersistencePort;
+      this.infractionPersistencePort = infractionPersistencePort;
+      this.sweepCheckpointPersistencePort = sweepCheckpointPersistencePort;
+      this.topologyCache = topologyCache;
+      this.offenderIndex = offenderIndex;
+   }
+
+   // ========================= DetectInfractionsUseCase =========================
+
+   @Override
+   @Transactional(readOnly = true)
+   public List<Long> listParkingsToScan() {
+      return topologyCache.snapshot().parkings().stream()
+            .filter(parking -> Parking.STATUS_ACTIVE.equals(parking.status()))
+            .map(ParkingNode::id)
+            .toList();
+   }
+
+   @Override
+   public InfractionDetectionResult detectInParking(Long parkingId, DetectInfractionsCommand command) {
+      // 1. Avance bloqueado: otra réplica espera hasta el fin de esta pasada
+      SweepCheckpoint checkpoint = sweepCheckpointPersistencePort.lock(JOB_NAME_PREFIX + parkingId);
+
+      // 2. Ventana de salidas: desde el corte anterior hasta el nuevo (el corte nunca retrocede)
+      LocalDateTime now = LocalDateTime.now();
+      LocalDateTime exitBefore = now.minusHours(command.unpaidExitHours());
+      LocalDateTime exitFrom = checkpoint.getCutoff() != null
+            ? checkpoint.getCutoff()
+            : exitBefore.minusDays(FIRST_PASS_LOOKBACK_DAYS);
+      if (exitBefore.isBefore(exitFrom)) {
+         exitBefore = exitFrom;
+      }
+      checkpoint.startRun(exitBefore);
+
+      // 3. Foto del parking
+      DetectionSnapshot snapshot = loadSnapshot(parkingId, now, exitFrom, exitBefore);
+
+      // 4. Reglas en memoria
+      List<DetectedInfraction> detected = rules(command).stream()
+            .flatMap(rule -> rule.evaluate(snapshot).stream())
+            .toList();
+
+      // 5. Deduplicación contra lo ya registrado (y dentro de la misma pasada)
+      List<DetectedInfraction> toCreate = new ArrayList<>();
+      Map<String, Integer> createdByType = new TreeMap<>();
+      if (!detected.isEmpty()) {
+         Map<Long, Set<String>> detectedTypes = infractionPersistencePort.findDetectedTypesByTransactionIds(
+               detected.stream().map(d -> d.transaction().getId()).toList());
+         Set<String> seen = new HashSet<>();
+         for (DetectedInfraction candidate : detected) {
+            boolean alreadyDetected = detectedTypes.getOrDefault(candidate.transaction().getId(), Set.of())
+                  .contains(candidate.infractionType());
+            if (alreadyDetected || !seen.add(candidate.key())) {
+               continue;
+            }
+            toCreate.add(candidate);
+            createdByType.merge(candidate.infractionType(), 1, Integer::sum);
+         }
+      }
+
+      // 6. Registro en lote, con los códigos reservados de una vez
+      if (!toCreate.isEmpty()) {
+         List<Long> codeNumbers = infractionPersistencePort.nextCodeNumbers(toCreate.size());
+         List<Infraction> infractions = new ArrayList<>(toCreate.size());
+         for (int i = 0; i < toCreate.size(); i++) {
+            infractions.add(toInfraction(toCreate.get(i), snapshot.evaluatedAt(), codeNumbers.get(i)));
+         }
+         infractionPersistencePort.saveAll(infractions).forEach(offenderIndex::recorded);
+      }
+
+      // 7. Fin de la pasada: la próxima lee las salidas desde el corte fijado al empezar
+      checkpoint.completeRun();
+      sweepCheckpointPersistencePort.save(checkpoint);
+
+      return new InfractionDetectionResult(
+            parkingId, snapshot.transactionCount(), detected.size(), toCreate.size(), createdByType);
+   }
+
+   // ========================= HELPERS =========================
+
+   private DetectionSnapshot loadSnapshot(Long parkingId, LocalDateTime now,
+                                          LocalDateTime exitFrom, LocalDateTime exitBefore) {
+      List<Transaction> active = transactionPersistencePort.findActiveByParkingId(parkingId);
+      List<Transaction> unpaid = transactionPersistencePort.findCompletedUnpaidByParkingId(
+            parkingId, exitFrom, exitBefore);
+      Set<Long> unavailableSpaceIds = Set.copyOf(spacePersistencePort.findIdsWithStatus(
+            active.stream().map(Transaction::getSpaceId).distinct().toList(),
+            UNAVAILABLE_SPACE_STATUSES));
+
+      return new DetectionSnapshot(parkingId, now, active, unpaid, unavailableSpaceIds);
+   }
+
+   private List<DetectionRule> rules(DetectInfractionsCommand command) {
+      return List.of(
+            new OverstayRule(command.maxStayMinutes()),
+            new UnavailableSpaceRule(),
+            new UnpaidExitRule(command.unpaidExitHours()),
+            new LowPlateConfidenceRule(command.minPlateConfidence())
+      );
+   }
+
+   private Infraction toInfraction(DetectedInfraction detected, LocalDateTime detectedAt, long codeNumber) {
+      Transaction transaction = detected.transaction();
+
+      Infraction infraction = new Infraction(
+            transaction.getParkingId(),
+            transaction.getVehicleId(),
+            transaction.getZoneId(),
+            detected.infractionType(),
+            null
+      );
+      infraction.setSpaceId(transaction.getSpaceId());
+      infraction.setTransactionId(transaction.getId());
+      infraction.setCustomerId(transaction.getCustomerId());
+      infraction.setSeverity(detected.severity());
+      infraction.setDescription(detected.description());
+      infraction.setDetectedAt(detectedAt);
+      infraction.setDetectionMethod(Infraction.METHOD_SYSTEM);
+      infraction.assignInfractionCode(codeNumber);
+      return infraction;
+   }
+}
@@ -0,0 +1,39 @@
+package com.winnersystems.smartparking.parking.application.service.detection;
+
+import com.winnersystems.smartparking.parking.domain.model.Infraction;
+
+import java.util.List;
+
+/**
+ * Lectura de placa dudosa: la IA registró la entrada con una confianza
+ * menor al umbral. Se registra como OTHER (MINOR) para revisión manual.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+final class LowPlateConfidenceRule implements DetectionRule {
+
+   private final double minPlateConfidence;
+
+   LowPlateConfidenceRule(double minPlateConfidence) {
+      this.minPlateConfidence = minPlateConfidence;
+   }
+
+   @Override
+   public String infractionType() {
+      return Infraction.TYPE_OTHER;
+   }
+
+   @Override
+   public List<DetectedInfraction> evaluate(DetectionSnapshot snapshot) {
+      return snapshot.activeTransactions().stream()
+            .filter(t -> t.getEntryPlateConfidence() != null && t.getEntryPlateConfidence() < minPlateConfidence)
+            .map(t -> new DetectedInfraction(
+                  t,
+                  Infraction.TYPE_OTHER,
+                  Infraction.SEVERITY_MINOR,
+                  String.format("Placa leída con confianza %.2f (mínimo %.2f): verificar manualmente",
+                        t.getEntryPlateConfidence(), minPlateConfidence)))
+            .toList();
+   }
+}
@@ -0,0 +1,48 @@
+package com.winnersystems.smartparking.parking.application.service.detection;
+
+import com.winnersystems.smartparking.parking.domain.model.Infraction;
+import com.winnersystems.smartparking.parking.domain.model.Transaction;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * OVERSTAY: transacción activa que supera la permanencia máxima.
+ * Al doble del máximo la severidad sube de MINOR a MODERATE.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+final class OverstayRule implements DetectionRule {
+
+   private final int maxStayMinutes;
+
+   OverstayRule(int maxStayMinutes) {
+      this.maxStayMinutes = maxStayMinutes;
+   }
+
+   @Override
+   public String infractionType() {
+      return Infraction.TYPE_OVERSTAY;
+   }
+
+   @Override
+   public List<DetectedInfraction> evaluate(DetectionSnapshot snapshot) {
+      List<DetectedInfraction> detected = new ArrayList<>();
+      for (Transaction transaction : snapshot.activeTransactions()) {
+         if (transaction.getEntryTime() == null) {
+            continue;
+         }
+         long minutes = Duration.between(transaction.getEntryTime(), snapshot.evaluatedAt()).toMinutes();
+         if (minutes > maxStayMinutes) {
+            detected.add(new DetectedInfraction(
+                  transaction,
+                  Infraction.TYPE_OVERSTAY,
+                  minutes > 2L * maxStayMinutes ? Infraction.SEVERITY_MODERATE : Infraction.SEVERITY_MINOR,
+                  "Permanencia de " + minutes + " minutos (máximo " + maxStayMinutes + ")"));
+         }
+      }
+      return detected;
+   }
+}
@@ -0,0 +1,31 @@
+package com.winnersystems.smartparking.parking.application.service.detection;
+
+import com.winnersystems.smartparking.parking.domain.model.Infraction;
+
+import java.util.List;
+
+/**
+ * WRONG_SPACE: vehículo estacionado en un espacio en mantenimiento o fuera de servicio.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+final class UnavailableSpaceRule implements DetectionRule {
+
+   @Override
+   public String infractionType() {
+      return Infraction.TYPE_WRONG_SPACE;
+   }
+
+   @Override
+   public List<DetectedInfraction> evaluate(DetectionSnapshot snapshot) {
+      return snapshot.activeTransactions().stream()
+            .filter(t -> snapshot.unavailableSpaceIds().contains(t.getSpaceId()))
+            .map(t -> new DetectedInfraction(
+                  t,
+                  Infraction.TYPE_WRONG_SPACE,
+                  Infraction.SEVERITY_MODERATE,
+                  "Vehículo en un espacio en mantenimiento o fuera de servicio"))
+            .toList();
+   }
+}
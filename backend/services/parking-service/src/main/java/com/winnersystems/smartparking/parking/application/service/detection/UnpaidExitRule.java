@@ -0,0 +1,38 @@
+package com.winnersystems.smartparking.parking.application.service.detection;
+
+import com.winnersystems.smartparking.parking.domain.model.Infraction;
+
+import java.util.List;
+
+/**
+ * UNPAID_EXIT: transacción completada que sigue sin pagar pasado el plazo de gracia.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+final class UnpaidExitRule implements DetectionRule {
+
+   private final int unpaidExitHours;
+
+   UnpaidExitRule(int unpaidExitHours) {
+      this.unpaidExitHours = unpaidExitHours;
+   }
+
+   @Override
+   public String infractionType() {
+      return Infraction.TYPE_UNPAID_EXIT;
+   }
+
+   @Override
+   public List<DetectedInfraction> evaluate(DetectionSnapshot snapshot) {
+      return snapshot.unpaidCompletedTransactions().stream()
+            .filter(t -> t.getExitTime() != null
+                  && t.getExitTime().isBefore(snapshot.evaluatedAt().minusHours(unpaidExitHours)))
+            .map(t -> new DetectedInfraction(
+                  t,
+                  Infraction.TYPE_UNPAID_EXIT,
+                  Infraction.SEVERITY_SEVERE,
+                  "Salida sin pagar hace más de " + unpaidExitHours + " horas"))
+            .toList();
+   }
+}
@@ -0,0 +1,103 @@
+package com.winnersystems.smartparking.parking.application.service.infraction;
+
+import com.winnersystems.smartparking.parking.application.dto.command.DeliverInfractionNotificationsCommand;
+import com.winnersystems.smartparking.parking.application.dto.query.InfractionNotification;
+import com.winnersystems.smartparking.parking.application.dto.query.InfractionNotificationDeliveryResult;
+import com.winnersystems.smartparking.parking.application.port.input.infraction.DeliverInfractionNotificationsUseCase;
+import com.winnersystems.smartparking.parking.application.port.output.CustomerNotificationPort;
+import com.winnersystems.smartparking.parking.application.port.output.InfractionNotificationOutboxPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Servicio de aplicación para el envío de las notificaciones de multas
+ * encoladas por el barrido.
+ *
+ * Sin @Transactional: el envío no retiene conexión ni bloqueos. La reserva
+ * del lote y el registro de cada resultado confirman por separado (ver
+ * InfractionNotificationOutboxPort); si la réplica cae entre el envío y
+ * el registro, la notificación vuelve a salir al vencer la reserva.
+ *
+ * Solo existe con parking.infractions.notifications.enabled=true (ver
+ * InfractionNotificationScheduler).
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "parking.infractions.notifications.enabled", havingValue = "true")
+public class InfractionNotificationService implements DeliverInfractionNotificationsUseCase {
+
+   // ========================= PUERTOS DE SALIDA =========================
+
+   private final InfractionNotificationOutboxPort notificationOutboxPort;
+   private final CustomerNotificationPort customerNotificationPort;
+
+   // ========================= CONSTRUCTOR =========================
+
+   public InfractionNotificationService(
+         InfractionNotificationOutboxPort notificationOutboxPort,
+         CustomerNotificationPort customerNotificationPort) {
+      this.notificationOutboxPort = notificationOutboxPort;
+      this.customerNotificationPort = customerNotificationPort;
+   }
+
+   // ========================= DeliverInfractionNotificationsUseCase =========================
+
+   @Override
+   public InfractionNotificationDeliveryResult deliverNextBatch(DeliverInfractionNotificationsCommand command) {
+      // 1. Reserva del lote: otra réplica no lo toma mientras dure la reserva
+      LocalDateTime now = LocalDateTime.now();
+      List<InfractionNotification> batch = notificationOutboxPort.claim(
+            command.batchSize(), now.plus(command.leaseMillis(), ChronoUnit.MILLIS));
+
+      // 2. Envío fuera de toda transacción
+      List<InfractionNotification> delivered = new ArrayList<>();
+      int retried = 0;
+      int failed = 0;
+      for (InfractionNotification notification : batch) {
+         try {
+            customerNotificationPort.sendOverdueFine(notification);
+            delivered.add(notification);
+         } catch (RuntimeException e) {
+            // 3a. Fallo: reintento con espera creciente, o FAILED si se agotaron los intentos
+            if (notification.attempts() >= command.maxAttempts()) {
+               notificationOutboxPort.markFailed(notification.infractionId(), e.getMessage());
+               failed++;
+               log.error("Notificación de la infracción {} descartada tras {} intentos: {}",
+                     notification.infractionCode(), notification.attempts(), e.getMessage());
+            } else {
+               notificationOutboxPort.reschedule(notification.infractionId(), e.getMessage(),
+                     LocalDateTime.now().plus(backoff(command, notification.attempts()), ChronoUnit.MILLIS));
+               retried++;
+               log.warn("Notificación de la infracción {} falló (intento {}), se reintenta: {}",
+                     notification.infractionCode(), notification.attempts(), e.getMessage());
+            }
+         }
+      }
+
+      // 3b. Enviadas: la infracción queda notificada recién ahora
+      if (!delivered.isEmpty()) {
+         notificationOutboxPort.markDelivered(delivered);
+      }
+
+      return new InfractionNotificationDeliveryResult(batch.size(), delivered.size(), retried, failed);
+   }
+
+   // ========================= HELPERS =========================
+
+   /**
+    * backoff * 2^(intentos-1), sin pasar de max-backoff.
+    */
+   private static long backoff(DeliverInfractionNotificationsCommand command, int attempts) {
+      int doublings = Math.min(Math.max(attempts - 1, 0), 20);
+      return Math.min(command.backoffMillis() << doublings, command.maxBackoffMillis());
+   }
+}
\ No newline at end of file
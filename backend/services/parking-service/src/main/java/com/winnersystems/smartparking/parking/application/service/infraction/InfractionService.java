@@ -4,12 +4,18 @@ import com.winnersystems.smartparking.parking.application.dto.command.*;
 import com.winnersystems.smartparking.parking.application.dto.query.*;
 import com.winnersystems.smartparking.parking.application.port.input.infraction.*;
 import com.winnersystems.smartparking.parking.application.port.output.*;
+import com.winnersystems.smartparking.parking.application.service.offender.OffenderIndex;
+import com.winnersystems.smartparking.parking.application.service.topology.TopologyCache;
 import com.winnersystems.smartparking.parking.domain.model.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 
 /**
  * Servicio de aplicación para gestión de infracciones.
@@ -20,6 +26,7 @@ import java.util.List;
  * - Registrar pagos de multas
  * - Resolver infracciones
  * - Listar con filtros múltiples
+ * - Mantener al día el índice de reincidencia (OffenderIndex)
  *
  * @author Edwin Yoner - Winner Systems - Smart Parking Platform
  * @version 1.0
@@ -37,24 +44,30 @@ public class InfractionService implements
    // ========================= PUERTOS DE SALIDA =========================
 
    private final InfractionPersistencePort infractionPersistencePort;
-   private final ParkingPersistencePort parkingPersistencePort;
-   private final ZonePersistencePort zonePersistencePort;
    private final VehiclePersistencePort vehiclePersistencePort;
    private final CustomerPersistencePort customerPersistencePort;
 
+   // ========================= TOPOLOGÍA =========================
+
+   private final TopologyCache topologyCache;
+
+   // ========================= REINCIDENCIA =========================
+
+   private final OffenderIndex offenderIndex;
+
    // ========================= CONSTRUCTOR =========================
 
    public InfractionService(
          InfractionPersistencePort infractionPersistencePort,
-         ParkingPersistencePort parkingPersistencePort,
-         ZonePersistencePort zonePersistencePort,
          VehiclePersistencePort vehiclePersistencePort,
-         CustomerPersistencePort customerPersistencePort) {
+         CustomerPersistencePort customerPersistencePort,
+         TopologyCache topologyCache,
+         OffenderIndex offenderIndex) {
       this.infractionPersistencePort = infractionPersistencePort;
-      this.parkingPersistencePort = parkingPersistencePort;
-      this.zonePersistencePort = zonePersistencePort;
       this.vehiclePersistencePort = vehiclePersistencePort;
       this.customerPersistencePort = customerPersistencePort;
+      this.topologyCache = topologyCache;
+      this.offenderIndex = offenderIndex;
    }
 
    // ========================= CreateInfractionUseCase =========================
@@ -102,12 +115,11 @@ public class InfractionService implements
       infraction.setDetectionMethod(Infraction.METHOD_MANUAL);
       infraction.setCreatedBy(getCurrentUserId());
 
-      Infraction saved = infractionPersistencePort.save(infraction);
-
-      // 3. Generar código único (requiere ID de base de datos)
-      saved.generateInfractionCode();
-      saved = infractionPersistencePort.save(saved);
+      // 3. Código único reservado antes del INSERT (una sola escritura)
+      infraction.assignInfractionCode(infractionPersistencePort.nextCodeNumber());
 
+      Infraction saved = infractionPersistencePort.save(infraction);
+      offenderIndex.recorded(saved);
       return buildInfractionDto(saved);
    }
 
@@ -162,6 +174,7 @@ public class InfractionService implements
       infraction.updateModifiedBy(getCurrentUserId());
 
       Infraction saved = infractionPersistencePort.save(infraction);
+      offenderIndex.updated(saved);
       return buildInfractionDto(saved);
    }
 
@@ -197,9 +210,7 @@ public class InfractionService implements
    @Override
    @Transactional(readOnly = true)
    public List<InfractionDto> listInfractionsByTransaction(Long transactionId) {
-      return infractionPersistencePort.findByTransaction(transactionId).stream()
-            .map(this::buildInfractionDto)
-            .toList();
+      return buildInfractionDtos(infractionPersistencePort.findByTransaction(transactionId));
    }
 
    @Override
@@ -232,9 +243,7 @@ public class InfractionService implements
    @Override
    @Transactional(readOnly = true)
    public List<InfractionDto> listAllPendingInfractions() {
-      return infractionPersistencePort.findAllPending().stream()
-            .map(this::buildInfractionDto)
-            .toList();
+      return buildInfractionDtos(infractionPersistencePort.findAllPending());
    }
 
    // ========================= AssignFineUseCase =========================
@@ -265,6 +274,7 @@ public class InfractionService implements
       }
 
       Infraction saved = infractionPersistencePort.save(infraction);
+      offenderIndex.updated(saved);
       return buildInfractionDto(saved);
    }
 
@@ -302,6 +312,7 @@ public class InfractionService implements
       infraction.resolveAsPaid(getCurrentUserId(), "Multa pagada");
 
       Infraction saved = infractionPersistencePort.save(infraction);
+      offenderIndex.updated(saved);
       return buildInfractionDto(saved);
    }
 
@@ -315,13 +326,13 @@ public class InfractionService implements
    // ========================= HELPERS - VALIDACIONES =========================
 
    private void validateParking(Long parkingId) {
-      if (!parkingPersistencePort.findById(parkingId).isPresent()) {
+      if (topologyCache.findParking(parkingId).isEmpty()) {
          throw new IllegalArgumentException("Parking no encontrado: " + parkingId);
       }
    }
 
    private void validateZone(Long zoneId) {
-      if (!zonePersistencePort.findById(zoneId).isPresent()) {
+      if (topologyCache.findZone(zoneId).isEmpty()) {
          throw new IllegalArgumentException("Zona no encontrada: " + zoneId);
       }
    }
@@ -335,14 +346,6 @@ public class InfractionService implements
    // ========================= BUILDERS - DTOs =========================
 
    private InfractionDto buildInfractionDto(Infraction i) {
-      String parkingName = i.getParkingId() != null
-            ? parkingPersistencePort.findById(i.getParkingId()).map(Parking::getName).orElse(null)
-            : null;
-
-      String zoneName = i.getZoneId() != null
-            ? zonePersistencePort.findById(i.getZoneId()).map(Zone::getName).orElse(null)
-            : null;
-
       String vehiclePlate = i.getVehicleId() != null
             ? vehiclePersistencePort.findById(i.getVehicleId()).map(Vehicle::getLicensePlate).orElse(null)
             : null;
@@ -351,6 +354,37 @@ public class InfractionService implements
             ? customerPersistencePort.findById(i.getCustomerId()).map(Customer::getFullName).orElse(null)
             : null;
 
+      return buildInfractionDto(i, vehiclePlate, customerName);
+   }
+
+   /**
+    * Construye los DTOs de un listado con una consulta por tipo relacionado
+    * (vehículos y clientes), sin importar el número de infracciones.
+    */
+   private List<InfractionDto> buildInfractionDtos(List<Infraction> infractions) {
+      if (infractions.isEmpty()) {
+         return List.of();
+      }
+
+      Map<Long, String> plates = new HashMap<>();
+      vehiclePersistencePort.findAllByIds(relatedIds(infractions, Infraction::getVehicleId))
+            .forEach(v -> plates.put(v.getId(), v.getLicensePlate()));
+
+      Map<Long, String> customerNames = new HashMap<>();
+      customerPersistencePort.findAllByIds(relatedIds(infractions, Infraction::getCustomerId))
+            .forEach(c -> customerNames.put(c.getId(), c.getFullName()));
+
+      return infractions.stream()
+            .map(i -> buildInfractionDto(i, plates.get(i.getVehicleId()), customerNames.get(i.getCustomerId())))
+            .toList();
+   }
+
+   private InfractionDto buildInfractionDto(Infraction i, String vehiclePlate, String customerName) {
+      // Parking, zona y espacio desde la topología en memoria
+      String parkingName = topologyCache.findParking(i.getParkingId()).map(ParkingNode::name).orElse(null);
+      String zoneName = topologyCache.findZone(i.getZoneId()).map(ZoneNode::name).orElse(null);
+      String spaceCode = topologyCache.findSpace(i.getSpaceId()).map(SpaceNode::code).orElse(null);
+
       return new InfractionDto(
             i.getId(),
             i.getInfractionCode(),
@@ -359,7 +393,7 @@ public class InfractionService implements
             i.getZoneId(),
             zoneName,
             i.getSpaceId(),
-            null, // spaceCode - TODO
+            spaceCode,
             i.getTransactionId(),
             i.getVehicleId(),
             vehiclePlate,
@@ -390,9 +424,7 @@ public class InfractionService implements
    // ========================= HELPERS - PAGINACIÓN =========================
 
    private PagedResponse<InfractionDto> toInfractionPagedResponse(PageResult<Infraction> result) {
-      List<InfractionDto> content = result.content().stream()
-            .map(this::buildInfractionDto)
-            .toList();
+      List<InfractionDto> content = buildInfractionDtos(result.content());
       return PagedResponse.of(content, result.pageNumber(), result.pageSize(), result.totalElements());
    }
 
@@ -402,4 +434,12 @@ public class InfractionService implements
       // TODO: Obtener desde SecurityContext
       return 1L;
    }
+
+   private List<Long> relatedIds(List<Infraction> infractions, Function<Infraction, Long> idOf) {
+      return infractions.stream()
+            .map(idOf)
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+   }
 }
\ No newline at end of file
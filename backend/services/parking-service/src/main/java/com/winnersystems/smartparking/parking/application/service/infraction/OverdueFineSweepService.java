@@ -0,0 +1,102 @@
+package com.winnersystems.smartparking.parking.application.service.infraction;
+
+import com.winnersystems.smartparking.parking.application.dto.command.SweepOverdueFinesCommand;
+import com.winnersystems.smartparking.parking.application.dto.query.OverdueFineSweepResult;
+import com.winnersystems.smartparking.parking.application.port.input.infraction.SweepOverdueFinesUseCase;
+import com.winnersystems.smartparking.parking.application.port.output.InfractionNotificationOutboxPort;
+import com.winnersystems.smartparking.parking.application.port.output.InfractionPersistencePort;
+import com.winnersystems.smartparking.parking.application.port.output.SweepCheckpointPersistencePort;
+import com.winnersystems.smartparking.parking.domain.model.SweepCheckpoint;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Servicio de aplicación para el barrido de multas vencidas.
+ *
+ * Cada lote cuesta un número fijo de sentencias sin importar su tamaño:
+ * bloqueo del avance, selección de IDs, UPDATE de escalamiento, INSERT en
+ * la cola de notificaciones y UPDATE del avance. Las infracciones no se
+ * cargan como entidades.
+ *
+ * Las notificaciones solo se encolan: las envía InfractionNotificationService,
+ * que marca la infracción como notificada al confirmarse el envío. Sin canal
+ * de envío (notificationMethod null) no se encola nada, para que la cola no
+ * crezca sin consumidor.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Service
+@Transactional
+public class OverdueFineSweepService implements SweepOverdueFinesUseCase {
+
+   /** Nombre del barrido en SWEEP_CHECKPOINTS */
+   public static final String JOB_NAME = "OVERDUE_FINES";
+
+   /** Resolución registrada en las infracciones escaladas */
+   static final String ESCALATION_RESOLUTION = "Escalada automáticamente: multa vencida sin pagar";
+
+   // ========================= PUERTOS DE SALIDA =========================
+
+   private final InfractionPersistencePort infractionPersistencePort;
+   private final InfractionNotificationOutboxPort notificationOutboxPort;
+   private final SweepCheckpointPersistencePort sweepCheckpointPersistencePort;
+
+   // ========================= CONSTRUCTOR =========================
+
+   public OverdueFineSweepService(
+         InfractionPersistencePort infractionPersistencePort,
+         InfractionNotificationOutboxPort notificationOutboxPort,
+         SweepCheckpointPersistencePort sweepCheckpointPersistencePort) {
+      this.infractionPersistencePort = infractionPersistencePort;
+      this.notificationOutboxPort = notificationOutboxPort;
+      this.sweepCheckpointPersistencePort = sweepCheckpointPersistencePort;
+   }
+
+   // ========================= SweepOverdueFinesUseCase =========================
+
+   @Override
+   public OverdueFineSweepResult sweepNextChunk(SweepOverdueFinesCommand command) {
+      // 1. Avance bloqueado: otra réplica espera hasta el fin de este lote
+      SweepCheckpoint checkpoint = sweepCheckpointPersistencePort.lock(JOB_NAME);
+      if (!checkpoint.isRunInProgress()) {
+         // Precisión de TIMESTAMP(6): el corte releído del avance es el mismo
+         checkpoint.startRun(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+      }
+
+      // 2. Siguiente lote por keyset (ID > último procesado)
+      List<Long> ids = infractionPersistencePort.findOverdueFineIdsAfter(
+            checkpoint.getLastProcessedId(), checkpoint.getCutoff(), command.chunkSize());
+
+      // 3. Escalamiento con un UPDATE y notificaciones a la cola con un INSERT
+      int escalated = 0;
+      int queued = 0;
+      if (!ids.isEmpty()) {
+         escalated = infractionPersistencePort.escalateOverdueFines(
+               ids, checkpoint.getCutoff(), ESCALATION_RESOLUTION);
+         if (command.notificationMethod() != null) {
+            queued = notificationOutboxPort.enqueue(ids, command.notificationMethod());
+         }
+         checkpoint.advance(ids.get(ids.size() - 1), ids.size());
+      }
+
+      // 4. Un lote incompleto significa que no quedan filas
+      if (ids.size() < command.chunkSize()) {
+         checkpoint.completeRun();
+      }
+      sweepCheckpointPersistencePort.save(checkpoint);
+
+      return new OverdueFineSweepResult(
+            checkpoint.getCutoff(),
+            ids.size(),
+            escalated,
+            queued,
+            checkpoint.getLastProcessedId(),
+            !checkpoint.isRunInProgress()
+      );
+   }
+}
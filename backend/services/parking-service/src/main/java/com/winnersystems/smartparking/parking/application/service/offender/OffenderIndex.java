@@ -0,0 +1,443 @@
+package com.winnersystems.smartparking.parking.application.service.offender;
+
+import com.winnersystems.smartparking.parking.application.dto.query.InfractionChange;
+import com.winnersystems.smartparking.parking.application.dto.query.InfractionExposure;
+import com.winnersystems.smartparking.parking.application.dto.query.InfractionHistory;
+import com.winnersystems.smartparking.parking.application.dto.query.OffenderSummary;
+import com.winnersystems.smartparking.parking.application.port.output.InfractionPersistencePort;
+import com.winnersystems.smartparking.parking.domain.model.Infraction;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Índice de reincidencia en memoria: antecedentes de infracciones por
+ * vehículo y por cliente (OffenderSummary).
+ *
+ * Lecturas:
+ * - Un acceso a mapa por vehículo o cliente, sin bloqueo y sin ir a la BD
+ * - La primera lectura construye el índice completo (tres consultas:
+ *   historial por vehículo, historial por cliente y aporte de cada
+ *   infracción abierta o con multa sin pagar)
+ *
+ * Escrituras (InfractionService, InfractionDetectionService):
+ * - Cada alta o cambio de infracción se aplica de forma incremental al
+ *   confirmarse la transacción: se resta el aporte anterior de la
+ *   infracción y se suma el nuevo
+ * - Los cambios de una misma transacción se aplican juntos
+ * - Una carga que coincide con una confirmación en curso no se publica
+ *   (la siguiente lectura vuelve a cargar), para no contar dos veces una
+ *   infracción que la carga ya vio en la BD
+ * - Las demás réplicas se enteran por la región "offenders" de
+ *   CacheRegionSynchronizer: los cambios confirmados se publican con un
+ *   solo incremento por sondeo, fuera de las transacciones de negocio,
+ *   así que las escrituras de infracciones no compiten por esa fila
+ *
+ * Cambios de otras réplicas (refresh, una vez por sondeo con cambios):
+ * - Se releen solo las infracciones con UPDATED_AT desde la última
+ *   sincronización, con SYNC_OVERLAP de margen para confirmaciones
+ *   tardías y relojes desfasados entre réplicas
+ * - Su aporte se reemplaza y el total y la última detección de sus
+ *   vehículos y clientes se recalculan con una consulta GROUP BY acotada
+ *   a ellos: releer una infracción dos veces no cuenta doble
+ * - Si una confirmación local coincide con la relectura, el índice se
+ *   descarta y la siguiente lectura lo reconstruye completo
+ *
+ * Los UPDATE masivos que no cambian lo que se cuenta (escalar una multa
+ * vencida sigue siendo "abierta" y "sin pagar") no pasan por aquí.
+ *
+ * Tamaño: una entrada por vehículo y por cliente con antecedentes, y un
+ * aporte por infracción abierta o con multa sin pagar; las entradas que
+ * quedan sin antecedentes se eliminan. Cada entrada ocupa del orden de
+ * 250 bytes (clave, nodo del mapa, resumen, monto y fecha): 100.000
+ * vehículos con antecedentes son unos 25 MB. Los gauges
+ * parking.offenders.index.entries (MetricsConfig) miden cada mapa.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Component
+public class OffenderIndex {
+
+   /** Región de caché compartida entre réplicas */
+   public static final String REGION = "offenders";
+
+   /** Margen al releer cambios: cubre confirmaciones tardías y desfase de relojes */
+   static final Duration SYNC_OVERLAP = Duration.ofMinutes(2);
+
+   private final InfractionPersistencePort infractionPersistencePort;
+
+   private final AtomicReference<State> current = new AtomicReference<>();
+
+   /** Transacciones con cambios ya en confirmación y todavía sin aplicar */
+   private final AtomicInteger committing = new AtomicInteger();
+
+   /** Confirmaciones locales iniciadas (para detectar las que coinciden con una relectura) */
+   private final AtomicLong commits = new AtomicLong();
+
+   /** Cambios aplicados localmente que las demás réplicas todavía no conocen */
+   private final AtomicBoolean unpublished = new AtomicBoolean();
+
+   public OffenderIndex(InfractionPersistencePort infractionPersistencePort) {
+      this.infractionPersistencePort = infractionPersistencePort;
+   }
+
+   // ========================= LECTURA =========================
+
+   public OffenderSummary forVehicle(Long vehicleId) {
+      if (vehicleId == null) {
+         return OffenderSummary.EMPTY;
+      }
+      return state().byVehicle.getOrDefault(vehicleId, OffenderSummary.EMPTY);
+   }
+
+   public OffenderSummary forCustomer(Long customerId) {
+      if (customerId == null) {
+         return OffenderSummary.EMPTY;
+      }
+      return state().byCustomer.getOrDefault(customerId, OffenderSummary.EMPTY);
+   }
+
+   // ========================= ESCRITURA =========================
+
+   /**
+    * Infracción nueva (ya guardada, con ID).
+    */
+   public void recorded(Infraction infraction) {
+      onCommit(new Change(InfractionExposure.of(infraction), 1, infraction.getDetectedAt(), false));
+   }
+
+   /**
+    * Cambio de estado, multa o pago de una infracción existente.
+    * Una infracción eliminada deja de contar.
+    */
+   public void updated(Infraction infraction) {
+      InfractionExposure exposure = InfractionExposure.of(infraction);
+      boolean deleted = infraction.isDeleted();
+      if (!deleted && !hasPendingWrites() && isCurrent(exposure)) {
+         return;
+      }
+      onCommit(new Change(exposure, deleted ? -1 : 0, null, deleted));
+   }
+
+   /**
+    * Descarta el índice; la siguiente lectura lo reconstruye completo.
+    */
+   public synchronized void invalidate() {
+      current.set(null);
+   }
+
+   /**
+    * Aplica las escrituras de otras réplicas releyendo solo las infracciones
+    * modificadas. Sin índice cargado no hace nada: la siguiente lectura lo
+    * construye con todo.
+    */
+   public synchronized void refresh() {
+      State state = current.get();
+      if (state == null) {
+         return;
+      }
+
+      long epoch = commits.get();
+      LocalDateTime startedAt = LocalDateTime.now();
+      List<InfractionChange> changes = infractionPersistencePort.findChangedSince(
+            state.syncedFrom.minus(SYNC_OVERLAP));
+
+      Set<Long> vehicleIds = new HashSet<>();
+      Set<Long> customerIds = new HashSet<>();
+      for (InfractionChange change : changes) {
+         addOwners(vehicleIds, customerIds, change.exposure());
+         addOwners(vehicleIds, customerIds, state.exposures.get(change.id()));
+      }
+      List<InfractionHistory> vehicleHistory = vehicleIds.isEmpty()
+            ? List.of() : infractionPersistencePort.findHistoryByVehicles(vehicleIds);
+      List<InfractionHistory> customerHistory = customerIds.isEmpty()
+            ? List.of() : infractionPersistencePort.findHistoryByCustomers(customerIds);
+
+      // Una confirmación local en curso pudo quedar en lo leído y aplicarse después
+      if (committing.get() > 0 || commits.get() != epoch) {
+         current.set(null);
+         return;
+      }
+
+      for (InfractionChange change : changes) {
+         state.apply(new Change(change.exposure(), 0, null, change.isDeleted()));
+      }
+      State.replaceHistory(state.byVehicle, vehicleIds, vehicleHistory);
+      State.replaceHistory(state.byCustomer, customerIds, customerHistory);
+      state.syncedFrom = startedAt;
+   }
+
+   /**
+    * true si hubo cambios confirmados desde la última llamada (los
+    * publica CacheRegionSynchronizer a las demás réplicas).
+    */
+   public boolean takeUnpublished() {
+      return unpublished.getAndSet(false);
+   }
+
+   // ========================= TAMAÑO =========================
+
+   /**
+    * Entradas por vehículo (0 si el índice no está cargado).
+    */
+   public int vehicleEntries() {
+      State state = current.get();
+      return state != null ? state.byVehicle.size() : 0;
+   }
+
+   /**
+    * Entradas por cliente (0 si el índice no está cargado).
+    */
+   public int customerEntries() {
+      State state = current.get();
+      return state != null ? state.byCustomer.size() : 0;
+   }
+
+   /**
+    * Aportes guardados: infracciones abiertas o con multa sin pagar (0 si el índice no está cargado).
+    */
+   public int exposureEntries() {
+      State state = current.get();
+      return state != null ? state.exposures.size() : 0;
+   }
+
+   // ========================= HELPERS =========================
+
+   private State state() {
+      State state = current.get();
+      return state != null ? state : load();
+   }
+
+   private synchronized State load() {
+      // Otro hilo pudo construirlo mientras esperábamos el monitor
+      State state = current.get();
+      if (state != null) {
+         return state;
+      }
+
+      State loaded = new State(LocalDateTime.now());
+      for (InfractionHistory history : infractionPersistencePort.findHistoryByVehicle()) {
+         loaded.byVehicle.put(history.ownerId(), fromHistory(history));
+      }
+      for (InfractionHistory history : infractionPersistencePort.findHistoryByCustomer()) {
+         loaded.byCustomer.put(history.ownerId(), fromHistory(history));
+      }
+      for (InfractionExposure exposure : infractionPersistencePort.findOpenOrUnpaidExposures()) {
+         loaded.exposures.put(exposure.id(), exposure);
+         loaded.contribute(exposure, 1);
+      }
+
+      // Una confirmación en curso puede estar en lo leído y aplicarse después
+      if (committing.get() == 0 && !hasPendingWrites()) {
+         current.set(loaded);
+      }
+      return loaded;
+   }
+
+   private synchronized void apply(List<Change> changes) {
+      State state = current.get();
+      if (state != null) {
+         changes.forEach(state::apply);
+      }
+      unpublished.set(true);
+   }
+
+   /**
+    * Aplica el cambio localmente al confirmar la transacción actual, o de
+    * inmediato si no hay una.
+    */
+   private void onCommit(Change change) {
+      if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+         apply(List.of(change));
+         return;
+      }
+
+      @SuppressWarnings("unchecked")
+      List<Change> pending = (List<Change>) TransactionSynchronizationManager.getResource(this);
+      if (pending == null) {
+         pending = new ArrayList<>();
+         TransactionSynchronizationManager.bindResource(this, pending);
+         TransactionSynchronizationManager.registerSynchronization(new PendingChanges(pending));
+      }
+      pending.add(change);
+   }
+
+   /**
+    * true si el índice ya tiene exactamente ese aporte (el cambio no afecta los antecedentes).
+    */
+   private boolean isCurrent(InfractionExposure exposure) {
+      State state = current.get();
+      if (state == null) {
+         return false;
+      }
+      InfractionExposure known = state.exposures.get(exposure.id());
+      return exposure.isSettled() ? known == null : exposure.equals(known);
+   }
+
+   private boolean hasPendingWrites() {
+      return TransactionSynchronizationManager.hasResource(this);
+   }
+
+   private static void addOwners(Set<Long> vehicleIds, Set<Long> customerIds, InfractionExposure exposure) {
+      if (exposure == null) {
+         return;
+      }
+      if (exposure.vehicleId() != null) {
+         vehicleIds.add(exposure.vehicleId());
+      }
+      if (exposure.customerId() != null) {
+         customerIds.add(exposure.customerId());
+      }
+   }
+
+   private static OffenderSummary fromHistory(InfractionHistory history) {
+      return OffenderSummary.EMPTY.plus(history.total().intValue(), 0, BigDecimal.ZERO, history.lastInfractionAt());
+   }
+
+   // ========================= TIPOS =========================
+
+   /**
+    * Cambio de una infracción.
+    *
+    * @param exposure aporte nuevo de la infracción
+    * @param total variación de infracciones registradas (1 alta, -1 baja, 0 cambio)
+    * @param detectedAt detección a considerar como última infracción (null en cambios)
+    * @param removed true si la infracción deja de contar
+    */
+   private record Change(InfractionExposure exposure, int total, LocalDateTime detectedAt, boolean removed) {
+   }
+
+   /**
+    * Índice publicado. Los resúmenes son inmutables y se reemplazan por
+    * entrada; solo se modifican bajo el monitor.
+    */
+   private static final class State {
+
+      private final Map<Long, OffenderSummary> byVehicle = new ConcurrentHashMap<>();
+      private final Map<Long, OffenderSummary> byCustomer = new ConcurrentHashMap<>();
+      private final Map<Long, InfractionExposure> exposures = new ConcurrentHashMap<>();
+
+      /** Desde cuándo se releen los cambios de otras réplicas (inicio de la última carga o relectura) */
+      private LocalDateTime syncedFrom;
+
+      private State(LocalDateTime syncedFrom) {
+         this.syncedFrom = syncedFrom;
+      }
+
+      private void apply(Change change) {
+         InfractionExposure exposure = change.exposure();
+
+         InfractionExposure before = exposures.remove(exposure.id());
+         if (before != null) {
+            contribute(before, -1);
+         }
+         if (!change.removed() && !exposure.isSettled()) {
+            exposures.put(exposure.id(), exposure);
+            contribute(exposure, 1);
+         }
+
+         if (change.total() != 0 || change.detectedAt() != null) {
+            merge(byVehicle, exposure.vehicleId(), change.total(), 0, BigDecimal.ZERO, change.detectedAt());
+            merge(byCustomer, exposure.customerId(), change.total(), 0, BigDecimal.ZERO, change.detectedAt());
+         }
+      }
+
+      /**
+       * Suma (sign = 1) o resta (sign = -1) el aporte de una infracción.
+       */
+      private void contribute(InfractionExposure exposure, int sign) {
+         int open = exposure.isOpen() ? sign : 0;
+         BigDecimal unpaid = sign > 0 ? exposure.unpaidAmount() : exposure.unpaidAmount().negate();
+         merge(byVehicle, exposure.vehicleId(), 0, open, unpaid, null);
+         merge(byCustomer, exposure.customerId(), 0, open, unpaid, null);
+      }
+
+      private static void merge(Map<Long, OffenderSummary> summaries, Long ownerId,
+                                int total, int open, BigDecimal unpaid, LocalDateTime detectedAt) {
+         if (ownerId == null) {
+            return;
+         }
+         summaries.compute(ownerId, (id, summary) -> orNull(
+               (summary != null ? summary : OffenderSummary.EMPTY).plus(total, open, unpaid, detectedAt)));
+      }
+
+      /**
+       * Reemplaza total y última detección de los dueños dados con lo leído
+       * de la BD; abiertas y monto sin pagar salen de los aportes.
+       */
+      private static void replaceHistory(Map<Long, OffenderSummary> summaries, Set<Long> ownerIds,
+                                         List<InfractionHistory> histories) {
+         Map<Long, InfractionHistory> byOwner = new HashMap<>();
+         histories.forEach(history -> byOwner.put(history.ownerId(), history));
+
+         for (Long ownerId : ownerIds) {
+            InfractionHistory history = byOwner.get(ownerId);
+            summaries.compute(ownerId, (id, summary) -> {
+               OffenderSummary known = summary != null ? summary : OffenderSummary.EMPTY;
+               return orNull(new OffenderSummary(
+                     history != null ? history.total().intValue() : 0,
+                     known.openInfractions(),
+                     known.unpaidFineTotal(),
+                     history != null ? history.lastInfractionAt() : null));
+            });
+         }
+      }
+
+      /**
+       * null (se elimina la entrada) si ya no hay antecedentes.
+       */
+      private static OffenderSummary orNull(OffenderSummary summary) {
+         return summary.isEmpty() ? null : summary;
+      }
+   }
+
+   /**
+    * Aplica los cambios de una transacción al confirmarse. Desde antes del
+    * commit hasta aplicarlos, ninguna carga del índice se publica.
+    */
+   private final class PendingChanges implements TransactionSynchronization {
+
+      private final List<Change> changes;
+      private boolean counted;
+
+      private PendingChanges(List<Change> changes) {
+         this.changes = changes;
+      }
+
+      @Override
+      public void beforeCommit(boolean readOnly) {
+         commits.incrementAndGet();
+         committing.incrementAndGet();
+         counted = true;
+      }
+
+      @Override
+      public void afterCommit() {
+         apply(changes);
+      }
+
+      @Override
+      public void afterCompletion(int status) {
+         TransactionSynchronizationManager.unbindResourceIfPossible(OffenderIndex.this);
+         if (counted) {
+            committing.decrementAndGet();
+         }
+      }
+   }
+}
@@ -0,0 +1,286 @@
+package com.winnersystems.smartparking.parking.application.service.operatorassignment;
+
+import com.winnersystems.smartparking.parking.application.port.output.CacheVersionPersistencePort;
+import com.winnersystems.smartparking.parking.application.port.output.OperatorAssignmentPersistencePort;
+import com.winnersystems.smartparking.parking.application.port.output.ShiftPersistencePort;
+import com.winnersystems.smartparking.parking.domain.model.OperatorAssignment;
+import com.winnersystems.smartparking.parking.domain.model.Shift;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Índice en memoria de operadores en servicio: qué asignaciones cubren una
+ * zona en un instante dado (fecha + hora).
+ *
+ * Estructura, por zona:
+ * - Una línea de tiempo ordenada por fecha (TreeMap) cortada en cada
+ *   startDate y endDate de sus asignaciones
+ * - Cada tramo guarda las asignaciones vigentes en esos días, con la
+ *   ventana horaria de su turno
+ * - Una consulta son dos floorEntry (el día y el anterior, por los turnos
+ *   que cruzan medianoche) más el filtro de la hora sobre el tramo:
+ *   O(log n) en el número de cortes, sin ir a la BD
+ * - Solo carga las asignaciones que no habían terminado el día anterior a
+ *   la carga; una consulta de una fecha previa lee de la BD las
+ *   asignaciones de esa zona, sin guardarlas
+ *
+ * Semántica (igual que OperatorAssignment.isActive y Shift.isWithinShift):
+ * - Una asignación cubre los días startDate <= día < endDate
+ * - La ventana del turno incluye ambos extremos
+ * - La parte de un turno nocturno después de medianoche pertenece al día
+ *   en que empezó el turno
+ * - Los turnos inactivos, eliminados o sin horario no cuentan
+ *
+ * Escrituras (OperatorAssignmentService, ShiftService):
+ * - Cada transacción que cambia asignaciones o turnos descarta el índice
+ *   al confirmarse; la siguiente lectura lo reconstruye completo (una
+ *   consulta de asignaciones no terminadas, turnos desde el catálogo en
+ *   memoria)
+ * - Mientras la transacción que escribió siga abierta, lo que ella lea no
+ *   se publica a los demás hilos
+ * - Cada transacción con cambios incrementa la versión de la región
+ *   "on-duty"; las demás réplicas descartan su índice al detectarlo
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Component
+public class OnDutyIndex {
+
+   /** Región de caché compartida entre réplicas */
+   public static final String REGION = "on-duty";
+
+   private final OperatorAssignmentPersistencePort operatorAssignmentPersistencePort;
+   private final ShiftPersistencePort shiftPersistencePort;
+   private final CacheVersionPersistencePort cacheVersionPersistencePort;
+
+   private final AtomicReference<Schedule> current = new AtomicReference<>();
+
+   public OnDutyIndex(OperatorAssignmentPersistencePort operatorAssignmentPersistencePort,
+                      ShiftPersistencePort shiftPersistencePort,
+                      CacheVersionPersistencePort cacheVersionPersistencePort) {
+      this.operatorAssignmentPersistencePort = operatorAssignmentPersistencePort;
+      this.shiftPersistencePort = shiftPersistencePort;
+      this.cacheVersionPersistencePort = cacheVersionPersistencePort;
+   }
+
+   // ========================= LECTURA =========================
+
+   /**
+    * Asignaciones de la zona cuyo turno está en curso en ese instante.
+    *
+    * @param zoneId ID de la zona
+    * @param at fecha y hora a consultar
+    * @return asignaciones en servicio (vacío si la zona no tiene ninguna)
+    */
+   public List<OperatorAssignment> onDuty(Long zoneId, LocalDateTime at) {
+      Schedule schedule = state();
+      LocalDate day = at.toLocalDate();
+      // El turno nocturno del día anterior también cuenta: ese día debe estar en el índice
+      NavigableMap<LocalDate, List<Slot>> timeline = day.minusDays(1).isBefore(schedule.from())
+            ? loadZone(zoneId)
+            : schedule.byZone().get(zoneId);
+      if (timeline == null) {
+         return List.of();
+      }
+
+      LocalTime time = at.toLocalTime();
+      List<OperatorAssignment> onDuty = new ArrayList<>();
+      for (Slot slot : slotsOn(timeline, day)) {
+         if (slot.startedOnSameDay(time)) {
+            onDuty.add(slot.assignment());
+         }
+      }
+      for (Slot slot : slotsOn(timeline, day.minusDays(1))) {
+         if (slot.carriedOverFromPreviousDay(time)) {
+            onDuty.add(slot.assignment());
+         }
+      }
+      return onDuty;
+   }
+
+   // ========================= ESCRITURA =========================
+
+   /**
+    * Marca el índice como desactualizado. Llamar dentro de la transacción
+    * que cambia asignaciones o turnos.
+    */
+   public void changed() {
+      if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+         cacheVersionPersistencePort.increment(REGION);
+         invalidate();
+         return;
+      }
+      if (hasPendingWrites()) {
+         return;
+      }
+
+      cacheVersionPersistencePort.increment(REGION);
+      TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+         @Override
+         public void afterCommit() {
+            invalidate();
+         }
+
+         @Override
+         public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(OnDutyIndex.this);
+         }
+      });
+   }
+
+   /**
+    * Descarta el índice; la siguiente lectura lo reconstruye completo.
+    */
+   public synchronized void invalidate() {
+      current.set(null);
+   }
+
+   // ========================= HELPERS =========================
+
+   private Schedule state() {
+      Schedule schedule = current.get();
+      return schedule != null ? schedule : load();
+   }
+
+   private synchronized Schedule load() {
+      // Otro hilo pudo construirlo mientras esperábamos el monitor
+      Schedule schedule = current.get();
+      if (schedule != null) {
+         return schedule;
+      }
+
+      LocalDate from = LocalDate.now().minusDays(1);
+      Schedule loaded = new Schedule(from, new HashMap<>());
+      slotsByZone(operatorAssignmentPersistencePort.findAllNotEndedBy(from))
+            .forEach((zoneId, slots) -> loaded.byZone().put(zoneId, timeline(slots)));
+
+      if (!hasPendingWrites()) {
+         current.set(loaded);
+      }
+      return loaded;
+   }
+
+   /**
+    * Línea de tiempo de una zona leída de la BD, sin publicarla (consultas
+    * de fechas anteriores al índice).
+    */
+   private NavigableMap<LocalDate, List<Slot>> loadZone(Long zoneId) {
+      List<Slot> slots = slotsByZone(operatorAssignmentPersistencePort.findByZoneId(zoneId)).get(zoneId);
+      return slots != null ? timeline(slots) : null;
+   }
+
+   /**
+    * Asignaciones que cubren algún día, agrupadas por zona con la ventana
+    * horaria de su turno (los turnos no utilizables se descartan).
+    */
+   private Map<Long, List<Slot>> slotsByZone(List<OperatorAssignment> assignments) {
+      Map<Long, Optional<Shift>> shifts = new HashMap<>();
+      Map<Long, List<Slot>> slotsByZone = new HashMap<>();
+      for (OperatorAssignment assignment : assignments) {
+         if (!coversAnyDay(assignment)) {
+            continue;
+         }
+         shifts.computeIfAbsent(assignment.getShiftId(), shiftPersistencePort::findById)
+               .filter(Shift::isUsable)
+               .ifPresent(shift -> slotsByZone.computeIfAbsent(assignment.getZoneId(), zoneId -> new ArrayList<>())
+                     .add(new Slot(assignment, shift.getStartTime(), shift.getEndTime())));
+      }
+      return slotsByZone;
+   }
+
+   /**
+    * Corta la línea de tiempo en cada inicio y fin de asignación. Cada
+    * tramo queda con las asignaciones vigentes desde su fecha hasta el
+    * siguiente corte.
+    */
+   private static NavigableMap<LocalDate, List<Slot>> timeline(List<Slot> slots) {
+      Map<LocalDate, List<Slot>> starting = new HashMap<>();
+      Map<LocalDate, List<Slot>> ending = new HashMap<>();
+      Set<LocalDate> cuts = new TreeSet<>();
+      for (Slot slot : slots) {
+         LocalDate start = slot.assignment().getStartDate();
+         LocalDate end = slot.assignment().getEndDate();
+         starting.computeIfAbsent(start, day -> new ArrayList<>()).add(slot);
+         cuts.add(start);
+         if (end != null) {
+            ending.computeIfAbsent(end, day -> new ArrayList<>()).add(slot);
+            cuts.add(end);
+         }
+      }
+
+      NavigableMap<LocalDate, List<Slot>> timeline = new TreeMap<>();
+      Set<Slot> active = new LinkedHashSet<>();
+      for (LocalDate cut : cuts) {
+         ending.getOrDefault(cut, List.of()).forEach(active::remove);
+         active.addAll(starting.getOrDefault(cut, List.of()));
+         timeline.put(cut, List.copyOf(active));
+      }
+      return timeline;
+   }
+
+   private static List<Slot> slotsOn(NavigableMap<LocalDate, List<Slot>> timeline, LocalDate day) {
+      Map.Entry<LocalDate, List<Slot>> segment = timeline.floorEntry(day);
+      return segment != null ? segment.getValue() : List.of();
+   }
+
+   /**
+    * false si la asignación no cubre ningún día (sin inicio, o termina el mismo día que empieza).
+    */
+   private static boolean coversAnyDay(OperatorAssignment assignment) {
+      LocalDate start = assignment.getStartDate();
+      LocalDate end = assignment.getEndDate();
+      return start != null && assignment.getZoneId() != null && assignment.getShiftId() != null
+            && (end == null || end.isAfter(start));
+   }
+
+   private boolean hasPendingWrites() {
+      return TransactionSynchronizationManager.hasResource(this);
+   }
+
+   // ========================= TIPOS =========================
+
+   /**
+    * Asignación con la ventana horaria de su turno.
+    */
+   private record Slot(OperatorAssignment assignment, LocalTime start, LocalTime end) {
+
+      private boolean crossesMidnight() {
+         return end.isBefore(start);
+      }
+
+      /** La hora cae en el turno que empezó ese mismo día */
+      private boolean startedOnSameDay(LocalTime time) {
+         return !time.isBefore(start) && (crossesMidnight() || !time.isAfter(end));
+      }
+
+      /** La hora cae en la parte después de medianoche del turno que empezó el día anterior */
+      private boolean carriedOverFromPreviousDay(LocalTime time) {
+         return crossesMidnight() && !time.isAfter(end);
+      }
+   }
+
+   /**
+    * Índice publicado: línea de tiempo por zona, válida desde from. No se
+    * modifica una vez publicado.
+    */
+   private record Schedule(LocalDate from, Map<Long, NavigableMap<LocalDate, List<Slot>>> byZone) {
+   }
+}
@@ -1,11 +1,14 @@
 package com.winnersystems.smartparking.parking.application.service.operatorassignment;
 
 import com.winnersystems.smartparking.parking.application.dto.command.AssignOperatorsCommand;
+import com.winnersystems.smartparking.parking.application.dto.command.ImportRosterCommand;
 import com.winnersystems.smartparking.parking.application.dto.command.UpdateOperatorAssignmentCommand;
 import com.winnersystems.smartparking.parking.application.dto.query.OperatorAssignmentDetailDto;
 import com.winnersystems.smartparking.parking.application.dto.query.OperatorAssignmentDto;
+import com.winnersystems.smartparking.parking.application.dto.query.ZoneNode;
 import com.winnersystems.smartparking.parking.application.port.input.operatorassignment.*;
 import com.winnersystems.smartparking.parking.application.port.output.*;
+import com.winnersystems.smartparking.parking.application.service.topology.TopologyCache;
 import com.winnersystems.smartparking.parking.domain.model.OperatorAssignment;
 import com.winnersystems.smartparking.parking.domain.model.Shift;
 import com.winnersystems.smartparking.parking.domain.model.Zone;
@@ -15,7 +18,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -25,6 +34,12 @@ import java.util.stream.Collectors;
  * Este servicio NO llama a auth-service directamente, esa responsabilidad
  * está en la capa de Infrastructure (REST Adapter).
  *
+ * Nombres de zona y turno: TopologyCache y el catálogo de turnos, sin
+ * consultas por asignación en los listados.
+ *
+ * Operadores en servicio: OnDutyIndex. Cada escritura de asignaciones lo
+ * marca como desactualizado.
+ *
  * @author Edwin Yoner - Winner Systems - Smart Parking Platform
  * @version 1.0
  */
@@ -34,7 +49,9 @@ import java.util.stream.Collectors;
 @Transactional
 public class OperatorAssignmentService implements
       AssignOperatorsUseCase,
+      ImportRosterUseCase,
       ListOperatorAssignmentsUseCase,
+      ListOnDutyOperatorsUseCase,
       GetOperatorAssignmentUseCase,
       EndOperatorAssignmentUseCase,
       UpdateOperatorAssignmentUseCase {
@@ -45,6 +62,14 @@ public class OperatorAssignmentService implements
    private final ZonePersistencePort zonePersistencePort;
    private final ShiftPersistencePort shiftPersistencePort;
 
+   // ========================= TOPOLOGÍA =========================
+
+   private final TopologyCache topologyCache;
+
+   // ========================= OPERADORES EN SERVICIO =========================
+
+   private final OnDutyIndex onDutyIndex;
+
    // ========================= ASSIGN OPERATORS =========================
 
    @Override
@@ -53,7 +78,7 @@ public class OperatorAssignmentService implements
             command.assignments().size(), command.zoneId(), command.shiftId());
 
       // 1. Validar que la zona existe
-      Zone zone = zonePersistencePort.findById(command.zoneId())
+      ZoneNode zone = topologyCache.findZone(command.zoneId())
             .orElseThrow(() -> new IllegalArgumentException(
                   "Zona no encontrada con ID: " + command.zoneId()));
 
@@ -62,21 +87,21 @@ public class OperatorAssignmentService implements
             .orElseThrow(() -> new IllegalArgumentException(
                   "Turno no encontrado con ID: " + command.shiftId()));
 
-      // 3. Crear asignaciones
+      // 3. Verificar asignaciones activas de todos los operadores (una consulta)
+      List<Long> alreadyAssigned = operatorAssignmentPersistencePort.findOperatorIdsWithActiveAssignment(
+            command.assignments().stream().map(AssignOperatorsCommand.OperatorAssignmentData::operatorId).toList(),
+            command.zoneId(), command.shiftId());
+
+      if (!alreadyAssigned.isEmpty()) {
+         log.warn("Operadores {} ya tienen asignación activa en zona {} turno {}",
+               alreadyAssigned, command.zoneId(), command.shiftId());
+         throw new IllegalArgumentException(
+               "El operador " + alreadyAssigned.get(0) + " ya tiene una asignación activa en esta zona y turno");
+      }
+
+      // 4. Crear asignaciones
       List<OperatorAssignment> assignments = command.assignments().stream()
             .map(data -> {
-               // Verificar si ya existe asignación activa
-               boolean exists = operatorAssignmentPersistencePort.existsActiveAssignment(
-                     data.operatorId(), command.zoneId(), command.shiftId());
-
-               if (exists) {
-                  log.warn("Operador {} ya tiene asignación activa en zona {} turno {}",
-                        data.operatorId(), command.zoneId(), command.shiftId());
-                  throw new IllegalArgumentException(
-                        "El operador ya tiene una asignación activa en esta zona y turno");
-               }
-
-               // Crear asignación
                LocalDate startDate = data.startDate() != null ? data.startDate() : LocalDate.now();
                OperatorAssignment assignment = new OperatorAssignment(
                      data.operatorId(),
@@ -90,20 +115,21 @@ public class OperatorAssignmentService implements
             })
             .collect(Collectors.toList());
 
-      // 4. Guardar todas las asignaciones
+      // 5. Guardar todas las asignaciones
       List<OperatorAssignment> savedAssignments =
             operatorAssignmentPersistencePort.saveAll(assignments);
+      onDutyIndex.changed();
 
       log.debug("{} asignaciones creadas exitosamente", savedAssignments.size());
 
-      // 5. Mapear a DTOs simplificados
+      // 6. Mapear a DTOs simplificados
       return savedAssignments.stream()
             .map(a -> new OperatorAssignmentDto(
                   a.getId(),
                   a.getOperatorId(),
                   null,  // operatorName - se cargará en Infrastructure
                   a.getZoneId(),
-                  zone.getName(),
+                  zone.name(),
                   a.getShiftId(),
                   shift.getName(),
                   a.getStartDate(),
@@ -114,6 +140,37 @@ public class OperatorAssignmentService implements
             .collect(Collectors.toList());
    }
 
+   // ========================= IMPORT ROSTER =========================
+
+   @Override
+   public List<OperatorAssignmentDto> importRoster(ImportRosterCommand command) {
+      List<ImportRosterCommand.RosterEntry> entries = command.entries();
+      if (entries == null || entries.isEmpty()) {
+         throw new IllegalArgumentException("El rol no tiene filas");
+      }
+      if (entries.size() > MAX_ENTRIES) {
+         throw new IllegalArgumentException("El rol no puede tener más de " + MAX_ENTRIES + " filas");
+      }
+      log.debug("Importando rol de {} asignaciones", entries.size());
+
+      // 1. Validar filas (zonas y turnos en memoria, sin consultas por fila)
+      List<OperatorAssignment> assignments = new ArrayList<>(entries.size());
+      for (int i = 0; i < entries.size(); i++) {
+         assignments.add(toRosterAssignment(i + 1, entries.get(i), command.createdBy()));
+      }
+
+      // 2. Cruces con asignaciones existentes y dentro del mismo rol (una consulta)
+      checkRosterConflicts(assignments);
+
+      // 3. Guardar en lote
+      List<OperatorAssignment> saved = operatorAssignmentPersistencePort.saveAll(assignments);
+      onDutyIndex.changed();
+
+      log.debug("Rol importado: {} asignaciones creadas", saved.size());
+
+      return mapToSimpleDtos(saved);
+   }
+
    // ========================= LIST ASSIGNMENTS =========================
 
    @Override
@@ -152,6 +209,21 @@ public class OperatorAssignmentService implements
       return mapToSimpleDtos(assignments);
    }
 
+   // ========================= ON DUTY =========================
+
+   @Override
+   @Transactional(readOnly = true)
+   public List<OperatorAssignmentDto> listOnDuty(Long zoneId, LocalDateTime at) {
+      LocalDateTime instant = at != null ? at : LocalDateTime.now();
+      log.debug("Listando operadores en servicio en zona {} a las {}", zoneId, instant);
+
+      if (topologyCache.findZone(zoneId).isEmpty()) {
+         throw new IllegalArgumentException("Zona no encontrada con ID: " + zoneId);
+      }
+
+      return mapToSimpleDtos(onDutyIndex.onDuty(zoneId, instant));
+   }
+
    // ========================= GET ASSIGNMENT =========================
 
    @Override
@@ -208,6 +280,7 @@ public class OperatorAssignmentService implements
       assignment.setUpdatedBy(updatedBy);
 
       OperatorAssignment updated = operatorAssignmentPersistencePort.save(assignment);
+      onDutyIndex.changed();
 
       log.debug("Asignación finalizada");
 
@@ -226,6 +299,7 @@ public class OperatorAssignmentService implements
       assignment.setUpdatedBy(updatedBy);
 
       OperatorAssignment updated = operatorAssignmentPersistencePort.save(assignment);
+      onDutyIndex.changed();
 
       log.debug("Asignación finalizada en {}", endDate);
 
@@ -263,6 +337,7 @@ public class OperatorAssignmentService implements
       assignment.setUpdatedBy(command.updatedBy());
 
       OperatorAssignment updated = operatorAssignmentPersistencePort.save(assignment);
+      onDutyIndex.changed();
 
       log.debug("Asignación actualizada");
 
@@ -271,29 +346,126 @@ public class OperatorAssignmentService implements
 
    // ========================= HELPER METHODS =========================
 
+   /**
+    * Convierte una lista de asignaciones resolviendo cada zona y turno una
+    * sola vez (TopologyCache y catálogo de turnos, sin consultas por fila).
+    */
    private List<OperatorAssignmentDto> mapToSimpleDtos(List<OperatorAssignment> assignments) {
+      Map<Long, String> zoneNames = new HashMap<>();
+      Map<Long, String> shiftNames = new HashMap<>();
       return assignments.stream()
-            .map(this::mapToSimpleDto)
+            .map(assignment -> toSimpleDto(assignment,
+                  zoneNames.computeIfAbsent(assignment.getZoneId(), this::zoneName),
+                  shiftNames.computeIfAbsent(assignment.getShiftId(), this::shiftName)))
             .collect(Collectors.toList());
    }
 
    private OperatorAssignmentDto mapToSimpleDto(OperatorAssignment assignment) {
-      // Cargar zona y turno
-      Zone zone = zonePersistencePort.findById(assignment.getZoneId()).orElse(null);
-      Shift shift = shiftPersistencePort.findById(assignment.getShiftId()).orElse(null);
+      return toSimpleDto(assignment, zoneName(assignment.getZoneId()), shiftName(assignment.getShiftId()));
+   }
 
+   private OperatorAssignmentDto toSimpleDto(OperatorAssignment assignment, String zoneName, String shiftName) {
       return new OperatorAssignmentDto(
             assignment.getId(),
             assignment.getOperatorId(),
             null,  // operatorName - se cargará en Infrastructure
             assignment.getZoneId(),
-            zone != null ? zone.getName() : null,
+            zoneName,
             assignment.getShiftId(),
-            shift != null ? shift.getName() : null,
+            shiftName,
             assignment.getStartDate(),
             assignment.getEndDate(),
             assignment.getStatus(),
             assignment.getCreatedAt()
       );
    }
+
+   private String zoneName(Long zoneId) {
+      return topologyCache.findZone(zoneId).map(ZoneNode::name).orElse(null);
+   }
+
+   private String shiftName(Long shiftId) {
+      return shiftId != null ? shiftPersistencePort.findById(shiftId).map(Shift::getName).orElse(null) : null;
+   }
+
+   /**
+    * Valida una fila del rol y la convierte en asignación.
+    *
+    * @param row número de fila (desde 1) para los mensajes de error
+    */
+   private OperatorAssignment toRosterAssignment(int row, ImportRosterCommand.RosterEntry entry, Long createdBy) {
+      if (entry.operatorId() == null || entry.zoneId() == null || entry.shiftId() == null
+            || entry.startDate() == null) {
+         throw new IllegalArgumentException(
+               "Fila " + row + ": operador, zona, turno y fecha de inicio son obligatorios");
+      }
+      if (topologyCache.findZone(entry.zoneId()).isEmpty()) {
+         throw new IllegalArgumentException(
+               "Fila " + row + ": zona no encontrada con ID: " + entry.zoneId());
+      }
+      if (shiftPersistencePort.findById(entry.shiftId()).isEmpty()) {
+         throw new IllegalArgumentException(
+               "Fila " + row + ": turno no encontrado con ID: " + entry.shiftId());
+      }
+
+      OperatorAssignment assignment = new OperatorAssignment(
+            entry.operatorId(),
+            entry.zoneId(),
+            entry.shiftId(),
+            entry.startDate(),
+            entry.endDate()
+      );
+      if (!assignment.hasValidDates()) {
+         throw new IllegalArgumentException(
+               "Fila " + row + ": endDate no puede ser anterior a startDate");
+      }
+      assignment.setCreatedBy(createdBy);
+      return assignment;
+   }
+
+   /**
+    * Un operador no puede quedar dos veces en el mismo turno en fechas que
+    * se cruzan (aunque sea en zonas distintas).
+    *
+    * Trae de una vez las asignaciones vigentes de todos los operadores del
+    * rol y compara en memoria, agrupando por operador y turno.
+    */
+   private void checkRosterConflicts(List<OperatorAssignment> assignments) {
+      LocalDate from = assignments.stream()
+            .map(OperatorAssignment::getStartDate)
+            .min(LocalDate::compareTo)
+            .orElseThrow();
+      Set<Long> operatorIds = assignments.stream()
+            .map(OperatorAssignment::getOperatorId)
+            .collect(Collectors.toSet());
+
+      Map<RosterSlot, List<OperatorAssignment>> bySlot = new HashMap<>();
+      for (OperatorAssignment existing : operatorAssignmentPersistencePort.findNotEndedBy(operatorIds, from)) {
+         bySlot.computeIfAbsent(RosterSlot.of(existing), slot -> new ArrayList<>()).add(existing);
+      }
+
+      for (int i = 0; i < assignments.size(); i++) {
+         OperatorAssignment assignment = assignments.get(i);
+         List<OperatorAssignment> sameSlot = bySlot.computeIfAbsent(RosterSlot.of(assignment), slot -> new ArrayList<>());
+         Optional<OperatorAssignment> conflict = sameSlot.stream().filter(assignment::overlaps).findFirst();
+         if (conflict.isPresent()) {
+            String with = conflict.get().getId() != null
+                  ? "la asignación " + conflict.get().getId()
+                  : "otra fila del rol";
+            throw new IllegalArgumentException("Fila " + (i + 1) + ": el operador " + assignment.getOperatorId()
+                  + " ya está en el turno " + assignment.getShiftId() + " en fechas que se cruzan con " + with);
+         }
+         sameSlot.add(assignment);
+      }
+   }
+
+   /**
+    * Operador y turno: dos asignaciones del mismo slot no pueden cruzarse en fechas.
+    */
+   private record RosterSlot(Long operatorId, Long shiftId) {
+
+      static RosterSlot of(OperatorAssignment assignment) {
+         return new RosterSlot(assignment.getOperatorId(), assignment.getShiftId());
+      }
+   }
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import com.winnersystems.smartparking.parking.application.dto.query.PagedRespons
 import com.winnersystems.smartparking.parking.application.dto.query.ParkingDto;
 import com.winnersystems.smartparking.parking.application.port.input.parking.*;
 import com.winnersystems.smartparking.parking.application.port.output.ParkingPersistencePort;
+import com.winnersystems.smartparking.parking.application.service.topology.TopologyCache;
 import com.winnersystems.smartparking.parking.domain.model.Parking;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,9 +32,11 @@ public class ParkingService implements
       ToggleParkingStatusUseCase {
 
    private final ParkingPersistencePort parkingPersistencePort;
+   private final TopologyCache topologyCache;
 
-   public ParkingService(ParkingPersistencePort parkingPersistencePort) {
+   public ParkingService(ParkingPersistencePort parkingPersistencePort, TopologyCache topologyCache) {
       this.parkingPersistencePort = parkingPersistencePort;
+      this.topologyCache = topologyCache;
    }
 
    // ========================= CREATE =========================
@@ -62,7 +65,7 @@ public class ParkingService implements
 
       parking.validate();
 
-      return mapToDto(parkingPersistencePort.save(parking));
+      return mapToDto(save(parking));
    }
 
    // ========================= UPDATE =========================
@@ -97,7 +100,7 @@ public class ParkingService implements
 
       parking.validate();
 
-      return mapToDto(parkingPersistencePort.save(parking));
+      return mapToDto(save(parking));
    }
 
    // ========================= DELETE =========================
@@ -106,7 +109,7 @@ public class ParkingService implements
    public void deleteParking(Long parkingId) {
       Parking parking = findParkingOrThrow(parkingId);
       parking.markAsDeleted(null); // TODO: userId desde SecurityContext
-      parkingPersistencePort.save(parking);
+      save(parking);
    }
 
    // ========================= GET =========================
@@ -146,35 +149,35 @@ public class ParkingService implements
       } else {
          parking.activate();
       }
-      return mapToDto(parkingPersistencePort.save(parking));
+      return mapToDto(save(parking));
    }
 
    @Override
    public ParkingDto activateParking(Long parkingId) {
       Parking parking = findParkingOrThrow(parkingId);
       parking.activate();
-      return mapToDto(parkingPersistencePort.save(parking));
+      return mapToDto(save(parking));
    }
 
    @Override
    public ParkingDto deactivateParking(Long parkingId) {
       Parking parking = findParkingOrThrow(parkingId);
       parking.deactivate();
-      return mapToDto(parkingPersistencePort.save(parking));
+      return mapToDto(save(parking));
    }
 
    @Override
    public ParkingDto setInMaintenance(Long parkingId) {
       Parking parking = findParkingOrThrow(parkingId);
       parking.setInMaintenance();
-      return mapToDto(parkingPersistencePort.save(parking));
+      return mapToDto(save(parking));
    }
 
    @Override
    public ParkingDto setOutOfService(Long parkingId) {
       Parking parking = findParkingOrThrow(parkingId);
       parking.setOutOfService();
-      return mapToDto(parkingPersistencePort.save(parking));
+      return mapToDto(save(parking));
    }
 
    // ========================= HELPERS PRIVADOS =========================
@@ -186,6 +189,15 @@ public class ParkingService implements
             ));
    }
 
+   /**
+    * Guarda y refleja el cambio en la topología en memoria.
+    */
+   private Parking save(Parking parking) {
+      Parking saved = parkingPersistencePort.save(parking);
+      topologyCache.parkingSaved(saved);
+      return saved;
+   }
+
    // ========================= MAPPER =========================
 
    private ParkingDto mapToDto(Parking parking) {
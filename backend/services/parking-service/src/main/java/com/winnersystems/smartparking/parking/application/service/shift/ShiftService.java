@@ -8,6 +8,7 @@ import com.winnersystems.smartparking.parking.application.dto.query.PagedRespons
 import com.winnersystems.smartparking.parking.application.dto.query.ShiftDto;
 import com.winnersystems.smartparking.parking.application.port.input.shift.*;
 import com.winnersystems.smartparking.parking.application.port.output.ShiftPersistencePort;
+import com.winnersystems.smartparking.parking.application.service.operatorassignment.OnDutyIndex;
 import com.winnersystems.smartparking.parking.domain.model.Shift;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -35,8 +36,12 @@ public class ShiftService implements
 
    private final ShiftPersistencePort shiftPersistencePort;
 
-   public ShiftService(ShiftPersistencePort shiftPersistencePort) {
+   /** Los horarios y el estado de los turnos definen quién está en servicio */
+   private final OnDutyIndex onDutyIndex;
+
+   public ShiftService(ShiftPersistencePort shiftPersistencePort, OnDutyIndex onDutyIndex) {
       this.shiftPersistencePort = shiftPersistencePort;
+      this.onDutyIndex = onDutyIndex;
    }
 
    // ========================= CREATE =========================
@@ -104,6 +109,7 @@ public class ShiftService implements
 
       // Persistir cambios
       Shift updatedShift = shiftPersistencePort.save(shift);
+      onDutyIndex.changed();
 
       log.info("Turno actualizado");
       return mapToDto(updatedShift);
@@ -126,6 +132,7 @@ public class ShiftService implements
 
       // Persistir cambios
       shiftPersistencePort.save(shift);
+      onDutyIndex.changed();
 
       log.info("Turno eliminado (soft delete)");
    }
@@ -189,6 +196,7 @@ public class ShiftService implements
       }
 
       Shift updatedShift = shiftPersistencePort.save(shift);
+      onDutyIndex.changed();
 
       log.info("Estado cambiado a: {}", updatedShift.getStatus() ? "ACTIVO" : "INACTIVO");
       return mapToDto(updatedShift);
@@ -205,6 +213,7 @@ public class ShiftService implements
 
       shift.activate();
       Shift updatedShift = shiftPersistencePort.save(shift);
+      onDutyIndex.changed();
 
       log.info("Turno activado");
       return mapToDto(updatedShift);
@@ -221,6 +230,7 @@ public class ShiftService implements
 
       shift.deactivate();
       Shift updatedShift = shiftPersistencePort.save(shift);
+      onDutyIndex.changed();
 
       log.info("Turno desactivado");
       return mapToDto(updatedShift);
@@ -9,6 +9,7 @@ import com.winnersystems.smartparking.parking.application.dto.query.PagedRespons
 import com.winnersystems.smartparking.parking.application.dto.query.SpaceDto;
 import com.winnersystems.smartparking.parking.application.port.input.space.*;
 import com.winnersystems.smartparking.parking.application.port.output.SpacePersistencePort;
+import com.winnersystems.smartparking.parking.application.service.topology.TopologyCache;
 import com.winnersystems.smartparking.parking.domain.model.Space;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,9 +33,11 @@ public class SpaceService implements
       ToggleSpaceStatusUseCase {
 
    private final SpacePersistencePort spacePersistencePort;
+   private final TopologyCache topologyCache;
 
-   public SpaceService(SpacePersistencePort spacePersistencePort) {
+   public SpaceService(SpacePersistencePort spacePersistencePort, TopologyCache topologyCache) {
       this.spacePersistencePort = spacePersistencePort;
+      this.topologyCache = topologyCache;
    }
 
    // ========================= CREATE =========================
@@ -68,7 +71,7 @@ public class SpaceService implements
 
       space.validate();
 
-      return mapToDto(spacePersistencePort.save(space));
+      return mapToDto(save(space));
    }
 
    // ========================= UPDATE =========================
@@ -119,7 +122,7 @@ public class SpaceService implements
 
       space.validate();
 
-      return mapToDto(spacePersistencePort.save(space));
+      return mapToDto(save(space));
    }
 
    // ========================= DELETE =========================
@@ -128,7 +131,7 @@ public class SpaceService implements
    public void deleteSpace(Long spaceId) {
       Space space = findSpaceOrThrow(spaceId);
       space.markAsDeleted(null); // TODO: userId desde SecurityContext
-      spacePersistencePort.save(space);
+      save(space);
    }
 
    // ========================= GET =========================
@@ -178,7 +181,7 @@ public class SpaceService implements
          space.markAsAvailable();
       }
       // Si está OCCUPIED no se puede cambiar manualmente — solo por transacción
-      return mapToDto(spacePersistencePort.save(space));
+      return mapToDto(save(space));
    }
 
    @Override
@@ -189,28 +192,28 @@ public class SpaceService implements
                "El espacio no puede ser ocupado en su estado actual: " + space.getStatus()
          );
       }
-      return mapToDto(spacePersistencePort.save(space));
+      return mapToDto(save(space));
    }
 
    @Override
    public SpaceDto markAsAvailable(Long spaceId) {
       Space space = findSpaceOrThrow(spaceId);
       space.markAsAvailable();
-      return mapToDto(spacePersistencePort.save(space));
+      return mapToDto(save(space));
    }
 
    @Override
    public SpaceDto setInMaintenance(Long spaceId) {
       Space space = findSpaceOrThrow(spaceId);
       space.setInMaintenance();
-      return mapToDto(spacePersistencePort.save(space));
+      return mapToDto(save(space));
    }
 
    @Override
    public SpaceDto setOutOfService(Long spaceId) {
       Space space = findSpaceOrThrow(spaceId);
       space.setOutOfService();
-      return mapToDto(spacePersistencePort.save(space));
+      return mapToDto(save(space));
    }
 
    // ========================= HELPERS PRIVADOS =========================
@@ -222,6 +225,15 @@ public class SpaceService implements
             ));
    }
 
+   /**
+    * Guarda y refleja el cambio en la topología en memoria.
+    */
+   private Space save(Space space) {
+      Space saved = spacePersistencePort.save(space);
+      topologyCache.spaceSaved(saved);
+      return saved;
+   }
+
    // ========================= MAPPER =========================
 
    private SpaceDto mapToDto(Space space) {
@@ -0,0 +1,232 @@
+package com.winnersystems.smartparking.parking.application.service.topology;
+
+import com.winnersystems.smartparking.parking.application.dto.query.ParkingNode;
+import com.winnersystems.smartparking.parking.application.dto.query.SpaceNode;
+import com.winnersystems.smartparking.parking.application.dto.query.ZoneNode;
+import com.winnersystems.smartparking.parking.application.port.output.CacheVersionPersistencePort;
+import com.winnersystems.smartparking.parking.application.port.output.TopologyPersistencePort;
+import com.winnersystems.smartparking.parking.domain.model.Parking;
+import com.winnersystems.smartparking.parking.domain.model.Space;
+import com.winnersystems.smartparking.parking.domain.model.Zone;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Topología en memoria: resuelve nombres y códigos de parkings, zonas y
+ * espacios sin ir a la BD.
+ *
+ * Lecturas:
+ * - Sin bloqueo sobre la foto actual (TopologySnapshot)
+ * - La primera lectura construye la foto completa (tres consultas de proyección)
+ * - Si un ID no está en la foto se busca una vez en la BD y se agrega
+ *
+ * Escrituras (ParkingService, ZoneService, SpaceService):
+ * - Cada alta, cambio o borrado se aplica de forma incremental sobre una
+ *   copia de la foto, al confirmarse la transacción
+ * - Mientras la transacción que escribió siga abierta, lo que ella lea de
+ *   la BD no se publica a los demás hilos
+ * - Los cambios estructurales incrementan la versión de la región
+ *   "topology" en la misma transacción; las demás réplicas descartan su
+ *   foto al detectarlo (ver CacheVersionPersistencePort)
+ *
+ * El estado de ocupación de los espacios no está en la topología: entrada,
+ * salida y disponibilidad siguen consultando la BD.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Component
+public class TopologyCache {
+
+   /** Región de caché compartida entre réplicas */
+   public static final String REGION = "topology";
+
+   private final TopologyPersistencePort topologyPersistencePort;
+   private final CacheVersionPersistencePort cacheVersionPersistencePort;
+
+   private final AtomicReference<TopologySnapshot> current = new AtomicReference<>();
+
+   /** Cambia con cada escritura aplicada o invalidación */
+   private final AtomicLong version = new AtomicLong();
+
+   public TopologyCache(TopologyPersistencePort topologyPersistencePort,
+                        CacheVersionPersistencePort cacheVersionPersistencePort) {
+      this.topologyPersistencePort = topologyPersistencePort;
+      this.cacheVersionPersistencePort = cacheVersionPersistencePort;
+   }
+
+   // ========================= LECTURA =========================
+
+   public Optional<ParkingNode> findParking(Long parkingId) {
+      if (parkingId == null) {
+         return Optional.empty();
+      }
+      Optional<ParkingNode> node = snapshot().parking(parkingId);
+      return node.isPresent()
+            ? node
+            : readThrough(() -> topologyPersistencePort.findParking(parkingId), TopologySnapshot::withParking);
+   }
+
+   public Optional<ZoneNode> findZone(Long zoneId) {
+      if (zoneId == null) {
+         return Optional.empty();
+      }
+      Optional<ZoneNode> node = snapshot().zone(zoneId);
+      return node.isPresent()
+            ? node
+            : readThrough(() -> topologyPersistencePort.findZone(zoneId), TopologySnapshot::withZone);
+   }
+
+   public Optional<SpaceNode> findSpace(Long spaceId) {
+      if (spaceId == null) {
+         return Optional.empty();
+      }
+      Optional<SpaceNode> node = snapshot().space(spaceId);
+      return node.isPresent()
+            ? node
+            : readThrough(() -> topologyPersistencePort.findSpace(spaceId), TopologySnapshot::withSpace);
+   }
+
+   /**
+    * Foto actual, construyéndola si todavía no existe.
+    */
+   public TopologySnapshot snapshot() {
+      TopologySnapshot snapshot = current.get();
+      return snapshot != null ? snapshot : load();
+   }
+
+   // ========================= ESCRITURA =========================
+
+   public void parkingSaved(Parking parking) {
+      Long id = parking.getId();
+      ParkingNode node = ParkingNode.of(parking);
+      boolean deleted = parking.isDeleted();
+      if (!deleted && isCurrent(snapshot -> snapshot.parking(id), node)) {
+         return;
+      }
+      onCommit(snapshot -> deleted ? snapshot.withoutParking(id) : snapshot.withParking(node));
+   }
+
+   public void zoneSaved(Zone zone) {
+      Long id = zone.getId();
+      ZoneNode node = ZoneNode.of(zone);
+      boolean deleted = zone.isDeleted();
+      if (!deleted && isCurrent(snapshot -> snapshot.zone(id), node)) {
+         return;
+      }
+      onCommit(snapshot -> deleted ? snapshot.withoutZone(id) : snapshot.withZone(node));
+   }
+
+   /**
+    * Los cambios de ocupación (OCCUPIED / AVAILABLE) no tocan el nodo y no
+    * se publican a las demás réplicas.
+    */
+   public void spaceSaved(Space space) {
+      Long id = space.getId();
+      SpaceNode node = SpaceNode.of(space);
+      boolean deleted = space.isDeleted();
+      if (!deleted && isCurrent(snapshot -> snapshot.space(id), node)) {
+         return;
+      }
+      onCommit(snapshot -> deleted ? snapshot.withoutSpace(id) : snapshot.withSpace(node));
+   }
+
+   /**
+    * Descarta la foto; la siguiente lectura la reconstruye completa.
+    */
+   public synchronized void invalidate() {
+      version.incrementAndGet();
+      current.set(null);
+   }
+
+   // ========================= HELPERS =========================
+
+   private synchronized TopologySnapshot load() {
+      // Otro hilo pudo construirla mientras esperábamos el monitor
+      TopologySnapshot snapshot = current.get();
+      if (snapshot != null) {
+         return snapshot;
+      }
+
+      TopologySnapshot loaded = TopologySnapshot.of(
+            topologyPersistencePort.loadParkings(),
+            topologyPersistencePort.loadZones(),
+            topologyPersistencePort.loadSpaces()
+      );
+
+      if (!hasPendingWrites()) {
+         current.set(loaded);
+      }
+      return loaded;
+   }
+
+   private <N> Optional<N> readThrough(Supplier<Optional<N>> query,
+                                       BiFunction<TopologySnapshot, N, TopologySnapshot> merge) {
+      long before = version.get();
+      Optional<N> node = query.get();
+      node.ifPresent(found -> publish(before, found, merge));
+      return node;
+   }
+
+   private synchronized <N> void publish(long before, N node,
+                                         BiFunction<TopologySnapshot, N, TopologySnapshot> merge) {
+      // Si hubo escrituras mientras se consultaba, el nodo leído puede estar viejo
+      if (version.get() == before && !hasPendingWrites()) {
+         current.updateAndGet(snapshot -> snapshot != null ? merge.apply(snapshot, node) : null);
+      }
+   }
+
+   private synchronized void apply(UnaryOperator<TopologySnapshot> change) {
+      version.incrementAndGet();
+      current.updateAndGet(snapshot -> snapshot != null ? change.apply(snapshot) : null);
+   }
+
+   /**
+    * true si la foto ya tiene exactamente ese nodo (la escritura no cambió la estructura).
+    */
+   private <N> boolean isCurrent(Function<TopologySnapshot, Optional<N>> lookup, N node) {
+      TopologySnapshot snapshot = current.get();
+      return snapshot != null && lookup.apply(snapshot).filter(node::equals).isPresent();
+   }
+
+   /**
+    * Publica el cambio a las demás réplicas y lo aplica localmente al
+    * confirmar la transacción actual, o de inmediato si no hay una.
+    */
+   private void onCommit(UnaryOperator<TopologySnapshot> change) {
+      cacheVersionPersistencePort.increment(REGION);
+
+      if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+         apply(change);
+         return;
+      }
+
+      if (!TransactionSynchronizationManager.hasResource(this)) {
+         TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+      }
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+         @Override
+         public void afterCommit() {
+            apply(change);
+         }
+
+         @Override
+         public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TopologyCache.this);
+         }
+      });
+   }
+
+   private boolean hasPendingWrites() {
+      return TransactionSynchronizationManager.hasResource(this);
+   }
+}
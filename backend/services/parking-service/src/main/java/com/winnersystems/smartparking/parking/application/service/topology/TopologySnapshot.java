@@ -0,0 +1,252 @@
+package com.winnersystems.smartparking.parking.application.service.topology;
+
+import com.winnersystems.smartparking.parking.application.dto.query.ParkingNode;
+import com.winnersystems.smartparking.parking.application.dto.query.SpaceNode;
+import com.winnersystems.smartparking.parking.application.dto.query.ZoneNode;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Foto inmutable e indexada de la topología: parkings, zonas y espacios.
+ *
+ * Índices:
+ * - id → parking, id → zona, id → espacio
+ * - parking → IDs de sus zonas, zona → IDs de sus espacios (ID ascendente)
+ *
+ * Nunca se modifica: los métodos with/without devuelven una foto nueva que
+ * comparte los mapas que no cambiaron (copy-on-write). Los cambios
+ * estructurales son raros, así que copiar un índice por escritura es barato
+ * frente a una consulta por cada lectura.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public final class TopologySnapshot {
+
+   private final Map<Long, ParkingNode> parkings;
+   private final Map<Long, ZoneNode> zones;
+   private final Map<Long, SpaceNode> spaces;
+   private final Map<Long, List<Long>> zonesByParking;
+   private final Map<Long, List<Long>> spacesByZone;
+   private final LocalDateTime builtAt;
+
+   private TopologySnapshot(Map<Long, ParkingNode> parkings,
+                            Map<Long, ZoneNode> zones,
+                            Map<Long, SpaceNode> spaces,
+                            Map<Long, List<Long>> zonesByParking,
+                            Map<Long, List<Long>> spacesByZone,
+                            LocalDateTime builtAt) {
+      this.parkings = parkings;
+      this.zones = zones;
+      this.spaces = spaces;
+      this.zonesByParking = zonesByParking;
+      this.spacesByZone = spacesByZone;
+      this.builtAt = builtAt;
+   }
+
+   /**
+    * Construye la foto completa a partir de las proyecciones cargadas.
+    */
+   public static TopologySnapshot of(List<ParkingNode> parkings, List<ZoneNode> zones, List<SpaceNode> spaces) {
+      return new TopologySnapshot(
+            index(parkings, ParkingNode::id),
+            index(zones, ZoneNode::id),
+            index(spaces, SpaceNode::id),
+            group(zones, ZoneNode::parkingId, ZoneNode::id),
+            group(spaces, SpaceNode::zoneId, SpaceNode::id),
+            LocalDateTime.now()
+      );
+   }
+
+   // ========================= LECTURA =========================
+
+   public Optional<ParkingNode> parking(Long parkingId) {
+      return parkingId != null ? Optional.ofNullable(parkings.get(parkingId)) : Optional.empty();
+   }
+
+   public Optional<ZoneNode> zone(Long zoneId) {
+      return zoneId != null ? Optional.ofNullable(zones.get(zoneId)) : Optional.empty();
+   }
+
+   public Optional<SpaceNode> space(Long spaceId) {
+      return spaceId != null ? Optional.ofNullable(spaces.get(spaceId)) : Optional.empty();
+   }
+
+   /**
+    * Todos los parkings, en orden de ID.
+    */
+   public List<ParkingNode> parkings() {
+      return parkings.values().stream()
+            .sorted(Comparator.comparing(ParkingNode::id))
+            .toList();
+   }
+
+   /**
+    * Zonas de un parking, en orden de ID.
+    */
+   public List<ZoneNode> zonesOf(Long parkingId) {
+      return zonesByParking.getOrDefault(parkingId, List.of()).stream()
+            .map(zones::get)
+            .toList();
+   }
+
+   /**
+    * Espacios de una zona, en orden de ID.
+    */
+   public List<SpaceNode> spacesOf(Long zoneId) {
+      return spacesByZone.getOrDefault(zoneId, List.of()).stream()
+            .map(spaces::get)
+            .toList();
+   }
+
+   public int parkingCount() {
+      return parkings.size();
+   }
+
+   public int zoneCount() {
+      return zones.size();
+   }
+
+   public int spaceCount() {
+      return spaces.size();
+   }
+
+   public LocalDateTime builtAt() {
+      return builtAt;
+   }
+
+   // ========================= COPY-ON-WRITE - PARKING =========================
+
+   public TopologySnapshot withParking(ParkingNode node) {
+      if (node.equals(parkings.get(node.id()))) {
+         return this;
+      }
+      return new TopologySnapshot(put(parkings, node.id(), node), zones, spaces,
+            zonesByParking, spacesByZone, builtAt);
+   }
+
+   /**
+    * Quita el parking. Sus zonas se conservan: el borrado lógico de un
+    * parking no borra sus zonas en la BD.
+    */
+   public TopologySnapshot withoutParking(Long parkingId) {
+      if (!parkings.containsKey(parkingId)) {
+         return this;
+      }
+      return new TopologySnapshot(remove(parkings, parkingId), zones, spaces,
+            zonesByParking, spacesByZone, builtAt);
+   }
+
+   // ========================= COPY-ON-WRITE - ZONA =========================
+
+   public TopologySnapshot withZone(ZoneNode node) {
+      ZoneNode previous = zones.get(node.id());
+      if (node.equals(previous)) {
+         return this;
+      }
+      Map<Long, List<Long>> byParking = zonesByParking;
+      if (previous == null || !Objects.equals(previous.parkingId(), node.parkingId())) {
+         byParking = link(unlink(byParking, previous != null ? previous.parkingId() : null, node.id()),
+               node.parkingId(), node.id());
+      }
+      return new TopologySnapshot(parkings, put(zones, node.id(), node), spaces,
+            byParking, spacesByZone, builtAt);
+   }
+
+   /**
+    * Quita la zona. Sus espacios se conservan, igual que en la BD.
+    */
+   public TopologySnapshot withoutZone(Long zoneId) {
+      ZoneNode previous = zones.get(zoneId);
+      if (previous == null) {
+         return this;
+      }
+      return new TopologySnapshot(parkings, remove(zones, zoneId), spaces,
+            unlink(zonesByParking, previous.parkingId(), zoneId), spacesByZone, builtAt);
+   }
+
+   // ========================= COPY-ON-WRITE - ESPACIO =========================
+
+   public TopologySnapshot withSpace(SpaceNode node) {
+      SpaceNode previous = spaces.get(node.id());
+      if (node.equals(previous)) {
+         return this;
+      }
+      Map<Long, List<Long>> byZone = spacesByZone;
+      if (previous == null || !Objects.equals(previous.zoneId(), node.zoneId())) {
+         byZone = link(unlink(byZone, previous != null ? previous.zoneId() : null, node.id()),
+               node.zoneId(), node.id());
+      }
+      return new TopologySnapshot(parkings, zones, put(spaces, node.id(), node),
+            zonesByParking, byZone, builtAt);
+   }
+
+   public TopologySnapshot withoutSpace(Long spaceId) {
+      SpaceNode previous = spaces.get(spaceId);
+      if (previous == null) {
+         return this;
+      }
+      return new TopologySnapshot(parkings, zones, remove(spaces, spaceId),
+            zonesByParking, unlink(spacesByZone, previous.zoneId(), spaceId), builtAt);
+   }
+
+   // ========================= HELPERS =========================
+
+   private static <N> Map<Long, N> index(List<N> nodes, Function<N, Long> idOf) {
+      Map<Long, N> map = new HashMap<>();
+      nodes.forEach(node -> map.put(idOf.apply(node), node));
+      return Collections.unmodifiableMap(map);
+   }
+
+   private static <N> Map<Long, List<Long>> group(List<N> nodes, Function<N, Long> parentOf, Function<N, Long> idOf) {
+      Map<Long, List<Long>> grouped = new HashMap<>();
+      for (N node : nodes) {
+         Long parentId = parentOf.apply(node);
+         if (parentId != null) {
+            grouped.computeIfAbsent(parentId, key -> new ArrayList<>()).add(idOf.apply(node));
+         }
+      }
+      Map<Long, List<Long>> result = new HashMap<>();
+      grouped.forEach((parentId, ids) -> result.put(parentId, ids.stream().sorted().toList()));
+      return Collections.unmodifiableMap(result);
+   }
+
+   private static <V> Map<Long, V> put(Map<Long, V> source, Long key, V value) {
+      Map<Long, V> copy = new HashMap<>(source);
+      copy.put(key, value);
+      return Collections.unmodifiableMap(copy);
+   }
+
+   private static <V> Map<Long, V> remove(Map<Long, V> source, Long key) {
+      Map<Long, V> copy = new HashMap<>(source);
+      copy.remove(key);
+      return Collections.unmodifiableMap(copy);
+   }
+
+   private static Map<Long, List<Long>> link(Map<Long, List<Long>> index, Long parentId, Long childId) {
+      if (parentId == null) {
+         return index;
+      }
+      List<Long> children = new ArrayList<>(index.getOrDefault(parentId, List.of()));
+      children.add(childId);
+      return put(index, parentId, children.stream().sorted().toList());
+   }
+
+   private static Map<Long, List<Long>> unlink(Map<Long, List<Long>> index, Long parentId, Long childId) {
+      List<Long> children = parentId != null ? index.get(parentId) : null;
+      if (children == null || !children.contains(childId)) {
+         return index;
+      }
+      List<Long> remaining = children.stream().filter(id -> !id.equals(childId)).toList();
+      return remaining.isEmpty() ? remove(index, parentId) : put(index, parentId, remaining);
+   }
+}
@@ -6,6 +6,8 @@ import com.winnersystems.smartparking.parking.application.dto.command.RecordExit
 import com.winnersystems.smartparking.parking.application.dto.query.*;
 import com.winnersystems.smartparking.parking.application.port.input.transaction.*;
 import com.winnersystems.smartparking.parking.application.port.output.*;
+import com.winnersystems.smartparking.parking.application.service.offender.OffenderIndex;
+import com.winnersystems.smartparking.parking.application.service.topology.TopologyCache;
 import com.winnersystems.smartparking.parking.domain.exception.*;
 import com.winnersystems.smartparking.parking.domain.model.*;
 import org.springframework.stereotype.Service;
@@ -16,6 +18,9 @@ import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Servicio de aplicación para gestión de transacciones de estacionamiento.
@@ -56,6 +61,14 @@ public class TransactionService implements
    private final PaymentPersistencePort paymentPersistencePort;
    private final ParkingShiftRatePersistencePort parkingShiftRatePersistencePort;
 
+   // ========================= TOPOLOGÍA =========================
+
+   private final TopologyCache topologyCache;
+
+   // ========================= REINCIDENCIA =========================
+
+   private final OffenderIndex offenderIndex;
+
    // ========================= CONSTANTES =========================
 
    private static final int MAX_RECOMMENDED_MINUTES = 480; // 8 horas
@@ -72,7 +85,9 @@ public class TransactionService implements
          ZonePersistencePort zonePersistencePort,
          RatePersistencePort ratePersistencePort,
          PaymentPersistencePort paymentPersistencePort,
-         ParkingShiftRatePersistencePort parkingShiftRatePersistencePort) {
+         ParkingShiftRatePersistencePort parkingShiftRatePersistencePort,
+         TopologyCache topologyCache,
+         OffenderIndex offenderIndex) {
       this.transactionPersistencePort = transactionPersistencePort;
       this.vehiclePersistencePort = vehiclePersistencePort;
       this.customerPersistencePort = customerPersistencePort;
@@ -83,6 +98,8 @@ public class TransactionService implements
       this.ratePersistencePort = ratePersistencePort;
       this.paymentPersistencePort = paymentPersistencePort;
       this.parkingShiftRatePersistencePort = parkingShiftRatePersistencePort;
+      this.topologyCache = topologyCache;
+      this.offenderIndex = offenderIndex;
    }
 
    // ========================= RecordEntryUseCase =========================
@@ -130,7 +147,8 @@ public class TransactionService implements
       customer.recordVisit();
       customerPersistencePort.save(customer);
 
-      return buildTransactionDetailDto(saved, vehicle, customer, parking, zone, space, rate, null);
+      return buildTransactionDetailDto(saved, vehicle, customer,
+            ParkingNode.of(parking), ZoneNode.of(zone), SpaceNode.of(space), rate, null);
    }
 
    // ========================= RecordExitUseCase =========================
@@ -146,8 +164,8 @@ public class TransactionService implements
       // 3. Cargar entidades relacionadas
       Vehicle vehicle = loadVehicle(transaction.getVehicleId());
       Customer customer = loadCustomer(transaction.getCustomerId());
-      Parking parking = loadParking(transaction.getParkingId());
-      Zone zone = loadZone(transaction.getZoneId());
+      ParkingNode parking = findParkingNode(transaction.getParkingId());
+      ZoneNode zone = findZoneNode(transaction.getZoneId());
       Space space = loadSpace(transaction.getSpaceId());
       Rate rate = loadRate(transaction.getRateId());
 
@@ -166,7 +184,7 @@ public class TransactionService implements
       space.markAsAvailable();
       spacePersistencePort.save(space);
 
-      return buildTransactionDetailDto(saved, vehicle, customer, parking, zone, space, rate, null);
+      return buildTransactionDetailDto(saved, vehicle, customer, parking, zone, SpaceNode.of(space), rate, null);
    }
 
    // ========================= ProcessPaymentUseCase =========================
@@ -322,6 +340,23 @@ public class TransactionService implements
             .orElseThrow(() -> new IllegalArgumentException("Espacio no encontrado: " + spaceId));
    }
 
+   // Nombres y códigos desde la topología en memoria (sin ir a la BD)
+
+   private ParkingNode findParkingNode(Long parkingId) {
+      return topologyCache.findParking(parkingId)
+            .orElseThrow(() -> new IllegalArgumentException("Parking no encontrado: " + parkingId));
+   }
+
+   private ZoneNode findZoneNode(Long zoneId) {
+      return topologyCache.findZone(zoneId)
+            .orElseThrow(() -> new IllegalArgumentException("Zona no encontrada: " + zoneId));
+   }
+
+   private SpaceNode findSpaceNode(Long spaceId) {
+      return topologyCache.findSpace(spaceId)
+            .orElseThrow(() -> new IllegalArgumentException("Espacio no encontrado: " + spaceId));
+   }
+
    private Vehicle loadVehicle(Long vehicleId) {
       return vehiclePersistencePort.findById(vehicleId)
             .orElseThrow(() -> new IllegalArgumentException("Vehículo no encontrado: " + vehicleId));
@@ -601,10 +636,12 @@ public class TransactionService implements
    /**
     * Construye TransactionDetailDto con todos los datos relacionados.
     *
-    * IMPORTANTE: Incluye ParkingInfo completo.
+    * IMPORTANTE: Incluye ParkingInfo completo y los antecedentes de
+    * infracciones del vehículo y del cliente (OffenderIndex).
     */
    private TransactionDetailDto buildTransactionDetailDto(Transaction t, Vehicle v, Customer c,
-                                                          Parking p, Zone z, Space sp, Rate r, Payment pay) {
+                                                          ParkingNode p, ZoneNode z, SpaceNode sp,
+                                                          Rate r, Payment pay) {
       return new TransactionDetailDto(
             t.getId(),
             t.getStatus(),
@@ -628,23 +665,23 @@ public class TransactionService implements
 
             // ParkingInfo
             new TransactionDetailDto.ParkingInfo(
-                  p.getId(),
-                  p.getName(),
-                  p.getCode()
+                  p.id(),
+                  p.name(),
+                  p.code()
             ),
 
             // ZoneInfo
             new TransactionDetailDto.ZoneInfo(
-                  z.getId(),
-                  z.getName(),
-                  z.getCode()
+                  z.id(),
+                  z.name(),
+                  z.code()
             ),
 
             // SpaceInfo
             new TransactionDetailDto.SpaceInfo(
-                  sp.getId(),
-                  sp.getCode(),
-                  sp.getType()
+                  sp.id(),
+                  sp.code(),
+                  sp.type()
             ),
 
             // Tiempos
@@ -704,6 +741,10 @@ public class TransactionService implements
             t.getNotes(),
             t.getCancellationReason(),
 
+            // Antecedentes (índice en memoria, sin consultas)
+            offenderIndex.forVehicle(v.getId()),
+            offenderIndex.forCustomer(c.getId()),
+
             // Auditoría
             t.getCreatedAt(),
             t.getUpdatedAt()
@@ -716,9 +757,9 @@ public class TransactionService implements
    private TransactionDetailDto loadTransactionDetailDto(Transaction t) {
       Vehicle vehicle = loadVehicle(t.getVehicleId());
       Customer customer = loadCustomer(t.getCustomerId());
-      Parking parking = loadParking(t.getParkingId());
-      Zone zone = loadZone(t.getZoneId());
-      Space space = loadSpace(t.getSpaceId());
+      ParkingNode parking = findParkingNode(t.getParkingId());
+      ZoneNode zone = findZoneNode(t.getZoneId());
+      SpaceNode space = findSpaceNode(t.getSpaceId());
       Rate rate = loadRate(t.getRateId());
       Payment payment = paymentPersistencePort.findByTransactionId(t.getId()).orElse(null);
 
@@ -731,9 +772,9 @@ public class TransactionService implements
    private TransactionDetailDto buildTransactionDetailDtoWithPayment(Transaction transaction, Payment payment) {
       Vehicle vehicle = loadVehicle(transaction.getVehicleId());
       Customer customer = loadCustomer(transaction.getCustomerId());
-      Parking parking = loadParking(transaction.getParkingId());
-      Zone zone = loadZone(transaction.getZoneId());
-      Space space = loadSpace(transaction.getSpaceId());
+      ParkingNode parking = findParkingNode(transaction.getParkingId());
+      ZoneNode zone = findZoneNode(transaction.getZoneId());
+      SpaceNode space = findSpaceNode(transaction.getSpaceId());
       Rate rate = loadRate(transaction.getRateId());
 
       return buildTransactionDetailDto(transaction, vehicle, customer, parking, zone, space, rate, payment);
@@ -742,12 +783,10 @@ public class TransactionService implements
    /**
     * Construye ActiveTransactionDto para monitoreo en tiempo real.
     */
-   private ActiveTransactionDto buildActiveTransactionDto(Transaction t) {
-      Vehicle vehicle = loadVehicle(t.getVehicleId());
-      Customer customer = loadCustomer(t.getCustomerId());
-      Parking parking = loadParking(t.getParkingId());
-      Zone zone = loadZone(t.getZoneId());
-      Space space = loadSpace(t.getSpaceId());
+   private ActiveTransactionDto buildActiveTransactionDto(Transaction t, Vehicle vehicle, Customer customer) {
+      ParkingNode parking = findParkingNode(t.getParkingId());
+      ZoneNode zone = findZoneNode(t.getZoneId());
+      SpaceNode space = findSpaceNode(t.getSpaceId());
       Rate rate = loadRate(t.getRateId());
 
       // Calcular tiempo transcurrido y monto actual
@@ -763,9 +802,9 @@ public class TransactionService implements
             vehicle.getId(), vehicle.getLicensePlate(),
             customer.getId(), customer.getFullName(), customer.getPhone(), customer.getEmail(),
             null, customer.getDocumentNumber(),
-            parking.getId(), parking.getName(),
-            zone.getId(), zone.getName(),
-            space.getId(), space.getCode(),
+            parking.id(), parking.name(),
+            zone.id(), zone.name(),
+            space.id(), space.code(),
             t.getEntryTime(), elapsedMinutes, formatDuration(elapsedMinutes),
             rate.getAmount(), currentAmount,
             isOverdue, MAX_RECOMMENDED_MINUTES, isOverdue,
@@ -778,20 +817,18 @@ public class TransactionService implements
    /**
     * Construye TransactionDto simplificado para listados.
     */
-   private TransactionDto buildTransactionDto(Transaction t) {
-      Vehicle vehicle = loadVehicle(t.getVehicleId());
-      Customer customer = loadCustomer(t.getCustomerId());
-      Parking parking = loadParking(t.getParkingId());
-      Zone zone = loadZone(t.getZoneId());
-      Space space = loadSpace(t.getSpaceId());
+   private TransactionDto buildTransactionDto(Transaction t, Vehicle vehicle, Customer customer) {
+      ParkingNode parking = findParkingNode(t.getParkingId());
+      ZoneNode zone = findZoneNode(t.getZoneId());
+      SpaceNode space = findSpaceNode(t.getSpaceId());
 
       return new TransactionDto(
             t.getId(),
             vehicle.getLicensePlate(),
             customer.getFullName(),
-            parking.getName(),
-            zone.getName(),
-            space.getCode(),
+            parking.name(),
+            zone.name(),
+            space.code(),
             t.getEntryTime(),
             t.getExitTime(),
             t.getFormattedDuration(),
@@ -805,19 +842,51 @@ public class TransactionService implements
    // ========================= HELPERS - PAGINACIÓN =========================
 
    private PagedResponse<ActiveTransactionDto> toActiveTransactionPagedResponse(PageResult<Transaction> result) {
+      Map<Long, Vehicle> vehicles = loadVehicles(result.content());
+      Map<Long, Customer> customers = loadCustomers(result.content());
       List<ActiveTransactionDto> content = result.content().stream()
-            .map(this::buildActiveTransactionDto)
+            .map(t -> buildActiveTransactionDto(t, vehicleOf(vehicles, t), customerOf(customers, t)))
             .toList();
       return PagedResponse.of(content, result.pageNumber(), result.pageSize(), result.totalElements());
    }
 
    private PagedResponse<TransactionDto> toTransactionPagedResponse(PageResult<Transaction> result) {
+      Map<Long, Vehicle> vehicles = loadVehicles(result.content());
+      Map<Long, Customer> customers = loadCustomers(result.content());
       List<TransactionDto> content = result.content().stream()
-            .map(this::buildTransactionDto)
+            .map(t -> buildTransactionDto(t, vehicleOf(vehicles, t), customerOf(customers, t)))
             .toList();
       return PagedResponse.of(content, result.pageNumber(), result.pageSize(), result.totalElements());
    }
 
+   // Vehículos y clientes de una página: una consulta cada uno, no una por fila
+
+   private Map<Long, Vehicle> loadVehicles(List<Transaction> transactions) {
+      return vehiclePersistencePort.findAllByIds(transactions.stream().map(Transaction::getVehicleId).toList()).stream()
+            .collect(Collectors.toMap(Vehicle::getId, Function.identity()));
+   }
+
+   private Map<Long, Customer> loadCustomers(List<Transaction> transactions) {
+      return customerPersistencePort.findAllByIds(transactions.stream().map(Transaction::getCustomerId).toList()).stream()
+            .collect(Collectors.toMap(Customer::getId, Function.identity()));
+   }
+
+   private static Vehicle vehicleOf(Map<Long, Vehicle> vehicles, Transaction t) {
+      Vehicle vehicle = vehicles.get(t.getVehicleId());
+      if (vehicle == null) {
+         throw new IllegalArgumentException("Vehículo no encontrado: " + t.getVehicleId());
+      }
+      return vehicle;
+   }
+
+   private static Customer customerOf(Map<Long, Customer> customers, Transaction t) {
+      Customer customer = customers.get(t.getCustomerId());
+      if (customer == null) {
+         throw new IllegalArgumentException("Cliente no encontrado: " + t.getCustomerId());
+      }
+      return customer;
+   }
+
    // ========================= HELPERS - FORMATO =========================
 
    private String formatDuration(int minutes) {
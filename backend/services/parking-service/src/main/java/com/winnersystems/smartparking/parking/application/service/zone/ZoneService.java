@@ -6,6 +6,7 @@ import com.winnersystems.smartparking.parking.application.dto.command.UpdateZone
 import com.winnersystems.smartparking.parking.application.dto.query.*;
 import com.winnersystems.smartparking.parking.application.port.input.zone.*;
 import com.winnersystems.smartparking.parking.application.port.output.ZonePersistencePort;
+import com.winnersystems.smartparking.parking.application.service.topology.TopologyCache;
 import com.winnersystems.smartparking.parking.domain.model.Zone;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,9 +30,11 @@ public class ZoneService implements
       ToggleZoneStatusUseCase {
 
    private final ZonePersistencePort zonePersistencePort;
+   private final TopologyCache topologyCache;
 
-   public ZoneService(ZonePersistencePort zonePersistencePort) {
+   public ZoneService(ZonePersistencePort zonePersistencePort, TopologyCache topologyCache) {
       this.zonePersistencePort = zonePersistencePort;
+      this.topologyCache = topologyCache;
    }
 
    // ========================= CREATE =========================
@@ -64,7 +67,7 @@ public class ZoneService implements
 
       zone.validate();
 
-      return mapToDto(zonePersistencePort.save(zone));
+      return mapToDto(save(zone));
    }
 
    // ========================= UPDATE =========================
@@ -104,7 +107,7 @@ public class ZoneService implements
          }
       }
 
-      return mapToDto(zonePersistencePort.save(zone));
+      return mapToDto(save(zone));
    }
 
    // ========================= DELETE =========================
@@ -113,7 +116,7 @@ public class ZoneService implements
    public void deleteZone(Long zoneId) {
       Zone zone = findZoneOrThrow(zoneId);
       zone.markAsDeleted(null); // TODO: userId desde SecurityContext
-      zonePersistencePort.save(zone);
+      save(zone);
    }
 
    // ========================= GET =========================
@@ -162,35 +165,35 @@ public class ZoneService implements
       } else {
          zone.activate();
       }
-      return mapToDto(zonePersistencePort.save(zone));
+      return mapToDto(save(zone));
    }
 
    @Override
    public ZoneDto activateZone(Long zoneId) {
       Zone zone = findZoneOrThrow(zoneId);
       zone.activate();
-      return mapToDto(zonePersistencePort.save(zone));
+      return mapToDto(save(zone));
    }
 
    @Override
    public ZoneDto deactivateZone(Long zoneId) {
       Zone zone = findZoneOrThrow(zoneId);
       zone.deactivate();
-      return mapToDto(zonePersistencePort.save(zone));
+      return mapToDto(save(zone));
    }
 
    @Override
    public ZoneDto setInMaintenance(Long zoneId) {
       Zone zone = findZoneOrThrow(zoneId);
       zone.setInMaintenance();
-      return mapToDto(zonePersistencePort.save(zone));
+      return mapToDto(save(zone));
    }
 
    @Override
    public ZoneDto setOutOfService(Long zoneId) {
       Zone zone = findZoneOrThrow(zoneId);
       zone.setOutOfService();
-      return mapToDto(zonePersistencePort.save(zone));
+      return mapToDto(save(zone));
    }
 
    // ========================= HELPERS PRIVADOS =========================
@@ -202,6 +205,15 @@ public class ZoneService implements
             ));
    }
 
+   /**
+    * Guarda y refleja el cambio en la topología en memoria.
+    */
+   private Zone save(Zone zone) {
+      Zone saved = zonePersistencePort.save(zone);
+      topologyCache.zoneSaved(saved);
+      return saved;
+   }
+
    // ========================= MAPPER =========================
 
    private ZoneDto mapToDto(Zone zone) {
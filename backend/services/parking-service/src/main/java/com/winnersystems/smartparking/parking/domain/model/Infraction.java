@@ -179,18 +179,29 @@ public class Infraction {
    // ========================= MÉTODOS DE NEGOCIO - REGISTRO =========================
 
    /**
-    * Genera código único de infracción.
+    * Genera código único de infracción a partir del ID.
     * Formato: INF-YYYY-NNNNNN
     *
     * NOTA: Este método debe llamarse DESPUÉS de que el ID sea asignado por la base de datos.
-    * Típicamente se llama desde el servicio después de persistir.
+    * Para crear con un solo INSERT usar assignInfractionCode con un número reservado.
     */
    public void generateInfractionCode() {
       if (this.id == null) {
          throw new IllegalStateException("Cannot generate infraction code without ID");
       }
+      assignInfractionCode(this.id);
+   }
+
+   /**
+    * Asigna el código único a partir de un número ya reservado en la BD
+    * (antes del primer INSERT).
+    * Formato: INF-YYYY-NNNNNN
+    *
+    * @param sequenceNumber número único reservado (puede dejar huecos)
+    */
+   public void assignInfractionCode(long sequenceNumber) {
       int year = this.detectedAt != null ? this.detectedAt.getYear() : LocalDateTime.now().getYear();
-      this.infractionCode = String.format("INF-%d-%06d", year, this.id);
+      this.infractionCode = String.format("INF-%d-%06d", year, sequenceNumber);
       this.updatedAt = LocalDateTime.now();
    }
 
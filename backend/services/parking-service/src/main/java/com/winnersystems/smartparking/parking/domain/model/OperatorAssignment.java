@@ -226,6 +226,19 @@ public class OperatorAssignment {
       return true;
    }
 
+   /**
+    * Verifica si los períodos de dos asignaciones se cruzan.
+    * Igual que en isActive, endDate es el primer día sin asignación.
+    *
+    * @param other otra asignación
+    * @return true si hay al menos un día cubierto por ambas
+    */
+   public boolean overlaps(OperatorAssignment other) {
+      boolean startsBeforeOtherEnds = other.endDate == null || startDate.isBefore(other.endDate);
+      boolean otherStartsBeforeThisEnds = endDate == null || other.startDate.isBefore(endDate);
+      return startsBeforeOtherEnds && otherStartsBeforeThisEnds;
+   }
+
    // ========================= MÉTODOS DE INFORMACIÓN =========================
 
    /**
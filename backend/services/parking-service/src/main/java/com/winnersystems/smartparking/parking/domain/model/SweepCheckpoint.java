@@ -0,0 +1,189 @@
+package com.winnersystems.smartparking.parking.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad de dominio que representa el AVANCE de un barrido por lotes.
+ *
+ * Un barrido recorre una tabla en orden de ID (keyset) y guarda aquí el
+ * último ID procesado después de cada lote, en la misma transacción que
+ * el lote. Si la instancia se reinicia a mitad de camino, la siguiente
+ * ejecución continúa desde ese ID con el mismo corte de fecha.
+ *
+ * Ciclo de una ejecución:
+ * 1. startRun: fija el corte (cutoff) y vuelve al inicio de la tabla
+ * 2. advance: un lote terminado
+ * 3. completeRun: no quedan filas; la próxima ejecución empieza de nuevo
+ *
+ * Ejemplo:
+ * - jobName: "OVERDUE_FINES"
+ * - cutoff: 2026-03-10 08:00 (multas vencidas antes de esa hora)
+ * - lastProcessedId: 48213
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public class SweepCheckpoint {
+
+   // ========================= CAMPOS DE IDENTIDAD =========================
+
+   private String jobName;                                // Nombre del barrido (PK)
+
+   // ========================= CAMPOS DE AVANCE =========================
+
+   private LocalDateTime cutoff;                          // Corte de fecha de la ejecución actual
+   private Long lastProcessedId;                          // Último ID procesado (0 = inicio)
+   private long processedCount;                           // Filas procesadas en la ejecución actual
+
+   // ========================= CAMPOS DE EJECUCIÓN =========================
+
+   private LocalDateTime runStartedAt;                    // Inicio de la ejecución actual
+   private LocalDateTime runCompletedAt;                  // Fin de la ejecución (null = en curso)
+   private LocalDateTime updatedAt;
+
+   // ========================= CONSTRUCTORES =========================
+
+   /**
+    * Constructor vacío - Sin ejecución en curso.
+    */
+   public SweepCheckpoint() {
+      this.lastProcessedId = 0L;
+      this.processedCount = 0L;
+      this.updatedAt = LocalDateTime.now();
+   }
+
+   /**
+    * Constructor con nombre del barrido.
+    *
+    * @param jobName nombre único del barrido
+    */
+   public SweepCheckpoint(String jobName) {
+      this();
+      this.jobName = jobName;
+   }
+
+   // ========================= MÉTODOS DE NEGOCIO - EJECUCIÓN =========================
+
+   /**
+    * Inicia una ejecución nueva desde el principio de la tabla.
+    *
+    * @param cutoff corte de fecha que se mantiene hasta completar la ejecución
+    */
+   public void startRun(LocalDateTime cutoff) {
+      if (cutoff == null) {
+         throw new IllegalArgumentException("Cutoff is required");
+      }
+      this.cutoff = cutoff;
+      this.lastProcessedId = 0L;
+      this.processedCount = 0L;
+      this.runStartedAt = LocalDateTime.now();
+      this.runCompletedAt = null;
+      this.updatedAt = LocalDateTime.now();
+   }
+
+   /**
+    * Registra un lote terminado.
+    *
+    * @param lastId último ID del lote (orden ascendente)
+    * @param processed filas del lote
+    */
+   public void advance(Long lastId, int processed) {
+      if (!isRunInProgress()) {
+         throw new IllegalStateException("No sweep run in progress for " + jobName);
+      }
+      if (lastId == null || lastId < lastProcessedId) {
+         throw new IllegalArgumentException("Sweep cannot move backwards: " + lastId);
+      }
+      this.lastProcessedId = lastId;
+      this.processedCount += processed;
+      this.updatedAt = LocalDateTime.now();
+   }
+
+   /**
+    * Cierra la ejecución actual.
+    */
+   public void completeRun() {
+      this.runCompletedAt = LocalDateTime.now();
+      this.updatedAt = LocalDateTime.now();
+   }
+
+   // ========================= MÉTODOS DE CONSULTA =========================
+
+   /**
+    * Verifica si hay una ejecución iniciada y sin terminar.
+    *
+    * @return true si la próxima ejecución debe continuar desde lastProcessedId
+    */
+   public boolean isRunInProgress() {
+      return runStartedAt != null && runCompletedAt == null;
+   }
+
+   // ========================= GETTERS Y SETTERS =========================
+
+   public String getJobName() {
+      return jobName;
+   }
+
+   public void setJobName(String jobName) {
+      this.jobName = jobName;
+   }
+
+   public LocalDateTime getCutoff() {
+      return cutoff;
+   }
+
+   public void setCutoff(LocalDateTime cutoff) {
+      this.cutoff = cutoff;
+   }
+
+   public Long getLastProcessedId() {
+      return lastProcessedId;
+   }
+
+   public void setLastProcessedId(Long lastProcessedId) {
+      this.lastProcessedId = lastProcessedId;
+   }
+
+   public long getProcessedCount() {
+      return processedCount;
+   }
+
+   public void setProcessedCount(long processedCount) {
+      this.processedCount = processedCount;
+   }
+
+   public LocalDateTime getRunStartedAt() {
+      return runStartedAt;
+   }
+
+   public void setRunStartedAt(LocalDateTime runStartedAt) {
+      this.runStartedAt = runStartedAt;
+   }
+
+   public LocalDateTime getRunCompletedAt() {
+      return runCompletedAt;
+   }
+
+   public void setRunCompletedAt(LocalDateTime runCompletedAt) {
+      this.runCompletedAt = runCompletedAt;
+   }
+
+   public LocalDateTime getUpdatedAt() {
+      return updatedAt;
+   }
+
+   public void setUpdatedAt(LocalDateTime updatedAt) {
+      this.updatedAt = updatedAt;
+   }
+
+   @Override
+   public String toString() {
+      return "SweepCheckpoint{" +
+            "jobName='" + jobName + '\'' +
+            ", cutoff=" + cutoff +
+            ", lastProcessedId=" + lastProcessedId +
+            ", processedCount=" + processedCount +
+            ", runInProgress=" + isRunInProgress() +
+            '}';
+   }
+}
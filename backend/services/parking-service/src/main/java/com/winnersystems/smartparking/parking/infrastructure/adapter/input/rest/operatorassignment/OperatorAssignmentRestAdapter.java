@@ -1,29 +1,33 @@
 package com.winnersystems.smartparking.parking.infrastructure.adapter.input.rest.operatorassignment;
 
 import com.winnersystems.smartparking.parking.application.dto.command.AssignOperatorsCommand;
+import com.winnersystems.smartparking.parking.application.dto.command.ImportRosterCommand;
 import com.winnersystems.smartparking.parking.application.dto.command.UpdateOperatorAssignmentCommand;
 import com.winnersystems.smartparking.parking.application.dto.query.OperatorAssignmentDetailDto;
 import com.winnersystems.smartparking.parking.application.dto.query.OperatorAssignmentDto;
 import com.winnersystems.smartparking.parking.application.port.input.operatorassignment.*;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.input.rest.operatorassignment.dto.request.AssignOperatorsRequest;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.input.rest.operatorassignment.dto.request.ImportRosterRequest;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.input.rest.operatorassignment.dto.request.UpdateOperatorAssignmentRequest;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.input.rest.operatorassignment.dto.response.OperatorAssignmentDetailResponse;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.input.rest.operatorassignment.dto.response.OperatorAssignmentResponse;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.input.rest.operatorassignment.mapper.OperatorAssignmentRestMapper;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.output.client.AuthServiceClient;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.client.OperatorDirectory;
 import com.winnersystems.smartparking.parking.infrastructure.config.security.JwtService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -32,7 +36,8 @@ import java.util.stream.Collectors;
  * Este adapter es responsable de:
  * 1. Recibir requests HTTP
  * 2. Llamar a los Use Cases (Application Layer)
- * 3. Enriquecer los DTOs con información de auth-service (AuthServiceClient)
+ * 3. Enriquecer los DTOs con información de auth-service (OperatorDirectory,
+ *    sin llamada Feign por request)
  * 4. Retornar responses HTTP
  *
  * @author Edwin Yoner - Winner Systems - Smart Parking Platform
@@ -45,12 +50,14 @@ import java.util.stream.Collectors;
 public class OperatorAssignmentRestAdapter {
 
    private final AssignOperatorsUseCase assignOperatorsUseCase;
+   private final ImportRosterUseCase importRosterUseCase;
    private final ListOperatorAssignmentsUseCase listOperatorAssignmentsUseCase;
+   private final ListOnDutyOperatorsUseCase listOnDutyOperatorsUseCase;
    private final GetOperatorAssignmentUseCase getOperatorAssignmentUseCase;
    private final EndOperatorAssignmentUseCase endOperatorAssignmentUseCase;
    private final UpdateOperatorAssignmentUseCase updateOperatorAssignmentUseCase;
    private final OperatorAssignmentRestMapper mapper;
-   private final AuthServiceClient authServiceClient;
+   private final OperatorDirectory operatorDirectory;
    private final JwtService jwtService;
 
    // ========================= ASIGNAR OPERADORES =========================
@@ -78,25 +85,16 @@ public class OperatorAssignmentRestAdapter {
       Long userId = getUserIdFromToken(httpRequest);
 
       // 1. VALIDAR que los operadores existen en auth-service ANTES de crear asignaciones
-      List<AuthServiceClient.OperatorDto> availableOperators = authServiceClient.getActiveOperators();
-      Set<Long> availableOperatorIds = availableOperators.stream()
-            .map(AuthServiceClient.OperatorDto::id)
-            .collect(Collectors.toSet());
-
-      // Validar cada operador solicitado
-      for (AssignOperatorsRequest.OperatorAssignmentData data : request.getAssignments()) {
-         if (!availableOperatorIds.contains(data.getOperatorId())) {
-            throw new IllegalArgumentException(
-                  "Operador no encontrado o inactivo con ID: " + data.getOperatorId());
-         }
+      List<Long> inactive = operatorDirectory.findInactive(request.getAssignments().stream()
+            .map(AssignOperatorsRequest.OperatorAssignmentData::getOperatorId)
+            .toList());
+      if (!inactive.isEmpty()) {
+         throw new IllegalArgumentException(
+               "Operador no encontrado o inactivo con ID: " + inactive.get(0));
       }
 
-      // 2. Crear Map para lookup rápido de nombres
-      Map<Long, String> operatorNames = availableOperators.stream()
-            .collect(Collectors.toMap(
-                  AuthServiceClient.OperatorDto::id,
-                  AuthServiceClient.OperatorDto::getFullName
-            ));
+      // 2. Nombres de los operadores (foto local de operadores activos)
+      Map<Long, AuthServiceClient.OperatorDto> operators = operatorDirectory.activeOperators();
 
       // 3. Convertir request a command
       AssignOperatorsCommand command = mapper.toCommand(request, userId);
@@ -112,7 +110,7 @@ public class OperatorAssignmentRestAdapter {
                return new OperatorAssignmentResponse(
                      resp.id(),
                      resp.operatorId(),
-                     operatorNames.get(resp.operatorId()),
+                     operatorName(operators.get(resp.operatorId())),
                      resp.zoneId(),
                      resp.zoneName(),
                      resp.shiftId(),
@@ -130,6 +128,41 @@ public class OperatorAssignmentRestAdapter {
       return ResponseEntity.status(HttpStatus.CREATED).body(response);
    }
 
+   // ========================= IMPORTAR ROL =========================
+
+   /**
+    * POST /operators/roster - Importar un rol de turnos (p.ej. una semana
+    * en muchas zonas y turnos) en una sola llamada.
+    *
+    * Todo o nada: si una fila no es válida no se crea ninguna asignación.
+    */
+   @PostMapping("/operators/roster")
+   @PreAuthorize("hasAnyRole('ADMIN', 'AUTORIDAD')")
+   public ResponseEntity<List<OperatorAssignmentResponse>> importRoster(
+         @Valid @RequestBody ImportRosterRequest request,
+         HttpServletRequest httpRequest) {
+
+      log.debug("POST /operators/roster - Importando {} filas", request.getEntries().size());
+
+      Long userId = getUserIdFromToken(httpRequest);
+
+      // 1. Validar todos los operadores de una vez (foto local de activos)
+      List<Long> inactive = operatorDirectory.findInactive(request.getEntries().stream()
+            .map(ImportRosterRequest.RosterEntryData::getOperatorId)
+            .toList());
+      if (!inactive.isEmpty()) {
+         throw new IllegalArgumentException(
+               "Operador no encontrado o inactivo con ID: " + inactive.get(0));
+      }
+
+      // 2. Validar y guardar en lote
+      ImportRosterCommand command = mapper.toCommand(request, userId);
+      List<OperatorAssignmentDto> assignments = importRosterUseCase.importRoster(command);
+
+      log.debug("{} asignaciones importadas", assignments.size());
+      return ResponseEntity.status(HttpStatus.CREATED).body(enrichWithOperatorNames(assignments));
+   }
+
    // ========================= LISTAR ASIGNACIONES =========================
 
    /**
@@ -162,6 +195,27 @@ public class OperatorAssignmentRestAdapter {
       return ResponseEntity.ok(response);
    }
 
+   /**
+    * GET /zones/{zoneId}/operators/on-duty?at= - Operadores en servicio en
+    * una zona en un instante (por defecto, ahora).
+    *
+    * Se responde desde el índice en memoria (OnDutyIndex), sin consultas a la BD;
+    * solo un instante anterior a la carga del índice lee las asignaciones de la zona.
+    */
+   @GetMapping("/zones/{zoneId}/operators/on-duty")
+   @PreAuthorize("hasAnyRole('ADMIN', 'AUTORIDAD', 'OPERADOR')")
+   public ResponseEntity<List<OperatorAssignmentResponse>> listOnDuty(
+         @PathVariable Long zoneId,
+         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+      log.debug("GET /zones/{}/operators/on-duty - Operadores en servicio a las {}", zoneId, at);
+
+      List<OperatorAssignmentDto> assignments = listOnDutyOperatorsUseCase.listOnDuty(zoneId, at);
+
+      List<OperatorAssignmentResponse> response = enrichWithOperatorNames(assignments);
+
+      return ResponseEntity.ok(response);
+   }
+
    /**
     * GET /operators/{operatorId}/assignments - Lista asignaciones de un operador.
     */
@@ -189,8 +243,10 @@ public class OperatorAssignmentRestAdapter {
 
       OperatorAssignmentDetailDto assignment = getOperatorAssignmentUseCase.getAssignment(id);
 
-      // Cargar información completa del operador desde auth-service
-      AuthServiceClient.UserDto operator = authServiceClient.getUserById(assignment.operator().id());
+      // Información del operador (directorio local; auth-service solo si no está en caché)
+      Long operatorId = assignment.operator().id();
+      AuthServiceClient.OperatorDto operator = operatorDirectory.findOperator(operatorId)
+            .orElse(new AuthServiceClient.OperatorDto(operatorId, null, null, null, null, null));
 
       // Construir response enriquecido
       OperatorAssignmentDetailResponse response = new OperatorAssignmentDetailResponse(
@@ -203,7 +259,7 @@ public class OperatorAssignmentRestAdapter {
                   operator.id(),
                   operator.firstName(),
                   operator.lastName(),
-                  operator.getFullName(),
+                  operatorName(operator),
                   operator.email(),
                   operator.phoneNumber()
             ),
@@ -286,13 +342,11 @@ public class OperatorAssignmentRestAdapter {
          return List.of();
       }
 
-      // Obtener todos los operadores activos
-      List<AuthServiceClient.OperatorDto> operators = authServiceClient.getActiveOperators();
-      Map<Long, String> operatorNames = operators.stream()
-            .collect(Collectors.toMap(
-                  AuthServiceClient.OperatorDto::id,
-                  AuthServiceClient.OperatorDto::getFullName
-            ));
+      // Operadores de la página: foto local de activos, y una sola llamada
+      // a auth-service por los que no están en memoria
+      Map<Long, AuthServiceClient.OperatorDto> operators = operatorDirectory.findOperators(assignments.stream()
+            .map(OperatorAssignmentDto::operatorId)
+            .toList());
 
       // Enriquecer cada asignación
       return assignments.stream()
@@ -301,7 +355,7 @@ public class OperatorAssignmentRestAdapter {
                return new OperatorAssignmentResponse(
                      resp.id(),
                      resp.operatorId(),
-                     operatorNames.get(resp.operatorId()),
+                     operatorName(operators.get(resp.operatorId())),
                      resp.zoneId(),
                      resp.zoneName(),
                      resp.shiftId(),
@@ -320,13 +374,15 @@ public class OperatorAssignmentRestAdapter {
     */
    private OperatorAssignmentResponse enrichSingleAssignment(OperatorAssignmentDto dto) {
       // Obtener información del operador
-      AuthServiceClient.UserDto operator = authServiceClient.getUserById(dto.operatorId());
+      String operatorName = operatorDirectory.findOperator(dto.operatorId())
+            .map(this::operatorName)
+            .orElse(null);
 
       OperatorAssignmentResponse resp = mapper.toResponse(dto);
       return new OperatorAssignmentResponse(
             resp.id(),
             resp.operatorId(),
-            operator.getFullName(),
+            operatorName,
             resp.zoneId(),
             resp.zoneName(),
             resp.shiftId(),
@@ -338,6 +394,13 @@ public class OperatorAssignmentRestAdapter {
       );
    }
 
+   /**
+    * Nombre completo del operador, o null si auth-service no lo conoce.
+    */
+   private String operatorName(AuthServiceClient.OperatorDto operator) {
+      return operator != null && operator.firstName() != null ? operator.getFullName() : null;
+   }
+
    /**
     * Extrae el userId del JWT token.
     */
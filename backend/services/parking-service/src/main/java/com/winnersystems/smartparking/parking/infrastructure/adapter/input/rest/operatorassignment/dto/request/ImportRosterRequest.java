@@ -0,0 +1,52 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.input.rest.operatorassignment.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Request DTO para importar un rol de turnos (muchas zonas y turnos a la vez).
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRosterRequest {
+
+   @NotEmpty(message = "El rol debe tener al menos una fila")
+   @Size(max = 2000, message = "El rol no puede tener más de 2000 filas")
+   @Valid
+   private List<RosterEntryData> entries;
+
+   /**
+    * Fila del rol.
+    */
+   @Data
+   @NoArgsConstructor
+   @AllArgsConstructor
+   public static class RosterEntryData {
+
+      @NotNull(message = "El ID del operador es obligatorio")
+      private Long operatorId;
+
+      @NotNull(message = "El ID de la zona es obligatorio")
+      private Long zoneId;
+
+      @NotNull(message = "El ID del turno es obligatorio")
+      private Long shiftId;
+
+      @NotNull(message = "La fecha de inicio es obligatoria")
+      private LocalDate startDate;
+
+      private LocalDate endDate;    // Opcional - primer día sin asignación; si es null, es indefinida
+   }
+}
\ No newline at end of file
@@ -1,10 +1,12 @@
 package com.winnersystems.smartparking.parking.infrastructure.adapter.input.rest.operatorassignment.mapper;
 
 import com.winnersystems.smartparking.parking.application.dto.command.AssignOperatorsCommand;
+import com.winnersystems.smartparking.parking.application.dto.command.ImportRosterCommand;
 import com.winnersystems.smartparking.parking.application.dto.command.UpdateOperatorAssignmentCommand;
 import com.winnersystems.smartparking.parking.application.dto.query.OperatorAssignmentDetailDto;
 import com.winnersystems.smartparking.parking.application.dto.query.OperatorAssignmentDto;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.input.rest.operatorassignment.dto.request.AssignOperatorsRequest;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.input.rest.operatorassignment.dto.request.ImportRosterRequest;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.input.rest.operatorassignment.dto.request.UpdateOperatorAssignmentRequest;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.input.rest.operatorassignment.dto.response.OperatorAssignmentDetailResponse;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.input.rest.operatorassignment.dto.response.OperatorAssignmentResponse;
@@ -44,6 +46,23 @@ public class OperatorAssignmentRestMapper {
       );
    }
 
+   /**
+    * Convierte ImportRosterRequest a ImportRosterCommand.
+    */
+   public ImportRosterCommand toCommand(ImportRosterRequest request, Long createdBy) {
+      List<ImportRosterCommand.RosterEntry> entries = request.getEntries().stream()
+            .map(data -> new ImportRosterCommand.RosterEntry(
+                  data.getOperatorId(),
+                  data.getZoneId(),
+                  data.getShiftId(),
+                  data.getStartDate(),
+                  data.getEndDate()
+            ))
+            .collect(Collectors.toList());
+
+      return new ImportRosterCommand(entries, createdBy);
+   }
+
    /**
     * Convierte UpdateOperatorAssignmentRequest a UpdateOperatorAssignmentCommand.
     */
@@ -12,6 +12,8 @@ import com.winnersystems.smartparking.parking.infrastructure.adapter.input.rest.
 import com.winnersystems.smartparking.parking.infrastructure.adapter.input.rest.transaction.dto.response.TransactionDetailResponse;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.input.rest.transaction.dto.response.TransactionResponse;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.input.rest.transaction.mapper.TransactionRestMapper;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.client.AuthServiceClient;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.client.OperatorDirectory;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -20,6 +22,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  * REST Controller para operaciones de transacciones.
@@ -47,6 +50,7 @@ public class TransactionRestAdapter {
    private final ListActiveTransactionsUseCase listActiveTransactionsUseCase;
    private final ListTransactionsUseCase listTransactionsUseCase;
    private final TransactionRestMapper mapper;
+   private final OperatorDirectory operatorDirectory;
 
    // ========================= OPERACIONES DE TRANSACCIÓN =========================
 
@@ -135,7 +139,7 @@ public class TransactionRestAdapter {
       PagedResponse<ActiveTransactionDto> dtoPage =
             listActiveTransactionsUseCase.listAllActiveTransactions(page, size);
 
-      PagedResponse<ActiveTransactionResponse> responsePage = dtoPage.map(mapper::toActiveResponse);
+      PagedResponse<ActiveTransactionResponse> responsePage = withOperatorNames(dtoPage.map(mapper::toActiveResponse));
 
       return ResponseEntity.ok(responsePage);
    }
@@ -154,7 +158,7 @@ public class TransactionRestAdapter {
       PagedResponse<ActiveTransactionDto> dtoPage =
             listActiveTransactionsUseCase.listActiveTransactionsByZone(zoneId, page, size);
 
-      PagedResponse<ActiveTransactionResponse> responsePage = dtoPage.map(mapper::toActiveResponse);
+      PagedResponse<ActiveTransactionResponse> responsePage = withOperatorNames(dtoPage.map(mapper::toActiveResponse));
 
       return ResponseEntity.ok(responsePage);
    }
@@ -173,7 +177,7 @@ public class TransactionRestAdapter {
       PagedResponse<ActiveTransactionDto> dtoPage =
             listActiveTransactionsUseCase.searchActiveTransactionsByPlate(plateNumber, page, size);
 
-      PagedResponse<ActiveTransactionResponse> responsePage = dtoPage.map(mapper::toActiveResponse);
+      PagedResponse<ActiveTransactionResponse> responsePage = withOperatorNames(dtoPage.map(mapper::toActiveResponse));
 
       return ResponseEntity.ok(responsePage);
    }
@@ -191,7 +195,7 @@ public class TransactionRestAdapter {
       PagedResponse<ActiveTransactionDto> dtoPage =
             listActiveTransactionsUseCase.listOverdueTransactions(page, size);
 
-      PagedResponse<ActiveTransactionResponse> responsePage = dtoPage.map(mapper::toActiveResponse);
+      PagedResponse<ActiveTransactionResponse> responsePage = withOperatorNames(dtoPage.map(mapper::toActiveResponse));
 
       return ResponseEntity.ok(responsePage);
    }
@@ -313,4 +317,25 @@ public class TransactionRestAdapter {
 
       return ResponseEntity.ok(responsePage);
    }
+
+   // ========================= HELPERS =========================
+
+   /**
+    * Agrega el nombre del operador de entrada a cada transacción de la
+    * página, con a lo sumo una llamada a auth-service por página.
+    */
+   private PagedResponse<ActiveTransactionResponse> withOperatorNames(
+         PagedResponse<ActiveTransactionResponse> page) {
+      Map<Long, AuthServiceClient.OperatorDto> operators = operatorDirectory.findOperators(page.content().stream()
+            .map(ActiveTransactionResponse::getEntryOperatorId)
+            .toList());
+
+      page.content().forEach(response -> {
+         AuthServiceClient.OperatorDto operator = operators.get(response.getEntryOperatorId());
+         if (operator != null) {
+            response.setEntryOperatorName(operator.getFullName());
+         }
+      });
+      return page;
+   }
 }
\ No newline at end of file
@@ -58,6 +58,7 @@ public class ActiveTransactionResponse {
 
    // Operador
    private Long entryOperatorId;
+   private String entryOperatorName;
    private String entryMethod;
 
    // Evidencia
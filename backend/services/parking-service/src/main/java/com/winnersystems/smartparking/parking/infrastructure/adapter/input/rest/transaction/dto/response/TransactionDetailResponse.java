@@ -77,6 +77,10 @@ public class TransactionDetailResponse {
    private String notes;
    private String cancellationReason;
 
+   // Antecedentes de infracciones
+   private OffenderInfo vehicleOffenses;
+   private OffenderInfo customerOffenses;
+
    // Auditoría
    private LocalDateTime createdAt;
    private LocalDateTime updatedAt;
@@ -164,4 +168,16 @@ public class TransactionDetailResponse {
       private LocalDateTime paymentDate;
       private String status;
    }
+
+   @Data
+   @Builder
+   @NoArgsConstructor
+   @AllArgsConstructor
+   public static class OffenderInfo {
+      private Integer totalInfractions;
+      private Integer openInfractions;
+      private BigDecimal unpaidFineTotal;
+      private LocalDateTime lastInfractionAt;
+      private Boolean repeatOffender;
+   }
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.winnersystems.smartparking.parking.application.dto.command.ProcessPay
 import com.winnersystems.smartparking.parking.application.dto.command.RecordEntryCommand;
 import com.winnersystems.smartparking.parking.application.dto.command.RecordExitCommand;
 import com.winnersystems.smartparking.parking.application.dto.query.ActiveTransactionDto;
+import com.winnersystems.smartparking.parking.application.dto.query.OffenderSummary;
 import com.winnersystems.smartparking.parking.application.dto.query.TransactionDetailDto;
 import com.winnersystems.smartparking.parking.application.dto.query.TransactionDto;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.input.rest.transaction.dto.request.ProcessPaymentRequest;
@@ -206,9 +207,25 @@ public class TransactionRestMapper {
                .build());
       }
 
+      // Antecedentes
+      response.setVehicleOffenses(toOffenderInfo(dto.vehicleOffenses()));
+      response.setCustomerOffenses(toOffenderInfo(dto.customerOffenses()));
+
       return response;
    }
 
+   private TransactionDetailResponse.OffenderInfo toOffenderInfo(OffenderSummary summary) {
+      if (summary == null) return null;
+
+      return TransactionDetailResponse.OffenderInfo.builder()
+            .totalInfractions(summary.totalInfractions())
+            .openInfractions(summary.openInfractions())
+            .unpaidFineTotal(summary.unpaidFineTotal())
+            .lastInfractionAt(summary.lastInfractionAt())
+            .repeatOffender(summary.isRepeatOffender())
+            .build();
+   }
+
    public ActiveTransactionResponse toActiveResponse(ActiveTransactionDto dto) {
       if (dto == null) return null;
 
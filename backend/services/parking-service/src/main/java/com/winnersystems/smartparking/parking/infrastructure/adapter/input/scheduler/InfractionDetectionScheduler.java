@@ -0,0 +1,65 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.input.scheduler;
+
+import com.winnersystems.smartparking.parking.application.dto.command.DetectInfractionsCommand;
+import com.winnersystems.smartparking.parking.application.dto.query.InfractionDetectionResult;
+import com.winnersystems.smartparking.parking.application.port.input.infraction.DetectInfractionsUseCase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tarea programada que ejecuta la detección automática de infracciones
+ * sobre cada parking activo (una transacción por parking).
+ *
+ * Propiedades (parking.infractions.detection):
+ * - enabled: activa la tarea (default true)
+ * - interval: ms entre ejecuciones (default 600000)
+ * - max-stay-minutes: permanencia máxima antes de OVERSTAY (default 480)
+ * - unpaid-exit-hours: plazo para pagar tras la salida (default 24)
+ * - min-plate-confidence: confianza mínima de la placa leída por IA (default 0.6)
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class InfractionDetectionScheduler {
+
+   private final DetectInfractionsUseCase detectInfractionsUseCase;
+   private final boolean enabled;
+   private final DetectInfractionsCommand command;
+
+   public InfractionDetectionScheduler(
+         DetectInfractionsUseCase detectInfractionsUseCase,
+         @Value("${parking.infractions.detection.enabled:true}") boolean enabled,
+         @Value("${parking.infractions.detection.max-stay-minutes:480}") int maxStayMinutes,
+         @Value("${parking.infractions.detection.unpaid-exit-hours:24}") int unpaidExitHours,
+         @Value("${parking.infractions.detection.min-plate-confidence:0.6}") double minPlateConfidence) {
+      this.detectInfractionsUseCase = detectInfractionsUseCase;
+      this.enabled = enabled;
+      this.command = new DetectInfractionsCommand(maxStayMinutes, unpaidExitHours, minPlateConfidence);
+   }
+
+   @Scheduled(
+         initialDelayString = "${parking.infractions.detection.initial-delay:120000}",
+         fixedDelayString = "${parking.infractions.detection.interval:600000}")
+   public void run() {
+      if (!enabled) {
+         return;
+      }
+
+      for (Long parkingId : detectInfractionsUseCase.listParkingsToScan()) {
+         try {
+            InfractionDetectionResult result = detectInfractionsUseCase.detectInParking(parkingId, command);
+            if (result.created() > 0) {
+               log.info("Parking {}: {} infracciones nuevas {} ({} transacciones evaluadas)",
+                     parkingId, result.created(), result.createdByType(), result.transactionsEvaluated());
+            }
+         } catch (RuntimeException e) {
+            // Un parking con error no detiene a los demás; se reintenta en la próxima ejecución
+            log.warn("Detección de infracciones fallida en parking {}: {}", parkingId, e.getMessage());
+         }
+      }
+   }
+}
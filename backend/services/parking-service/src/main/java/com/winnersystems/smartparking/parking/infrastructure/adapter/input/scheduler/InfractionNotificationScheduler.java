@@ -0,0 +1,83 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.input.scheduler;
+
+import com.winnersystems.smartparking.parking.application.dto.command.DeliverInfractionNotificationsCommand;
+import com.winnersystems.smartparking.parking.application.dto.query.InfractionNotificationDeliveryResult;
+import com.winnersystems.smartparking.parking.application.port.input.infraction.DeliverInfractionNotificationsUseCase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tarea programada que envía las notificaciones de multas vencidas
+ * encoladas por OverdueFineSweepScheduler.
+ *
+ * Cada ejecución envía lotes hasta vaciar la cola de notificaciones
+ * listas o hasta max-batches-per-run.
+ *
+ * Solo existe con parking.infractions.notifications.enabled=true, que exige
+ * un adaptador de CustomerNotificationPort (hoy no hay ninguno: el arranque
+ * falla si se activa sin él).
+ *
+ * Propiedades (parking.infractions.notifications):
+ * - enabled: activa la cola y la tarea (default false)
+ * - interval: ms entre ejecuciones (default 30000)
+ * - batch-size: notificaciones por lote (default 100, máximo 1000)
+ * - max-batches-per-run: lotes por ejecución (default 20)
+ * - max-attempts: intentos antes de FAILED (default 6)
+ * - backoff / max-backoff: espera entre intentos en ms (default 60000 / 3600000)
+ * - lease: ms de reserva de un lote en envío (default 300000)
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "parking.infractions.notifications.enabled", havingValue = "true")
+public class InfractionNotificationScheduler {
+
+   private final DeliverInfractionNotificationsUseCase deliverInfractionNotificationsUseCase;
+   private final int maxBatchesPerRun;
+   private final DeliverInfractionNotificationsCommand command;
+
+   public InfractionNotificationScheduler(
+         DeliverInfractionNotificationsUseCase deliverInfractionNotificationsUseCase,
+         @Value("${parking.infractions.notifications.batch-size:100}") int batchSize,
+         @Value("${parking.infractions.notifications.max-batches-per-run:20}") int maxBatchesPerRun,
+         @Value("${parking.infractions.notifications.max-attempts:6}") int maxAttempts,
+         @Value("${parking.infractions.notifications.backoff:60000}") long backoffMillis,
+         @Value("${parking.infractions.notifications.max-backoff:3600000}") long maxBackoffMillis,
+         @Value("${parking.infractions.notifications.lease:300000}") long leaseMillis) {
+      this.deliverInfractionNotificationsUseCase = deliverInfractionNotificationsUseCase;
+      this.maxBatchesPerRun = maxBatchesPerRun;
+      this.command = new DeliverInfractionNotificationsCommand(
+            batchSize, maxAttempts, backoffMillis, maxBackoffMillis, leaseMillis);
+   }
+
+   @Scheduled(
+         initialDelayString = "${parking.infractions.notifications.initial-delay:90000}",
+         fixedDelayString = "${parking.infractions.notifications.interval:30000}")
+   public void run() {
+      int batches = 0;
+      int delivered = 0;
+      int failed = 0;
+      try {
+         InfractionNotificationDeliveryResult result;
+         do {
+            result = deliverInfractionNotificationsUseCase.deliverNextBatch(command);
+            batches++;
+            delivered += result.delivered();
+            failed += result.failed();
+         } while (result.claimed() == command.batchSize() && batches < maxBatchesPerRun);
+
+         if (delivered > 0 || failed > 0) {
+            log.info("Notificaciones de multas: {} enviadas, {} descartadas en {} lotes",
+                  delivered, failed, batches);
+         }
+      } catch (RuntimeException e) {
+         // Lo reservado y no registrado vuelve a salir al vencer la reserva
+         log.warn("Envío de notificaciones de multas interrumpido tras {} lotes: {}", batches, e.getMessage());
+      }
+   }
+}
\ No newline at end of file
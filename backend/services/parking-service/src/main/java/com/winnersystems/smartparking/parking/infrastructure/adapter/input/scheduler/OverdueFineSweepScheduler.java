@@ -0,0 +1,81 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.input.scheduler;
+
+import com.winnersystems.smartparking.parking.application.dto.command.SweepOverdueFinesCommand;
+import com.winnersystems.smartparking.parking.application.dto.query.OverdueFineSweepResult;
+import com.winnersystems.smartparking.parking.application.port.input.infraction.SweepOverdueFinesUseCase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tarea programada que escala las multas vencidas sin pagar.
+ *
+ * Cada ejecución procesa lotes de parking.infractions.overdue-sweep.chunk-size
+ * infracciones, uno por transacción, hasta terminar o hasta max-chunks-per-run
+ * (lo que falte sigue en la próxima ejecución, desde el avance guardado).
+ *
+ * Propiedades (parking.infractions.overdue-sweep):
+ * - enabled: activa la tarea (default true)
+ * - interval: ms entre ejecuciones (default 300000)
+ * - chunk-size: filas por lote (default 500, máximo 1000)
+ * - max-chunks-per-run: lotes por ejecución (default 100)
+ * - notification-method: canal de las notificaciones encoladas (default EMAIL);
+ *   solo se encolan con parking.infractions.notifications.enabled, y las envía
+ *   InfractionNotificationScheduler
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class OverdueFineSweepScheduler {
+
+   private final SweepOverdueFinesUseCase sweepOverdueFinesUseCase;
+   private final boolean enabled;
+   private final int maxChunksPerRun;
+   private final SweepOverdueFinesCommand command;
+
+   public OverdueFineSweepScheduler(
+         SweepOverdueFinesUseCase sweepOverdueFinesUseCase,
+         @Value("${parking.infractions.overdue-sweep.enabled:true}") boolean enabled,
+         @Value("${parking.infractions.overdue-sweep.chunk-size:500}") int chunkSize,
+         @Value("${parking.infractions.overdue-sweep.max-chunks-per-run:100}") int maxChunksPerRun,
+         @Value("${parking.infractions.overdue-sweep.notification-method:EMAIL}") String notificationMethod,
+         @Value("${parking.infractions.notifications.enabled:false}") boolean notificationsEnabled) {
+      this.sweepOverdueFinesUseCase = sweepOverdueFinesUseCase;
+      this.enabled = enabled;
+      this.maxChunksPerRun = maxChunksPerRun;
+      this.command = new SweepOverdueFinesCommand(chunkSize, notificationsEnabled ? notificationMethod : null);
+   }
+
+   @Scheduled(
+         initialDelayString = "${parking.infractions.overdue-sweep.initial-delay:60000}",
+         fixedDelayString = "${parking.infractions.overdue-sweep.interval:300000}")
+   public void run() {
+      if (!enabled) {
+         return;
+      }
+
+      int chunks = 0;
+      int escalated = 0;
+      int queued = 0;
+      try {
+         OverdueFineSweepResult result;
+         do {
+            result = sweepOverdueFinesUseCase.sweepNextChunk(command);
+            chunks++;
+            escalated += result.escalated();
+            queued += result.notificationsQueued();
+         } while (!result.runCompleted() && chunks < maxChunksPerRun);
+
+         if (escalated > 0 || queued > 0) {
+            log.info("Multas vencidas: {} escaladas, {} notificaciones encoladas en {} lotes (corte {}, último ID {})",
+                  escalated, queued, chunks, result.cutoff(), result.lastProcessedId());
+         }
+      } catch (RuntimeException e) {
+         // Lo confirmado queda guardado; el lote fallido se reintenta en la próxima ejecución
+         log.warn("Barrido de multas vencidas interrumpido tras {} lotes: {}", chunks, e.getMessage());
+      }
+   }
+}
@@ -1,8 +1,13 @@
 package com.winnersystems.smartparking.parking.infrastructure.adapter.output.client;
 
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 
 import java.util.List;
 
@@ -12,12 +17,21 @@ import java.util.List;
  * Permite a parking-service obtener información de usuarios/operadores
  * desde auth-service de manera síncrona.
  *
+ * Cada llamada pasa por un circuit breaker y un bulkhead (Resilience4j) y
+ * usa el pool de conexiones de Apache HttpClient 5; los timeouts y límites
+ * están en parking-service.yml (spring.cloud.openfeign, resilience4j).
+ * Si falla, AuthServiceClientFallbackFactory responde con los últimos datos
+ * conocidos. Los 304 se convierten en NotModifiedException
+ * (AuthServiceClientConfig).
+ *
  * @author Edwin Yoner - Winner Systems - Smart Parking Platform
  * @version 1.0
  */
 @FeignClient(
       name = "auth-service",
-      path = "/auth"
+      path = "/auth",
+      fallbackFactory = AuthServiceClientFallbackFactory.class,
+      configuration = AuthServiceClientConfig.class
 )
 public interface AuthServiceClient {
 
@@ -25,11 +39,16 @@ public interface AuthServiceClient {
     * Obtiene la lista de operadores activos desde auth-service.
     *
     * Llama a: GET http://auth-service/auth/users/operators
+    * La respuesta trae ETag; con ese valor en ifNoneMatch, si la lista no
+    * cambió auth-service responde 304 sin cuerpo.
     *
-    * @return lista de operadores activos
+    * @param ifNoneMatch ETag de la lista que ya se tiene (null para descargarla siempre)
+    * @return lista de operadores activos y su ETag
+    * @throws NotModifiedException si la lista no cambió
     */
    @GetMapping("/users/operators")
-   List<OperatorDto> getActiveOperators();
+   ResponseEntity<List<OperatorDto>> getActiveOperators(
+         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
 
    /**
     * Obtiene un usuario específico por ID desde auth-service.
@@ -42,6 +61,18 @@ public interface AuthServiceClient {
    @GetMapping("/users/{userId}")
    UserDto getUserById(@PathVariable("userId") Long userId);
 
+   /**
+    * Obtiene varios usuarios por ID en una sola llamada.
+    *
+    * Llama a: POST http://auth-service/auth/users/batch
+    * Los IDs inexistentes o eliminados no vienen en la respuesta.
+    *
+    * @param request IDs a consultar (máximo 500)
+    * @return usuarios encontrados, en cualquier orden
+    */
+   @PostMapping("/users/batch")
+   List<OperatorDto> getUsersByIds(@RequestBody UserBatchRequest request);
+
    // ========================= DTOs =========================
 
    /**
@@ -61,6 +92,12 @@ public interface AuthServiceClient {
       }
    }
 
+   /**
+    * Cuerpo de POST /users/batch.
+    */
+   record UserBatchRequest(List<Long> ids) {
+   }
+
    /**
     * DTO para recibir información de usuario desde auth-service.
     */
@@ -0,0 +1,27 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.output.client;
+
+import feign.codec.ErrorDecoder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Configuración propia de AuthServiceClient (sin @Configuration: solo la
+ * usa este cliente, no todos los de Feign).
+ *
+ * Feign trata como error toda respuesta fuera de 2xx; un 304 a una
+ * consulta condicional (If-None-Match) se convierte en NotModifiedException
+ * en lugar de un FeignException genérico.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public class AuthServiceClientConfig {
+
+   @Bean
+   public ErrorDecoder authServiceErrorDecoder() {
+      ErrorDecoder defaults = new ErrorDecoder.Default();
+      return (methodKey, response) -> response.status() == HttpStatus.NOT_MODIFIED.value()
+            ? new NotModifiedException(methodKey)
+            : defaults.decode(methodKey, response);
+   }
+}
\ No newline at end of file
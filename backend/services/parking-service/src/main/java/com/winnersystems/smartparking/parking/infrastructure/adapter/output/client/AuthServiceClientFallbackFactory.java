@@ -0,0 +1,138 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.output.client;
+
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Fallback de AuthServiceClient: responde con los últimos datos conocidos
+ * de OperatorDirectory cuando la llamada falla, el circuito está abierto o
+ * el bulkhead no tiene cupo.
+ *
+ * - Las llamadas con las que OperatorDirectory se refresca (operadores
+ *   activos y lote de usuarios) propagan el error: el directorio conserva
+ *   sus datos anteriores con su edad y ETag, en lugar de recibirlos de
+ *   vuelta como si fueran una respuesta nueva
+ * - Los 4xx y los 304 no se enmascaran: son respuestas válidas de auth-service.
+ *   El circuit breaker entrega la causa envuelta en ExecutionException, por
+ *   eso se desenvuelve antes de decidir
+ * - Sin datos conocidos se propaga el error original
+ * - Cada respuesta servida desde aquí suma en parking.auth.fallbacks
+ *   (tags: method, cause)
+ *
+ * La latencia de las llamadas (http.client.requests) y el estado de los
+ * circuitos (resilience4j.circuitbreaker.state) los exportan feign-micrometer
+ * y resilience4j-micrometer.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class AuthServiceClientFallbackFactory implements FallbackFactory<AuthServiceClient> {
+
+   public static final String FALLBACKS_NAME = "parking.auth.fallbacks";
+
+   /** Perezoso: OperatorDirectory depende a su vez de AuthServiceClient */
+   private final ObjectProvider<OperatorDirectory> operatorDirectory;
+   private final MeterRegistry meterRegistry;
+
+   public AuthServiceClientFallbackFactory(ObjectProvider<OperatorDirectory> operatorDirectory,
+                                           MeterRegistry meterRegistry) {
+      this.operatorDirectory = operatorDirectory;
+      this.meterRegistry = meterRegistry;
+   }
+
+   @Override
+   public AuthServiceClient create(Throwable failure) {
+      Throwable cause = unwrap(failure);
+      return new AuthServiceClient() {
+
+         @Override
+         public ResponseEntity<List<OperatorDto>> getActiveOperators(String ifNoneMatch) {
+            throw propagate(cause);
+         }
+
+         @Override
+         public UserDto getUserById(Long userId) {
+            List<OperatorDto> known = serve("getUserById", cause, () -> directory().lastKnown(List.of(userId))
+                  .filter(operators -> !operators.isEmpty()));
+            return toUser(known.get(0));
+         }
+
+         @Override
+         public List<OperatorDto> getUsersByIds(UserBatchRequest request) {
+            throw propagate(cause);
+         }
+      };
+   }
+
+   // ========================= HELPERS =========================
+
+   private <T> T serve(String method, Throwable cause, Supplier<Optional<T>> lastKnown) {
+      if (cause instanceof FeignException.FeignClientException clientError) {
+         throw clientError;
+      }
+      if (cause instanceof NotModifiedException notModified) {
+         throw notModified;
+      }
+
+      Optional<T> data = lastKnown.get();
+      if (data.isEmpty()) {
+         throw propagate(cause);
+      }
+
+      log.warn("auth-service no disponible en {} ({}); se sirven los últimos datos conocidos",
+            method, cause.getClass().getSimpleName());
+      Counter.builder(FALLBACKS_NAME)
+            .description("Respuestas a auth-service servidas con los últimos datos conocidos")
+            .tag("method", method)
+            .tag("cause", cause.getClass().getSimpleName())
+            .register(meterRegistry)
+            .increment();
+      return data.get();
+   }
+
+   private static Throwable unwrap(Throwable failure) {
+      Throwable cause = failure;
+      while ((cause instanceof ExecutionException || cause instanceof CompletionException)
+            && cause.getCause() != null) {
+         cause = cause.getCause();
+      }
+      return cause;
+   }
+
+   private static RuntimeException propagate(Throwable cause) {
+      return cause instanceof RuntimeException runtime
+            ? runtime
+            : new IllegalStateException("auth-service no disponible", cause);
+   }
+
+   private OperatorDirectory directory() {
+      return operatorDirectory.getObject();
+   }
+
+   private static AuthServiceClient.UserDto toUser(AuthServiceClient.OperatorDto operator) {
+      return new AuthServiceClient.UserDto(
+            operator.id(),
+            operator.firstName(),
+            operator.lastName(),
+            operator.email(),
+            operator.phoneNumber(),
+            null,
+            operator.status(),
+            null
+      );
+   }
+}
@@ -0,0 +1,177 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.output.client;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Agrupa las consultas de usuarios por ID a auth-service.
+ *
+ * Las cargas pedidas por distintos hilos dentro de una misma ventana de
+ * tiempo salen juntas en un solo POST /users/batch:
+ * - El primer ID encolado programa el envío para dentro de window ms
+ * - Si la cola llega a max-size se envía sin esperar la ventana
+ * - Un ID que ya está en camino no se vuelve a pedir: los hilos comparten
+ *   el mismo resultado
+ * - Si la llamada falla, todos los que esperaban ese lote reciben el error
+ *
+ * Propiedades (parking.operators.batch):
+ * - window: ms que se espera a otras consultas antes de enviar (default 10)
+ * - max-size: IDs por llamada, límite de auth-service (default 500)
+ * - timeout: ms máximos de espera de un lote (default 3000)
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class AuthUserBatchLoader {
+
+   private final AuthServiceClient authServiceClient;
+   private final long windowMillis;
+   private final int maxBatchSize;
+   private final long timeoutMillis;
+
+   private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "auth-user-batch");
+      thread.setDaemon(true);
+      return thread;
+   });
+
+   /** IDs encolados o en camino, con el resultado que comparten los hilos */
+   private final Map<Long, CompletableFuture<Optional<AuthServiceClient.OperatorDto>>> waiting =
+         new ConcurrentHashMap<>();
+
+   /** IDs encolados y todavía sin enviar (protegido por el monitor) */
+   private List<Long> queued = new ArrayList<>();
+   private boolean flushScheduled;
+
+   public AuthUserBatchLoader(AuthServiceClient authServiceClient,
+                              @Value("${parking.operators.batch.window:10}") long windowMillis,
+                              @Value("${parking.operators.batch.max-size:500}") int maxBatchSize,
+                              @Value("${parking.operators.batch.timeout:3000}") long timeoutMillis) {
+      this.authServiceClient = authServiceClient;
+      this.windowMillis = windowMillis;
+      this.maxBatchSize = maxBatchSize;
+      this.timeoutMillis = timeoutMillis;
+   }
+
+   // ========================= CARGA =========================
+
+   /**
+    * Usuarios por ID; un ID inexistente queda como Optional vacío.
+    *
+    * @throws IllegalStateException si auth-service falla o no responde a tiempo
+    */
+   public Map<Long, Optional<AuthServiceClient.OperatorDto>> loadAll(Collection<Long> userIds) {
+      Map<Long, CompletableFuture<Optional<AuthServiceClient.OperatorDto>>> futures = enqueue(userIds);
+      if (futures.isEmpty()) {
+         return Map.of();
+      }
+
+      try {
+         CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+               .get(timeoutMillis, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new IllegalStateException("Consulta de usuarios interrumpida", e);
+      } catch (ExecutionException | TimeoutException e) {
+         throw new IllegalStateException("No se pudo obtener los usuarios de auth-service", e);
+      }
+
+      Map<Long, Optional<AuthServiceClient.OperatorDto>> loaded = new LinkedHashMap<>();
+      futures.forEach((id, future) -> loaded.put(id, future.join()));
+      return loaded;
+   }
+
+   @PreDestroy
+   void shutdown() {
+      dispatcher.shutdownNow();
+   }
+
+   // ========================= HELPERS =========================
+
+   private synchronized Map<Long, CompletableFuture<Optional<AuthServiceClient.OperatorDto>>> enqueue(
+         Collection<Long> userIds) {
+      Map<Long, CompletableFuture<Optional<AuthServiceClient.OperatorDto>>> futures = new LinkedHashMap<>();
+      userIds.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .forEach(id -> futures.put(id, waiting.computeIfAbsent(id, key -> {
+               queued.add(key);
+               return new CompletableFuture<>();
+            })));
+
+      if (queued.size() >= maxBatchSize) {
+         dispatcher.execute(this::flush);
+      } else if (!queued.isEmpty() && !flushScheduled) {
+         flushScheduled = true;
+         dispatcher.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+      }
+      return futures;
+   }
+
+   private void flush() {
+      List<Long> batch;
+      synchronized (this) {
+         batch = queued;
+         queued = new ArrayList<>();
+         flushScheduled = false;
+      }
+      for (int from = 0; from < batch.size(); from += maxBatchSize) {
+         fetch(batch.subList(from, Math.min(from + maxBatchSize, batch.size())));
+      }
+   }
+
+   private void fetch(List<Long> userIds) {
+      try {
+         Map<Long, AuthServiceClient.OperatorDto> found = authServiceClient
+               .getUsersByIds(new AuthServiceClient.UserBatchRequest(List.copyOf(userIds)))
+               .stream()
+               .collect(Collectors.toMap(
+                     AuthServiceClient.OperatorDto::id, Function.identity(), (first, second) -> first));
+         for (Long id : userIds) {
+            complete(id, Optional.ofNullable(found.get(id)), null);
+         }
+      } catch (RuntimeException e) {
+         log.warn("No se pudo consultar {} usuarios en auth-service: {}", userIds.size(), e.getMessage());
+         for (Long id : userIds) {
+            complete(id, null, e);
+         }
+      }
+   }
+
+   /**
+    * Saca el ID de la espera antes de completarlo: una consulta posterior
+    * al resultado vuelve a ir a auth-service.
+    */
+   private void complete(Long id, Optional<AuthServiceClient.OperatorDto> user, RuntimeException error) {
+      CompletableFuture<Optional<AuthServiceClient.OperatorDto>> future = waiting.remove(id);
+      if (future == null) {
+         return;
+      }
+      if (error != null) {
+         future.completeExceptionally(error);
+      } else {
+         future.complete(user);
+      }
+   }
+}
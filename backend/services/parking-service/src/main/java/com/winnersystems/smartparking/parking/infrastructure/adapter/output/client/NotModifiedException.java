@@ -0,0 +1,17 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.output.client;
+
+/**
+ * auth-service respondió 304: los datos que ya tenemos siguen vigentes.
+ *
+ * No es un fallo: el circuit breaker la ignora (parking-service.yml) y el
+ * fallback la propaga tal cual.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public class NotModifiedException extends RuntimeException {
+
+   public NotModifiedException(String methodKey) {
+      super("Sin cambios en auth-service: " + methodKey, null, false, false);
+   }
+}
\ No newline at end of file
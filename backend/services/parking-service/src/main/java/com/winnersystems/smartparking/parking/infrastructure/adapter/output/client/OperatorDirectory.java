@@ -0,0 +1,412 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.output.client;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Directorio local de operadores de auth-service.
+ *
+ * Evita una llamada Feign por request: los REST adapters leen nombres y
+ * datos de contacto de aquí.
+ *
+ * Operadores activos (GET /users/operators):
+ * - Foto completa en memoria, refrescada cada parking.operators.directory.ttl
+ * - Stale-while-revalidate: vencida la foto se sigue sirviendo y se
+ *   refresca en segundo plano; solo se espera al refresco si no hay foto
+ *   o si tiene más de max-stale
+ * - Single-flight: un solo refresco en curso, los demás hilos lo comparten
+ * - Refresco condicional: se envía el ETag de la foto; si auth-service
+ *   responde 304 se renueva la misma foto sin descargar la lista
+ * - Si auth-service falla se sigue sirviendo la última foto conocida (con
+ *   su edad y su ETag) y no se reintenta hasta pasado otro ttl
+ *
+ * Usuarios fuera de la foto (POST /users/batch, p.ej. operadores inactivos):
+ * - Caché por ID con el mismo ttl
+ * - Los IDs que faltan de una página se piden juntos, y las consultas
+ *   concurrentes se agrupan en una sola llamada (AuthUserBatchLoader)
+ * - Caché negativa: un ID inexistente se recuerda negative-ttl ms
+ * - Las entradas vencidas se conservan como último dato conocido; con la
+ *   caché llena se descartan al guardar, y si sigue llena el usuario se
+ *   devuelve sin guardarse
+ *
+ * Propiedades (parking.operators.directory):
+ * - ttl: ms de vigencia de la foto y de cada usuario (default 60000)
+ * - max-stale: ms máximos sirviendo una foto vencida (default 600000)
+ * - negative-ttl: ms que se recuerda un ID inexistente (default 30000)
+ * - max-users: usuarios fuera de la foto en memoria (default 5000)
+ * - refresh-timeout: ms de espera de un refresco síncrono (default 3000)
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class OperatorDirectory {
+
+   /** Edad mínima de la foto para refrescarla al validar IDs desconocidos */
+   private static final long RECHECK_MIN_AGE_MILLIS = 5_000;
+
+   private final AuthServiceClient authServiceClient;
+   private final AuthUserBatchLoader batchLoader;
+   private final long ttlMillis;
+   private final long maxStaleMillis;
+   private final long negativeTtlMillis;
+   private final long refreshTimeoutMillis;
+   private final int maxUsers;
+
+   private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "operator-directory-refresh");
+      thread.setDaemon(true);
+      return thread;
+   });
+
+   private final AtomicReference<Snapshot> current = new AtomicReference<>();
+   private final AtomicReference<CompletableFuture<Snapshot>> refreshing = new AtomicReference<>();
+
+   /** No se intenta otro refresco en segundo plano antes de este instante (tras un fallo) */
+   private volatile long nextAttemptAt;
+
+   private final Map<Long, UserEntry> users = new ConcurrentHashMap<>();
+
+   public OperatorDirectory(AuthServiceClient authServiceClient,
+                            AuthUserBatchLoader batchLoader,
+                            @Value("${parking.operators.directory.ttl:60000}") long ttlMillis,
+                            @Value("${parking.operators.directory.max-stale:600000}") long maxStaleMillis,
+                            @Value("${parking.operators.directory.negative-ttl:30000}") long negativeTtlMillis,
+                            @Value("${parking.operators.directory.refresh-timeout:3000}") long refreshTimeoutMillis,
+                            @Value("${parking.operators.directory.max-users:5000}") int maxUsers) {
+      this.authServiceClient = authServiceClient;
+      this.batchLoader = batchLoader;
+      this.ttlMillis = ttlMillis;
+      this.maxStaleMillis = maxStaleMillis;
+      this.negativeTtlMillis = negativeTtlMillis;
+      this.refreshTimeoutMillis = refreshTimeoutMillis;
+      this.maxUsers = maxUsers;
+   }
+
+   // ========================= OPERADORES ACTIVOS =========================
+
+   /**
+    * Operadores activos por ID.
+    */
+   public Map<Long, AuthServiceClient.OperatorDto> activeOperators() {
+      return snapshot().operators();
+   }
+
+   /**
+    * Nombre completo de un operador activo (null si no está en la foto).
+    * No consulta auth-service por IDs ausentes: pensado para listados.
+    */
+   public String activeOperatorName(Long operatorId) {
+      AuthServiceClient.OperatorDto operator = activeOperators().get(operatorId);
+      return operator != null ? operator.getFullName() : null;
+   }
+
+   /**
+    * IDs que no corresponden a operadores activos.
+    *
+    * Si falta alguno y la foto no es recién cargada, se refresca una vez
+    * antes de responder: un operador activado hace segundos no se rechaza.
+    */
+   public List<Long> findInactive(Collection<Long> operatorIds) {
+      Snapshot snapshot = snapshot();
+      List<Long> missing = missingFrom(snapshot, operatorIds);
+      if (missing.isEmpty() || age(snapshot) < RECHECK_MIN_AGE_MILLIS) {
+         return missing;
+      }
+      return missingFrom(awaitOrStale(refresh(), snapshot), operatorIds);
+   }
+
+   // ========================= USUARIOS =========================
+
+   /**
+    * Datos de un operador: primero la foto de activos, luego la caché por ID.
+    *
+    * @return vacío si auth-service no conoce el ID (se recuerda negative-ttl ms)
+    */
+   public Optional<AuthServiceClient.OperatorDto> findOperator(Long operatorId) {
+      if (operatorId == null) {
+         return Optional.empty();
+      }
+      return Optional.ofNullable(findOperators(List.of(operatorId)).get(operatorId));
+   }
+
+   /**
+    * Datos de varios operadores (p.ej. los de una página) con a lo sumo
+    * una llamada a auth-service por los IDs que no están en memoria.
+    *
+    * Si auth-service no responde se usan los datos vencidos que haya.
+    *
+    * @return operadores encontrados por ID; los IDs desconocidos no aparecen
+    */
+   public Map<Long, AuthServiceClient.OperatorDto> findOperators(Collection<Long> operatorIds) {
+      Map<Long, AuthServiceClient.OperatorDto> active = activeOperatorsOrEmpty();
+      Map<Long, AuthServiceClient.OperatorDto> found = new HashMap<>();
+      Map<Long, UserEntry> toLoad = new HashMap<>();
+
+      for (Long id : operatorIds) {
+         if (id == null || found.containsKey(id) || toLoad.containsKey(id)) {
+            continue;
+         }
+         AuthServiceClient.OperatorDto operator = active.get(id);
+         UserEntry entry = operator == null ? users.get(id) : null;
+         if (operator != null) {
+            found.put(id, operator);
+         } else if (entry != null && !entry.isExpired()) {
+            entry.operator().ifPresent(user -> found.put(id, user));
+         } else {
+            // Sin entrada o vencida (se guarda para usarla si auth-service falla)
+            toLoad.put(id, entry);
+         }
+      }
+
+      if (!toLoad.isEmpty()) {
+         loadUsers(toLoad).forEach((id, entry) -> entry.operator().ifPresent(user -> found.put(id, user)));
+      }
+      return found;
+   }
+
+   /**
+    * Descarta todo; la siguiente lectura vuelve a consultar auth-service.
+    */
+   public void invalidate() {
+      current.set(null);
+      nextAttemptAt = 0;
+      users.clear();
+   }
+
+   /**
+    * Momento de carga (o de la última renovación por 304) de la foto actual;
+    * 0 si aún no hay foto. Para los tests del paquete.
+    */
+   long snapshotLoadedAt() {
+      Snapshot snapshot = current.get();
+      return snapshot != null ? snapshot.loadedAt() : 0;
+   }
+
+   @PreDestroy
+   void shutdown() {
+      refresher.shutdownNow();
+   }
+
+   // ========================= ÚLTIMOS DATOS CONOCIDOS =========================
+
+   /**
+    * Últimos datos conocidos de los IDs indicados, aunque estén vencidos.
+    * Usado por el fallback de AuthServiceClient con el circuito abierto.
+    *
+    * @return vacío si algún ID nunca se consultó; si no, los que existen
+    *         (un ID inexistente conocido no aparece, igual que en POST /users/batch)
+    */
+   public Optional<List<AuthServiceClient.OperatorDto>> lastKnown(Collection<Long> userIds) {
+      Snapshot snapshot = current.get();
+      List<AuthServiceClient.OperatorDto> known = new ArrayList<>();
+      for (Long id : userIds) {
+         AuthServiceClient.OperatorDto active = snapshot != null ? snapshot.operators().get(id) : null;
+         UserEntry entry = active == null ? users.get(id) : null;
+         if (active != null) {
+            known.add(active);
+         } else if (entry != null) {
+            entry.operator().ifPresent(known::add);
+         } else {
+            return Optional.empty();
+         }
+      }
+      return Optional.of(known);
+   }
+
+   // ========================= HELPERS - FOTO =========================
+
+   private Snapshot snapshot() {
+      Snapshot snapshot = current.get();
+      if (snapshot == null || age(snapshot) > maxStaleMillis) {
+         // Sin foto utilizable: se espera al refresco (compartido entre hilos)
+         return awaitOrStale(refresh(), snapshot);
+      }
+      if (age(snapshot) > ttlMillis && System.currentTimeMillis() >= nextAttemptAt) {
+         refresh();
+      }
+      return snapshot;
+   }
+
+   /**
+    * Inicia un refresco, o devuelve el que ya está en curso.
+    */
+   private CompletableFuture<Snapshot> refresh() {
+      CompletableFuture<Snapshot> future = new CompletableFuture<>();
+      CompletableFuture<Snapshot> running = refreshing.compareAndExchange(null, future);
+      if (running != null) {
+         return running;
+      }
+
+      refresher.execute(() -> {
+         try {
+            Snapshot loaded = load(current.get());
+            current.set(loaded);
+            future.complete(loaded);
+         } catch (RuntimeException e) {
+            nextAttemptAt = System.currentTimeMillis() + ttlMillis;
+            log.warn("No se pudo refrescar el directorio de operadores: {}", e.getMessage());
+            future.completeExceptionally(e);
+         } finally {
+            refreshing.set(null);
+         }
+      });
+      return future;
+   }
+
+   /**
+    * Descarga la lista, o renueva la foto anterior si auth-service responde 304.
+    */
+   private Snapshot load(Snapshot previous) {
+      String etag = previous != null ? previous.etag() : null;
+      try {
+         ResponseEntity<List<AuthServiceClient.OperatorDto>> response = authServiceClient.getActiveOperators(etag);
+         List<AuthServiceClient.OperatorDto> operators = response.getBody() != null ? response.getBody() : List.of();
+         return Snapshot.of(operators, response.getHeaders().getETag());
+      } catch (NotModifiedException e) {
+         if (previous == null) {
+            throw e;
+         }
+         log.debug("Directorio de operadores sin cambios ({})", etag);
+         return previous.renewed();
+      }
+   }
+
+   private Snapshot awaitOrStale(CompletableFuture<Snapshot> refresh, Snapshot stale) {
+      try {
+         return await(refresh);
+      } catch (IllegalStateException e) {
+         if (stale != null) {
+            return stale;
+         }
+         throw e;
+      }
+   }
+
+   private Snapshot await(CompletableFuture<Snapshot> refresh) {
+      try {
+         return refresh.get(refreshTimeoutMillis, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new IllegalStateException("Consulta de operadores interrumpida", e);
+      } catch (ExecutionException | TimeoutException e) {
+         throw new IllegalStateException("No se pudo obtener los operadores de auth-service", e);
+      }
+   }
+
+   private static List<Long> missingFrom(Snapshot snapshot, Collection<Long> operatorIds) {
+      return operatorIds.stream()
+            .filter(id -> !snapshot.operators().containsKey(id))
+            .distinct()
+            .toList();
+   }
+
+   private static long age(Snapshot snapshot) {
+      return System.currentTimeMillis() - snapshot.loadedAt();
+   }
+
+   // ========================= HELPERS - USUARIOS =========================
+
+   private Map<Long, AuthServiceClient.OperatorDto> activeOperatorsOrEmpty() {
+      try {
+         return activeOperators();
+      } catch (IllegalStateException e) {
+         return Map.of();
+      }
+   }
+
+   /**
+    * Carga en un lote los usuarios indicados y los guarda en la caché.
+    *
+    * @param stale entrada vencida de cada ID (null si no había)
+    */
+   private Map<Long, UserEntry> loadUsers(Map<Long, UserEntry> stale) {
+      try {
+         long now = System.currentTimeMillis();
+         Map<Long, UserEntry> loaded = new HashMap<>();
+         batchLoader.loadAll(stale.keySet()).forEach((id, user) -> {
+            UserEntry entry = new UserEntry(user, now + (user.isPresent() ? ttlMillis : negativeTtlMillis));
+            cache(id, entry, now);
+            loaded.put(id, entry);
+         });
+         return loaded;
+      } catch (IllegalStateException e) {
+         log.warn("auth-service no respondió por {} usuarios; se usan los datos anteriores", stale.size());
+         Map<Long, UserEntry> previous = new HashMap<>(stale);
+         previous.values().removeIf(Objects::isNull);
+         return previous;
+      }
+   }
+
+   /**
+    * Guarda la entrada si cabe; llena la caché, antes se descartan las vencidas.
+    * Un ID ya presente siempre se reemplaza.
+    */
+   private void cache(Long id, UserEntry entry, long now) {
+      if (users.size() >= maxUsers && !users.containsKey(id)) {
+         users.values().removeIf(cached -> now >= cached.expiresAt());
+      }
+      if (users.size() < maxUsers || users.containsKey(id)) {
+         users.put(id, entry);
+      }
+   }
+
+   /**
+    * Usuarios fuera de la foto en memoria (vigentes y vencidos).
+    */
+   int cachedUsers() {
+      return users.size();
+   }
+
+   // ========================= TIPOS =========================
+
+   /**
+    * Foto de operadores activos; etag es el de la respuesta (null si no vino).
+    */
+   private record Snapshot(Map<Long, AuthServiceClient.OperatorDto> operators, String etag, long loadedAt) {
+
+      static Snapshot of(List<AuthServiceClient.OperatorDto> operators, String etag) {
+         Map<Long, AuthServiceClient.OperatorDto> byId = operators.stream()
+               .collect(Collectors.toUnmodifiableMap(
+                     AuthServiceClient.OperatorDto::id, Function.identity(), (first, second) -> first));
+         return new Snapshot(byId, etag, System.currentTimeMillis());
+      }
+
+      /** La misma foto, confirmada vigente ahora */
+      Snapshot renewed() {
+         return new Snapshot(operators, etag, System.currentTimeMillis());
+      }
+   }
+
+   /**
+    * Usuario cacheado; operator vacío = ID inexistente (caché negativa).
+    */
+   private record UserEntry(Optional<AuthServiceClient.OperatorDto> operator, long expiresAt) {
+
+      boolean isExpired() {
+         return System.currentTimeMillis() >= expiresAt;
+      }
+   }
+}
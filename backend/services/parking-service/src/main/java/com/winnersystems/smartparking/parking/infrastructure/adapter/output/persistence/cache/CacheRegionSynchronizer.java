@@ -0,0 +1,208 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.cache;
+
+import com.winnersystems.smartparking.parking.application.port.output.CacheVersionPersistencePort;
+import com.winnersystems.smartparking.parking.application.service.offender.OffenderIndex;
+import com.winnersystems.smartparking.parking.application.service.operatorassignment.OnDutyIndex;
+import com.winnersystems.smartparking.parking.application.service.topology.TopologyCache;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.cacheversion.LocalCacheVersions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Invalida las cachés locales cuando otra réplica escribe.
+ *
+ * Cada región de caché tiene un contador en CACHE_REGION_VERSIONS:
+ * - Quien escribe lo incrementa en la misma transacción (changed)
+ * - Las regiones con muchas escrituras (registerDeferred) no tocan el
+ *   contador al escribir: sus cambios se publican con un solo incremento
+ *   al comienzo de cada sondeo, en una transacción propia
+ * - Cada instancia lee todos los contadores con una sola consulta cada
+ *   parking.cache.invalidation.poll-interval ms y descarta solo las
+ *   regiones cuya versión avanzó desde la última lectura
+ *
+ * El retraso máximo entre réplicas es el intervalo de sondeo. La BD es
+ * Oracle, sin LISTEN/NOTIFY, así que no hay aviso inmediato.
+ *
+ * Las escrituras de la propia instancia ya se aplicaron en su caché al
+ * confirmarse: si todas las versiones nuevas de una región son propias
+ * (LocalCacheVersions), el sondeo no la descarta.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class CacheRegionSynchronizer {
+
+   private final CacheVersionPersistencePort cacheVersionPersistencePort;
+   private final LocalCacheVersions localCacheVersions;
+   private final boolean enabled;
+
+   private final Map<String, Runnable> evictions = new ConcurrentSkipListMap<>();
+   private final Map<String, Long> knownVersions = new ConcurrentHashMap<>();
+   private final Map<String, BooleanSupplier> deferred = new ConcurrentSkipListMap<>();
+   private final Set<String> unpublished = ConcurrentHashMap.newKeySet();
+
+   private volatile boolean started;
+   private volatile LocalDateTime lastPollAt;
+
+   public CacheRegionSynchronizer(CacheVersionPersistencePort cacheVersionPersistencePort,
+                                  LocalCacheVersions localCacheVersions,
+                                  TopologyCache topologyCache,
+                                  OffenderIndex offenderIndex,
+                                  ObjectProvider<OnDutyIndex> onDutyIndex,
+                                  @Value("${parking.cache.invalidation.enabled:true}") boolean enabled) {
+      this.cacheVersionPersistencePort = cacheVersionPersistencePort;
+      this.localCacheVersions = localCacheVersions;
+      this.enabled = enabled;
+      register(TopologyCache.REGION, topologyCache::invalidate);
+      // OffenderIndex no se descarta: relee solo las infracciones modificadas
+      registerDeferred(OffenderIndex.REGION, offenderIndex::refresh, offenderIndex::takeUnpublished);
+      // Diferido: OnDutyIndex lee los turnos del catálogo, que se registra aquí
+      register(OnDutyIndex.REGION, () -> onDutyIndex.getObject().invalidate());
+   }
+
+   // ========================= REGISTRO =========================
+
+   /**
+    * Registra una región y cómo descartarla (o ponerla al día) cuando otra réplica la cambie.
+    *
+    * @throws IllegalStateException si la región ya estaba registrada
+    */
+   public void register(String region, Runnable eviction) {
+      if (evictions.putIfAbsent(region, eviction) != null) {
+         throw new IllegalStateException("Región de caché duplicada: " + region);
+      }
+   }
+
+   /**
+    * Registra una región que no incrementa su contador al escribir.
+    *
+    * @param changes true si la región cambió desde la última consulta;
+    *                se consulta al comienzo de cada sondeo
+    * @throws IllegalStateException si la región ya estaba registrada
+    */
+   public void registerDeferred(String region, Runnable eviction, BooleanSupplier changes) {
+      register(region, eviction);
+      deferred.put(region, changes);
+   }
+
+   /**
+    * Marca la región como modificada. Llamar dentro de la transacción que escribe.
+    */
+   public void changed(String region) {
+      cacheVersionPersistencePort.increment(region);
+   }
+
+   // ========================= SONDEO =========================
+
+   /**
+    * Crea los contadores que falten y toma las versiones de partida.
+    * Descarta todo una vez: lo cargado durante el arranque pudo perder
+    * escrituras de otras réplicas.
+    */
+   @EventListener(ApplicationReadyEvent.class)
+   public void start() {
+      if (!enabled) {
+         log.info("Invalidación de cachés entre réplicas deshabilitada");
+         return;
+      }
+      evictions.keySet().forEach(cacheVersionPersistencePort::ensureRegion);
+      knownVersions.putAll(cacheVersionPersistencePort.findAllVersions());
+      evictions.values().forEach(Runnable::run);
+      started = true;
+      log.info("Invalidación de cachés entre réplicas activa para {} regiones", evictions.size());
+   }
+
+   @Scheduled(fixedDelayString = "${parking.cache.invalidation.poll-interval:5000}")
+   public void poll() {
+      if (!started) {
+         return;
+      }
+      try {
+         publishDeferred();
+         Map<String, Long> versions = cacheVersionPersistencePort.findAllVersions();
+         versions.forEach(this::apply);
+         // Contadores que no se pudieron crear al arrancar
+         evictions.keySet().stream()
+               .filter(region -> !versions.containsKey(region))
+               .forEach(cacheVersionPersistencePort::ensureRegion);
+         lastPollAt = LocalDateTime.now();
+      } catch (RuntimeException e) {
+         // Las cachés siguen sirviendo; se reintenta en el próximo sondeo
+         log.warn("No se pudieron leer las versiones de caché: {}", e.getMessage());
+      }
+   }
+
+   private void apply(String region, Long version) {
+      Long known = knownVersions.get(region);
+      if (known != null && version <= known) {
+         return;
+      }
+      Runnable eviction = evictions.get(region);
+      boolean onlyLocal = localCacheVersions.onlyLocal(region, known, version);
+      if (eviction != null && !onlyLocal) {
+         eviction.run();
+         log.debug("Región de caché {} descartada (versión {} → {})", region, known, version);
+      }
+      knownVersions.put(region, version);
+   }
+
+   /**
+    * Publica lo pendiente antes de cerrar, para que las demás réplicas no
+    * esperen a la siguiente escritura.
+    */
+   @EventListener(ContextClosedEvent.class)
+   public void stop() {
+      if (!started) {
+         return;
+      }
+      try {
+         publishDeferred();
+      } catch (RuntimeException e) {
+         log.warn("No se pudieron publicar los cambios de caché pendientes: {}", e.getMessage());
+      }
+   }
+
+   /**
+    * Un incremento por región diferida con cambios, cada uno en su propia
+    * transacción. Si falla, la región sigue pendiente para el próximo sondeo.
+    */
+   private void publishDeferred() {
+      deferred.forEach((region, changes) -> {
+         if (changes.getAsBoolean()) {
+            unpublished.add(region);
+         }
+      });
+      for (String region : unpublished) {
+         cacheVersionPersistencePort.increment(region);
+         unpublished.remove(region);
+      }
+   }
+
+   // ========================= ESTADO =========================
+
+   /**
+    * Última versión vista por región.
+    */
+   public Map<String, Long> knownVersions() {
+      return Map.copyOf(knownVersions);
+   }
+
+   public LocalDateTime lastPollAt() {
+      return lastPollAt;
+   }
+}
@@ -0,0 +1,172 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Caché en memoria de un catálogo de referencia (tipos de documento,
+ * tipos de pago, tarifas, turnos, tarifas por turno).
+ *
+ * Guarda una foto inmutable de todas las filas vigentes del catálogo y la
+ * reemplaza de forma atómica. Las lecturas nunca bloquean: toman la foto
+ * actual o, si fue invalidada, la recargan con una sola consulta.
+ *
+ * Las entidades de la foto son copias desacopladas del contexto de
+ * persistencia; el adaptador las convierte a dominio en cada lectura,
+ * por lo que nadie puede modificar la foto compartida.
+ *
+ * Invalidación:
+ * - Inmediata al escribir por el puerto (save / delete)
+ * - De nuevo al terminar la transacción (commit o rollback), para que no
+ *   sobreviva una foto cargada con datos aún no confirmados
+ * - Mientras la transacción que escribió siga abierta, sus propias
+ *   recargas no se publican a los demás hilos
+ * - En las demás réplicas, cuando CacheRegionSynchronizer detecta que la
+ *   versión del catálogo avanzó en la BD
+ *
+ * @param <E> entidad JPA del catálogo
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public final class CatalogCache<E> {
+
+   private final String name;
+   private final CatalogCacheRegistry registry;
+   private final Supplier<List<E>> loader;
+   private final Function<E, Long> idOf;
+
+   private final AtomicReference<Snapshot<E>> current = new AtomicReference<>();
+   private final LongAdder hits = new LongAdder();
+   private final LongAdder misses = new LongAdder();
+   private final LongAdder invalidations = new LongAdder();
+
+   CatalogCache(String name, CatalogCacheRegistry registry, Supplier<List<E>> loader, Function<E, Long> idOf) {
+      this.name = name;
+      this.registry = registry;
+      this.loader = loader;
+      this.idOf = idOf;
+   }
+
+   // ========================= LECTURA =========================
+
+   public Optional<E> findById(Long id) {
+      if (id == null) {
+         return Optional.empty();
+      }
+      return Optional.ofNullable(snapshot().byId().get(id));
+   }
+
+   public Optional<E> findFirst(Predicate<? super E> filter) {
+      return snapshot().items().stream().filter(filter).findFirst();
+   }
+
+   /**
+    * Filas que cumplen el filtro, en el orden de carga (ID ascendente).
+    */
+   public List<E> findAll(Predicate<? super E> filter) {
+      return snapshot().items().stream().filter(filter).toList();
+   }
+
+   public boolean anyMatch(Predicate<? super E> filter) {
+      return snapshot().items().stream().anyMatch(filter);
+   }
+
+   // ========================= INVALIDACIÓN =========================
+
+   /**
+    * Descarta la foto actual. Llamar después de cada escritura del catálogo.
+    */
+   public void invalidate() {
+      registry.changed(name);
+      evict();
+
+      if (TransactionSynchronizationManager.isSynchronizationActive()
+            && !TransactionSynchronizationManager.hasResource(this)) {
+         TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+               TransactionSynchronizationManager.unbindResourceIfPossible(CatalogCache.this);
+               evict();
+            }
+         });
+      }
+   }
+
+   /**
+    * Descarta la foto sin publicar el cambio (lo usa CacheRegionSynchronizer).
+    */
+   void evict() {
+      registry.nextVersion();
+      current.set(null);
+      invalidations.increment();
+   }
+
+   // ========================= CARGA =========================
+
+   private Snapshot<E> snapshot() {
+      Snapshot<E> snapshot = current.get();
+      if (snapshot != null) {
+         hits.increment();
+         return snapshot;
+      }
+      return load();
+   }
+
+   private synchronized Snapshot<E> load() {
+      // Otro hilo pudo cargarla mientras esperábamos el monitor
+      Snapshot<E> snapshot = current.get();
+      if (snapshot != null) {
+         hits.increment();
+         return snapshot;
+      }
+
+      misses.increment();
+      long version = registry.version();
+      List<E> items = List.copyOf(loader.get());
+      Map<Long, E> byId = items.stream().collect(Collectors.toUnmodifiableMap(idOf, Function.identity()));
+      Snapshot<E> loaded = new Snapshot<>(version, items, byId, LocalDateTime.now());
+
+      // Solo se publica si nadie invalidó durante la carga y no hay escrituras sin confirmar
+      if (registry.version() == version && !TransactionSynchronizationManager.hasResource(this)) {
+         current.compareAndSet(null, loaded);
+      }
+      return loaded;
+   }
+
+   // ========================= ESTADÍSTICAS =========================
+
+   public CatalogCacheStats stats() {
+      Snapshot<E> snapshot = current.get();
+      return new CatalogCacheStats(
+            name,
+            snapshot != null ? snapshot.items().size() : 0,
+            snapshot != null ? snapshot.version() : null,
+            snapshot != null ? snapshot.loadedAt() : null,
+            hits.sum(),
+            misses.sum(),
+            invalidations.sum()
+      );
+   }
+
+   public String name() {
+      return name;
+   }
+
+   // ========================= TIPOS =========================
+
+   private record Snapshot<E>(long version, List<E> items, Map<Long, E> byId, LocalDateTime loadedAt) {
+   }
+}
@@ -0,0 +1,49 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Endpoint de Actuator con el estado de las cachés de catálogos.
+ *
+ * GET /actuator/catalogcache (solo ADMIN, ver SecurityConfig)
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Component
+@Endpoint(id = "catalogcache")
+@RequiredArgsConstructor
+public class CatalogCacheEndpoint {
+
+   private final CatalogCacheRegistry registry;
+   private final CacheRegionSynchronizer synchronizer;
+
+   @ReadOperation
+   public CatalogCacheReport report() {
+      return new CatalogCacheReport(
+            registry.version(),
+            registry.stats(),
+            synchronizer.knownVersions(),
+            synchronizer.lastPollAt()
+      );
+   }
+
+   /**
+    * @param version versión global actual
+    * @param caches estadísticas por catálogo
+    * @param regionVersions última versión vista en la BD por región (catálogos y topología)
+    * @param lastPollAt último sondeo exitoso de versiones
+    */
+   public record CatalogCacheReport(long version,
+                                    List<CatalogCacheStats> caches,
+                                    Map<String, Long> regionVersions,
+                                    LocalDateTime lastPollAt) {
+   }
+}
@@ -0,0 +1,74 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Registro de las cachés de catálogos y dueño de la versión global.
+ *
+ * La versión global aumenta con cada invalidación de cualquier catálogo.
+ * Sirve para detectar cargas que compitieron con una escritura y como
+ * sello para saber si los datos de referencia cambiaron.
+ *
+ * Cada catálogo es además una región de CacheRegionSynchronizer: sus
+ * escrituras se publican a las demás réplicas.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Component
+public class CatalogCacheRegistry {
+
+   private final CacheRegionSynchronizer synchronizer;
+
+   private final AtomicLong version = new AtomicLong();
+   private final Map<String, CatalogCache<?>> caches = new ConcurrentSkipListMap<>();
+
+   public CatalogCacheRegistry(CacheRegionSynchronizer synchronizer) {
+      this.synchronizer = synchronizer;
+   }
+
+   /**
+    * Crea y registra la caché de un catálogo.
+    *
+    * @param name nombre único del catálogo
+    * @param loader carga todas las filas vigentes (copias desacopladas, ordenadas por ID)
+    * @param idOf extrae el ID de una fila
+    * @throws IllegalStateException si ya existe un catálogo con ese nombre
+    */
+   public <E> CatalogCache<E> register(String name, Supplier<List<E>> loader, Function<E, Long> idOf) {
+      CatalogCache<E> cache = new CatalogCache<>(name, this, loader, idOf);
+      if (caches.putIfAbsent(name, cache) != null) {
+         throw new IllegalStateException("Caché de catálogo duplicada: " + name);
+      }
+      synchronizer.register(name, cache::evict);
+      return cache;
+   }
+
+   public long version() {
+      return version.get();
+   }
+
+   long nextVersion() {
+      return version.incrementAndGet();
+   }
+
+   /**
+    * Publica a las demás réplicas que el catálogo cambió (misma transacción).
+    */
+   void changed(String name) {
+      synchronizer.changed(name);
+   }
+
+   public List<CatalogCacheStats> stats() {
+      return caches.values().stream()
+            .map(CatalogCache::stats)
+            .toList();
+   }
+}
@@ -0,0 +1,28 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.cache;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estadísticas de una caché de catálogo (expuestas en /actuator/catalogcache).
+ *
+ * @param name nombre del catálogo
+ * @param size filas en la foto actual (0 si está invalidada)
+ * @param version versión global con la que se cargó la foto (null si está invalidada)
+ * @param loadedAt momento de carga de la foto actual
+ * @param hits lecturas servidas desde memoria
+ * @param misses lecturas que tuvieron que ir a la BD
+ * @param invalidations invalidaciones por escritura
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public record CatalogCacheStats(
+      String name,
+      int size,
+      Long version,
+      LocalDateTime loadedAt,
+      long hits,
+      long misses,
+      long invalidations
+) {
+}
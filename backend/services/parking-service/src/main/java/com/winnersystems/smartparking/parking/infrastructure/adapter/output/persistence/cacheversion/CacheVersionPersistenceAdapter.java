@@ -0,0 +1,91 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.cacheversion;
+
+import com.winnersystems.smartparking.parking.application.port.output.CacheVersionPersistencePort;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.cacheversion.entity.CacheRegionVersionEntity;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.cacheversion.repository.CacheRegionVersionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Adaptador de persistencia para las versiones de caché.
+ * Implementa el puerto de salida CacheVersionPersistencePort.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheVersionPersistenceAdapter implements CacheVersionPersistencePort {
+
+   private final CacheRegionVersionRepository repository;
+   private final LocalCacheVersions localCacheVersions;
+
+   // ========================= REGIONES =========================
+
+   @Override
+   public void ensureRegion(String region) {
+      if (repository.existsById(region)) {
+         return;
+      }
+      try {
+         repository.saveAndFlush(newRegion(region, 0L));
+      } catch (DataIntegrityViolationException e) {
+         // Otra instancia la creó al mismo tiempo
+      }
+   }
+
+   // ========================= VERSIONES =========================
+
+   /**
+    * Sin fila no hay nada que incrementar: la crea ensureRegion al arrancar
+    * (o el siguiente sondeo). Insertarla aquí compite con otras réplicas y
+    * una violación de PK haría fallar la escritura de negocio.
+    *
+    * La versión resultante se registra como propia al confirmarse, para
+    * que el sondeo de esta instancia no descarte su propia caché.
+    */
+   @Override
+   @Transactional
+   public void increment(String region) {
+      if (repository.increment(region, LocalDateTime.now()) == 0) {
+         log.debug("Región de caché {} sin contador; el cambio no se publica", region);
+         return;
+      }
+
+      // La fila queda bloqueada hasta el commit: la versión leída es la de este incremento
+      long version = repository.findVersion(region);
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+         @Override
+         public void afterCommit() {
+            localCacheVersions.committed(region, version);
+         }
+      });
+   }
+
+   @Override
+   public Map<String, Long> findAllVersions() {
+      Map<String, Long> versions = new HashMap<>();
+      repository.findAll().forEach(entity -> versions.put(entity.getRegion(), entity.getVersion()));
+      return versions;
+   }
+
+   // ========================= HELPERS =========================
+
+   private CacheRegionVersionEntity newRegion(String region, Long version) {
+      return CacheRegionVersionEntity.builder()
+            .region(region)
+            .version(version)
+            .updatedAt(LocalDateTime.now())
+            .build();
+   }
+}
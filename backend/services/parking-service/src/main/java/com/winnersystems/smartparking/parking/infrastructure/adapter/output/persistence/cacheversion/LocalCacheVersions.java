@@ -0,0 +1,49 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.cacheversion;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Versiones de caché que confirmó esta instancia.
+ *
+ * Cada incremento confirmado es único (la fila queda bloqueada hasta el
+ * commit), así que si todas las versiones nuevas de una región son propias
+ * la caché local ya aplicó esos cambios y no hace falta descartarla.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Component
+public class LocalCacheVersions {
+
+   private final Map<String, NavigableSet<Long>> committed = new ConcurrentHashMap<>();
+
+   /**
+    * Registra una versión propia. Llamar después del commit.
+    */
+   public void committed(String region, long version) {
+      committed.computeIfAbsent(region, key -> new ConcurrentSkipListSet<>()).add(version);
+   }
+
+   /**
+    * true si todas las versiones en (known, version] son propias. Olvida
+    * las versiones propias hasta version.
+    *
+    * @param known última versión vista (null si la región es nueva)
+    * @param version versión leída ahora
+    */
+   public boolean onlyLocal(String region, Long known, long version) {
+      NavigableSet<Long> versions = committed.get(region);
+      if (versions == null) {
+         return false;
+      }
+      boolean local = known != null
+            && versions.subSet(known, false, version, true).size() == version - known;
+      versions.headSet(version, true).clear();
+      return local;
+   }
+}
\ No newline at end of file
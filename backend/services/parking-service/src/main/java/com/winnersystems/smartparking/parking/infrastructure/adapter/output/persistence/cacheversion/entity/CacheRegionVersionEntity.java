@@ -0,0 +1,36 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.cacheversion.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad JPA para la tabla CACHE_REGION_VERSIONS.
+ *
+ * Una fila por región de caché. VERSION solo crece.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Entity
+@Table(name = "CACHE_REGION_VERSIONS")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionVersionEntity {
+
+   @Id
+   @Column(name = "REGION", length = 50)
+   private String region;
+
+   @Column(name = "VERSION", nullable = false)
+   private Long version;
+
+   @Column(name = "UPDATED_AT", nullable = false)
+   private LocalDateTime updatedAt;
+}
@@ -0,0 +1,40 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.cacheversion.repository;
+
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.cacheversion.entity.CacheRegionVersionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repositorio JPA para CacheRegionVersion.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Repository
+public interface CacheRegionVersionRepository extends JpaRepository<CacheRegionVersionEntity, String> {
+
+   /**
+    * Incrementa la versión en la BD (sin leerla antes).
+    * Se une a la transacción actual; si no hay una, abre la suya.
+    *
+    * @return filas afectadas (0 si la región no existe)
+    */
+   @Modifying
+   @Transactional
+   @Query("UPDATE CacheRegionVersionEntity c " +
+         "SET c.version = c.version + 1, c.updatedAt = :now " +
+         "WHERE c.region = :region")
+   int increment(@Param("region") String region, @Param("now") LocalDateTime now);
+
+   /**
+    * Versión actual de la región (consulta directa, sin pasar por el contexto de persistencia).
+    */
+   @Query("SELECT c.version FROM CacheRegionVersionEntity c WHERE c.region = :region")
+   long findVersion(@Param("region") String region);
+}
@@ -12,7 +12,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -29,6 +32,9 @@ public class CustomerPersistenceAdapter implements CustomerPersistencePort {
    private final CustomerRepository customerRepository;
    private final CustomerPersistenceMapper customerMapper;
 
+   /** Máximo de elementos en una lista IN de Oracle */
+   private static final int IN_CLAUSE_LIMIT = 1000;
+
    // ========================= WRITE =========================
 
    @Override
@@ -69,6 +75,23 @@ public class CustomerPersistenceAdapter implements CustomerPersistencePort {
             .map(customerMapper::toDomain);
    }
 
+   // ========================= FIND POR LOTE =========================
+
+   @Override
+   public List<Customer> findAllByIds(Collection<Long> ids) {
+      List<Long> distinctIds = ids.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+
+      List<Customer> customers = new ArrayList<>(distinctIds.size());
+      for (int from = 0; from < distinctIds.size(); from += IN_CLAUSE_LIMIT) {
+         List<Long> chunk = distinctIds.subList(from, Math.min(from + IN_CLAUSE_LIMIT, distinctIds.size()));
+         customerRepository.findAllById(chunk).forEach(entity -> customers.add(customerMapper.toDomain(entity)));
+      }
+      return customers;
+   }
+
    // ========================= EXISTS =========================
 
    @Override
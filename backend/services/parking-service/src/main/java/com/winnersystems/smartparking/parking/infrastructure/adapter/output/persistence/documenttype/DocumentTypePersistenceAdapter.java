@@ -4,10 +4,11 @@ import com.winnersystems.smartparking.parking.application.dto.query.PageRequest;
 import com.winnersystems.smartparking.parking.application.dto.query.PageResult;
 import com.winnersystems.smartparking.parking.application.port.output.DocumentTypePersistencePort;
 import com.winnersystems.smartparking.parking.domain.model.DocumentType;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.cache.CatalogCache;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.cache.CatalogCacheRegistry;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.documenttype.entity.DocumentTypeEntity;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.documenttype.mapper.DocumentTypePersistenceMapper;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.documenttype.repository.DocumentTypeRepository;
-import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -17,11 +18,18 @@ import java.util.List;
 import java.util.Optional;
 
 @Component
-@RequiredArgsConstructor
 public class DocumentTypePersistenceAdapter implements DocumentTypePersistencePort {
 
    private final DocumentTypeRepository repository;
    private final DocumentTypePersistenceMapper mapper;
+   private final CatalogCache<DocumentTypeEntity> cache;
+
+   public DocumentTypePersistenceAdapter(DocumentTypeRepository repository, DocumentTypePersistenceMapper mapper,
+                                         CatalogCacheRegistry cacheRegistry) {
+      this.repository = repository;
+      this.mapper = mapper;
+      this.cache = cacheRegistry.register("document-types", this::loadCatalog, DocumentTypeEntity::getId);
+   }
 
    // ========================= CREATE/UPDATE =========================
 
@@ -38,20 +46,22 @@ public class DocumentTypePersistenceAdapter implements DocumentTypePersistencePo
          entity = mapper.toEntity(documentType);
       }
 
-      return mapper.toDomain(repository.save(entity));
+      DocumentTypeEntity savedEntity = repository.save(entity);
+      cache.invalidate();
+      return mapper.toDomain(savedEntity);
    }
 
    // ========================= READ =========================
 
    @Override
    public Optional<DocumentType> findById(Long id) {
-      return repository.findByIdAndDeletedAtIsNull(id)
+      return cache.findById(id)
             .map(mapper::toDomain);
    }
 
    @Override
    public Optional<DocumentType> findByCode(String code) {
-      return repository.findByCodeAndDeletedAtIsNull(code)
+      return cache.findFirst(e -> e.getCode().equals(code))
             .map(mapper::toDomain);
    }
 
@@ -59,7 +69,7 @@ public class DocumentTypePersistenceAdapter implements DocumentTypePersistencePo
 
    @Override
    public List<DocumentType> findAllActive() {
-      return repository.findByStatusTrueAndDeletedAtIsNullOrderByIdAsc()
+      return cache.findAll(e -> Boolean.TRUE.equals(e.getStatus()))
             .stream()
             .map(mapper::toDomain)
             .toList();
@@ -98,12 +108,12 @@ public class DocumentTypePersistenceAdapter implements DocumentTypePersistencePo
 
    @Override
    public boolean existsByCode(String code) {
-      return repository.existsByCodeAndDeletedAtIsNull(code);
+      return cache.anyMatch(e -> e.getCode().equals(code));
    }
 
    @Override
    public boolean existsByCodeAndIdNot(String code, Long id) {
-      Optional<DocumentTypeEntity> existing = repository.findByCodeAndDeletedAtIsNull(code);
+      Optional<DocumentTypeEntity> existing = cache.findFirst(e -> e.getCode().equals(code));
       return existing.isPresent() && !existing.get().getId().equals(id);
    }
 
@@ -112,6 +122,7 @@ public class DocumentTypePersistenceAdapter implements DocumentTypePersistencePo
    @Override
    public void delete(Long id) {
       repository.deleteById(id);
+      cache.invalidate();
    }
 
    // ========================= HELPERS =========================
@@ -128,4 +139,17 @@ public class DocumentTypePersistenceAdapter implements DocumentTypePersistencePo
             Sort.by(Sort.Direction.ASC, "id")
       );
    }
+
+   // ========================= CACHÉ =========================
+
+   /**
+    * Carga el catálogo vigente (sin eliminados) como copias desacopladas
+    * del contexto de persistencia, ordenadas por ID.
+    */
+   private List<DocumentTypeEntity> loadCatalog() {
+      return repository.findByDeletedAtIsNull(Sort.by(Sort.Direction.ASC, "id"))
+            .stream()
+            .map(entity -> mapper.toEntity(mapper.toDomain(entity)))
+            .toList();
+   }
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.infraction;
+
+import com.winnersystems.smartparking.parking.application.dto.query.InfractionNotification;
+import com.winnersystems.smartparking.parking.application.port.output.InfractionNotificationOutboxPort;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.infraction.entity.InfractionNotificationOutboxEntity;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.infraction.repository.InfractionNotificationOutboxRepository;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.infraction.repository.InfractionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Adaptador de persistencia para la cola de notificaciones de multas.
+ * Implementa el puerto de salida InfractionNotificationOutboxPort.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class InfractionNotificationOutboxAdapter implements InfractionNotificationOutboxPort {
+
+   private final InfractionNotificationOutboxRepository outboxRepository;
+   private final InfractionRepository infractionRepository;
+
+   // ========================= ENCOLAR =========================
+
+   @Override
+   public int enqueue(Collection<Long> infractionIds, String method) {
+      if (infractionIds.isEmpty()) {
+         return 0;
+      }
+      return outboxRepository.enqueue(infractionIds, method, LocalDateTime.now());
+   }
+
+   // ========================= ENVÍO =========================
+
+   @Override
+   @Transactional
+   public List<InfractionNotification> claim(int limit, LocalDateTime leasedUntil) {
+      LocalDateTime now = LocalDateTime.now();
+      List<Long> ready = outboxRepository.findReadyIds(now, PageRequest.of(0, limit));
+      if (ready.isEmpty()) {
+         return List.of();
+      }
+
+      // Las que otra réplica tiene bloqueadas quedan fuera (SKIP LOCKED)
+      List<InfractionNotificationOutboxEntity> claimed = outboxRepository.findReadyForUpdate(ready, now);
+      if (claimed.isEmpty()) {
+         return List.of();
+      }
+      outboxRepository.lease(claimed.stream().map(InfractionNotificationOutboxEntity::getInfractionId).toList(),
+            leasedUntil);
+      return claimed.stream().map(InfractionNotificationOutboxAdapter::toClaimedNotification).toList();
+   }
+
+   @Override
+   @Transactional
+   public int markDelivered(Collection<InfractionNotification> delivered) {
+      LocalDateTime now = LocalDateTime.now();
+      Map<String, List<Long>> idsByMethod = delivered.stream()
+            .collect(Collectors.groupingBy(InfractionNotification::method,
+                  Collectors.mapping(InfractionNotification::infractionId, Collectors.toList())));
+
+      int marked = 0;
+      for (Map.Entry<String, List<Long>> entry : idsByMethod.entrySet()) {
+         marked += infractionRepository.markNotificationsSent(entry.getValue(), entry.getKey(), now);
+      }
+      outboxRepository.deleteAllByIdInBatch(
+            delivered.stream().map(InfractionNotification::infractionId).toList());
+      return marked;
+   }
+
+   @Override
+   @Transactional
+   public void reschedule(Long infractionId, String error, LocalDateTime nextAttemptAt) {
+      outboxRepository.findById(infractionId).ifPresent(notification -> {
+         notification.setLastError(truncate(error));
+         notification.setNextAttemptAt(nextAttemptAt);
+      });
+   }
+
+   @Override
+   @Transactional
+   public void markFailed(Long infractionId, String error) {
+      outboxRepository.findById(infractionId).ifPresent(notification -> {
+         notification.setLastError(truncate(error));
+         notification.setStatus(InfractionNotificationOutboxEntity.FAILED);
+      });
+   }
+
+   // ========================= HELPERS =========================
+
+   /**
+    * Notificación de la fila reservada; el UPDATE de la reserva ya sumó su intento.
+    */
+   private static InfractionNotification toClaimedNotification(InfractionNotificationOutboxEntity entity) {
+      return new InfractionNotification(
+            entity.getInfractionId(),
+            entity.getInfractionCode(),
+            entity.getCustomerId(),
+            entity.getMethod(),
+            entity.getFineAmount(),
+            entity.getCurrency(),
+            entity.getFineDueDate(),
+            entity.getAttempts() + 1
+      );
+   }
+
+   private static String truncate(String error) {
+      if (error == null) {
+         return null;
+      }
+      return error.length() <= 500 ? error : error.substring(0, 500);
+   }
+}
\ No newline at end of file
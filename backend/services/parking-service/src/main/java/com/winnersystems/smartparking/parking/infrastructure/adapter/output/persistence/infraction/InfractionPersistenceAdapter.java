@@ -1,5 +1,8 @@
 package com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.infraction;
 
+import com.winnersystems.smartparking.parking.application.dto.query.InfractionChange;
+import com.winnersystems.smartparking.parking.application.dto.query.InfractionExposure;
+import com.winnersystems.smartparking.parking.application.dto.query.InfractionHistory;
 import com.winnersystems.smartparking.parking.application.dto.query.PageRequest;
 import com.winnersystems.smartparking.parking.application.dto.query.PageResult;
 import com.winnersystems.smartparking.parking.application.port.output.InfractionPersistencePort;
@@ -13,13 +16,28 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 /**
  * Adaptador de persistencia para Infraction.
  *
+ * Números de código: cada NEXTVAL de INFRACTION_SEQ reserva un bloque de
+ * InfractionEntity.SEQUENCE_INCREMENT números (igual que el optimizador
+ * pooled de Hibernate para los IDs), que se reparten desde memoria. Los
+ * bloques no se cruzan entre réplicas ni con los IDs; lo que quede sin
+ * usar al reiniciar es un hueco.
+ *
  * @author Edwin Yoner - Winner Systems - Smart Parking Platform
  * @version 1.0
  */
@@ -30,6 +48,13 @@ public class InfractionPersistenceAdapter implements InfractionPersistencePort {
    private final InfractionRepository infractionRepository;
    private final InfractionPersistenceMapper infractionMapper;
 
+   /** Máximo de elementos en una lista IN de Oracle */
+   private static final int IN_CLAUSE_LIMIT = 1000;
+
+   /** Siguiente número de código del bloque reservado, y el último del bloque */
+   private long nextCode = 1;
+   private long codeBlockEnd = 0;
+
    // ========================= WRITE =========================
 
    @Override
@@ -39,11 +64,41 @@ public class InfractionPersistenceAdapter implements InfractionPersistencePort {
       return infractionMapper.toDomain(savedEntity);
    }
 
+   @Override
+   public List<Infraction> saveAll(List<Infraction> infractions) {
+      List<InfractionEntity> entities = infractions.stream()
+            .map(infractionMapper::toEntity)
+            .toList();
+      return infractionRepository.saveAll(entities).stream()
+            .map(infractionMapper::toDomain)
+            .toList();
+   }
+
    @Override
    public void delete(Long id) {
       infractionRepository.deleteById(id);
    }
 
+   @Override
+   public long nextCodeNumber() {
+      return nextCodeNumbers(1).get(0);
+   }
+
+   @Override
+   public synchronized List<Long> nextCodeNumbers(int count) {
+      List<Long> numbers = new ArrayList<>(count);
+      while (numbers.size() < count) {
+         if (nextCode > codeBlockEnd) {
+            // El bloque de un NEXTVAL v es (v - incremento, v]; el primer valor de la secuencia es 1
+            long blockEnd = infractionRepository.nextSequenceValue();
+            nextCode = Math.max(1, blockEnd - InfractionEntity.SEQUENCE_INCREMENT + 1);
+            codeBlockEnd = blockEnd;
+         }
+         numbers.add(nextCode++);
+      }
+      return numbers;
+   }
+
    // ========================= FIND ÚNICO =========================
 
    @Override
@@ -156,6 +211,71 @@ public class InfractionPersistenceAdapter implements InfractionPersistencePort {
       return infractionRepository.countOverdueFines(LocalDateTime.now());
    }
 
+   // ========================= DETECCIÓN AUTOMÁTICA =========================
+
+   @Override
+   public Map<Long, Set<String>> findDetectedTypesByTransactionIds(Collection<Long> transactionIds) {
+      List<Long> distinctIds = transactionIds.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+
+      Map<Long, Set<String>> detectedTypes = new HashMap<>();
+      for (int from = 0; from < distinctIds.size(); from += IN_CLAUSE_LIMIT) {
+         List<Long> chunk = distinctIds.subList(from, Math.min(from + IN_CLAUSE_LIMIT, distinctIds.size()));
+         for (Object[] row : infractionRepository.findDetectedTypesByTransactionIds(chunk)) {
+            detectedTypes.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((String) row[1]);
+         }
+      }
+      return detectedTypes;
+   }
+
+   // ========================= BARRIDO DE MULTAS VENCIDAS =========================
+
+   @Override
+   public List<Long> findOverdueFineIdsAfter(Long afterId, LocalDateTime cutoff, int limit) {
+      return infractionRepository.findOverdueFineIdsAfter(
+            afterId, cutoff, org.springframework.data.domain.PageRequest.of(0, limit));
+   }
+
+   @Override
+   public int escalateOverdueFines(Collection<Long> ids, LocalDateTime cutoff, String resolution) {
+      LocalDateTime now = LocalDateTime.now();
+      return inChunks(ids, chunk -> infractionRepository.escalateOverdueFines(chunk, cutoff, resolution, now));
+   }
+
+   // ========================= ÍNDICE DE REINCIDENCIA =========================
+
+   @Override
+   public List<InfractionHistory> findHistoryByVehicle() {
+      return infractionRepository.findHistoryByVehicle();
+   }
+
+   @Override
+   public List<InfractionHistory> findHistoryByCustomer() {
+      return infractionRepository.findHistoryByCustomer();
+   }
+
+   @Override
+   public List<InfractionExposure> findOpenOrUnpaidExposures() {
+      return infractionRepository.findOpenOrUnpaidExposures();
+   }
+
+   @Override
+   public List<InfractionChange> findChangedSince(LocalDateTime since) {
+      return infractionRepository.findChangedSince(since);
+   }
+
+   @Override
+   public List<InfractionHistory> findHistoryByVehicles(Collection<Long> vehicleIds) {
+      return queryInChunks(vehicleIds, infractionRepository::findHistoryByVehicles);
+   }
+
+   @Override
+   public List<InfractionHistory> findHistoryByCustomers(Collection<Long> customerIds) {
+      return queryInChunks(customerIds, infractionRepository::findHistoryByCustomers);
+   }
+
    // ========================= HELPERS - PAGINACIÓN =========================
 
    private Pageable buildPageable(PageRequest pageRequest) {
@@ -174,6 +294,32 @@ public class InfractionPersistenceAdapter implements InfractionPersistencePort {
       return org.springframework.data.domain.PageRequest.of(pageRequest.page(), pageRequest.size());
    }
 
+   // ========================= HELPERS - LOTES =========================
+
+   /**
+    * Ejecuta el UPDATE en tramos que respetan el límite de la lista IN de Oracle.
+    */
+   private int inChunks(Collection<Long> ids, ToIntFunction<List<Long>> update) {
+      List<Long> all = List.copyOf(ids);
+      int affected = 0;
+      for (int from = 0; from < all.size(); from += IN_CLAUSE_LIMIT) {
+         affected += update.applyAsInt(all.subList(from, Math.min(from + IN_CLAUSE_LIMIT, all.size())));
+      }
+      return affected;
+   }
+
+   /**
+    * Ejecuta la consulta en tramos que respetan el límite de la lista IN de Oracle.
+    */
+   private <T> List<T> queryInChunks(Collection<Long> ids, Function<List<Long>, List<T>> query) {
+      List<Long> all = List.copyOf(ids);
+      List<T> results = new ArrayList<>();
+      for (int from = 0; from < all.size(); from += IN_CLAUSE_LIMIT) {
+         results.addAll(query.apply(all.subList(from, Math.min(from + IN_CLAUSE_LIMIT, all.size()))));
+      }
+      return results;
+   }
+
    private PageResult<Infraction> toPageResult(Page<InfractionEntity> page, PageRequest pageRequest) {
       List<Infraction> content = page.getContent().stream()
             .map(infractionMapper::toDomain)
@@ -21,6 +21,7 @@ import java.time.LocalDateTime;
  * - Tabla: INFRACTIONS (mayúsculas para Oracle)
  * - PK: INFRACTION_ID con SEQUENCE
  * - UK: INFRACTION_CODE
+ * - IDX_INFRACTIONS_UPDATED_AT: cambios recientes para OffenderIndex en las demás réplicas
  *
  * SÍ tiene soft delete (deletedAt, deletedBy)
  *
@@ -28,7 +29,9 @@ import java.time.LocalDateTime;
  * @version 1.0
  */
 @Entity
-@Table(name = "INFRACTIONS")
+@Table(name = "INFRACTIONS", indexes = {
+      @Index(name = "IDX_INFRACTIONS_UPDATED_AT", columnList = "UPDATED_AT")
+})
 @EntityListeners(AuditingEntityListener.class)
 @Data
 @Builder
@@ -36,9 +39,15 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class InfractionEntity {
 
+   /**
+    * INCREMENT BY de INFRACTION_SEQ: cada NEXTVAL reserva este bloque de
+    * números, para los IDs (Hibernate) o para los códigos (InfractionPersistenceAdapter)
+    */
+   public static final int SEQUENCE_INCREMENT = 50;
+
    @Id
    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "infraction_seq")
-   @SequenceGenerator(name = "infraction_seq", sequenceName = "INFRACTION_SEQ", allocationSize = 1)
+   @SequenceGenerator(name = "infraction_seq", sequenceName = "INFRACTION_SEQ", allocationSize = SEQUENCE_INCREMENT)
    @Column(name = "INFRACTION_ID")
    private Long id;
 
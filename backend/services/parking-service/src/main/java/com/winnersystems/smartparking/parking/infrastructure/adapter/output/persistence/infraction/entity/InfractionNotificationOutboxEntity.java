@@ -0,0 +1,77 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.infraction.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entidad JPA para la tabla INFRACTION_NOTIFICATION_OUTBOX.
+ *
+ * Notificación de multa vencida pendiente de envío (cola persistente). La
+ * encola el barrido de multas en la transacción de su lote; la borra el
+ * envío confirmado, en la misma transacción que marca la infracción.
+ *
+ * Mapeo Oracle:
+ * - PK: INFRACTION_ID (una notificación por infracción)
+ * - NEXT_ATTEMPT_AT: no se intenta antes de esa fecha (reintentos y
+ *   reserva mientras una réplica la está enviando)
+ * - STATUS FAILED: se agotaron los intentos; la fila queda para revisión
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Entity
+@Table(name = "INFRACTION_NOTIFICATION_OUTBOX", indexes = {
+      @Index(name = "IDX_INF_NOTIF_OUTBOX_PENDING", columnList = "STATUS, NEXT_ATTEMPT_AT")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InfractionNotificationOutboxEntity {
+
+   public static final String PENDING = "PENDING";
+   public static final String FAILED = "FAILED";
+
+   @Id
+   @Column(name = "INFRACTION_ID")
+   private Long infractionId;
+
+   @Column(name = "INFRACTION_CODE", length = 50)
+   private String infractionCode;
+
+   @Column(name = "CUSTOMER_ID", nullable = false)
+   private Long customerId;
+
+   @Column(name = "METHOD", nullable = false, length = 20)
+   private String method;
+
+   @Column(name = "FINE_AMOUNT", precision = 10, scale = 2)
+   private BigDecimal fineAmount;
+
+   @Column(name = "CURRENCY", length = 10)
+   private String currency;
+
+   @Column(name = "FINE_DUE_DATE")
+   private LocalDateTime fineDueDate;
+
+   @Column(name = "STATUS", nullable = false, length = 10)
+   private String status;
+
+   @Column(name = "ATTEMPTS", nullable = false)
+   private Integer attempts;
+
+   @Column(name = "NEXT_ATTEMPT_AT", nullable = false)
+   private LocalDateTime nextAttemptAt;
+
+   @Column(name = "LAST_ERROR", length = 500)
+   private String lastError;
+
+   @Column(name = "CREATED_AT", nullable = false, updatable = false)
+   private LocalDateTime createdAt;
+}
\ No newline at end of file
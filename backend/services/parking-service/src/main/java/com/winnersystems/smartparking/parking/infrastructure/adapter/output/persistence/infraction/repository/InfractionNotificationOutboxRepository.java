@@ -0,0 +1,95 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.infraction.repository;
+
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.infraction.entity.InfractionNotificationOutboxEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio JPA para la cola de notificaciones de multas.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Repository
+public interface InfractionNotificationOutboxRepository
+      extends JpaRepository<InfractionNotificationOutboxEntity, Long> {
+
+   /**
+    * Encola el lote con un solo INSERT ... SELECT, copiando los datos de la
+    * multa. Quedan fuera las infracciones sin cliente, las ya notificadas y
+    * las que ya están en la cola (pendientes o FAILED).
+    */
+   @Modifying
+   @Query("""
+      INSERT INTO InfractionNotificationOutboxEntity (infractionId, infractionCode, customerId, method,
+            fineAmount, currency, fineDueDate, status, attempts, nextAttemptAt, createdAt)
+      SELECT i.id, i.infractionCode, i.customerId, :method,
+            i.fineAmount, i.currency, i.fineDueDate, 'PENDING', 0, :now, :now
+      FROM InfractionEntity i
+      WHERE i.id IN :ids
+      AND i.customerId IS NOT NULL
+      AND i.notificationSent = false
+      AND NOT EXISTS (SELECT 1 FROM InfractionNotificationOutboxEntity o WHERE o.infractionId = i.id)
+      """)
+   int enqueue(
+         @Param("ids") Collection<Long> ids,
+         @Param("method") String method,
+         @Param("now") LocalDateTime now
+   );
+
+   /**
+    * IDs de las notificaciones listas, las más antiguas primero (sin bloqueo:
+    * Oracle no admite FOR UPDATE junto con FETCH FIRST).
+    */
+   @Query("""
+      SELECT o.infractionId FROM InfractionNotificationOutboxEntity o
+      WHERE o.status = 'PENDING' AND o.nextAttemptAt <= :now
+      ORDER BY o.createdAt, o.infractionId
+      """)
+   List<Long> findReadyIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+   /**
+    * Bloquea las que sigan listas con SELECT ... FOR UPDATE SKIP LOCKED:
+    * dos réplicas no toman las mismas filas.
+    */
+   @Lock(LockModeType.PESSIMISTIC_WRITE)
+   @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+   @Query("""
+      SELECT o FROM InfractionNotificationOutboxEntity o
+      WHERE o.infractionId IN :ids
+      AND o.status = 'PENDING' AND o.nextAttemptAt <= :now
+      ORDER BY o.createdAt, o.infractionId
+      """)
+   List<InfractionNotificationOutboxEntity> findReadyForUpdate(
+         @Param("ids") Collection<Long> ids,
+         @Param("now") LocalDateTime now
+   );
+
+   /**
+    * Reserva las filas bloqueadas con un solo UPDATE: suma el intento y las
+    * oculta hasta leasedUntil.
+    */
+   @Modifying
+   @Query("""
+      UPDATE InfractionNotificationOutboxEntity o
+      SET o.attempts = o.attempts + 1,
+          o.nextAttemptAt = :leasedUntil
+      WHERE o.infractionId IN :ids
+      """)
+   int lease(
+         @Param("ids") Collection<Long> ids,
+         @Param("leasedUntil") LocalDateTime leasedUntil
+   );
+}
\ No newline at end of file
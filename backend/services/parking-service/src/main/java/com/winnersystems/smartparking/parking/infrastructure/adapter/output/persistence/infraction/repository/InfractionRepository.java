@@ -1,14 +1,19 @@
 package com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.infraction.repository;
 
+import com.winnersystems.smartparking.parking.application.dto.query.InfractionChange;
+import com.winnersystems.smartparking.parking.application.dto.query.InfractionExposure;
+import com.winnersystems.smartparking.parking.application.dto.query.InfractionHistory;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.infraction.entity.InfractionEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,6 +38,14 @@ public interface InfractionRepository extends JpaRepository<InfractionEntity, Lo
 
    boolean existsByInfractionCode(String infractionCode);
 
+   // ========================= SECUENCIA =========================
+
+   /**
+    * Siguiente valor de INFRACTION_SEQ (reserva de código antes del INSERT).
+    */
+   @Query(value = "SELECT INFRACTION_SEQ.NEXTVAL FROM DUAL", nativeQuery = true)
+   Long nextSequenceValue();
+
    // ========================= FIND CON FILTROS (paginado) =========================
 
    /**
@@ -171,4 +184,139 @@ public interface InfractionRepository extends JpaRepository<InfractionEntity, Lo
       AND i.deletedAt IS NULL
       """)
    long countOverdueFines(@Param("now") LocalDateTime now);
-}
\ No newline at end of file
+
+   // ========================= DETECCIÓN AUTOMÁTICA =========================
+
+   /**
+    * Pares (transactionId, infractionType) de infracciones abiertas.
+    */
+   @Query("""
+      SELECT DISTINCT i.transactionId, i.infractionType FROM InfractionEntity i
+      WHERE i.transactionId IN :transactionIds
+      AND (i.detectionMethod = 'SYSTEM'
+           OR (i.status IN ('PENDING', 'IN_REVIEW', 'ESCALATED') AND i.deletedAt IS NULL))
+      """)
+   List<Object[]> findDetectedTypesByTransactionIds(@Param("transactionIds") Collection<Long> transactionIds);
+
+   // ========================= BARRIDO DE MULTAS VENCIDAS =========================
+
+   /**
+    * Siguiente lote de multas vencidas por atender, en orden de ID (keyset).
+    * Quedan fuera las resueltas y las ya escaladas y notificadas.
+    */
+   @Query("""
+      SELECT i.id FROM InfractionEntity i
+      WHERE i.id > :afterId
+      AND i.fineDueDate < :cutoff
+      AND i.fineAmount > 0
+      AND i.finePaid = false
+      AND i.deletedAt IS NULL
+      AND (i.status IN ('PENDING', 'IN_REVIEW')
+         OR (i.status = 'ESCALATED' AND i.customerId IS NOT NULL AND i.notificationSent = false))
+      ORDER BY i.id ASC
+      """)
+   List<Long> findOverdueFineIdsAfter(
+         @Param("afterId") Long afterId,
+         @Param("cutoff") LocalDateTime cutoff,
+         Pageable pageable
+   );
+
+   /**
+    * Escala el lote con un solo UPDATE. Repite las condiciones de la
+    * selección: una multa pagada entre la lectura y el UPDATE no se escala.
+    * La auditoría (@LastModifiedDate) no aplica a UPDATE masivos: updatedAt va explícito.
+    */
+   @Modifying
+   @Query("""
+      UPDATE InfractionEntity i
+      SET i.status = 'ESCALATED',
+          i.resolutionType = 'ESCALATED',
+          i.resolution = :resolution,
+          i.updatedAt = :now
+      WHERE i.id IN :ids
+      AND i.status IN ('PENDING', 'IN_REVIEW')
+      AND i.finePaid = false
+      AND i.fineDueDate < :cutoff
+      AND i.deletedAt IS NULL
+      """)
+   int escalateOverdueFines(
+         @Param("ids") Collection<Long> ids,
+         @Param("cutoff") LocalDateTime cutoff,
+         @Param("resolution") String resolution,
+         @Param("now") LocalDateTime now
+   );
+
+   /**
+    * Marca la notificación del lote con un solo UPDATE (solo las que tienen cliente).
+    * Lo llama la cola de notificaciones una vez confirmado el envío.
+    */
+   @Modifying
+   @Query("""
+      UPDATE InfractionEntity i
+      SET i.notificationSent = true,
+          i.notificationSentAt = :now,
+          i.notificationMethod = :method,
+          i.updatedAt = :now
+      WHERE i.id IN :ids
+      AND i.customerId IS NOT NULL
+      AND i.notificationSent = false
+      """)
+   int markNotificationsSent(
+         @Param("ids") Collection<Long> ids,
+         @Param("method") String method,
+         @Param("now") LocalDateTime now
+   );
+
+   // ========================= ÍNDICE DE REINCIDENCIA =========================
+
+   @Query("SELECT new com.winnersystems.smartparking.parking.application.dto.query.InfractionHistory(" +
+         "i.vehicleId, COUNT(i), MAX(i.detectedAt)) " +
+         "FROM InfractionEntity i WHERE i.deletedAt IS NULL GROUP BY i.vehicleId")
+   List<InfractionHistory> findHistoryByVehicle();
+
+   @Query("SELECT new com.winnersystems.smartparking.parking.application.dto.query.InfractionHistory(" +
+         "i.customerId, COUNT(i), MAX(i.detectedAt)) " +
+         "FROM InfractionEntity i WHERE i.customerId IS NOT NULL AND i.deletedAt IS NULL GROUP BY i.customerId")
+   List<InfractionHistory> findHistoryByCustomer();
+
+   /**
+    * Mismas definiciones que InfractionExposure: abierta = PENDING, IN_REVIEW
+    * o ESCALATED; deuda = multa mayor a cero sin pagar.
+    */
+   @Query("""
+      SELECT new com.winnersystems.smartparking.parking.application.dto.query.InfractionExposure(
+         i.id, i.vehicleId, i.customerId, i.status, i.fineAmount, i.finePaid)
+      FROM InfractionEntity i
+      WHERE i.deletedAt IS NULL
+      AND (i.status IN ('PENDING', 'IN_REVIEW', 'ESCALATED')
+         OR (i.fineAmount > 0 AND i.finePaid = false))
+      """)
+   List<InfractionExposure> findOpenOrUnpaidExposures();
+
+   /**
+    * Usa IDX_INFRACTIONS_UPDATED_AT. Incluye las eliminadas: dejan de contar.
+    */
+   @Query("""
+      SELECT new com.winnersystems.smartparking.parking.application.dto.query.InfractionChange(
+         i.id, i.vehicleId, i.customerId, i.status, i.fineAmount, i.finePaid, i.deletedAt)
+      FROM InfractionEntity i
+      WHERE i.updatedAt >= :since
+      """)
+   List<InfractionChange> findChangedSince(@Param("since") LocalDateTime since);
+
+   /**
+    * @param vehicleIds IDs de los vehículos (máximo 1000 por consulta en Oracle)
+    */
+   @Query("SELECT new com.winnersystems.smartparking.parking.application.dto.query.InfractionHistory(" +
+         "i.vehicleId, COUNT(i), MAX(i.detectedAt)) " +
+         "FROM InfractionEntity i WHERE i.vehicleId IN :vehicleIds AND i.deletedAt IS NULL GROUP BY i.vehicleId")
+   List<InfractionHistory> findHistoryByVehicles(@Param("vehicleIds") Collection<Long> vehicleIds);
+
+   /**
+    * @param customerIds IDs de los clientes (máximo 1000 por consulta en Oracle)
+    */
+   @Query("SELECT new com.winnersystems.smartparking.parking.application.dto.query.InfractionHistory(" +
+         "i.customerId, COUNT(i), MAX(i.detectedAt)) " +
+         "FROM InfractionEntity i WHERE i.customerId IN :customerIds AND i.deletedAt IS NULL GROUP BY i.customerId")
+   List<InfractionHistory> findHistoryByCustomers(@Param("customerIds") Collection<Long> customerIds);
+}
@@ -13,8 +13,14 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -29,6 +35,9 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class OperatorAssignmentPersistenceAdapter implements OperatorAssignmentPersistencePort {
 
+   /** Máximo de elementos en un IN de Oracle */
+   private static final int IN_CLAUSE_LIMIT = 1000;
+
    private final OperatorAssignmentRepository repository;
    private final ZoneRepository zoneRepository;
    private final ShiftRepository shiftRepository;
@@ -57,25 +66,27 @@ public class OperatorAssignmentPersistenceAdapter implements OperatorAssignmentP
       return mapper.toDomain(savedEntity);
    }
 
+   /**
+    * Guarda en lote (inserts JDBC agrupados).
+    *
+    * Zona y turno se enlazan por referencia, sin SELECT por asignación: el
+    * servicio ya validó que existen. Un ID inexistente falla en la FK.
+    */
    @Override
    public List<OperatorAssignment> saveAll(List<OperatorAssignment> assignments) {
+      Map<Long, ZoneEntity> zones = new HashMap<>();
+      Map<Long, ShiftEntity> shifts = new HashMap<>();
+
       List<OperatorAssignmentEntity> entities = assignments.stream()
             .map(assignment -> {
                OperatorAssignmentEntity entity = mapper.toEntity(assignment);
 
-               // Cargar relaciones managed
                if (entity.getZone() != null && entity.getZone().getId() != null) {
-                  ZoneEntity managedZone = zoneRepository.findById(entity.getZone().getId())
-                        .orElseThrow(() -> new IllegalArgumentException(
-                              "Zona no encontrada: " + entity.getZone().getId()));
-                  entity.setZone(managedZone);
+                  entity.setZone(zones.computeIfAbsent(entity.getZone().getId(), zoneRepository::getReferenceById));
                }
 
                if (entity.getShift() != null && entity.getShift().getId() != null) {
-                  ShiftEntity managedShift = shiftRepository.findById(entity.getShift().getId())
-                        .orElseThrow(() -> new IllegalArgumentException(
-                              "Turno no encontrado: " + entity.getShift().getId()));
-                  entity.setShift(managedShift);
+                  entity.setShift(shifts.computeIfAbsent(entity.getShift().getId(), shiftRepository::getReferenceById));
                }
 
                return entity;
@@ -124,14 +135,53 @@ public class OperatorAssignmentPersistenceAdapter implements OperatorAssignmentP
             .collect(Collectors.toList());
    }
 
+   @Override
+   public List<OperatorAssignment> findAllNotEndedBy(LocalDate from) {
+      return repository.findAllNotEndedBy(from).stream()
+            .map(mapper::toDomain)
+            .collect(Collectors.toList());
+   }
+
    @Override
    public boolean existsActiveAssignment(Long operatorId, Long zoneId, Long shiftId) {
       LocalDate today = LocalDate.now();
       return repository.existsActiveAssignment(operatorId, zoneId, shiftId, today);
    }
 
+   @Override
+   public List<Long> findOperatorIdsWithActiveAssignment(Collection<Long> operatorIds, Long zoneId, Long shiftId) {
+      LocalDate today = LocalDate.now();
+      return inChunks(operatorIds, chunk ->
+            repository.findOperatorIdsWithActiveAssignment(chunk, zoneId, shiftId, today));
+   }
+
+   @Override
+   public List<OperatorAssignment> findNotEndedBy(Collection<Long> operatorIds, LocalDate from) {
+      return inChunks(operatorIds, chunk -> repository.findNotEndedBy(chunk, from)).stream()
+            .map(mapper::toDomain)
+            .collect(Collectors.toList());
+   }
+
    @Override
    public void deleteById(Long id) {
       repository.deleteById(id);
    }
+
+   // ========================= HELPERS =========================
+
+   /**
+    * Ejecuta la consulta por bloques de IN_CLAUSE_LIMIT IDs y junta los resultados.
+    */
+   private static <T> List<T> inChunks(Collection<Long> ids, Function<List<Long>, List<T>> query) {
+      List<Long> distinctIds = ids.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+
+      List<T> results = new ArrayList<>();
+      for (int from = 0; from < distinctIds.size(); from += IN_CLAUSE_LIMIT) {
+         results.addAll(query.apply(distinctIds.subList(from, Math.min(from + IN_CLAUSE_LIMIT, distinctIds.size()))));
+      }
+      return results;
+   }
 }
\ No newline at end of file
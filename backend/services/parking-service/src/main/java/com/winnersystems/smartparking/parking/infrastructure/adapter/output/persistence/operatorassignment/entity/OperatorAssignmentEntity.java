@@ -34,9 +34,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class OperatorAssignmentEntity {
 
+   // Secuencia agrupada: el rol de turnos reserva 50 IDs por consulta (INCREMENT BY 50 en la BD)
    @Id
    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "operator_assignment_seq")
-   @SequenceGenerator(name = "operator_assignment_seq", sequenceName = "SEQ_OPERATOR_ASSIGNMENT", allocationSize = 1)
+   @SequenceGenerator(name = "operator_assignment_seq", sequenceName = "SEQ_OPERATOR_ASSIGNMENT", allocationSize = 50)
    @Column(name = "ID")
    private Long id;
 
@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -89,4 +90,58 @@ public interface OperatorAssignmentRepository extends JpaRepository<OperatorAssi
          @Param("shiftId") Long shiftId,
          @Param("today") LocalDate today
    );
+
+   /**
+    * Operadores (de los indicados) con asignación activa en una zona y turno.
+    *
+    * @param operatorIds IDs de los operadores (máximo 1000 por consulta en Oracle)
+    * @param zoneId ID de la zona
+    * @param shiftId ID del turno
+    * @param today fecha actual
+    * @return IDs de operadores sin repetir
+    */
+   @Query("""
+         SELECT DISTINCT oa.operatorId
+         FROM OperatorAssignmentEntity oa
+         WHERE oa.operatorId IN :operatorIds
+         AND oa.zone.id = :zoneId
+         AND oa.shift.id = :shiftId
+         AND oa.startDate <= :today
+         AND (oa.endDate IS NULL OR oa.endDate > :today)
+         """)
+   List<Long> findOperatorIdsWithActiveAssignment(
+         @Param("operatorIds") Collection<Long> operatorIds,
+         @Param("zoneId") Long zoneId,
+         @Param("shiftId") Long shiftId,
+         @Param("today") LocalDate today
+   );
+
+   /**
+    * Asignaciones de todas las zonas que no terminaron antes de una fecha.
+    *
+    * @param from fecha de corte
+    * @return asignaciones con endDate nulo o posterior a from
+    */
+   @Query("""
+         SELECT oa FROM OperatorAssignmentEntity oa
+         WHERE oa.endDate IS NULL OR oa.endDate > :from
+         """)
+   List<OperatorAssignmentEntity> findAllNotEndedBy(@Param("from") LocalDate from);
+
+   /**
+    * Asignaciones de los operadores indicados que no terminaron antes de una fecha.
+    *
+    * @param operatorIds IDs de los operadores (máximo 1000 por consulta en Oracle)
+    * @param from fecha de corte
+    * @return asignaciones con endDate nulo o posterior a from
+    */
+   @Query("""
+         SELECT oa FROM OperatorAssignmentEntity oa
+         WHERE oa.operatorId IN :operatorIds
+         AND (oa.endDate IS NULL OR oa.endDate > :from)
+         """)
+   List<OperatorAssignmentEntity> findNotEndedBy(
+         @Param("operatorIds") Collection<Long> operatorIds,
+         @Param("from") LocalDate from
+   );
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.parking.repository;
 
+import com.winnersystems.smartparking.parking.application.dto.query.ParkingNode;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.parking.entity.ParkingEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -51,4 +52,16 @@ public interface ParkingRepository extends JpaRepository<ParkingEntity, Long> {
          @Param("status") String status,
          Pageable pageable
    );
+
+   // ========================= TOPOLOGÍA (proyecciones) =========================
+
+   @Query("SELECT new com.winnersystems.smartparking.parking.application.dto.query.ParkingNode(" +
+         "p.id, p.name, p.code, p.status) " +
+         "FROM ParkingEntity p WHERE p.deletedAt IS NULL ORDER BY p.id")
+   List<ParkingNode> findTopologyNodes();
+
+   @Query("SELECT new com.winnersystems.smartparking.parking.application.dto.query.ParkingNode(" +
+         "p.id, p.name, p.code, p.status) " +
+         "FROM ParkingEntity p WHERE p.id = :id AND p.deletedAt IS NULL")
+   Optional<ParkingNode> findTopologyNodeById(@Param("id") Long id);
 }
@@ -2,11 +2,13 @@ package com.winnersystems.smartparking.parking.infrastructure.adapter.output.per
 
 import com.winnersystems.smartparking.parking.application.port.output.ParkingShiftRatePersistencePort;
 import com.winnersystems.smartparking.parking.domain.model.ParkingShiftRate;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.cache.CatalogCache;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.cache.CatalogCacheRegistry;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.parkingshiftrate.entity.ParkingShiftRateEntity;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.parkingshiftrate.mapper.ParkingShiftRatePersistenceMapper;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.parkingshiftrate.repository.ParkingShiftRateRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,16 +19,27 @@ import java.util.Optional;
  * Adaptador de persistencia para ParkingShiftRate.
  * Implementa el puerto de salida definido en la capa de aplicación.
  *
+ * Las consultas se resuelven desde CatalogCache: la tabla tiene a lo sumo
+ * tres filas por parqueo y se lee en cada validación de tarifa.
+ *
  * @author Edwin Yoner - Winner Systems - Smart Parking Platform
  * @version 1.0
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class ParkingShiftRatePersistenceAdapter implements ParkingShiftRatePersistencePort {
 
    private final ParkingShiftRateRepository repository;
    private final ParkingShiftRatePersistenceMapper mapper;
+   private final CatalogCache<ParkingShiftRateEntity> cache;
+
+   public ParkingShiftRatePersistenceAdapter(ParkingShiftRateRepository repository,
+                                             ParkingShiftRatePersistenceMapper mapper,
+                                             CatalogCacheRegistry cacheRegistry) {
+      this.repository = repository;
+      this.mapper = mapper;
+      this.cache = cacheRegistry.register("parking-shift-rates", this::loadCatalog, ParkingShiftRateEntity::getId);
+   }
 
    @Override
    @Transactional
@@ -48,6 +61,7 @@ public class ParkingShiftRatePersistenceAdapter implements ParkingShiftRatePersi
       }
 
       ParkingShiftRateEntity savedEntity = repository.save(entity);
+      cache.invalidate();
       return mapper.toDomain(savedEntity);
    }
 
@@ -55,7 +69,7 @@ public class ParkingShiftRatePersistenceAdapter implements ParkingShiftRatePersi
    @Transactional(readOnly = true)
    public Optional<ParkingShiftRate> findById(Long id) {
       log.debug("🔍 Buscando configuración por ID: {}", id);
-      return repository.findById(id)
+      return cache.findById(id)
             .map(mapper::toDomain);
    }
 
@@ -63,7 +77,7 @@ public class ParkingShiftRatePersistenceAdapter implements ParkingShiftRatePersi
    @Transactional(readOnly = true)
    public List<ParkingShiftRate> findByParkingId(Long parkingId) {
       log.debug("📋 Listando configuraciones del parqueo ID: {}", parkingId);
-      return repository.findByParkingId(parkingId)
+      return cache.findAll(e -> e.getParkingId().equals(parkingId))
             .stream()
             .map(mapper::toDomain)
             .toList();
@@ -77,7 +91,7 @@ public class ParkingShiftRatePersistenceAdapter implements ParkingShiftRatePersi
    ) {
       log.debug("🔍 Buscando configuración: parking={}, shift={}", parkingId, shiftId);
 
-      return repository.findByParkingIdAndShiftId(parkingId, shiftId)
+      return cache.findFirst(e -> e.getParkingId().equals(parkingId) && e.getShiftId().equals(shiftId))
             .map(mapper::toDomain);
    }
 
@@ -86,6 +100,7 @@ public class ParkingShiftRatePersistenceAdapter implements ParkingShiftRatePersi
    public void deleteByParkingId(Long parkingId) {
       log.info("🗑️ Eliminando todas las configuraciones del parqueo ID: {}", parkingId);
       repository.deleteByParkingId(parkingId);
+      cache.invalidate();
    }
 
    @Override
@@ -93,11 +108,25 @@ public class ParkingShiftRatePersistenceAdapter implements ParkingShiftRatePersi
    public void deleteById(Long id) {
       log.info("🗑️ Eliminando configuración ID: {}", id);
       repository.deleteById(id);
+      cache.invalidate();
    }
 
    @Override
    @Transactional(readOnly = true)
    public boolean existsByParkingIdAndShiftId(Long parkingId, Long shiftId) {
-      return repository.existsByParkingIdAndShiftId(parkingId, shiftId);
+      return cache.anyMatch(e -> e.getParkingId().equals(parkingId) && e.getShiftId().equals(shiftId));
+   }
+
+   // ========================= CACHÉ =========================
+
+   /**
+    * Carga todas las configuraciones como copias desacopladas del
+    * contexto de persistencia, ordenadas por ID.
+    */
+   private List<ParkingShiftRateEntity> loadCatalog() {
+      return repository.findAll(Sort.by(Sort.Direction.ASC, "id"))
+            .stream()
+            .map(entity -> mapper.toEntity(mapper.toDomain(entity)))
+            .toList();
    }
 }
\ No newline at end of file
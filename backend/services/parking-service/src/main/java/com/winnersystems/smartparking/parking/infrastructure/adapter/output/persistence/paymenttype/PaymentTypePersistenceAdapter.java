@@ -4,10 +4,11 @@ import com.winnersystems.smartparking.parking.application.dto.query.PageRequest;
 import com.winnersystems.smartparking.parking.application.dto.query.PageResult;
 import com.winnersystems.smartparking.parking.application.port.output.PaymentTypePersistencePort;
 import com.winnersystems.smartparking.parking.domain.model.PaymentType;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.cache.CatalogCache;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.cache.CatalogCacheRegistry;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.paymenttype.entity.PaymentTypeEntity;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.paymenttype.mapper.PaymentTypePersistenceMapper;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.paymenttype.repository.PaymentTypeRepository;
-import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -17,11 +18,18 @@ import java.util.List;
 import java.util.Optional;
 
 @Component
-@RequiredArgsConstructor
 public class PaymentTypePersistenceAdapter implements PaymentTypePersistencePort {
 
    private final PaymentTypeRepository repository;
    private final PaymentTypePersistenceMapper mapper;
+   private final CatalogCache<PaymentTypeEntity> cache;
+
+   public PaymentTypePersistenceAdapter(PaymentTypeRepository repository, PaymentTypePersistenceMapper mapper,
+                                        CatalogCacheRegistry cacheRegistry) {
+      this.repository = repository;
+      this.mapper = mapper;
+      this.cache = cacheRegistry.register("payment-types", this::loadCatalog, PaymentTypeEntity::getId);
+   }
 
    // ========================= CREATE/UPDATE =========================
 
@@ -38,20 +46,22 @@ public class PaymentTypePersistenceAdapter implements PaymentTypePersistencePort
          entity = mapper.toEntity(paymentType);
       }
 
-      return mapper.toDomain(repository.save(entity));
+      PaymentTypeEntity savedEntity = repository.save(entity);
+      cache.invalidate();
+      return mapper.toDomain(savedEntity);
    }
 
    // ========================= READ =========================
 
    @Override
    public Optional<PaymentType> findById(Long id) {
-      return repository.findByIdAndDeletedAtIsNull(id)
+      return cache.findById(id)
             .map(mapper::toDomain);
    }
 
    @Override
    public Optional<PaymentType> findByCode(String code) {
-      return repository.findByCodeAndDeletedAtIsNull(code)
+      return cache.findFirst(e -> e.getCode().equals(code))
             .map(mapper::toDomain);
    }
 
@@ -59,7 +69,7 @@ public class PaymentTypePersistenceAdapter implements PaymentTypePersistencePort
 
    @Override
    public List<PaymentType> findAllActive() {
-      return repository.findByStatusTrueAndDeletedAtIsNullOrderByIdAsc()
+      return cache.findAll(e -> Boolean.TRUE.equals(e.getStatus()))
             .stream()
             .map(mapper::toDomain)
             .toList();
@@ -98,12 +108,12 @@ public class PaymentTypePersistenceAdapter implements PaymentTypePersistencePort
 
    @Override
    public boolean existsByCode(String code) {
-      return repository.existsByCodeAndDeletedAtIsNull(code);
+      return cache.anyMatch(e -> e.getCode().equals(code));
    }
 
    @Override
    public boolean existsByCodeAndIdNot(String code, Long id) {
-      Optional<PaymentTypeEntity> existing = repository.findByCodeAndDeletedAtIsNull(code);
+      Optional<PaymentTypeEntity> existing = cache.findFirst(e -> e.getCode().equals(code));
       return existing.isPresent() && !existing.get().getId().equals(id);
    }
 
@@ -112,6 +122,7 @@ public class PaymentTypePersistenceAdapter implements PaymentTypePersistencePort
    @Override
    public void delete(Long id) {
       repository.deleteById(id);
+      cache.invalidate();
    }
 
    // ========================= HELPERS =========================
@@ -128,4 +139,17 @@ public class PaymentTypePersistenceAdapter implements PaymentTypePersistencePort
             Sort.by(Sort.Direction.ASC, "id")
       );
    }
+
+   // ========================= CACHÉ =========================
+
+   /**
+    * Carga el catálogo vigente (sin eliminados) como copias desacopladas
+    * del contexto de persistencia, ordenadas por ID.
+    */
+   private List<PaymentTypeEntity> loadCatalog() {
+      return repository.findByDeletedAtIsNull(Sort.by(Sort.Direction.ASC, "id"))
+            .stream()
+            .map(entity -> mapper.toEntity(mapper.toDomain(entity)))
+            .toList();
+   }
 }
\ No newline at end of file
@@ -4,10 +4,11 @@ import com.winnersystems.smartparking.parking.application.dto.query.PageRequest;
 import com.winnersystems.smartparking.parking.application.dto.query.PageResult;
 import com.winnersystems.smartparking.parking.application.port.output.RatePersistencePort;
 import com.winnersystems.smartparking.parking.domain.model.Rate;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.cache.CatalogCache;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.cache.CatalogCacheRegistry;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.rate.entity.RateEntity;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.rate.mapper.RatePersistenceMapper;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.rate.repository.RateRepository;
-import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -20,16 +21,24 @@ import java.util.Optional;
  * Adaptador de persistencia para Rate.
  * Implementa el puerto de salida RatePersistencePort.
  * Traduce entre DTOs puros (Application) y Spring Data (Infrastructure).
+ * Lecturas por ID, nombre y activas desde CatalogCache; el listado paginado va a la BD.
  *
  * @author Edwin Yoner - Winner Systems - Smart Parking Platform
  * @version 1.0
  */
 @Component
-@RequiredArgsConstructor
 public class RatePersistenceAdapter implements RatePersistencePort {
 
    private final RateRepository repository;
    private final RatePersistenceMapper mapper;
+   private final CatalogCache<RateEntity> cache;
+
+   public RatePersistenceAdapter(RateRepository repository, RatePersistenceMapper mapper,
+                                 CatalogCacheRegistry cacheRegistry) {
+      this.repository = repository;
+      this.mapper = mapper;
+      this.cache = cacheRegistry.register("rates", this::loadCatalog, RateEntity::getId);
+   }
 
    // ========================= CREATE/UPDATE =========================
 
@@ -50,6 +59,7 @@ public class RatePersistenceAdapter implements RatePersistencePort {
       }
 
       RateEntity savedEntity = repository.save(entity);
+      cache.invalidate();
       return mapper.toDomain(savedEntity);
    }
 
@@ -57,7 +67,7 @@ public class RatePersistenceAdapter implements RatePersistencePort {
 
    @Override
    public Optional<Rate> findById(Long id) {
-      return repository.findByIdAndDeletedAtIsNull(id)
+      return cache.findById(id)
             .map(mapper::toDomain);
    }
 
@@ -65,8 +75,7 @@ public class RatePersistenceAdapter implements RatePersistencePort {
 
    @Override
    public List<Rate> findAllActive() {
-      // FIX: OrderByIdAsc en lugar de OrderByNameAsc
-      return repository.findByStatusTrueAndDeletedAtIsNullOrderByIdAsc()
+      return cache.findAll(e -> Boolean.TRUE.equals(e.getStatus()))
             .stream()
             .map(mapper::toDomain)
             .toList();
@@ -119,12 +128,12 @@ public class RatePersistenceAdapter implements RatePersistencePort {
 
    @Override
    public boolean existsByName(String name) {
-      return repository.existsByNameAndDeletedAtIsNull(name);
+      return cache.anyMatch(e -> e.getName().equals(name));
    }
 
    @Override
    public boolean existsByNameAndIdNot(String name, Long id) {
-      Optional<RateEntity> existing = repository.findByNameAndDeletedAtIsNull(name);
+      Optional<RateEntity> existing = cache.findFirst(e -> e.getName().equals(name));
       return existing.isPresent() && !existing.get().getId().equals(id);
    }
 
@@ -134,5 +143,19 @@ public class RatePersistenceAdapter implements RatePersistencePort {
    public void delete(Long id) {
       // Hard delete (eliminar físicamente de la BD)
       repository.deleteById(id);
+      cache.invalidate();
+   }
+
+   // ========================= CACHÉ =========================
+
+   /**
+    * Carga el catálogo vigente (sin eliminados) como copias desacopladas
+    * del contexto de persistencia, ordenadas por ID.
+    */
+   private List<RateEntity> loadCatalog() {
+      return repository.findByDeletedAtIsNull(Sort.by(Sort.Direction.ASC, "id"))
+            .stream()
+            .map(entity -> mapper.toEntity(mapper.toDomain(entity)))
+            .toList();
    }
 }
\ No newline at end of file
@@ -4,10 +4,11 @@ import com.winnersystems.smartparking.parking.application.dto.query.PageRequest;
 import com.winnersystems.smartparking.parking.application.dto.query.PageResult;
 import com.winnersystems.smartparking.parking.application.port.output.ShiftPersistencePort;
 import com.winnersystems.smartparking.parking.domain.model.Shift;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.cache.CatalogCache;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.cache.CatalogCacheRegistry;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.shift.entity.ShiftEntity;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.shift.mapper.ShiftPersistenceMapper;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.shift.repository.ShiftRepository;
-import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -20,16 +21,24 @@ import java.util.Optional;
  * Adaptador de persistencia para Shift.
  * Implementa el puerto de salida ShiftPersistencePort.
  * Traduce entre DTOs puros (Application) y Spring Data (Infrastructure).
+ * Lecturas por ID, código y activos desde CatalogCache; el listado paginado va a la BD.
  *
  * @author Edwin Yoner - Winner Systems - Smart Parking Platform
  * @version 1.0
  */
 @Component
-@RequiredArgsConstructor
 public class ShiftPersistenceAdapter implements ShiftPersistencePort {
 
    private final ShiftRepository repository;
    private final ShiftPersistenceMapper mapper;
+   private final CatalogCache<ShiftEntity> cache;
+
+   public ShiftPersistenceAdapter(ShiftRepository repository, ShiftPersistenceMapper mapper,
+                                  CatalogCacheRegistry cacheRegistry) {
+      this.repository = repository;
+      this.mapper = mapper;
+      this.cache = cacheRegistry.register("shifts", this::loadCatalog, ShiftEntity::getId);
+   }
 
    // ========================= CREATE/UPDATE =========================
 
@@ -50,6 +59,7 @@ public class ShiftPersistenceAdapter implements ShiftPersistencePort {
       }
 
       ShiftEntity savedEntity = repository.save(entity);
+      cache.invalidate();
       return mapper.toDomain(savedEntity);
    }
 
@@ -57,13 +67,13 @@ public class ShiftPersistenceAdapter implements ShiftPersistencePort {
 
    @Override
    public Optional<Shift> findById(Long id) {
-      return repository.findByIdAndDeletedAtIsNull(id)
+      return cache.findById(id)
             .map(mapper::toDomain);
    }
 
    @Override
    public Optional<Shift> findByCode(String code) {
-      return repository.findByCodeAndDeletedAtIsNull(code)
+      return cache.findFirst(e -> e.getCode().equals(code))
             .map(mapper::toDomain);
    }
 
@@ -71,8 +81,7 @@ public class ShiftPersistenceAdapter implements ShiftPersistencePort {
 
    @Override
    public List<Shift> findAllActive() {
-      // FIX: OrderByIdAsc en lugar de OrderByNameAsc
-      return repository.findByStatusTrueAndDeletedAtIsNullOrderByIdAsc()
+      return cache.findAll(e -> Boolean.TRUE.equals(e.getStatus()))
             .stream()
             .map(mapper::toDomain)
             .toList();
@@ -125,12 +134,12 @@ public class ShiftPersistenceAdapter implements ShiftPersistencePort {
 
    @Override
    public boolean existsByCode(String code) {
-      return repository.existsByCodeAndDeletedAtIsNull(code);
+      return cache.anyMatch(e -> e.getCode().equals(code));
    }
 
    @Override
    public boolean existsByCodeAndIdNot(String code, Long id) {
-      Optional<ShiftEntity> existing = repository.findByCodeAndDeletedAtIsNull(code);
+      Optional<ShiftEntity> existing = cache.findFirst(e -> e.getCode().equals(code));
       return existing.isPresent() && !existing.get().getId().equals(id);
    }
 
@@ -140,5 +149,19 @@ public class ShiftPersistenceAdapter implements ShiftPersistencePort {
    public void delete(Long id) {
       // Hard delete (eliminar físicamente de la BD)
       repository.deleteById(id);
+      cache.invalidate();
+   }
+
+   // ========================= CACHÉ =========================
+
+   /**
+    * Carga el catálogo vigente (sin eliminados) como copias desacopladas
+    * del contexto de persistencia, ordenadas por ID.
+    */
+   private List<ShiftEntity> loadCatalog() {
+      return repository.findByDeletedAtIsNull(Sort.by(Sort.Direction.ASC, "id"))
+            .stream()
+            .map(entity -> mapper.toEntity(mapper.toDomain(entity)))
+            .toList();
    }
 }
\ No newline at end of file
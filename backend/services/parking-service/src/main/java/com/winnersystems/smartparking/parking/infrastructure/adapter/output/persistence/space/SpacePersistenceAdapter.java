@@ -13,6 +13,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -123,6 +124,14 @@ public class SpacePersistenceAdapter implements SpacePersistencePort {
       return repository.countByZoneIdAndDeletedAtIsNull(zoneId);
    }
 
+   @Override
+   public List<Long> findIdsWithStatus(Collection<Long> spaceIds, Collection<String> statuses) {
+      if (spaceIds.isEmpty() || statuses.isEmpty()) {
+         return List.of();
+      }
+      return repository.findIdsWithStatus(spaceIds, statuses);
+   }
+
    // ========================= EXISTS =========================
 
    @Override
@@ -1,5 +1,6 @@
 package com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.space.repository;
 
+import com.winnersystems.smartparking.parking.application.dto.query.SpaceNode;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.space.entity.SpaceEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -8,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -74,4 +76,23 @@ public interface SpaceRepository extends JpaRepository<SpaceEntity, Long> {
          @Param("zoneId") Long zoneId,
          @Param("type") String type
    );
+
+   @Query("SELECT s.id FROM SpaceEntity s " +
+         "WHERE s.id IN :ids AND s.status IN :statuses AND s.deletedAt IS NULL")
+   List<Long> findIdsWithStatus(
+         @Param("ids") Collection<Long> ids,
+         @Param("statuses") Collection<String> statuses
+   );
+
+   // ========================= TOPOLOGÍA (proyecciones) =========================
+
+   @Query("SELECT new com.winnersystems.smartparking.parking.application.dto.query.SpaceNode(" +
+         "s.id, s.zoneId, s.code, s.type) " +
+         "FROM SpaceEntity s WHERE s.deletedAt IS NULL ORDER BY s.id")
+   List<SpaceNode> findTopologyNodes();
+
+   @Query("SELECT new com.winnersystems.smartparking.parking.application.dto.query.SpaceNode(" +
+         "s.id, s.zoneId, s.code, s.type) " +
+         "FROM SpaceEntity s WHERE s.id = :id AND s.deletedAt IS NULL")
+   Optional<SpaceNode> findTopologyNodeById(@Param("id") Long id);
 }
@@ -0,0 +1,67 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.sweepcheckpoint;
+
+import com.winnersystems.smartparking.parking.application.port.output.SweepCheckpointPersistencePort;
+import com.winnersystems.smartparking.parking.domain.model.SweepCheckpoint;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.sweepcheckpoint.entity.SweepCheckpointEntity;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.sweepcheckpoint.mapper.SweepCheckpointPersistenceMapper;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.sweepcheckpoint.repository.SweepCheckpointRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Adaptador de persistencia para el avance de los barridos.
+ * Implementa el puerto de salida SweepCheckpointPersistencePort.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class SweepCheckpointPersistenceAdapter implements SweepCheckpointPersistencePort {
+
+   private final SweepCheckpointRepository repository;
+   private final SweepCheckpointPersistenceMapper mapper;
+
+   // ========================= LOCK =========================
+
+   @Override
+   public SweepCheckpoint lock(String jobName) {
+      return repository.findForUpdate(jobName)
+            .or(() -> {
+               create(jobName);
+               return repository.findForUpdate(jobName);
+            })
+            .map(mapper::toDomain)
+            .orElseThrow(() -> new IllegalStateException("No se pudo leer el avance del barrido: " + jobName));
+   }
+
+   // ========================= WRITE =========================
+
+   @Override
+   public SweepCheckpoint save(SweepCheckpoint checkpoint) {
+      SweepCheckpointEntity entity = repository.findById(checkpoint.getJobName())
+            .orElseThrow(() -> new IllegalStateException("Barrido sin fila de avance: " + checkpoint.getJobName()));
+      mapper.updateEntity(entity, checkpoint);
+      return mapper.toDomain(repository.save(entity));
+   }
+
+   // ========================= HELPERS =========================
+
+   private void create(String jobName) {
+      try {
+         repository.saveAndFlush(SweepCheckpointEntity.builder()
+               .jobName(jobName)
+               .lastProcessedId(0L)
+               .processedCount(0L)
+               .updatedAt(LocalDateTime.now())
+               .build());
+      } catch (DataIntegrityViolationException e) {
+         // Otra instancia la creó al mismo tiempo: la transacción ya no es usable,
+         // el lote se reintenta en la próxima ejecución y encontrará la fila
+         throw new IllegalStateException("Avance del barrido creado en paralelo: " + jobName, e);
+      }
+   }
+}
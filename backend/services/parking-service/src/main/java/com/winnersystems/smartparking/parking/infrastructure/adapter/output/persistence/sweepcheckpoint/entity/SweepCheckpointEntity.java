@@ -0,0 +1,49 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.sweepcheckpoint.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad JPA para la tabla SWEEP_CHECKPOINTS.
+ *
+ * Una fila por barrido programado. Se actualiza en la misma transacción
+ * que cada lote procesado.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Entity
+@Table(name = "SWEEP_CHECKPOINTS")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SweepCheckpointEntity {
+
+   @Id
+   @Column(name = "JOB_NAME", length = 50)
+   private String jobName;
+
+   @Column(name = "CUTOFF")
+   private LocalDateTime cutoff;
+
+   @Column(name = "LAST_PROCESSED_ID", nullable = false)
+   private Long lastProcessedId;
+
+   @Column(name = "PROCESSED_COUNT", nullable = false)
+   private Long processedCount;
+
+   @Column(name = "RUN_STARTED_AT")
+   private LocalDateTime runStartedAt;
+
+   @Column(name = "RUN_COMPLETED_AT")
+   private LocalDateTime runCompletedAt;
+
+   @Column(name = "UPDATED_AT", nullable = false)
+   private LocalDateTime updatedAt;
+}
@@ -0,0 +1,35 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.sweepcheckpoint.mapper;
+
+import com.winnersystems.smartparking.parking.domain.model.SweepCheckpoint;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.sweepcheckpoint.entity.SweepCheckpointEntity;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SweepCheckpointPersistenceMapper {
+
+   public SweepCheckpoint toDomain(SweepCheckpointEntity entity) {
+      if (entity == null) return null;
+
+      SweepCheckpoint checkpoint = new SweepCheckpoint(entity.getJobName());
+      checkpoint.setCutoff(entity.getCutoff());
+      checkpoint.setLastProcessedId(entity.getLastProcessedId());
+      checkpoint.setProcessedCount(entity.getProcessedCount() != null ? entity.getProcessedCount() : 0L);
+      checkpoint.setRunStartedAt(entity.getRunStartedAt());
+      checkpoint.setRunCompletedAt(entity.getRunCompletedAt());
+      checkpoint.setUpdatedAt(entity.getUpdatedAt());
+
+      return checkpoint;
+   }
+
+   public void updateEntity(SweepCheckpointEntity entity, SweepCheckpoint domain) {
+      if (entity == null || domain == null) return;
+
+      // jobName es la PK — no se actualiza
+      entity.setCutoff(domain.getCutoff());
+      entity.setLastProcessedId(domain.getLastProcessedId());
+      entity.setProcessedCount(domain.getProcessedCount());
+      entity.setRunStartedAt(domain.getRunStartedAt());
+      entity.setRunCompletedAt(domain.getRunCompletedAt());
+      entity.setUpdatedAt(domain.getUpdatedAt());
+   }
+}
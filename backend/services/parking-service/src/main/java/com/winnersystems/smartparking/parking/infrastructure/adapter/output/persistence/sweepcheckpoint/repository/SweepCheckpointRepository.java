@@ -0,0 +1,28 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.sweepcheckpoint.repository;
+
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.sweepcheckpoint.entity.SweepCheckpointEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repositorio JPA para SweepCheckpoint.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Repository
+public interface SweepCheckpointRepository extends JpaRepository<SweepCheckpointEntity, String> {
+
+   /**
+    * Lee la fila con SELECT ... FOR UPDATE (bloqueo hasta el fin de la transacción).
+    */
+   @Lock(LockModeType.PESSIMISTIC_WRITE)
+   @Query("SELECT c FROM SweepCheckpointEntity c WHERE c.jobName = :jobName")
+   Optional<SweepCheckpointEntity> findForUpdate(@Param("jobName") String jobName);
+}
@@ -0,0 +1,67 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.topology;
+
+import com.winnersystems.smartparking.parking.application.dto.query.ParkingNode;
+import com.winnersystems.smartparking.parking.application.dto.query.SpaceNode;
+import com.winnersystems.smartparking.parking.application.dto.query.ZoneNode;
+import com.winnersystems.smartparking.parking.application.port.output.TopologyPersistencePort;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.parking.repository.ParkingRepository;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.space.repository.SpaceRepository;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.zone.repository.ZoneRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Adaptador de persistencia para la topología.
+ * Implementa el puerto de salida TopologyPersistencePort.
+ *
+ * Cada método es una sola consulta con proyección por constructor (JPQL):
+ * no hidrata entidades ni las deja en el contexto de persistencia.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class TopologyPersistenceAdapter implements TopologyPersistencePort {
+
+   private final ParkingRepository parkingRepository;
+   private final ZoneRepository zoneRepository;
+   private final SpaceRepository spaceRepository;
+
+   // ========================= CARGA COMPLETA =========================
+
+   @Override
+   public List<ParkingNode> loadParkings() {
+      return parkingRepository.findTopologyNodes();
+   }
+
+   @Override
+   public List<ZoneNode> loadZones() {
+      return zoneRepository.findTopologyNodes();
+   }
+
+   @Override
+   public List<SpaceNode> loadSpaces() {
+      return spaceRepository.findTopologyNodes();
+   }
+
+   // ========================= CARGA POR ID =========================
+
+   @Override
+   public Optional<ParkingNode> findParking(Long id) {
+      return parkingRepository.findTopologyNodeById(id);
+   }
+
+   @Override
+   public Optional<ZoneNode> findZone(Long id) {
+      return zoneRepository.findTopologyNodeById(id);
+   }
+
+   @Override
+   public Optional<SpaceNode> findSpace(Long id) {
+      return spaceRepository.findTopologyNodeById(id);
+   }
+}
@@ -13,6 +13,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -113,10 +114,27 @@ public class TransactionPersistenceAdapter implements TransactionPersistencePort
    @Override
    public PageResult<Transaction> findOverdue(int maxMinutes, PageRequest pageRequest) {
       return toPageResult(
-            transactionRepository.findOverdue(maxMinutes, toPageable(pageRequest))
+            transactionRepository.findOverdue(LocalDateTime.now().minusMinutes(maxMinutes), toPageable(pageRequest))
       );
    }
 
+   // ========================= DETECCIÓN =========================
+
+   @Override
+   public List<Transaction> findActiveByParkingId(Long parkingId) {
+      return transactionRepository.findActiveByParkingId(parkingId).stream()
+            .map(transactionMapper::toDomain)
+            .toList();
+   }
+
+   @Override
+   public List<Transaction> findCompletedUnpaidByParkingId(Long parkingId, LocalDateTime exitFrom,
+                                                           LocalDateTime exitBefore) {
+      return transactionRepository.findCompletedUnpaidByParkingId(parkingId, exitFrom, exitBefore).stream()
+            .map(transactionMapper::toDomain)
+            .toList();
+   }
+
    // ========================= LIST HISTÓRICO =========================
 
    @Override
@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -40,20 +41,12 @@ public interface TransactionRepository extends JpaRepository<TransactionEntity,
    /**
     * Lista transacciones activas que superan el tiempo máximo permitido.
     *
-    * Oracle: EXTRACT(DAY/HOUR/MINUTE FROM interval) para calcular minutos transcurridos.
+    * El límite llega ya calculado (ahora - minutos máximos): la condición
+    * sobre ENTRY_TIME puede usar su índice y el orden por propiedad de la
+    * entidad funciona (en SQL nativo "entryTime" no es una columna).
     */
-   @Query(value = "SELECT * FROM TRANSACTIONS t " +
-         "WHERE t.STATUS = 'ACTIVE' " +
-         "AND EXTRACT(DAY FROM (CURRENT_TIMESTAMP - t.ENTRY_TIME)) * 24 * 60 + " +
-         "    EXTRACT(HOUR FROM (CURRENT_TIMESTAMP - t.ENTRY_TIME)) * 60 + " +
-         "    EXTRACT(MINUTE FROM (CURRENT_TIMESTAMP - t.ENTRY_TIME)) > :maxMinutes",
-         countQuery = "SELECT COUNT(*) FROM TRANSACTIONS t " +
-               "WHERE t.STATUS = 'ACTIVE' " +
-               "AND EXTRACT(DAY FROM (CURRENT_TIMESTAMP - t.ENTRY_TIME)) * 24 * 60 + " +
-               "    EXTRACT(HOUR FROM (CURRENT_TIMESTAMP - t.ENTRY_TIME)) * 60 + " +
-               "    EXTRACT(MINUTE FROM (CURRENT_TIMESTAMP - t.ENTRY_TIME)) > :maxMinutes",
-         nativeQuery = true)
-   Page<TransactionEntity> findOverdue(@Param("maxMinutes") int maxMinutes, Pageable pageable);
+   @Query("SELECT t FROM TransactionEntity t WHERE t.status = 'ACTIVE' AND t.entryTime < :enteredBefore")
+   Page<TransactionEntity> findOverdue(@Param("enteredBefore") LocalDateTime enteredBefore, Pageable pageable);
 
    @Query("SELECT CASE WHEN COUNT(t) > 0 THEN true ELSE false END " +
          "FROM TransactionEntity t WHERE t.vehicleId = :vehicleId AND t.status = 'ACTIVE'")
@@ -62,6 +55,19 @@ public interface TransactionRepository extends JpaRepository<TransactionEntity,
    @Query("SELECT COUNT(t) FROM TransactionEntity t WHERE t.zoneId = :zoneId AND t.status = 'ACTIVE'")
    long countActiveByZoneId(@Param("zoneId") Long zoneId);
 
+   // ========================= DETECCIÓN DE INFRACCIONES =========================
+
+   @Query("SELECT t FROM TransactionEntity t WHERE t.parkingId = :parkingId AND t.status = 'ACTIVE'")
+   List<TransactionEntity> findActiveByParkingId(@Param("parkingId") Long parkingId);
+
+   @Query("SELECT t FROM TransactionEntity t " +
+         "WHERE t.parkingId = :parkingId AND t.status = 'COMPLETED' " +
+         "AND t.paymentStatus <> 'PAID' " +
+         "AND t.exitTime >= :exitFrom AND t.exitTime < :exitBefore")
+   List<TransactionEntity> findCompletedUnpaidByParkingId(@Param("parkingId") Long parkingId,
+                                                          @Param("exitFrom") LocalDateTime exitFrom,
+                                                          @Param("exitBefore") LocalDateTime exitBefore);
+
    // ========================= HISTORIAL COMPLETO =========================
 
    @Query("SELECT t FROM TransactionEntity t " +
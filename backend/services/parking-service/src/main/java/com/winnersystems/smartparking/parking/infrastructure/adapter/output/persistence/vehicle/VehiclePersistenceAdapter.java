@@ -12,7 +12,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -29,6 +32,9 @@ public class VehiclePersistenceAdapter implements VehiclePersistencePort {
    private final VehicleRepository vehicleRepository;
    private final VehiclePersistenceMapper vehicleMapper;
 
+   /** Máximo de elementos en una lista IN de Oracle */
+   private static final int IN_CLAUSE_LIMIT = 1000;
+
    // ========================= WRITE =========================
 
    @Override
@@ -57,6 +63,23 @@ public class VehiclePersistenceAdapter implements VehiclePersistencePort {
             .map(vehicleMapper::toDomain);
    }
 
+   // ========================= FIND POR LOTE =========================
+
+   @Override
+   public List<Vehicle> findAllByIds(Collection<Long> ids) {
+      List<Long> distinctIds = ids.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+
+      List<Vehicle> vehicles = new ArrayList<>(distinctIds.size());
+      for (int from = 0; from < distinctIds.size(); from += IN_CLAUSE_LIMIT) {
+         List<Long> chunk = distinctIds.subList(from, Math.min(from + IN_CLAUSE_LIMIT, distinctIds.size()));
+         vehicleRepository.findAllById(chunk).forEach(entity -> vehicles.add(vehicleMapper.toDomain(entity)));
+      }
+      return vehicles;
+   }
+
    // ========================= EXISTS =========================
 
    @Override
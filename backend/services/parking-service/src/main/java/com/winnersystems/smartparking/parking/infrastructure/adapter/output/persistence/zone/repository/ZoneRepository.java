@@ -1,5 +1,6 @@
 package com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.zone.repository;
 
+import com.winnersystems.smartparking.parking.application.dto.query.ZoneNode;
 import com.winnersystems.smartparking.parking.infrastructure.adapter.output.persistence.zone.entity.ZoneEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -59,4 +60,16 @@ public interface ZoneRepository extends JpaRepository<ZoneEntity, Long> {
          @Param("status") String status,
          Pageable pageable
    );
+
+   // ========================= TOPOLOGÍA (proyecciones) =========================
+
+   @Query("SELECT new com.winnersystems.smartparking.parking.application.dto.query.ZoneNode(" +
+         "z.id, z.parkingId, z.name, z.code, z.status) " +
+         "FROM ZoneEntity z WHERE z.deletedAt IS NULL ORDER BY z.id")
+   List<ZoneNode> findTopologyNodes();
+
+   @Query("SELECT new com.winnersystems.smartparking.parking.application.dto.query.ZoneNode(" +
+         "z.id, z.parkingId, z.name, z.code, z.status) " +
+         "FROM ZoneEntity z WHERE z.id = :id AND z.deletedAt IS NULL")
+   Optional<ZoneNode> findTopologyNodeById(@Param("id") Long id);
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.winnersystems.smartparking.parking.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas (@Scheduled) del Parking Service.
+ *
+ * Tareas:
+ * - Sondeo de versiones de caché entre réplicas (CacheRegionSynchronizer)
+ * - Barrido de multas vencidas (OverdueFineSweepScheduler)
+ * - Detección automática de infracciones (InfractionDetectionScheduler)
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,67 @@
+package com.winnersystems.smartparking.parking.infrastructure.config.metrics;
+
+import com.winnersystems.smartparking.parking.application.service.offender.OffenderIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuración de instrumentación del Parking Service.
+ *
+ * Registra:
+ * - El aspecto que mide cada caso de uso (Timer + contadores SQL)
+ * - El envoltorio del DataSource que cuenta sentencias y filas
+ * - Los gauges de tamaño del índice de reincidencia
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Configuration
+public class MetricsConfig {
+
+   @Bean
+   public UseCaseMetricsAspect useCaseMetricsAspect(MeterRegistry meterRegistry) {
+      return new UseCaseMetricsAspect(meterRegistry);
+   }
+
+   /**
+    * Tamaño del índice de reincidencia: parking.offenders.index.entries
+    * con tag map = vehicles | customers | exposures.
+    */
+   @Bean
+   public MeterBinder offenderIndexMetrics(OffenderIndex offenderIndex) {
+      return registry -> {
+         Gauge.builder("parking.offenders.index.entries", offenderIndex, OffenderIndex::vehicleEntries)
+               .tag("map", "vehicles")
+               .register(registry);
+         Gauge.builder("parking.offenders.index.entries", offenderIndex, OffenderIndex::customerEntries)
+               .tag("map", "customers")
+               .register(registry);
+         Gauge.builder("parking.offenders.index.entries", offenderIndex, OffenderIndex::exposureEntries)
+               .tag("map", "exposures")
+               .register(registry);
+      };
+   }
+
+   /**
+    * Envuelve el DataSource del pool para contar sentencias JDBC.
+    * Static para no forzar la inicialización temprana de esta configuración.
+    */
+   @Bean
+   public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+      return new BeanPostProcessor() {
+         @Override
+         public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+               return new StatementCountingDataSource(dataSource);
+            }
+            return bean;
+         }
+      };
+   }
+}
@@ -0,0 +1,108 @@
+package com.winnersystems.smartparking.parking.infrastructure.config.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Contador de sentencias JDBC y filas leídas por hilo.
+ *
+ * Lo alimenta {@link StatementCountingDataSource} y lo consume
+ * {@link UseCaseMetricsAspect}, que calcula la diferencia antes/después
+ * de cada caso de uso. Como cada request HTTP se atiende en un único hilo
+ * de Tomcat, el contador refleja exactamente el trabajo SQL de ese request.
+ *
+ * Opcionalmente graba el texto de cada sentencia (startRecording /
+ * stopRecording); lo usan los tests de presupuesto de consultas para
+ * mostrar qué SQL se ejecutó cuando un endpoint excede su presupuesto.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public final class SqlStatementCounter {
+
+   private static final ThreadLocal<Counts> CURRENT = ThreadLocal.withInitial(Counts::new);
+   private static final ThreadLocal<List<String>> RECORDING = new ThreadLocal<>();
+
+   private SqlStatementCounter() {
+   }
+
+   // ========================= REGISTRO =========================
+
+   /**
+    * Registra la ejecución de una sentencia (un round trip a la BD).
+    *
+    * @param sql texto de la sentencia (puede ser null si el driver no lo expone)
+    */
+   static void statementExecuted(String sql) {
+      CURRENT.get().statements++;
+      List<String> recording = RECORDING.get();
+      if (recording != null) {
+         recording.add(sql != null ? sql : "<sql no disponible>");
+      }
+   }
+
+   /**
+    * Registra una fila leída de un ResultSet.
+    */
+   static void rowFetched() {
+      CURRENT.get().rows++;
+   }
+
+   // ========================= LECTURA =========================
+
+   /**
+    * Toma una foto inmutable de los contadores del hilo actual.
+    */
+   public static Snapshot snapshot() {
+      Counts counts = CURRENT.get();
+      return new Snapshot(counts.statements, counts.rows);
+   }
+
+   // ========================= GRABACIÓN =========================
+
+   /**
+    * Empieza a grabar el texto de las sentencias ejecutadas por el hilo actual.
+    * Una grabación previa sin cerrar se descarta.
+    */
+   public static void startRecording() {
+      RECORDING.set(new ArrayList<>());
+   }
+
+   /**
+    * Termina la grabación del hilo actual.
+    *
+    * @return sentencias ejecutadas desde startRecording(), en orden
+    * @throws IllegalStateException si no había una grabación en curso
+    */
+   public static List<String> stopRecording() {
+      List<String> recording = RECORDING.get();
+      if (recording == null) {
+         throw new IllegalStateException("No hay una grabación de sentencias en curso");
+      }
+      RECORDING.remove();
+      return List.copyOf(recording);
+   }
+
+   // ========================= TIPOS =========================
+
+   private static final class Counts {
+      private long statements;
+      private long rows;
+   }
+
+   /**
+    * Valores acumulados del hilo en un instante dado.
+    *
+    * @param statements sentencias ejecutadas
+    * @param rows filas leídas
+    */
+   public record Snapshot(long statements, long rows) {
+
+      /**
+       * Diferencia entre esta foto (posterior) y una anterior.
+       */
+      public Snapshot minus(Snapshot earlier) {
+         return new Snapshot(statements - earlier.statements, rows - earlier.rows);
+      }
+   }
+}
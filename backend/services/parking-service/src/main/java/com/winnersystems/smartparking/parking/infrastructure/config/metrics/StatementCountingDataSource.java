@@ -0,0 +1,126 @@
+package com.winnersystems.smartparking.parking.infrastructure.config.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * DataSource que envuelve al pool (Hikari) para contar sentencias y filas.
+ *
+ * Cada Connection, Statement y ResultSet devuelto es un proxy dinámico que
+ * delega en el objeto real y notifica a {@link SqlStatementCounter}:
+ * - Una sentencia por cada execute / executeQuery / executeUpdate / executeBatch
+ * - Una fila por cada ResultSet.next() que devuelve true
+ *
+ * El texto SQL se toma de prepareStatement/prepareCall o del argumento
+ * de Statement.execute*(sql), para la grabación opcional del contador.
+ *
+ * Extiende DelegatingDataSource para que Actuator siga viendo el pool
+ * de Hikari mediante unwrap (métricas hikaricp.*, health db).
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+   private static final Set<String> EXECUTE_METHODS = Set.of(
+         "execute", "executeQuery", "executeUpdate", "executeLargeUpdate",
+         "executeBatch", "executeLargeBatch"
+   );
+
+   public StatementCountingDataSource(DataSource targetDataSource) {
+      super(targetDataSource);
+   }
+
+   @Override
+   public Connection getConnection() throws SQLException {
+      return proxyConnection(obtainTargetDataSource().getConnection());
+   }
+
+   @Override
+   public Connection getConnection(String username, String password) throws SQLException {
+      return proxyConnection(obtainTargetDataSource().getConnection(username, password));
+   }
+
+   // ========================= PROXIES =========================
+
+   private Connection proxyConnection(Connection target) {
+      return proxy(Connection.class, target, (proxy, method, args) -> {
+         Object result = invoke(target, method, args);
+         String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+         if (result instanceof CallableStatement cs) {
+            return proxyStatement(CallableStatement.class, cs, sql);
+         }
+         if (result instanceof PreparedStatement ps) {
+            return proxyStatement(PreparedStatement.class, ps, sql);
+         }
+         if (result instanceof Statement st) {
+            return proxyStatement(Statement.class, st, null);
+         }
+         return result;
+      });
+   }
+
+   private <S extends Statement> S proxyStatement(Class<S> type, S target, String preparedSql) {
+      return proxy(type, target, (proxy, method, args) -> {
+         if (EXECUTE_METHODS.contains(method.getName())) {
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+            SqlStatementCounter.statementExecuted(sql);
+         }
+         Object result = invoke(target, method, args);
+         if (result instanceof ResultSet rs && !"getGeneratedKeys".equals(method.getName())) {
+            return proxyResultSet(rs);
+         }
+         return result;
+      });
+   }
+
+   private ResultSet proxyResultSet(ResultSet target) {
+      return proxy(ResultSet.class, target, (proxy, method, args) -> {
+         Object result = invoke(target, method, args);
+         if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+            SqlStatementCounter.rowFetched();
+         }
+         return result;
+      });
+   }
+
+   // ========================= HELPERS =========================
+
+   /**
+    * Crea un proxy que resuelve equals/hashCode por identidad del proxy
+    * y delega el resto de métodos en el handler.
+    */
+   @SuppressWarnings("unchecked")
+   private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+      return (T) Proxy.newProxyInstance(
+            StatementCountingDataSource.class.getClassLoader(),
+            new Class<?>[]{type},
+            (proxy, method, args) -> switch (method.getName()) {
+               case "equals" -> args[0] == proxy;
+               case "hashCode" -> System.identityHashCode(proxy);
+               case "toString" -> "Counting[" + target + "]";
+               default -> handler.invoke(proxy, method, args);
+            }
+      );
+   }
+
+   private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+      try {
+         return method.invoke(target, args);
+      } catch (InvocationTargetException e) {
+         throw e.getTargetException();
+      }
+   }
+}
@@ -0,0 +1,126 @@
+package com.winnersystems.smartparking.parking.infrastructure.config.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Instrumenta todos los puertos de entrada (casos de uso) con Micrometer.
+ *
+ * Por cada invocación registra:
+ * - parking.usecase                 Timer (tags: usecase, method, outcome)
+ * - parking.usecase.sql.statements  sentencias JDBC ejecutadas (tags: usecase, method)
+ * - parking.usecase.sql.rows        filas leídas de la BD (tags: usecase, method)
+ *
+ * Los percentiles e histogramas se habilitan por configuración
+ * (management.metrics.distribution.*), igual que http.server.requests.
+ *
+ * Se ejecuta por fuera de @Transactional para que el tiempo y las
+ * sentencias del flush/commit se atribuyan al caso de uso.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class UseCaseMetricsAspect {
+
+   public static final String TIMER_NAME = "parking.usecase";
+   public static final String STATEMENTS_NAME = "parking.usecase.sql.statements";
+   public static final String ROWS_NAME = "parking.usecase.sql.rows";
+
+   private static final String INPUT_PORT_PACKAGE =
+         "com.winnersystems.smartparking.parking.application.port.input";
+
+   private final MeterRegistry meterRegistry;
+   private final Map<Method, UseCaseTags> tagsByMethod = new ConcurrentHashMap<>();
+
+   public UseCaseMetricsAspect(MeterRegistry meterRegistry) {
+      this.meterRegistry = meterRegistry;
+   }
+
+   @Around("execution(public * com.winnersystems.smartparking.parking.application.port.input..*UseCase+.*(..))")
+   public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+      UseCaseTags tags = resolveTags(joinPoint);
+      SqlStatementCounter.Snapshot before = SqlStatementCounter.snapshot();
+      Timer.Sample sample = Timer.start(meterRegistry);
+      String outcome = "SUCCESS";
+
+      try {
+         return joinPoint.proceed();
+      } catch (Throwable ex) {
+         outcome = ex.getClass().getSimpleName();
+         throw ex;
+      } finally {
+         sample.stop(Timer.builder(TIMER_NAME)
+               .description("Tiempo de ejecución de casos de uso")
+               .tag("usecase", tags.useCase())
+               .tag("method", tags.method())
+               .tag("outcome", outcome)
+               .register(meterRegistry));
+
+         SqlStatementCounter.Snapshot delta = SqlStatementCounter.snapshot().minus(before);
+         tags.statements().record(delta.statements());
+         tags.rows().record(delta.rows());
+      }
+   }
+
+   // ========================= HELPERS =========================
+
+   private UseCaseTags resolveTags(ProceedingJoinPoint joinPoint) {
+      Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+      return tagsByMethod.computeIfAbsent(method, m -> {
+         String useCase = findUseCaseInterface(AopUtils.getTargetClass(joinPoint.getTarget()), m);
+         return new UseCaseTags(
+               useCase,
+               m.getName(),
+               DistributionSummary.builder(STATEMENTS_NAME)
+                     .description("Sentencias JDBC ejecutadas por caso de uso")
+                     .baseUnit("statements")
+                     .tag("usecase", useCase)
+                     .tag("method", m.getName())
+                     .register(meterRegistry),
+               DistributionSummary.builder(ROWS_NAME)
+                     .description("Filas leídas de la BD por caso de uso")
+                     .baseUnit("rows")
+                     .tag("usecase", useCase)
+                     .tag("method", m.getName())
+                     .register(meterRegistry)
+         );
+      });
+   }
+
+   /**
+    * Un servicio implementa varios casos de uso (p.ej. TransactionService);
+    * se etiqueta con el puerto de entrada que declara el método invocado.
+    */
+   private String findUseCaseInterface(Class<?> targetClass, Method method) {
+      for (Class<?> iface : ClassUtils.getAllInterfacesForClassAsSet(targetClass)) {
+         if (iface.getName().startsWith(INPUT_PORT_PACKAGE)
+               && ClassUtils.hasMethod(iface, method.getName(), method.getParameterTypes())) {
+            return iface.getSimpleName();
+         }
+      }
+      return targetClass.getSimpleName();
+   }
+
+   private record UseCaseTags(
+         String useCase,
+         String method,
+         DistributionSummary statements,
+         DistributionSummary rows
+   ) {
+   }
+}
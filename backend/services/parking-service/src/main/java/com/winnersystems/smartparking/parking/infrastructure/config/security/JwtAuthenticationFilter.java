@@ -18,6 +18,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.Collection;
+import java.util.Optional;
 
 /**
  * Filtro de autenticación JWT.
@@ -43,11 +44,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
       // 1. Extraer token del header Authorization
       String token = extractTokenFromRequest(request);
 
-      // 2. Si hay token y es válido, autenticar
-      if (token != null && jwtService.validateToken(token)) {
+      // 2. Si hay token y es válido, autenticar (claims verificados una sola vez por token)
+      Optional<Claims> verified = token != null ? jwtService.verify(token) : Optional.empty();
+      if (verified.isPresent()) {
          try {
             // 3. Extraer claims del JWT
-            Claims claims = jwtService.extractAllClaims(token);
+            Claims claims = verified.get();
 
             Long userId = claims.get("userId", Long.class);
             String email = claims.getSubject();
@@ -1,37 +1,114 @@
 package com.winnersystems.smartparking.parking.infrastructure.config.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Servicio para decodificar y validar JWT tokens.
  * NO genera tokens, solo los valida (eso lo hace auth-service).
  *
+ * La clave HMAC y el parser se construyen una sola vez. Los tokens ya
+ * verificados se guardan (por hash SHA-256, no el token en claro) con sus
+ * claims hasta su expiración: las siguientes requests de la misma sesión
+ * no vuelven a verificar la firma.
+ *
+ * Propiedades (jwt.verified-cache):
+ * - max-size: tokens en memoria; lleno, los nuevos se verifican sin guardarse (default 10000)
+ * - purge-interval: ms entre limpiezas de tokens expirados (default 60000)
+ *
+ * Métricas: parking.jwt.verifications{result=cached|verified|rejected} y
+ * el gauge parking.jwt.cache.size.
+ *
  * @author Edwin Yoner - Winner Systems - Smart Parking Platform
  * @version 1.0
  */
 @Service
 public class JwtService {
 
-   @Value("${jwt.secret}")
-   private String secretKey;
+   private final JwtParser parser;
+   private final int maxCachedTokens;
+
+   /** Hash del token -> claims verificados */
+   private final Map<String, VerifiedToken> verified = new ConcurrentHashMap<>();
+
+   private final Counter cachedCounter;
+   private final Counter verifiedCounter;
+   private final Counter rejectedCounter;
+
+   public JwtService(@Value("${jwt.secret}") String secretKey,
+                     @Value("${jwt.verified-cache.max-size:10000}") int maxCachedTokens,
+                     MeterRegistry meterRegistry) {
+      this.parser = Jwts.parser()
+            .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey)))
+            .build();
+      this.maxCachedTokens = maxCachedTokens;
+      this.cachedCounter = verificationCounter(meterRegistry, "cached");
+      this.verifiedCounter = verificationCounter(meterRegistry, "verified");
+      this.rejectedCounter = verificationCounter(meterRegistry, "rejected");
+      Gauge.builder("parking.jwt.cache.size", verified, Map::size)
+            .description("Tokens JWT verificados en memoria")
+            .register(meterRegistry);
+   }
+
+   /**
+    * Claims de un token válido y no expirado, o vacío si no lo es.
+    */
+   public Optional<Claims> verify(String token) {
+      try {
+         return Optional.of(extractAllClaims(token));
+      } catch (JwtException | IllegalArgumentException e) {
+         return Optional.empty();
+      }
+   }
 
    /**
     * Extrae todos los claims del token JWT.
+    *
+    * @throws JwtException si la firma no es válida o el token expiró
     */
    public Claims extractAllClaims(String token) {
-      return Jwts.parser()
-            .verifyWith(getSigningKey())
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
+      if (token == null || token.isBlank()) {
+         throw new IllegalArgumentException("Token JWT vacío");
+      }
+      String key = hash(token);
+      VerifiedToken cached = verified.get(key);
+      if (cached != null) {
+         if (!cached.isExpired(System.currentTimeMillis())) {
+            cachedCounter.increment();
+            return cached.claims();
+         }
+         verified.remove(key, cached);
+      }
+
+      Claims claims;
+      try {
+         claims = parser.parseSignedClaims(token).getPayload();
+      } catch (JwtException | IllegalArgumentException e) {
+         rejectedCounter.increment();
+         throw e;
+      }
+      verifiedCounter.increment();
+      remember(key, claims);
+      return claims;
    }
 
    /**
@@ -61,31 +138,67 @@ public class JwtService {
     * Valida si el token está expirado.
     */
    public boolean isTokenExpired(String token) {
-      try {
-         Date expiration = extractAllClaims(token).getExpiration();
-         return expiration.before(new Date());
-      } catch (Exception e) {
-         return true;
-      }
+      return verify(token).isEmpty();
    }
 
    /**
-    * Valida el token JWT.
+    * Valida el token JWT (una sola verificación, o ninguna si ya estaba en memoria).
     */
    public boolean validateToken(String token) {
+      return verify(token).isPresent();
+   }
+
+   /**
+    * Quita los tokens expirados.
+    */
+   @Scheduled(fixedDelayString = "${jwt.verified-cache.purge-interval:60000}")
+   public void purgeExpired() {
+      long now = System.currentTimeMillis();
+      verified.values().removeIf(token -> token.isExpired(now));
+   }
+
+   // ========================= HELPERS =========================
+
+   /**
+    * Guarda los claims hasta la expiración del token. Sin expiración no se guarda.
+    */
+   private void remember(String key, Claims claims) {
+      Date expiration = claims.getExpiration();
+      if (expiration == null) {
+         return;
+      }
+      if (verified.size() >= maxCachedTokens) {
+         purgeExpired();
+         if (verified.size() >= maxCachedTokens) {
+            return;
+         }
+      }
+      verified.put(key, new VerifiedToken(claims, expiration.getTime()));
+   }
+
+   private static String hash(String token) {
       try {
-         extractAllClaims(token);
-         return !isTokenExpired(token);
-      } catch (Exception e) {
-         return false;
+         byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+         return HexFormat.of().formatHex(digest);
+      } catch (NoSuchAlgorithmException e) {
+         throw new IllegalStateException("SHA-256 no disponible", e);
       }
    }
 
+   private static Counter verificationCounter(MeterRegistry meterRegistry, String result) {
+      return Counter.builder("parking.jwt.verifications")
+            .description("Tokens JWT resueltos por el filtro y los adaptadores")
+            .tag("result", result)
+            .register(meterRegistry);
+   }
+
    /**
-    * Obtiene la clave de firma del token.
+    * Claims verificados y el instante (ms) en que el token expira.
     */
-   private SecretKey getSigningKey() {
-      byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-      return Keys.hmacShaKeyFor(keyBytes);
+   private record VerifiedToken(Claims claims, long expiresAtMillis) {
+
+      boolean isExpired(long now) {
+         return now >= expiresAtMillis;
+      }
    }
 }
\ No newline at end of file
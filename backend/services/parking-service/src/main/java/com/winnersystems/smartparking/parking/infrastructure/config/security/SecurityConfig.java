@@ -34,6 +34,9 @@ public class SecurityConfig {
 
             // Configurar autorización de requests
             .authorizeHttpRequests(auth -> auth
+                  // Estado interno de las cachés: solo administradores (antes que /actuator/**)
+                  .requestMatchers("/actuator/catalogcache", "/actuator/catalogcache/**").hasRole("ADMIN")
+
                   // ========== ENDPOINTS PÚBLICOS (TEMPORALMENTE) ==========
                   // ⚠️ SOLO PARA DESARROLLO - En producción quitar estos
                   .requestMatchers(
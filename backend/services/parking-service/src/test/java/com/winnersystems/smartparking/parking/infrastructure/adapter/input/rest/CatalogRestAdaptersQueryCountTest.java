@@ -0,0 +1,115 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.input.rest;
+
+import com.winnersystems.smartparking.parking.domain.model.Parking;
+import com.winnersystems.smartparking.parking.support.AbstractQueryCountTest;
+import com.winnersystems.smartparking.parking.support.QueryBudget;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Presupuestos de sentencias SQL de los catálogos:
+ * DocumentType, PaymentType, Rate, Shift y ParkingShiftRate.
+ *
+ * Los datos vienen de DataSeeder. Un catálogo no enriquece filas, así que
+ * su presupuesto es constante. Los listados de activos y las tarifas por
+ * turno se sirven desde CatalogCache: con la caché caliente no tocan la BD.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@WithMockUser(roles = "ADMIN")
+class CatalogRestAdaptersQueryCountTest extends AbstractQueryCountTest {
+
+   /** Consulta paginada + count */
+   private static final QueryBudget PAGED_BUDGET = QueryBudget.atMost(2);
+
+   /** Carga del catálogo si la caché está fría */
+   private static final QueryBudget ACTIVE_BUDGET = QueryBudget.atMost(1);
+
+   /** Caché caliente */
+   private static final QueryBudget CACHED_BUDGET = QueryBudget.atMost(0);
+
+   /** Peor caso con cachés frías: tarifas por turno, turnos y tarifas */
+   private static final QueryBudget SHIFT_RATES_BUDGET = QueryBudget.atMost(3);
+
+   private Parking parking;
+
+   @BeforeAll
+   void seed() {
+      parking = fixtures.parking();
+      fixtures.shiftRates(parking);
+   }
+
+   // ========================= DOCUMENT TYPES =========================
+
+   @Test
+   void listDocumentTypes() throws Exception {
+      assertBudget(get("/document-types"), "$.content", PAGED_BUDGET);
+   }
+
+   @Test
+   void listActiveDocumentTypes() throws Exception {
+      assertBudget(get("/document-types/active"), "$", ACTIVE_BUDGET);
+   }
+
+   // ========================= PAYMENT TYPES =========================
+
+   @Test
+   void listPaymentTypes() throws Exception {
+      assertBudget(get("/payment-types"), "$.content", PAGED_BUDGET);
+   }
+
+   @Test
+   void listActivePaymentTypes() throws Exception {
+      assertBudget(get("/payment-types/active"), "$", ACTIVE_BUDGET);
+   }
+
+   // ========================= RATES =========================
+
+   @Test
+   void listRates() throws Exception {
+      assertBudget(get("/rates"), "$.content", PAGED_BUDGET);
+   }
+
+   @Test
+   void listActiveRates() throws Exception {
+      assertBudget(get("/rates/active"), "$", ACTIVE_BUDGET);
+   }
+
+   // ========================= SHIFTS =========================
+
+   @Test
+   void listShifts() throws Exception {
+      assertBudget(get("/shifts"), "$.content", PAGED_BUDGET);
+   }
+
+   @Test
+   void listActiveShifts() throws Exception {
+      assertBudget(get("/shifts/active"), "$", ACTIVE_BUDGET);
+   }
+
+   // ========================= PARKING SHIFT RATES =========================
+
+   @Test
+   void listParkingShiftRates() throws Exception {
+      assertBudget(get("/parkings/{parkingId}/shift-rates", parking.getId()), "$", SHIFT_RATES_BUDGET);
+   }
+
+   // ========================= CACHÉ =========================
+
+   @Test
+   void activeCatalogsServedFromCacheWhenWarm() throws Exception {
+      for (String path : new String[]{"/document-types/active", "/payment-types/active", "/rates/active",
+            "/shifts/active"}) {
+         mockMvc.perform(get(path));
+         assertBudget(get(path), "$", CACHED_BUDGET);
+      }
+      mockMvc.perform(get("/parkings/{parkingId}/shift-rates", parking.getId()));
+      assertBudget(get("/parkings/{parkingId}/shift-rates", parking.getId()), "$", CACHED_BUDGET);
+   }
+}
@@ -0,0 +1,150 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.input.rest.infraction;
+
+import com.winnersystems.smartparking.parking.domain.model.Customer;
+import com.winnersystems.smartparking.parking.domain.model.Infraction;
+import com.winnersystems.smartparking.parking.domain.model.Parking;
+import com.winnersystems.smartparking.parking.domain.model.Vehicle;
+import com.winnersystems.smartparking.parking.domain.model.Zone;
+import com.winnersystems.smartparking.parking.support.AbstractQueryCountTest;
+import com.winnersystems.smartparking.parking.support.QueryBudget;
+import com.winnersystems.smartparking.parking.support.QueryCountFixtures;
+import com.winnersystems.smartparking.parking.support.RecordedStatements;
+import com.winnersystems.smartparking.parking.support.SqlRecorder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Presupuestos de sentencias SQL de los listados de InfractionRestAdapter.
+ *
+ * Los listados resuelven vehículos y clientes con una consulta IN por tipo,
+ * así que el costo no depende del número de filas. Parking, zona y espacio
+ * salen de TopologyCache; si está fría, la primera lectura la construye con
+ * tres consultas.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@WithMockUser(roles = "ADMIN")
+class InfractionRestAdapterQueryCountTest extends AbstractQueryCountTest {
+
+   private static final int ROWS = 12;
+
+   /** Consulta paginada + count + vehículos + clientes + carga de la topología */
+   private static final QueryBudget LIST_BUDGET = QueryBudget.atMost(7);
+
+   /** Listados sin paginación: sin count */
+   private static final QueryBudget UNPAGED_BUDGET = QueryBudget.atMost(6);
+
+   private Zone zone;
+   private Long transactionId;
+   private Infraction first;
+
+   @BeforeAll
+   void seed() {
+      Parking parking = fixtures.parking();
+      zone = fixtures.zone(parking);
+      transactionId = QueryCountFixtures.nextExternalId();
+      List<Infraction> infractions = fixtures.overdueInfractions(zone, transactionId, ROWS);
+      first = infractions.get(0);
+   }
+
+   @Test
+   void listAll() throws Exception {
+      assertBudget(get("/infractions").param("size", "50"), "$.content", LIST_BUDGET);
+   }
+
+   @Test
+   void listByVehicle() throws Exception {
+      assertBudget(get("/infractions/vehicle/{vehicleId}", first.getVehicleId()), "$.content", LIST_BUDGET);
+   }
+
+   @Test
+   void listByCustomer() throws Exception {
+      assertBudget(get("/infractions/customer/{customerId}", first.getCustomerId()), "$.content", LIST_BUDGET);
+   }
+
+   @Test
+   void listByTransaction() throws Exception {
+      assertBudget(get("/infractions/transaction/{transactionId}", transactionId), "$", UNPAGED_BUDGET);
+   }
+
+   @Test
+   void listPendingFines() throws Exception {
+      assertBudget(get("/infractions/pending-fines").param("size", "50"), "$.content", LIST_BUDGET);
+   }
+
+   @Test
+   void listOverdueFines() throws Exception {
+      assertBudget(get("/infractions/overdue-fines").param("size", "50"), "$.content", LIST_BUDGET);
+   }
+
+   @Test
+   void listByDateRange() throws Exception {
+      assertBudget(get("/infractions/date-range")
+                  .param("startDate", LocalDateTime.now().minusDays(1).withNano(0).toString())
+                  .param("endDate", LocalDateTime.now().plusDays(1).withNano(0).toString())
+                  .param("size", "50"),
+            "$.content", LIST_BUDGET);
+   }
+
+   @Test
+   void listPending() throws Exception {
+      assertBudget(get("/infractions/pending"), "$", UNPAGED_BUDGET);
+   }
+
+   // ========================= ENRIQUECIMIENTO POR LOTE =========================
+
+   @Test
+   void statementCountDoesNotGrowWithPageSize() throws Exception {
+      // Calienta la topología para comparar solo el costo del listado
+      mockMvc.perform(get("/infractions").param("size", "1"));
+
+      RecordedStatements onePage = assertBudget(get("/infractions").param("size", "1"),
+            "$.content", LIST_BUDGET);
+      RecordedStatements fullPage = assertBudget(get("/infractions").param("size", String.valueOf(ROWS)),
+            "$.content", LIST_BUDGET);
+
+      assertEquals(onePage.count(), fullPage.count(),
+            "El listado de " + ROWS + " infracciones no debe costar más que el de una:\n" + fullPage.describe());
+   }
+
+   // ========================= CREACIÓN =========================
+
+   @Test
+   void createInfractionInsertsOnce() throws Exception {
+      Vehicle vehicle = fixtures.vehicle();
+      Customer customer = fixtures.customer(fixtures.documentTypeId());
+      String body = String.format(
+            "{\"parkingId\":%d,\"zoneId\":%d,\"vehicleId\":%d,\"customerId\":%d,\"infractionType\":\"%s\"}",
+            zone.getParkingId(), zone.getId(), vehicle.getId(), customer.getId(), Infraction.TYPE_OVERSTAY);
+
+      RecordedStatements statements = SqlRecorder.record(() -> mockMvc.perform(post("/infractions")
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content(body))
+            .andExpect(status().isCreated()));
+
+      assertEquals(1, countStartingWith(statements, "INSERT INTO INFRACTIONS"),
+            "Se esperaba un solo INSERT:\n" + statements.describe());
+      assertEquals(0, countStartingWith(statements, "UPDATE INFRACTIONS"),
+            "El código debe ir en el INSERT, sin UPDATE posterior:\n" + statements.describe());
+   }
+
+   private long countStartingWith(RecordedStatements statements, String prefix) {
+      return statements.statements().stream()
+            .map(sql -> sql.replaceAll("\\s+", " ").trim().toUpperCase())
+            .filter(sql -> sql.startsWith(prefix))
+            .count();
+   }
+}
@@ -0,0 +1,226 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.input.rest.operatorassignment;
+
+import com.winnersystems.smartparking.parking.application.service.operatorassignment.OnDutyIndex;
+import com.winnersystems.smartparking.parking.domain.model.Parking;
+import com.winnersystems.smartparking.parking.domain.model.Shift;
+import com.winnersystems.smartparking.parking.domain.model.Zone;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.client.AuthServiceClient;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.client.OperatorDirectory;
+import com.winnersystems.smartparking.parking.support.AbstractQueryCountTest;
+import com.winnersystems.smartparking.parking.support.QueryBudget;
+import com.winnersystems.smartparking.parking.support.QueryCountFixtures;
+import com.winnersystems.smartparking.parking.support.RecordedStatements;
+import com.winnersystems.smartparking.parking.support.SqlRecorder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Presupuestos de sentencias SQL de los listados de OperatorAssignmentRestAdapter.
+ *
+ * mapToSimpleDto vuelve a cargar zona y turno por cada asignación. En los
+ * listados por zona la caché de primer nivel lo absorbe (una zona, tres
+ * turnos); en el listado por operador cada fila trae una zona distinta.
+ *
+ * auth-service es un mock (ver AbstractQueryCountTest): aquí solo se mide el SQL propio,
+ * más una verificación de que los listados leen los nombres de OperatorDirectory.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@WithMockUser(roles = "ADMIN")
+class OperatorAssignmentRestAdapterQueryCountTest extends AbstractQueryCountTest {
+
+   private static final int ROWS = 9;
+
+   /** Consulta + topología (tres) + catálogo de turnos, si aún no estaban cargados */
+   private static final QueryBudget BY_ZONE_BUDGET = QueryBudget.atMost(5);
+
+   /** Igual que por zona: los nombres de zona salen de la topología, no de una consulta por fila */
+   private static final QueryBudget BY_OPERATOR_BUDGET = QueryBudget.atMost(5);
+
+   /**
+    * Topología (tres) + turnos + cruces + versión del índice + secuencia agrupada (hasta dos)
+    * + un INSERT en lote: sin costo por fila
+    */
+   private static final QueryBudget ROSTER_BUDGET = QueryBudget.atMost(9);
+
+   /** Con el índice ya construido, operadores en servicio no va a la BD */
+   private static final QueryBudget ON_DUTY_BUDGET = QueryBudget.atMost(0);
+
+   /** Un instante anterior a la carga del índice lee solo las asignaciones de la zona */
+   private static final QueryBudget PAST_ON_DUTY_BUDGET = QueryBudget.atMost(1);
+
+   @Autowired
+   private OperatorDirectory operatorDirectory;
+
+   @Autowired
+   private OnDutyIndex onDutyIndex;
+
+   @Value("${jwt.secret}")
+   private String jwtSecret;
+
+   private Parking parking;
+   private Zone zone;
+   private Long operatorId;
+   private Zone operatorZone;
+
+   @BeforeAll
+   void seed() {
+      parking = fixtures.parking();
+      zone = fixtures.zone(parking);
+      fixtures.operatorAssignments(zone, ROWS);
+
+      List<Zone> zones = new ArrayList<>();
+      for (int i = 0; i < ROWS; i++) {
+         zones.add(fixtures.zone(parking));
+      }
+      operatorId = QueryCountFixtures.nextExternalId();
+      fixtures.assignmentsForOperator(operatorId, zones);
+      operatorZone = zones.get(0);
+   }
+
+   @Test
+   void listByZone() throws Exception {
+      assertBudget(get("/zones/{zoneId}/operators", zone.getId()), "$", BY_ZONE_BUDGET);
+   }
+
+   @Test
+   void listActiveByZone() throws Exception {
+      assertBudget(get("/zones/{zoneId}/operators/active", zone.getId()), "$", BY_ZONE_BUDGET);
+   }
+
+   @Test
+   void listByOperator() throws Exception {
+      assertBudget(get("/operators/{operatorId}/assignments", operatorId), "$", BY_OPERATOR_BUDGET);
+   }
+
+   @Test
+   void listOnDutyFromIndex() throws Exception {
+      // Las asignaciones sembradas no pasaron por el servicio: el índice se reconstruye
+      onDutyIndex.invalidate();
+      LocalDateTime shiftStart = LocalDate.now().atTime(fixtures.shifts().get(0).getStartTime());
+      mockMvc.perform(get("/zones/{zoneId}/operators/on-duty", zone.getId()).param("at", shiftStart.toString()))
+            .andExpect(status().isOk());
+
+      assertBudget(get("/zones/{zoneId}/operators/on-duty", zone.getId()).param("at", shiftStart.toString()),
+            "$", ON_DUTY_BUDGET);
+   }
+
+   @Test
+   void listOnDutyBeforeIndexReadsZoneOnly() throws Exception {
+      onDutyIndex.invalidate();
+      LocalTime start = fixtures.shifts().get(0).getStartTime();
+      mockMvc.perform(get("/zones/{zoneId}/operators/on-duty", zone.getId())
+                  .param("at", LocalDate.now().atTime(start).toString()))
+            .andExpect(status().isOk());
+
+      // Las asignaciones sembradas empiezan ayer: antes del índice, pero igual en servicio
+      LocalDateTime yesterday = LocalDate.now().minusDays(1).atTime(start);
+      assertBudget(get("/zones/{zoneId}/operators/on-duty", zone.getId()).param("at", yesterday.toString()),
+            "$", PAST_ON_DUTY_BUDGET);
+   }
+
+   // ========================= AUTH-SERVICE =========================
+
+   @Test
+   void listingsShareOneOperatorLookup() throws Exception {
+      when(authServiceClient.getActiveOperators(any())).thenReturn(ResponseEntity.ok(List.of(
+            new AuthServiceClient.OperatorDto(operatorId, "Ana", "Quispe", "ana@test.pe", null, true))));
+      operatorDirectory.invalidate();
+
+      mockMvc.perform(get("/zones/{zoneId}/operators", zone.getId())).andExpect(status().isOk());
+      mockMvc.perform(get("/operators/{operatorId}/assignments", operatorId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].operatorName").value("Ana Quispe"));
+
+      verify(authServiceClient, times(1)).getActiveOperators(any());
+      verify(authServiceClient, never()).getUserById(any());
+      // Los operadores de la zona no están en la foto: se piden todos en un solo lote
+      verify(authServiceClient, times(1)).getUsersByIds(any());
+   }
+
+   // ========================= ROL DE TURNOS =========================
+
+   @Test
+   void rosterImportWritesInBulk() throws Exception {
+      List<Shift> shifts = fixtures.shifts();
+      LocalDate monday = LocalDate.now().plusWeeks(1);
+      List<AuthServiceClient.OperatorDto> operators = new ArrayList<>();
+      List<String> entries = new ArrayList<>();
+
+      for (int i = 0; i < ROWS; i++) {
+         Long rosterOperator = QueryCountFixtures.nextExternalId();
+         operators.add(new AuthServiceClient.OperatorDto(rosterOperator, "Op", String.valueOf(i), null, null, true));
+         entries.add(String.format(
+               "{\"operatorId\":%d,\"zoneId\":%d,\"shiftId\":%d,\"startDate\":\"%s\",\"endDate\":\"%s\"}",
+               rosterOperator, fixtures.zone(parking).getId(), shifts.get(i % shifts.size()).getId(),
+               monday, monday.plusDays(7)));
+      }
+      when(authServiceClient.getActiveOperators(any())).thenReturn(ResponseEntity.ok(operators));
+      operatorDirectory.invalidate();
+
+      RecordedStatements statements = SqlRecorder.record(() -> mockMvc.perform(post("/operators/roster")
+                  .header("Authorization", "Bearer " + token())
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content("{\"entries\":[" + String.join(",", entries) + "]}"))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.length()").value(ROWS)));
+
+      statements.assertWithin(ROSTER_BUDGET, ROWS, "POST /operators/roster");
+   }
+
+   // ========================= ASIGNACIÓN =========================
+
+   @Test
+   void assignRejectsActiveAssignmentInSameZoneAndShift() throws Exception {
+      // El operador sembrado ya está en el primer turno de operatorZone, desde ayer y sin fin
+      when(authServiceClient.getActiveOperators(any())).thenReturn(ResponseEntity.ok(List.of(
+            new AuthServiceClient.OperatorDto(operatorId, "Ana", "Quispe", "ana@test.pe", null, true))));
+      operatorDirectory.invalidate();
+      Long shiftId = fixtures.shifts().get(0).getId();
+
+      mockMvc.perform(post("/zones/{zoneId}/operators", operatorZone.getId())
+                  .header("Authorization", "Bearer " + token())
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content(String.format("{\"zoneId\":%d,\"shiftId\":%d,\"assignments\":[{\"operatorId\":%d}]}",
+                        operatorZone.getId(), shiftId, operatorId)))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.message").value(
+                  "El operador " + operatorId + " ya tiene una asignación activa en esta zona y turno"));
+   }
+
+   private String token() {
+      return Jwts.builder()
+            .subject("planner@test.pe")
+            .claim("userId", 1L)
+            .claim("role", "ADMIN")
+            .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret)))
+            .compact();
+   }
+}
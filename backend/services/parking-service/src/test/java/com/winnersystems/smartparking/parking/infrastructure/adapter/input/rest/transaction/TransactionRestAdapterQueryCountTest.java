@@ -0,0 +1,216 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.input.rest.transaction;
+
+import com.winnersystems.smartparking.parking.application.dto.query.OffenderSummary;
+import com.winnersystems.smartparking.parking.application.port.output.CustomerPersistencePort;
+import com.winnersystems.smartparking.parking.application.port.output.InfractionPersistencePort;
+import com.winnersystems.smartparking.parking.application.port.output.VehiclePersistencePort;
+import com.winnersystems.smartparking.parking.application.service.offender.OffenderIndex;
+import com.winnersystems.smartparking.parking.application.service.topology.TopologyCache;
+import com.winnersystems.smartparking.parking.domain.model.Customer;
+import com.winnersystems.smartparking.parking.domain.model.Infraction;
+import com.winnersystems.smartparking.parking.domain.model.Parking;
+import com.winnersystems.smartparking.parking.domain.model.Transaction;
+import com.winnersystems.smartparking.parking.domain.model.Vehicle;
+import com.winnersystems.smartparking.parking.domain.model.Zone;
+import com.winnersystems.smartparking.parking.support.AbstractQueryCountTest;
+import com.winnersystems.smartparking.parking.support.QueryBudget;
+import com.winnersystems.smartparking.parking.support.RecordedStatements;
+import com.winnersystems.smartparking.parking.support.SqlRecorder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Presupuestos de sentencias SQL de los listados de TransactionRestAdapter.
+ *
+ * Los listados traen vehículos y clientes de la página con una consulta
+ * cada uno, y la tarifa del catálogo en memoria: el costo no crece con las
+ * filas. Parking, zona y espacio salen de TopologyCache, que se construye
+ * al sembrar para que el presupuesto no dependa del orden de los tests.
+ *
+ * Las búsquedas por placa no se cubren: el adaptador de persistencia
+ * todavía no las implementa.
+ *
+ * El detalle incluye los antecedentes de infracciones del vehículo y del
+ * cliente desde OffenderIndex, sin consultar INFRACTIONS. Las escrituras
+ * de otras réplicas se aplican releyendo solo las infracciones cambiadas.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionRestAdapterQueryCountTest extends AbstractQueryCountTest {
+
+   private static final int ROWS = 12;
+
+   /** Consulta paginada + count + vehículos y clientes de la página (una consulta cada uno) + tarifa; nada por fila */
+   private static final QueryBudget LIST_BUDGET = QueryBudget.atMost(6);
+
+   /** Infracciones cambiadas + historial de sus vehículos + historial de sus clientes */
+   private static final int REFRESH_STATEMENTS = 3;
+
+   @Autowired
+   private VehiclePersistencePort vehiclePersistencePort;
+
+   @Autowired
+   private CustomerPersistencePort customerPersistencePort;
+
+   @Autowired
+   private TopologyCache topologyCache;
+
+   @Autowired
+   private InfractionPersistencePort infractionPersistencePort;
+
+   @Autowired
+   private OffenderIndex offenderIndex;
+
+   private Zone zone;
+   private Transaction transaction;
+   private Transaction peerTransaction;
+
+   @BeforeAll
+   void seed() {
+      Parking parking = fixtures.parking();
+      zone = fixtures.zone(parking);
+      List<Transaction> transactions = fixtures.activeTransactions(zone, ROWS);
+      transaction = transactions.get(0);
+      peerTransaction = transactions.get(1);
+
+      // Las filas sembradas no pasaron por los servicios: la topología se reconstruye con ellas
+      topologyCache.invalidate();
+      topologyCache.snapshot();
+   }
+
+   // ========================= DETALLE =========================
+
+   @Test
+   void detailIncludesOffenderSummaryWithoutQueryingInfractions() throws Exception {
+      Vehicle vehicle = vehiclePersistencePort.findById(transaction.getVehicleId()).orElseThrow();
+      Customer customer = customerPersistencePort.findById(transaction.getCustomerId()).orElseThrow();
+      fixtures.infraction(zone, vehicle, customer, transaction.getId());
+
+      // Calienta el índice (si estaba frío, la primera lectura lo construye)
+      mockMvc.perform(get("/transactions/{id}", transaction.getId())).andExpect(status().isOk());
+
+      RecordedStatements statements = SqlRecorder.record(() -> mockMvc.perform(
+                  get("/transactions/{id}", transaction.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.vehicleOffenses.totalInfractions").value(1))
+            .andExpect(jsonPath("$.vehicleOffenses.openInfractions").value(1))
+            .andExpect(jsonPath("$.customerOffenses.unpaidFineTotal").value(50.0)));
+
+      long infractionQueries = statements.statements().stream()
+            .filter(sql -> sql.toUpperCase().contains("INFRACTIONS"))
+            .count();
+      assertEquals(0, infractionQueries,
+            "Los antecedentes deben salir del índice en memoria:\n" + statements.describe());
+   }
+
+   @Test
+   void peerWritesAreAppliedWithoutRebuildingTheIndex() throws Exception {
+      Vehicle vehicle = vehiclePersistencePort.findById(peerTransaction.getVehicleId()).orElseThrow();
+      Customer customer = customerPersistencePort.findById(peerTransaction.getCustomerId()).orElseThrow();
+      offenderIndex.forVehicle(vehicle.getId());
+
+      // Alta en otra réplica
+      Infraction infraction = fixtures.peerInfraction(zone, vehicle, customer, peerTransaction.getId());
+      assertRefreshed(vehicle, customer, 1, 1, "50.00");
+
+      // Pago en otra réplica; la relectura vuelve a ver el alta y no la cuenta dos veces
+      infraction.recordFinePayment(new BigDecimal("50.00"), "REF-PEER");
+      infraction = infractionPersistencePort.save(infraction);
+      assertRefreshed(vehicle, customer, 1, 1, "0.00");
+      assertRefreshed(vehicle, customer, 1, 1, "0.00");
+
+      // Eliminación en otra réplica: sin antecedentes, la entrada desaparece
+      infraction.markAsDeleted(1L);
+      infractionPersistencePort.save(infraction);
+      assertRefreshed(vehicle, customer, 0, 0, "0.00");
+   }
+
+   /**
+    * Relee los cambios como al sondear una versión ajena y verifica los
+    * antecedentes sin que el índice se reconstruya.
+    */
+   private void assertRefreshed(Vehicle vehicle, Customer customer,
+                                int total, int open, String unpaid) throws Exception {
+      SqlRecorder.record(() -> offenderIndex.refresh())
+            .assertAtMost(REFRESH_STATEMENTS, "OffenderIndex.refresh");
+
+      OffenderSummary[] summaries = new OffenderSummary[2];
+      RecordedStatements reads = SqlRecorder.record(() -> {
+         summaries[0] = offenderIndex.forVehicle(vehicle.getId());
+         summaries[1] = offenderIndex.forCustomer(customer.getId());
+      });
+      assertEquals(0, reads.count(), "El índice no debe reconstruirse:\n" + reads.describe());
+
+      for (OffenderSummary summary : summaries) {
+         assertEquals(total, summary.totalInfractions());
+         assertEquals(open, summary.openInfractions());
+         assertEquals(0, new BigDecimal(unpaid).compareTo(summary.unpaidFineTotal()));
+      }
+   }
+
+   // ========================= ACTIVAS =========================
+
+   @Test
+   void listActive() throws Exception {
+      assertBudget(get("/transactions/active").param("size", "50"), "$.content", LIST_BUDGET);
+   }
+
+   @Test
+   void listActiveByZone() throws Exception {
+      assertBudget(get("/transactions/active/zone/{zoneId}", zone.getId()).param("size", "50"),
+            "$.content", LIST_BUDGET);
+   }
+
+   @Test
+   void listOverdue() throws Exception {
+      assertBudget(get("/transactions/active/overdue").param("size", "50"), "$.content", LIST_BUDGET);
+   }
+
+   // ========================= HISTORIAL =========================
+
+   @Test
+   void listAll() throws Exception {
+      assertBudget(get("/transactions").param("size", "50"), "$.content", LIST_BUDGET);
+   }
+
+   @Test
+   void listByDateRange() throws Exception {
+      assertBudget(get("/transactions/date-range")
+                  .param("startDate", LocalDateTime.now().minusDays(1).withNano(0).toString())
+                  .param("endDate", LocalDateTime.now().plusDays(1).withNano(0).toString())
+                  .param("size", "50"),
+            "$.content", LIST_BUDGET);
+   }
+
+   @Test
+   void listByStatus() throws Exception {
+      assertBudget(get("/transactions/status/{status}", Transaction.STATUS_ACTIVE).param("size", "50"),
+            "$.content", LIST_BUDGET);
+   }
+
+   @Test
+   void listByPaymentStatus() throws Exception {
+      assertBudget(get("/transactions/payment-status/{paymentStatus}", Transaction.PAYMENT_STATUS_PENDING)
+                  .param("size", "50"),
+            "$.content", LIST_BUDGET);
+   }
+
+   @Test
+   void listByZone() throws Exception {
+      assertBudget(get("/transactions/zone/{zoneId}", zone.getId()).param("size", "50"),
+            "$.content", LIST_BUDGET);
+   }
+}
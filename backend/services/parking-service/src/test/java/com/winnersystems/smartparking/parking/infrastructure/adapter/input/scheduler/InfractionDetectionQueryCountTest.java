@@ -0,0 +1,123 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.input.scheduler;
+
+import com.winnersystems.smartparking.parking.application.dto.command.DetectInfractionsCommand;
+import com.winnersystems.smartparking.parking.application.dto.query.InfractionDetectionResult;
+import com.winnersystems.smartparking.parking.application.port.input.infraction.DetectInfractionsUseCase;
+import com.winnersystems.smartparking.parking.application.port.output.InfractionPersistencePort;
+import com.winnersystems.smartparking.parking.domain.model.Infraction;
+import com.winnersystems.smartparking.parking.domain.model.Parking;
+import com.winnersystems.smartparking.parking.domain.model.Transaction;
+import com.winnersystems.smartparking.parking.domain.model.Zone;
+import com.winnersystems.smartparking.parking.support.AbstractQueryCountTest;
+import com.winnersystems.smartparking.parking.support.RecordedStatements;
+import com.winnersystems.smartparking.parking.support.SqlRecorder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Presupuesto de sentencias SQL de la detección automática de infracciones.
+ *
+ * La lectura de un parking es fija: bloqueo del avance, transacciones
+ * activas, completadas sin pagar, espacios no disponibles e infracciones
+ * ya registradas, más el UPDATE del avance. Una segunda pasada sobre el
+ * mismo estado no registra nada (deduplicación) y cuesta solo esas
+ * sentencias, sin importar cuántas transacciones haya.
+ *
+ * Una pasada que registra infracciones tampoco crece con ellas: códigos e
+ * IDs salen de bloques de secuencia y los INSERT van en lote.
+ *
+ * Una infracción del sistema desestimada tampoco se vuelve a registrar.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class InfractionDetectionQueryCountTest extends AbstractQueryCountTest {
+
+   private static final int ROWS = 12;
+
+   /** Avance + activas + completadas sin pagar + espacios no disponibles + infracciones + UPDATE del avance */
+   private static final int PASS_BUDGET = 6;
+
+   /**
+    * Primera pasada del parking: creación del avance (tres) + lo anterior + INSERT en lote
+    * + a lo sumo un bloque de códigos y dos de IDs
+    */
+   private static final int CREATING_PASS_BUDGET = 13;
+
+   private static final DetectInfractionsCommand COMMAND = new DetectInfractionsCommand(480, 24, 0.6);
+
+   @Autowired
+   private DetectInfractionsUseCase detectInfractionsUseCase;
+
+   @Autowired
+   private InfractionPersistencePort infractionPersistencePort;
+
+   private Parking parking;
+   private Parking creatingParking;
+   private Parking dismissedParking;
+   private List<Transaction> dismissedTransactions;
+
+   @BeforeAll
+   void seed() {
+      parking = fixtures.parking();
+      Zone zone = fixtures.zone(parking);
+      // Entradas de hace 10 horas: todas superan los 480 minutos
+      fixtures.activeTransactions(zone, ROWS);
+
+      creatingParking = fixtures.parking();
+      fixtures.activeTransactions(fixtures.zone(creatingParking), ROWS);
+
+      dismissedParking = fixtures.parking();
+      dismissedTransactions = fixtures.activeTransactions(fixtures.zone(dismissedParking), 2);
+   }
+
+   @Test
+   void repeatedPassIsDeduplicatedAndReadsAreSetBased() throws Exception {
+      InfractionDetectionResult first = detectInfractionsUseCase.detectInParking(parking.getId(), COMMAND);
+      assertEquals(ROWS, first.transactionsEvaluated());
+      assertEquals(ROWS, first.createdByType().get(Infraction.TYPE_OVERSTAY));
+
+      AtomicReference<InfractionDetectionResult> second = new AtomicReference<>();
+      RecordedStatements statements = SqlRecorder.record(() ->
+            second.set(detectInfractionsUseCase.detectInParking(parking.getId(), COMMAND)));
+
+      assertEquals(ROWS, second.get().detected());
+      assertEquals(0, second.get().created(), "Las infracciones abiertas no se duplican");
+      statements.assertAtMost(PASS_BUDGET, "Pasada de detección sobre " + ROWS + " transacciones");
+   }
+
+   @Test
+   void creatingPassReservesCodesPerBlockNotPerInfraction() throws Exception {
+      AtomicReference<InfractionDetectionResult> result = new AtomicReference<>();
+      RecordedStatements statements = SqlRecorder.record(() ->
+            result.set(detectInfractionsUseCase.detectInParking(creatingParking.getId(), COMMAND)));
+
+      assertEquals(ROWS, result.get().created());
+      statements.assertAtMost(CREATING_PASS_BUDGET, "Pasada que registra " + ROWS + " infracciones");
+   }
+
+   @Test
+   void dismissedSystemInfractionsAreNotRecreated() {
+      InfractionDetectionResult first = detectInfractionsUseCase.detectInParking(dismissedParking.getId(), COMMAND);
+      assertEquals(2, first.created());
+
+      for (Transaction transaction : dismissedTransactions) {
+         for (Infraction infraction : infractionPersistencePort.findByTransaction(transaction.getId())) {
+            infraction.dismiss(1L, "Falso positivo");
+            infractionPersistencePort.save(infraction);
+         }
+      }
+
+      InfractionDetectionResult second = detectInfractionsUseCase.detectInParking(dismissedParking.getId(), COMMAND);
+      assertEquals(2, second.detected());
+      assertEquals(0, second.created(), "Una infracción desestimada no se vuelve a registrar");
+   }
+}
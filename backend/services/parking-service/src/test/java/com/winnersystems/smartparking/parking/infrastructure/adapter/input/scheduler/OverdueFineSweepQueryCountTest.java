@@ -0,0 +1,226 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.input.scheduler;
+
+import com.winnersystems.smartparking.parking.application.dto.command.DeliverInfractionNotificationsCommand;
+import com.winnersystems.smartparking.parking.application.dto.command.SweepOverdueFinesCommand;
+import com.winnersystems.smartparking.parking.application.dto.query.InfractionNotificationDeliveryResult;
+import com.winnersystems.smartparking.parking.application.dto.query.OverdueFineSweepResult;
+import com.winnersystems.smartparking.parking.application.port.input.infraction.DeliverInfractionNotificationsUseCase;
+import com.winnersystems.smartparking.parking.application.port.input.infraction.SweepOverdueFinesUseCase;
+import com.winnersystems.smartparking.parking.application.port.output.CustomerNotificationPort;
+import com.winnersystems.smartparking.parking.application.port.output.InfractionNotificationOutboxPort;
+import com.winnersystems.smartparking.parking.application.port.output.InfractionPersistencePort;
+import com.winnersystems.smartparking.parking.application.service.infraction.InfractionNotificationService;
+import com.winnersystems.smartparking.parking.domain.model.Infraction;
+import com.winnersystems.smartparking.parking.domain.model.Parking;
+import com.winnersystems.smartparking.parking.domain.model.Zone;
+import com.winnersystems.smartparking.parking.support.AbstractQueryCountTest;
+import com.winnersystems.smartparking.parking.support.RecordedStatements;
+import com.winnersystems.smartparking.parking.support.SqlRecorder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Presupuesto de sentencias SQL del barrido de multas vencidas.
+ *
+ * Un lote cuesta lo mismo con una fila que con muchas: bloqueo del avance,
+ * selección de IDs, UPDATE de escalamiento, INSERT en la cola de
+ * notificaciones y el UPDATE del avance. El envío de la cola tampoco crece
+ * con el lote. Las tareas programadas están deshabilitadas en el perfil
+ * querycount; el barrido se invoca por su puerto de entrada y el envío por
+ * un InfractionNotificationService armado aquí sobre un canal simulado (el
+ * perfil no activa la cola y CustomerNotificationPort aún no tiene adaptador).
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OverdueFineSweepQueryCountTest extends AbstractQueryCountTest {
+
+   private static final int ROWS = 12;
+
+   private static final int MAX_ATTEMPTS = 6;
+
+   /** Avance (FOR UPDATE) + IDs + escalamiento + cola de notificaciones + avance */
+   private static final int CHUNK_BUDGET = 5;
+
+   /** IDs listos + bloqueo (SKIP LOCKED) + reserva + marca de la infracción + borrado de la cola */
+   private static final int DELIVERY_BUDGET = 5;
+
+   @Autowired
+   private SweepOverdueFinesUseCase sweepOverdueFinesUseCase;
+
+   @Autowired
+   private InfractionNotificationOutboxPort notificationOutboxPort;
+
+   @Autowired
+   private InfractionPersistencePort infractionPersistencePort;
+
+   private CustomerNotificationPort customerNotificationPort;
+   private DeliverInfractionNotificationsUseCase deliverInfractionNotificationsUseCase;
+   private Zone zone;
+
+   @BeforeAll
+   void seed() {
+      Parking parking = fixtures.parking();
+      zone = fixtures.zone(parking);
+   }
+
+   @BeforeEach
+   void notificationChannel() {
+      customerNotificationPort = mock(CustomerNotificationPort.class);
+      deliverInfractionNotificationsUseCase =
+            new InfractionNotificationService(notificationOutboxPort, customerNotificationPort);
+   }
+
+   @Test
+   void chunkCostDoesNotGrowWithChunkSize() throws Exception {
+      fixtures.overdueInfractions(zone, null, ROWS * 2);
+      // Crea la fila de avance si es la primera ejecución
+      sweep(1);
+
+      AtomicReference<OverdueFineSweepResult> single = new AtomicReference<>();
+      AtomicReference<OverdueFineSweepResult> large = new AtomicReference<>();
+      RecordedStatements one = SqlRecorder.record(() -> single.set(sweep(1)));
+      RecordedStatements many = SqlRecorder.record(() -> large.set(sweep(ROWS)));
+
+      assertEquals(1, single.get().selected());
+      assertTrue(large.get().selected() > 1, "El lote grande debe procesar varias filas");
+      one.assertAtMost(CHUNK_BUDGET, "Lote de 1 infracción");
+      assertEquals(one.count(), many.count(),
+            "Un lote de " + large.get().selected() + " infracciones no debe costar más que uno de 1:\n"
+                  + many.describe());
+   }
+
+   @Test
+   void runResumesFromCheckpointAndEscalatesEveryOverdueFine() {
+      List<Infraction> infractions = fixtures.overdueInfractions(zone, null, ROWS);
+
+      OverdueFineSweepResult first = sweep(1);
+      OverdueFineSweepResult second = sweep(1);
+      assertFalse(first.runCompleted());
+      assertEquals(first.cutoff(), second.cutoff(), "La ejecución en curso conserva su corte");
+      assertTrue(second.lastProcessedId() > first.lastProcessedId(), "El lote siguiente continúa por ID");
+
+      OverdueFineSweepResult result = second;
+      while (!result.runCompleted()) {
+         result = sweep(ROWS);
+      }
+
+      for (Infraction seeded : infractions) {
+         Infraction swept = infractionPersistencePort.findById(seeded.getId()).orElseThrow();
+         assertTrue(swept.isEscalated(), "Infracción no escalada: " + swept.getInfractionCode());
+         assertFalse(swept.isNotificationSent(), "Notificada antes del envío: " + swept.getInfractionCode());
+      }
+
+      deliverAll();
+      for (Infraction seeded : infractions) {
+         Infraction delivered = infractionPersistencePort.findById(seeded.getId()).orElseThrow();
+         assertTrue(delivered.isNotificationSent(), "Infracción no notificada: " + delivered.getInfractionCode());
+         assertEquals("EMAIL", delivered.getNotificationMethod());
+         verify(customerNotificationPort).sendOverdueFine(
+               argThat(n -> n.infractionCode().equals(delivered.getInfractionCode())));
+      }
+   }
+
+   @Test
+   void deliveryCostDoesNotGrowWithBatchSize() throws Exception {
+      fixtures.overdueInfractions(zone, null, ROWS * 2);
+      sweepAll();
+
+      AtomicReference<InfractionNotificationDeliveryResult> single = new AtomicReference<>();
+      AtomicReference<InfractionNotificationDeliveryResult> large = new AtomicReference<>();
+      RecordedStatements one = SqlRecorder.record(() -> single.set(deliver(1)));
+      RecordedStatements many = SqlRecorder.record(() -> large.set(deliver(ROWS)));
+
+      assertEquals(1, single.get().delivered());
+      assertTrue(large.get().delivered() > 1, "El lote grande debe enviar varias notificaciones");
+      one.assertAtMost(DELIVERY_BUDGET, "Envío de 1 notificación");
+      assertEquals(one.count(), many.count(),
+            "Un lote de " + large.get().delivered() + " notificaciones no debe costar más que uno de 1:\n"
+                  + many.describe());
+   }
+
+   @Test
+   void failedDeliveryLeavesInfractionUnnotifiedAndIsNotQueuedAgain() {
+      deliverAll();
+      Infraction infraction = fixtures.overdueInfractions(zone, null, 1).get(0);
+      sweepAll();
+      doThrow(new IllegalStateException("canal de envío caído"))
+            .when(customerNotificationPort).sendOverdueFine(any());
+
+      InfractionNotificationDeliveryResult retried = deliver(ROWS, 2);
+      InfractionNotificationDeliveryResult failed = deliver(ROWS, 2);
+      assertEquals(1, retried.retried());
+      assertEquals(1, failed.failed());
+
+      // Un nuevo barrido no la vuelve a encolar: FAILED queda para revisión
+      sweepAll();
+      assertEquals(0, deliver(ROWS, 2).claimed());
+      assertFalse(infractionPersistencePort.findById(infraction.getId()).orElseThrow().isNotificationSent(),
+            "Una notificación no enviada no debe marcarse");
+   }
+
+   @Test
+   void sweepWithoutChannelQueuesNothing() {
+      deliverAll();
+      clearInvocations(customerNotificationPort);
+      Infraction infraction = fixtures.overdueInfractions(zone, null, 1).get(0);
+
+      int queued = 0;
+      OverdueFineSweepResult result;
+      do {
+         result = sweepOverdueFinesUseCase.sweepNextChunk(new SweepOverdueFinesCommand(ROWS, null));
+         queued += result.notificationsQueued();
+      } while (!result.runCompleted());
+
+      assertEquals(0, queued);
+      assertTrue(infractionPersistencePort.findById(infraction.getId()).orElseThrow().isEscalated());
+      assertEquals(0, deliver(ROWS).claimed(), "Sin canal de envío la cola no debe crecer");
+      verify(customerNotificationPort, never()).sendOverdueFine(any());
+   }
+
+   private OverdueFineSweepResult sweep(int chunkSize) {
+      return sweepOverdueFinesUseCase.sweepNextChunk(new SweepOverdueFinesCommand(chunkSize, "EMAIL"));
+   }
+
+   private void sweepAll() {
+      while (!sweep(ROWS).runCompleted()) {
+         // La ejecución en curso sigue desde su avance
+      }
+   }
+
+   private InfractionNotificationDeliveryResult deliver(int batchSize) {
+      return deliver(batchSize, MAX_ATTEMPTS);
+   }
+
+   /**
+    * Un lote de envío; sin espera entre reintentos, para reintentar en la misma prueba.
+    */
+   private InfractionNotificationDeliveryResult deliver(int batchSize, int maxAttempts) {
+      return deliverInfractionNotificationsUseCase.deliverNextBatch(
+            new DeliverInfractionNotificationsCommand(batchSize, maxAttempts, 0, 0, 60000));
+   }
+
+   private void deliverAll() {
+      while (deliver(ROWS).claimed() > 0) {
+         // Sigue hasta vaciar la cola de notificaciones listas
+      }
+   }
+}
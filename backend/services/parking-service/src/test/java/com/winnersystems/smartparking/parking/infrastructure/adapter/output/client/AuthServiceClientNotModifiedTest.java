@@ -0,0 +1,154 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.output.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Camino del 304 de punta a punta: OperatorDirectory -> AuthServiceClient
+ * (Feign real, circuit breaker y fallback) -> un auth-service simulado que
+ * responde como UserRestAdapter.listOperators: ETag en el 200 y 304 sin
+ * cuerpo cuando If-None-Match coincide.
+ *
+ * Verifica que AuthServiceClientConfig convierte el 304 en
+ * NotModifiedException, que el circuit breaker no lo cuenta como fallo,
+ * que el fallback lo relanza y que el directorio renueva su foto sin
+ * volver a descargar la lista.
+ *
+ * Contexto propio (auth-service real, BD H2 aparte): no comparte el de
+ * los tests de presupuesto, que mockean AuthServiceClient.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@SpringBootTest(properties = {
+      // Sustituye a application.yaml, cuyo import de Config Server no es opcional
+      "spring.config.location=classpath:/application-querycount.yaml",
+      "spring.application.name=parking-service",
+      "spring.cloud.config.enabled=false",
+      "spring.datasource.url=jdbc:h2:mem:parking_authclient;MODE=Oracle;DB_CLOSE_DELAY=-1",
+      // Igual que parking-service.yml
+      "spring.cloud.openfeign.circuitbreaker.enabled=true",
+      "spring.cloud.circuitbreaker.resilience4j.disable-time-limiter=true",
+      "spring.cloud.circuitbreaker.resilience4j.enableSemaphoreDefaultBulkhead=true",
+      "resilience4j.circuitbreaker.configs.default.ignore-exceptions[0]=feign.FeignException$FeignClientException",
+      "resilience4j.circuitbreaker.configs.default.ignore-exceptions[1]="
+            + "com.winnersystems.smartparking.parking.infrastructure.adapter.output.client.NotModifiedException",
+      // Ventana mínima: si los 304 contaran como fallo, el circuito se abriría en la segunda llamada
+      "resilience4j.circuitbreaker.configs.default.sliding-window-size=2",
+      "resilience4j.circuitbreaker.configs.default.minimum-number-of-calls=2",
+      "resilience4j.circuitbreaker.configs.default.failure-rate-threshold=50",
+      // Cada lectura del directorio espera un refresco condicional
+      "parking.operators.directory.ttl=0",
+      "parking.operators.directory.max-stale=0"
+})
+@ActiveProfiles("querycount")
+class AuthServiceClientNotModifiedTest {
+
+   private static final String ETAG = "\"7\"";
+
+   private static final String OPERATORS = """
+         [{"id":1,"firstName":"Ana","lastName":"Ríos","email":"ana@test.pe","phoneNumber":"999","status":true}]
+         """;
+
+   /** If-None-Match de cada GET /auth/users/operators recibido (vacío si no vino) */
+   private static final List<String> REQUESTS = new CopyOnWriteArrayList<>();
+
+   private static final HttpServer AUTH_SERVICE = startAuthService();
+
+   @Autowired
+   private OperatorDirectory operatorDirectory;
+
+   @Autowired
+   private CircuitBreakerRegistry circuitBreakerRegistry;
+
+   @Autowired
+   private MeterRegistry meterRegistry;
+
+   @DynamicPropertySource
+   static void authServiceUrl(DynamicPropertyRegistry registry) {
+      registry.add("spring.cloud.openfeign.client.config.auth-service.url",
+            () -> "http://localhost:" + AUTH_SERVICE.getAddress().getPort());
+   }
+
+   @AfterAll
+   static void stopAuthService() {
+      AUTH_SERVICE.stop(0);
+   }
+
+   @Test
+   void notModifiedRenewsTheSnapshotWithoutDownloadingAgain() throws Exception {
+      Map<Long, AuthServiceClient.OperatorDto> first = operatorDirectory.activeOperators();
+      assertEquals("Ana Ríos", first.get(1L).getFullName());
+      long loadedAt = operatorDirectory.snapshotLoadedAt();
+
+      for (int i = 0; i < 4; i++) {
+         Thread.sleep(5);
+         // Misma lista, foto renovada: si el 304 acabara en el fallback como
+         // un fallo, el directorio serviría la foto vieja sin renovarla
+         assertSame(first, operatorDirectory.activeOperators());
+         long renewedAt = operatorDirectory.snapshotLoadedAt();
+         assertTrue(renewedAt > loadedAt, "el 304 debe renovar la foto");
+         loadedAt = renewedAt;
+      }
+
+      assertEquals(List.of("", ETAG, ETAG, ETAG, ETAG), REQUESTS);
+
+      CircuitBreaker breaker = circuitBreakerRegistry.getAllCircuitBreakers().stream()
+            .filter(candidate -> candidate.getName().contains("getActiveOperators"))
+            .findFirst()
+            .orElseThrow();
+      assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+      assertEquals(0, breaker.getMetrics().getNumberOfFailedCalls());
+      assertTrue(meterRegistry.find(AuthServiceClientFallbackFactory.FALLBACKS_NAME).counters().isEmpty());
+   }
+
+   // ========================= AUTH-SERVICE SIMULADO =========================
+
+   private static HttpServer startAuthService() {
+      try {
+         HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+         server.createContext("/auth/users/operators", exchange -> {
+            String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+            REQUESTS.add(ifNoneMatch != null ? ifNoneMatch : "");
+            exchange.getResponseHeaders().add("ETag", ETAG);
+            if (ETAG.equals(ifNoneMatch)) {
+               exchange.sendResponseHeaders(304, -1);
+               exchange.close();
+               return;
+            }
+            byte[] body = OPERATORS.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+               out.write(body);
+            }
+         });
+         server.start();
+         return server;
+      } catch (IOException e) {
+         throw new UncheckedIOException(e);
+      }
+   }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.winnersystems.smartparking.parking.infrastructure.adapter.output.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Límite de la caché de usuarios fuera de la foto de OperatorDirectory.
+ *
+ * auth-service y AuthUserBatchLoader son mocks: solo se mide qué queda en memoria.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+class OperatorDirectoryTest {
+
+   private static final int MAX_USERS = 2;
+
+   private AuthUserBatchLoader batchLoader;
+   private OperatorDirectory directory;
+
+   @BeforeEach
+   void setUp() {
+      batchLoader = mock(AuthUserBatchLoader.class);
+   }
+
+   @AfterEach
+   void tearDown() {
+      directory.shutdown();
+   }
+
+   @Test
+   void fullCacheDropsExpiredEntriesOnInsert() throws Exception {
+      // Los IDs inexistentes vencen en 1 ms (caché negativa)
+      directory = directory(60_000, 1);
+      when(batchLoader.loadAll(anyCollection())).thenAnswer(invocation -> unknown(invocation.getArgument(0)));
+      directory.findOperators(List.of(1L, 2L));
+      assertEquals(MAX_USERS, directory.cachedUsers());
+      Thread.sleep(5);
+
+      when(batchLoader.loadAll(anyCollection())).thenAnswer(invocation -> existing(invocation.getArgument(0)));
+      Map<Long, AuthServiceClient.OperatorDto> found = directory.findOperators(List.of(3L));
+
+      assertTrue(found.containsKey(3L));
+      assertEquals(1, directory.cachedUsers(), "Las entradas vencidas debían descartarse para dar lugar a la nueva");
+   }
+
+   @Test
+   void fullCacheOfLiveEntriesServesWithoutStoring() {
+      directory = directory(60_000, 60_000);
+      when(batchLoader.loadAll(anyCollection())).thenAnswer(invocation -> existing(invocation.getArgument(0)));
+      directory.findOperators(List.of(1L, 2L));
+
+      Map<Long, AuthServiceClient.OperatorDto> found = directory.findOperators(List.of(3L, 4L));
+
+      assertEquals(2, found.size(), "Con la caché llena el usuario se devuelve igual");
+      assertEquals(MAX_USERS, directory.cachedUsers());
+   }
+
+   private OperatorDirectory directory(long ttlMillis, long negativeTtlMillis) {
+      AuthServiceClient authServiceClient = mock(AuthServiceClient.class);
+      when(authServiceClient.getActiveOperators(any())).thenReturn(ResponseEntity.ok(List.of()));
+      return new OperatorDirectory(authServiceClient, batchLoader, ttlMillis, 600_000, negativeTtlMillis, 3_000, MAX_USERS);
+   }
+
+   private static Map<Long, Optional<AuthServiceClient.OperatorDto>> unknown(Collection<Long> ids) {
+      return ids.stream().collect(Collectors.toMap(Function.identity(), id -> Optional.empty()));
+   }
+
+   private static Map<Long, Optional<AuthServiceClient.OperatorDto>> existing(Collection<Long> ids) {
+      return ids.stream().collect(Collectors.toMap(Function.identity(), id -> Optional.of(
+            new AuthServiceClient.OperatorDto(id, "Op", String.valueOf(id), null, null, false))));
+   }
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.winnersystems.smartparking.parking.support;
+
+import com.jayway.jsonpath.JsonPath;
+import com.winnersystems.smartparking.parking.infrastructure.adapter.output.client.AuthServiceClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Base de los tests de presupuesto de consultas SQL por endpoint.
+ *
+ * Levanta el contexto completo contra H2 (perfil querycount), sin Config
+ * Server ni Eureka, y ofrece {@link #assertBudget} para verificar que una
+ * llamada MockMvc no supere su presupuesto de sentencias.
+ *
+ * Todas las subclases comparten la misma configuración (incluidos los mocks
+ * de auth-service), por lo que Spring reutiliza un
+ * único contexto y una única BD en memoria para toda la suite. No declarar
+ * beans mock en las subclases.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+@SpringBootTest(properties = {
+      // Sustituye a application.yaml, cuyo import de Config Server no es opcional
+      "spring.config.location=classpath:/application-querycount.yaml",
+      "spring.application.name=parking-service",
+      "spring.cloud.config.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("querycount")
+@Import(QueryCountFixtures.class)
+public abstract class AbstractQueryCountTest {
+
+   @Autowired
+   protected MockMvc mockMvc;
+
+   @Autowired
+   protected QueryCountFixtures fixtures;
+
+   @MockitoBean
+   protected AuthServiceClient authServiceClient;
+
+   /**
+    * Ejecuta el request, verifica 200 OK y compara las sentencias SQL
+    * ejecutadas contra el presupuesto, según las filas de la respuesta.
+    *
+    * @param request request MockMvc
+    * @param rowsPath JSONPath de la lista devuelta (p.ej. "$.content" o "$")
+    * @param budget presupuesto del endpoint
+    * @return sentencias grabadas
+    */
+   protected RecordedStatements assertBudget(MockHttpServletRequestBuilder request, String rowsPath,
+                                             QueryBudget budget) throws Exception {
+      MvcResult[] result = new MvcResult[1];
+      RecordedStatements statements = SqlRecorder.record(() ->
+            result[0] = mockMvc.perform(request).andExpect(status().isOk()).andReturn());
+
+      String body = result[0].getResponse().getContentAsString();
+      List<?> rows = JsonPath.read(body, rowsPath);
+      String description = result[0].getRequest().getMethod() + " " + result[0].getRequest().getRequestURI();
+
+      // Un listado vacío no ejercita el enriquecimiento por fila: el test no probaría nada
+      if (rows.isEmpty()) {
+         throw new AssertionError(description + " no devolvió filas; revisar los datos de prueba");
+      }
+
+      return statements.assertWithin(budget, rows.size(), description);
+   }
+}
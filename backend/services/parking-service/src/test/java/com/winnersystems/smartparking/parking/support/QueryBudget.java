@@ -0,0 +1,50 @@
+package com.winnersystems.smartparking.parking.support;
+
+/**
+ * Presupuesto de sentencias SQL para una llamada a un endpoint.
+ *
+ * Se expresa como una parte fija más un costo por fila devuelta.
+ * Un endpoint sin N+1 tiene perRow = 0; mientras un listado siga
+ * enriqueciendo fila por fila, su perRow documenta esa deuda y evita
+ * que crezca sin que nadie lo note.
+ *
+ * @param fixed sentencias permitidas independientemente del tamaño de página
+ * @param perRow sentencias adicionales permitidas por cada fila devuelta
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public record QueryBudget(int fixed, int perRow) {
+
+   public QueryBudget {
+      if (fixed < 0 || perRow < 0) {
+         throw new IllegalArgumentException("El presupuesto no puede ser negativo");
+      }
+   }
+
+   /**
+    * Presupuesto constante: no depende del número de filas.
+    */
+   public static QueryBudget atMost(int statements) {
+      return new QueryBudget(statements, 0);
+   }
+
+   /**
+    * Agrega un costo por fila al presupuesto.
+    */
+   public QueryBudget plusPerRow(int statementsPerRow) {
+      return new QueryBudget(fixed, statementsPerRow);
+   }
+
+   /**
+    * Sentencias permitidas para una respuesta con el número de filas dado.
+    */
+   public int allowedFor(int rows) {
+      return fixed + perRow * rows;
+   }
+
+   @Override
+   public String toString() {
+      return perRow == 0 ? "<= " + fixed : "<= " + fixed + " + " + perRow + "/fila";
+   }
+}
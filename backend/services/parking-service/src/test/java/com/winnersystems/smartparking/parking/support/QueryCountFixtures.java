@@ -0,0 +1,264 @@
+package com.winnersystems.smartparking.parking.support;
+
+import com.winnersystems.smartparking.parking.application.port.output.CustomerPersistencePort;
+import com.winnersystems.smartparking.parking.application.port.output.DocumentTypePersistencePort;
+import com.winnersystems.smartparking.parking.application.port.output.InfractionPersistencePort;
+import com.winnersystems.smartparking.parking.application.port.output.OperatorAssignmentPersistencePort;
+import com.winnersystems.smartparking.parking.application.port.output.ParkingPersistencePort;
+import com.winnersystems.smartparking.parking.application.port.output.ParkingShiftRatePersistencePort;
+import com.winnersystems.smartparking.parking.application.port.output.RatePersistencePort;
+import com.winnersystems.smartparking.parking.application.port.output.ShiftPersistencePort;
+import com.winnersystems.smartparking.parking.application.port.output.SpacePersistencePort;
+import com.winnersystems.smartparking.parking.application.port.output.TransactionPersistencePort;
+import com.winnersystems.smartparking.parking.application.port.output.VehiclePersistencePort;
+import com.winnersystems.smartparking.parking.application.port.output.ZonePersistencePort;
+import com.winnersystems.smartparking.parking.application.service.offender.OffenderIndex;
+import com.winnersystems.smartparking.parking.application.service.topology.TopologyCache;
+import com.winnersystems.smartparking.parking.domain.model.Customer;
+import com.winnersystems.smartparking.parking.domain.model.Infraction;
+import com.winnersystems.smartparking.parking.domain.model.OperatorAssignment;
+import com.winnersystems.smartparking.parking.domain.model.Parking;
+import com.winnersystems.smartparking.parking.domain.model.ParkingShiftRate;
+import com.winnersystems.smartparking.parking.domain.model.Rate;
+import com.winnersystems.smartparking.parking.domain.model.Shift;
+import com.winnersystems.smartparking.parking.domain.model.Space;
+import com.winnersystems.smartparking.parking.domain.model.Transaction;
+import com.winnersystems.smartparking.parking.domain.model.Vehicle;
+import com.winnersystems.smartparking.parking.domain.model.Zone;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Datos de prueba para los tests de presupuesto de consultas.
+ *
+ * Persiste a través de los puertos de salida (igual que los servicios)
+ * y genera códigos únicos para que los tests puedan compartir el contexto
+ * de Spring y la BD en memoria sin chocar entre sí.
+ *
+ * Cada fila creada referencia vehículo, cliente y espacio propios, para
+ * que la caché de primer nivel de JPA no oculte un N+1.
+ *
+ * Parkings, zonas y espacios se registran en TopologyCache igual que lo
+ * hacen ParkingService, ZoneService y SpaceService; las infracciones, en
+ * OffenderIndex igual que InfractionService.
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public class QueryCountFixtures {
+
+   private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+   private final ParkingPersistencePort parkingPersistencePort;
+   private final ZonePersistencePort zonePersistencePort;
+   private final SpacePersistencePort spacePersistencePort;
+   private final VehiclePersistencePort vehiclePersistencePort;
+   private final CustomerPersistencePort customerPersistencePort;
+   private final TransactionPersistencePort transactionPersistencePort;
+   private final InfractionPersistencePort infractionPersistencePort;
+   private final OperatorAssignmentPersistencePort operatorAssignmentPersistencePort;
+   private final ShiftPersistencePort shiftPersistencePort;
+   private final RatePersistencePort ratePersistencePort;
+   private final DocumentTypePersistencePort documentTypePersistencePort;
+   private final ParkingShiftRatePersistencePort parkingShiftRatePersistencePort;
+   private final TopologyCache topologyCache;
+   private final OffenderIndex offenderIndex;
+
+   public QueryCountFixtures(
+         ParkingPersistencePort parkingPersistencePort,
+         ZonePersistencePort zonePersistencePort,
+         SpacePersistencePort spacePersistencePort,
+         VehiclePersistencePort vehiclePersistencePort,
+         CustomerPersistencePort customerPersistencePort,
+         TransactionPersistencePort transactionPersistencePort,
+         InfractionPersistencePort infractionPersistencePort,
+         OperatorAssignmentPersistencePort operatorAssignmentPersistencePort,
+         ShiftPersistencePort shiftPersistencePort,
+         RatePersistencePort ratePersistencePort,
+         DocumentTypePersistencePort documentTypePersistencePort,
+         ParkingShiftRatePersistencePort parkingShiftRatePersistencePort,
+         TopologyCache topologyCache,
+         OffenderIndex offenderIndex) {
+      this.parkingPersistencePort = parkingPersistencePort;
+      this.zonePersistencePort = zonePersistencePort;
+      this.spacePersistencePort = spacePersistencePort;
+      this.vehiclePersistencePort = vehiclePersistencePort;
+      this.customerPersistencePort = customerPersistencePort;
+      this.transactionPersistencePort = transactionPersistencePort;
+      this.infractionPersistencePort = infractionPersistencePort;
+      this.operatorAssignmentPersistencePort = operatorAssignmentPersistencePort;
+      this.shiftPersistencePort = shiftPersistencePort;
+      this.ratePersistencePort = ratePersistencePort;
+      this.documentTypePersistencePort = documentTypePersistencePort;
+      this.parkingShiftRatePersistencePort = parkingShiftRatePersistencePort;
+      this.topologyCache = topologyCache;
+      this.offenderIndex = offenderIndex;
+   }
+
+   // ========================= TOPOLOGÍA =========================
+
+   public Parking parking() {
+      String suffix = nextSuffix();
+      Parking parking = parkingPersistencePort.save(new Parking("Parking " + suffix, "PK" + suffix, "Av. Test " + suffix));
+      topologyCache.parkingSaved(parking);
+      return parking;
+   }
+
+   public Zone zone(Parking parking) {
+      String suffix = nextSuffix();
+      Zone zone = new Zone("Zona " + suffix, "ZN" + suffix, "Jr. Test " + suffix);
+      zone.setParkingId(parking.getId());
+      Zone saved = zonePersistencePort.save(zone);
+      topologyCache.zoneSaved(saved);
+      return saved;
+   }
+
+   public Space space(Zone zone) {
+      Space space = spacePersistencePort.save(new Space(zone.getId(), Space.TYPE_PARALLEL, "SP" + nextSuffix()));
+      topologyCache.spaceSaved(space);
+      return space;
+   }
+
+   // ========================= CATÁLOGOS (sembrados por DataSeeder) =========================
+
+   public Rate rate() {
+      return ratePersistencePort.findAllActive().get(0);
+   }
+
+   public List<Shift> shifts() {
+      return shiftPersistencePort.findAllActive();
+   }
+
+   public Long documentTypeId() {
+      return documentTypePersistencePort.findByCode("DNI").orElseThrow().getId();
+   }
+
+   public void shiftRates(Parking parking) {
+      Rate rate = rate();
+      for (Shift shift : shifts()) {
+         parkingShiftRatePersistencePort.save(new ParkingShiftRate(parking.getId(), shift.getId(), rate.getId()));
+      }
+   }
+
+   // ========================= TRANSACCIONES =========================
+
+   /**
+    * Crea transacciones activas con más de 8 horas de permanencia
+    * (aparecen también en /transactions/active/overdue).
+    */
+   public List<Transaction> activeTransactions(Zone zone, int count) {
+      Rate rate = rate();
+      Long documentTypeId = documentTypeId();
+      List<Transaction> transactions = new ArrayList<>();
+
+      for (int i = 0; i < count; i++) {
+         Vehicle vehicle = vehicle();
+         Customer customer = customer(documentTypeId);
+         Space space = space(zone);
+
+         Transaction transaction = new Transaction(vehicle.getId(), customer.getId(), zone.getParkingId(),
+               zone.getId(), space.getId(), rate.getId(), documentTypeId, customer.getDocumentNumber());
+         transaction.recordEntry(1L);
+         transaction.setEntryTime(LocalDateTime.now().minusHours(10));
+         transactions.add(transactionPersistencePort.save(transaction));
+      }
+      return transactions;
+   }
+
+   // ========================= INFRACCIONES =========================
+
+   /**
+    * Crea infracciones pendientes con multa vencida, una por vehículo y cliente.
+    *
+    * @param transactionId transacción asociada (FK lógica, puede ser null)
+    */
+   public List<Infraction> overdueInfractions(Zone zone, Long transactionId, int count) {
+      Long documentTypeId = documentTypeId();
+      List<Infraction> infractions = new ArrayList<>();
+
+      for (int i = 0; i < count; i++) {
+         infractions.add(infraction(zone, vehicle(), customer(documentTypeId), transactionId));
+      }
+      return infractions;
+   }
+
+   public Infraction infraction(Zone zone, Vehicle vehicle, Customer customer, Long transactionId) {
+      Infraction saved = peerInfraction(zone, vehicle, customer, transactionId);
+      offenderIndex.recorded(saved);
+      return saved;
+   }
+
+   /**
+    * Infracción guardada sin avisar a OffenderIndex, como si la escribiera otra réplica.
+    */
+   public Infraction peerInfraction(Zone zone, Vehicle vehicle, Customer customer, Long transactionId) {
+      Infraction infraction = new Infraction(zone.getParkingId(), vehicle.getId(), zone.getId(),
+            Infraction.TYPE_OVERSTAY, 1L);
+      infraction.setCustomerId(customer.getId());
+      infraction.setTransactionId(transactionId);
+      infraction.setSeverity(Infraction.SEVERITY_MINOR);
+      infraction.assignFine(new BigDecimal("50.00"), LocalDateTime.now().minusDays(1));
+      infraction.assignInfractionCode(infractionPersistencePort.nextCodeNumber());
+      return infractionPersistencePort.save(infraction);
+   }
+
+   // ========================= OPERADORES =========================
+
+   /**
+    * Asigna operadores distintos a la zona, rotando los turnos sembrados.
+    */
+   public List<OperatorAssignment> operatorAssignments(Zone zone, int count) {
+      List<Shift> shifts = shifts();
+      List<OperatorAssignment> assignments = new ArrayList<>();
+
+      for (int i = 0; i < count; i++) {
+         Long operatorId = nextExternalId();
+         Shift shift = shifts.get(i % shifts.size());
+         assignments.add(operatorAssignmentPersistencePort.save(
+               new OperatorAssignment(operatorId, zone.getId(), shift.getId(), LocalDate.now().minusDays(1), null)));
+      }
+      return assignments;
+   }
+
+   /**
+    * Asigna un mismo operador a varias zonas distintas.
+    */
+   public List<OperatorAssignment> assignmentsForOperator(Long operatorId, List<Zone> zones) {
+      Shift shift = shifts().get(0);
+      List<OperatorAssignment> assignments = new ArrayList<>();
+
+      for (Zone zone : zones) {
+         assignments.add(operatorAssignmentPersistencePort.save(
+               new OperatorAssignment(operatorId, zone.getId(), shift.getId(), LocalDate.now().minusDays(1), null)));
+      }
+      return assignments;
+   }
+
+   // ========================= HELPERS =========================
+
+   public Vehicle vehicle() {
+      return vehiclePersistencePort.save(new Vehicle("T" + nextSuffix()));
+   }
+
+   public Customer customer(Long documentTypeId) {
+      String suffix = nextSuffix();
+      return customerPersistencePort.save(new Customer(documentTypeId, "9" + suffix, "Cliente", "Prueba " + suffix));
+   }
+
+   /**
+    * ID para referencias lógicas sin fila en esta BD
+    * (operadores de auth-service, transacciones referenciadas por infracciones).
+    */
+   public static Long nextExternalId() {
+      return 100_000L + SEQUENCE.incrementAndGet();
+   }
+
+   private static String nextSuffix() {
+      return String.format("%06d", SEQUENCE.incrementAndGet());
+   }
+}
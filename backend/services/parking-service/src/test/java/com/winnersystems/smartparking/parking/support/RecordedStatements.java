@@ -0,0 +1,54 @@
+package com.winnersystems.smartparking.parking.support;
+
+import java.util.List;
+
+/**
+ * Sentencias SQL grabadas durante una acción (normalmente una llamada MockMvc).
+ *
+ * @param statements texto de cada sentencia, en orden de ejecución
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public record RecordedStatements(List<String> statements) {
+
+   public RecordedStatements {
+      statements = List.copyOf(statements);
+   }
+
+   public int count() {
+      return statements.size();
+   }
+
+   /**
+    * Falla si se ejecutaron más sentencias de las indicadas.
+    */
+   public RecordedStatements assertAtMost(int maxStatements, String description) {
+      return assertWithin(QueryBudget.atMost(maxStatements), 0, description);
+   }
+
+   /**
+    * Falla si se excede el presupuesto para el número de filas devuelto.
+    * El mensaje incluye todas las sentencias para ubicar el N+1 rápidamente.
+    */
+   public RecordedStatements assertWithin(QueryBudget budget, int rows, String description) {
+      int allowed = budget.allowedFor(rows);
+      if (count() > allowed) {
+         throw new AssertionError(String.format(
+               "%s ejecutó %d sentencias SQL para %d filas; presupuesto %s (máx. %d)%n%s",
+               description, count(), rows, budget, allowed, describe()));
+      }
+      return this;
+   }
+
+   /**
+    * Lista numerada de las sentencias grabadas.
+    */
+   public String describe() {
+      StringBuilder sb = new StringBuilder();
+      for (int i = 0; i < statements.size(); i++) {
+         sb.append(String.format("  %2d. %s%n", i + 1, statements.get(i).replaceAll("\\s+", " ").trim()));
+      }
+      return sb.toString();
+   }
+}
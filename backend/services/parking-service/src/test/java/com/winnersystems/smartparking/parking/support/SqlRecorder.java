@@ -0,0 +1,41 @@
+package com.winnersystems.smartparking.parking.support;
+
+import com.winnersystems.smartparking.parking.infrastructure.config.metrics.SqlStatementCounter;
+
+/**
+ * Graba las sentencias SQL que ejecuta una acción en el hilo actual.
+ *
+ * MockMvc atiende el request en el mismo hilo del test, por lo que todo el
+ * SQL del endpoint (filtros, servicio, flush y commit) queda grabado.
+ *
+ * Uso:
+ * <pre>
+ * SqlRecorder.record(() -> mockMvc.perform(get("/transactions/active")))
+ *       .assertAtMost(6, "GET /transactions/active");
+ * </pre>
+ *
+ * @author Edwin Yoner - Winner Systems - Smart Parking Platform
+ * @version 1.0
+ */
+public final class SqlRecorder {
+
+   private SqlRecorder() {
+   }
+
+   public static RecordedStatements record(Action action) throws Exception {
+      SqlStatementCounter.startRecording();
+      try {
+         action.run();
+      } catch (Exception | Error e) {
+         // Se cierra siempre para no contaminar el siguiente test del mismo hilo
+         SqlStatementCounter.stopRecording();
+         throw e;
+      }
+      return new RecordedStatements(SqlStatementCounter.stopRecording());
+   }
+
+   @FunctionalInterface
+   public interface Action {
+      void run() throws Exception;
+   }
+}